@@ -0,0 +1,67 @@
+package com.kaique.marketdata.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.kaique.marketdata.domain.model.Candle;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.presentation.serializer.CandleSeriesSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização da resposta do /history em JSON e CBOR (ver ContentNegotiationConfig).
+ *
+ * {@code series} é o caminho da API (CandleSeriesSerializer direto dos arrays); {@code candles} serializa a
+ * mesma série como List&lt;Candle&gt; (um record com BigDecimal por ponto), para comparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandleSerializationBenchmark {
+
+    @Param({"250", "5000"})
+    private int points;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectWriter seriesWriter;
+    private ObjectWriter candlesWriter;
+    private CandleSeries series;
+    private List<Candle> candles;
+
+    @Setup
+    public void setup() throws IOException {
+        // Mesmo serializer que o Spring registra via @JsonComponent
+        SimpleModule module = new SimpleModule().addSerializer(new CandleSeriesSerializer());
+        ObjectMapper objectMapper = "cbor".equals(format)
+                ? CBORMapper.builder().addModule(module).build()
+                : JsonMapper.builder().addModule(module).build();
+
+        seriesWriter = objectMapper.writerFor(CandleSeries.class);
+        candlesWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Candle.class));
+
+        series = Fixtures.series(points);
+        candles = List.copyOf(series.toCandles());
+    }
+
+    @Benchmark
+    public byte[] series() throws IOException {
+        return seriesWriter.writeValueAsBytes(series);
+    }
+
+    @Benchmark
+    public byte[] candles() throws IOException {
+        return candlesWriter.writeValueAsBytes(candles);
+    }
+}
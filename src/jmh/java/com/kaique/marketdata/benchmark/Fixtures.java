@@ -0,0 +1,163 @@
+package com.kaique.marketdata.benchmark;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Payloads dos providers para os benchmarks.
+ *
+ * Cotações: respostas gravadas em src/jmh/resources/fixtures. Históricos: gerados no formato exato de cada
+ * provider (passeio aleatório com semente fixa), para variar o tamanho sem guardar arquivos de megabytes.
+ */
+final class Fixtures {
+
+    /** Último dia das séries geradas (as datas não dependem do dia em que o benchmark roda). */
+    static final LocalDate LAST_DAY = LocalDate.of(2026, 2, 18);
+    static final long SECONDS_PER_DAY = 86_400;
+
+    private static final long SEED = 42;
+
+    private Fixtures() {
+    }
+
+    static byte[] resource(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture não encontrada: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** GET /api/quote/{symbol}?range=...&interval=1d da Brapi, candles diários em ordem crescente. */
+    static byte[] brapiHistory(int points) {
+        Walk walk = new Walk(38.0);
+        StringBuilder json = new StringBuilder(points * 130 + 512);
+        json.append("{\"results\":[{\"currency\":\"BRL\",\"shortName\":\"PETROBRAS   PN      N2\",")
+                .append("\"symbol\":\"PETR4\",\"regularMarketPrice\":38.15,\"marketCap\":500187000000,")
+                .append("\"historicalDataPrice\":[");
+
+        long firstDay = LAST_DAY.toEpochDay() - points + 1;
+        for (int i = 0; i < points; i++) {
+            walk.next();
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"date\":").append((firstDay + i) * SECONDS_PER_DAY)
+                    .append(",\"open\":").append(price(walk.open))
+                    .append(",\"high\":").append(price(walk.high))
+                    .append(",\"low\":").append(price(walk.low))
+                    .append(",\"close\":").append(price(walk.close))
+                    .append(",\"volume\":").append(walk.volume)
+                    .append(",\"adjustedClose\":").append(price(walk.close))
+                    .append('}');
+        }
+
+        json.append("]}],\"requestedAt\":\"2026-02-18T20:15:03.612Z\",\"took\":\"1ms\"}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** GET /coins/{id}/ohlc da CoinGecko: [[ts_ms, open, high, low, close], ...] em ordem crescente. */
+    static byte[] coinGeckoOhlc(int points) {
+        Walk walk = new Walk(67_000.0);
+        StringBuilder json = new StringBuilder(points * 60 + 2).append('[');
+
+        long firstDay = LAST_DAY.toEpochDay() - points + 1;
+        for (int i = 0; i < points; i++) {
+            walk.next();
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('[').append((firstDay + i) * SECONDS_PER_DAY * 1000)
+                    .append(',').append(price(walk.open))
+                    .append(',').append(price(walk.high))
+                    .append(',').append(price(walk.low))
+                    .append(',').append(price(walk.close))
+                    .append(']');
+        }
+
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** TIME_SERIES_DAILY da Alpha Vantage: objeto por data, do dia mais recente para o mais antigo. */
+    static byte[] alphaVantageDaily(int points) {
+        Walk walk = new Walk(260.0);
+        StringBuilder json = new StringBuilder(points * 170 + 512);
+        json.append("{\"Meta Data\":{\"1. Information\":\"Daily Prices (open, high, low, close) and Volumes\",")
+                .append("\"2. Symbol\":\"IBM\",\"3. Last Refreshed\":\"").append(LAST_DAY)
+                .append("\",\"4. Output Size\":\"Full size\",\"5. Time Zone\":\"US/Eastern\"},")
+                .append("\"Time Series (Daily)\":{");
+
+        for (int i = 0; i < points; i++) {
+            walk.next();
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(LAST_DAY.minusDays(i)).append("\":{")
+                    .append("\"1. open\":\"").append(quotedPrice(walk.open)).append("\",")
+                    .append("\"2. high\":\"").append(quotedPrice(walk.high)).append("\",")
+                    .append("\"3. low\":\"").append(quotedPrice(walk.low)).append("\",")
+                    .append("\"4. close\":\"").append(quotedPrice(walk.close)).append("\",")
+                    .append("\"5. volume\":\"").append(walk.volume).append("\"}");
+        }
+
+        json.append("}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Série diária já montada (mesmos preços do histórico da Brapi). */
+    static CandleSeries series(int points) {
+        Walk walk = new Walk(38.0);
+        CandleSeries.Builder builder = CandleSeries.builder(points);
+
+        long firstDay = LAST_DAY.toEpochDay() - points + 1;
+        for (int i = 0; i < points; i++) {
+            walk.next();
+            builder.add((firstDay + i) * SECONDS_PER_DAY, walk.open, walk.high, walk.low, walk.close, walk.volume);
+        }
+        return builder.build();
+    }
+
+    // ========== Métodos privados ==========
+
+    private static String price(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    /** A Alpha Vantage manda os preços como texto com 4 casas. */
+    private static String quotedPrice(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    /** Passeio aleatório de preços com semente fixa: mesmos payloads em toda execução. */
+    private static final class Walk {
+
+        private final Random random = new Random(SEED);
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+        private long volume;
+
+        private Walk(double start) {
+            this.close = start;
+        }
+
+        private void next() {
+            open = close;
+            close = Math.max(0.01, open * (1 + random.nextGaussian() * 0.02));
+            high = Math.max(open, close) * (1 + random.nextDouble() * 0.01);
+            low = Math.min(open, close) * (1 - random.nextDouble() * 0.01);
+            volume = 1_000_000 + random.nextInt(50_000_000);
+        }
+    }
+}
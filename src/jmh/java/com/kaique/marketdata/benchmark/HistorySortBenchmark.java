@@ -0,0 +1,65 @@
+package com.kaique.marketdata.benchmark;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do histórico no CandleSeries.Builder, incluindo a ordenação por timestamp do build().
+ *
+ * ASCENDING é o caso comum (Brapi, CoinGecko) e serve de base; DESCENDING é a Alpha Vantage (inversão em O(n));
+ * NEARLY_SORTED troca 1 a cada 16 pares vizinhos e cai no insertion sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistorySortBenchmark {
+
+    public enum Order { ASCENDING, DESCENDING, NEARLY_SORTED }
+
+    @Param({"250", "5000"})
+    private int points;
+
+    @Param({"ASCENDING", "DESCENDING", "NEARLY_SORTED"})
+    private Order order;
+
+    private long[] timestamps;
+    private double[] prices;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        timestamps = new long[points];
+        prices = new double[points];
+
+        long firstDay = Fixtures.LAST_DAY.toEpochDay() - points + 1;
+        for (int i = 0; i < points; i++) {
+            int position = order == Order.DESCENDING ? points - 1 - i : i;
+            timestamps[position] = (firstDay + i) * Fixtures.SECONDS_PER_DAY;
+            prices[position] = 30 + random.nextDouble() * 10;
+        }
+
+        if (order == Order.NEARLY_SORTED) {
+            for (int i = 0; i + 1 < points; i += 32) {
+                long timestamp = timestamps[i];
+                timestamps[i] = timestamps[i + 1];
+                timestamps[i + 1] = timestamp;
+            }
+        }
+    }
+
+    @Benchmark
+    public CandleSeries build() {
+        CandleSeries.Builder builder = CandleSeries.builder(points);
+        for (int i = 0; i < points; i++) {
+            double price = prices[i];
+            builder.add(timestamps[i], price, price * 1.01, price * 0.99, price, 1_000_000L);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.kaique.marketdata.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.infrastructure.provider.alphavantage.AlphaVantageResponse;
+import com.kaique.marketdata.infrastructure.provider.alphavantage.AlphaVantageTimeSeriesParser;
+import com.kaique.marketdata.infrastructure.provider.brapi.BrapiProvider;
+import com.kaique.marketdata.infrastructure.provider.brapi.BrapiResponse;
+import com.kaique.marketdata.infrastructure.provider.coingecko.CoinGeckoDTO;
+import com.kaique.marketdata.infrastructure.provider.coingecko.CoinGeckoOhlcParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing das respostas dos providers: cotação (Jackson → DTO) e histórico (até o CandleSeries).
+ *
+ * O histórico da Brapi passa pelo BrapiResponse e pelo BrapiProvider.toSeries; os da CoinGecko e da Alpha Vantage
+ * usam os parsers em streaming que os providers usam (o logback-test.xml do perfil silencia o log por chamada). {@code points} é o número de candles
+ * do payload (250 ≈ 1 ano diário; 5000 ≈ 20 anos, o outputsize=full da Alpha Vantage).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderParsingBenchmark {
+
+    @Param({"250", "5000"})
+    private int points;
+
+    private ObjectReader coinGeckoReader;
+    private ObjectReader brapiReader;
+    private ObjectReader alphaVantageReader;
+    private final CoinGeckoOhlcParser ohlcParser = new CoinGeckoOhlcParser();
+    private final AlphaVantageTimeSeriesParser timeSeriesParser = new AlphaVantageTimeSeriesParser();
+
+    private byte[] coinGeckoQuote;
+    private byte[] brapiQuote;
+    private byte[] alphaVantageQuote;
+    private byte[] brapiHistory;
+    private byte[] coinGeckoOhlc;
+    private byte[] alphaVantageDaily;
+    private LocalDate alphaVantageCutoff;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        coinGeckoReader = objectMapper.readerFor(CoinGeckoDTO.class);
+        brapiReader = objectMapper.readerFor(BrapiResponse.class);
+        alphaVantageReader = objectMapper.readerFor(AlphaVantageResponse.class);
+
+        coinGeckoQuote = Fixtures.resource("coingecko-coin.json");
+        brapiQuote = Fixtures.resource("brapi-quote.json");
+        alphaVantageQuote = Fixtures.resource("alphavantage-global-quote.json");
+        brapiHistory = Fixtures.brapiHistory(points);
+        coinGeckoOhlc = Fixtures.coinGeckoOhlc(points);
+        alphaVantageDaily = Fixtures.alphaVantageDaily(points);
+        // Corte no dia mais antigo do payload: a série inteira é lida
+        alphaVantageCutoff = Fixtures.LAST_DAY.minusDays(points - 1);
+    }
+
+    @Benchmark
+    public CoinGeckoDTO coinGeckoQuote() throws IOException {
+        return coinGeckoReader.readValue(coinGeckoQuote);
+    }
+
+    @Benchmark
+    public BrapiResponse brapiQuote() throws IOException {
+        return brapiReader.readValue(brapiQuote);
+    }
+
+    @Benchmark
+    public AlphaVantageResponse alphaVantageQuote() throws IOException {
+        return alphaVantageReader.readValue(alphaVantageQuote);
+    }
+
+    @Benchmark
+    public CandleSeries brapiHistory() throws IOException {
+        return BrapiProvider.toSeries(brapiReader.readValue(brapiHistory), "PETR4", "1y");
+    }
+
+    @Benchmark
+    public CandleSeries coinGeckoOhlc() throws IOException {
+        return ohlcParser.parse(new ByteArrayInputStream(coinGeckoOhlc));
+    }
+
+    @Benchmark
+    public CandleSeries alphaVantageDaily() throws IOException {
+        return timeSeriesParser.parse(new ByteArrayInputStream(alphaVantageDaily), alphaVantageCutoff);
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 
+// O DataSource só existe com spring.datasource.url configurada (ver DataSourceConfig)
 @SpringBootApplication(exclude = {DataSourceAutoConfiguration.class})
 public class MarketDataApiApplication {
 
@@ -0,0 +1,186 @@
+package com.kaique.marketdata.application.service;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.enums.TimeRange;
+import com.kaique.marketdata.domain.model.AssetRef;
+import com.kaique.marketdata.domain.model.CandleInterval;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.PortfolioAnalysis;
+import com.kaique.marketdata.domain.model.PortfolioAnalysis.PortfolioReturns;
+import com.kaique.marketdata.domain.service.CandleResampler;
+import com.kaique.marketdata.domain.service.PortfolioAnalytics;
+import com.kaique.marketdata.domain.service.PortfolioAnalytics.Returns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Análise de carteira multi-mercado: matriz de correlação e retorno ponderado.
+ *
+ * Fluxo:
+ *   1. Busca os históricos pelo MarketDataService (cache → store → providers), em paralelo mas com no máximo
+ *      market.analytics.max-concurrent-per-type buscas em andamento por MarketType — cada tipo tem seus
+ *      providers, e 100 ativos não viram 100 chamadas simultâneas ao mesmo provider.
+ *   2. Reagrupa cada série no mesmo interval (os providers devolvem granularidades diferentes para o range)
+ *      e calcula os retornos por período.
+ *   3. Correlação par a par (ForkJoinPool) e retorno da carteira, ao mesmo tempo.
+ *
+ * Ativos sem histórico (símbolo inválido, providers indisponíveis) ficam de fora e são listados em "missing".
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private final MarketDataService marketDataService;
+    private final int maxAssets;
+    private final int maxConcurrentPerType;
+
+    public AnalyticsService(MarketDataService marketDataService,
+                            @Value("${market.analytics.max-assets:200}") int maxAssets,
+                            @Value("${market.analytics.max-concurrent-per-type:4}") int maxConcurrentPerType) {
+        this.marketDataService = marketDataService;
+        this.maxAssets = maxAssets;
+        this.maxConcurrentPerType = maxConcurrentPerType;
+    }
+
+    /**
+     * @param interval granularidade comum; null usa o padrão do range (ver {@link #defaultInterval})
+     * @param weights  um peso por ativo (normalizados para somar 1); null ou vazio = pesos iguais
+     * @throws IllegalArgumentException se a lista de ativos ou de pesos for inválida
+     */
+    public CompletableFuture<PortfolioAnalysis> analyze(List<AssetRef> assets, TimeRange timeRange,
+                                                        CandleInterval interval, List<Double> weights) {
+        if (assets.size() < 2 || assets.size() > maxAssets) {
+            throw new IllegalArgumentException(
+                    "Informe entre 2 e " + maxAssets + " ativos (recebidos: " + assets.size() + ")");
+        }
+        if (weights != null && !weights.isEmpty() && weights.size() != assets.size()) {
+            throw new IllegalArgumentException(
+                    "Informe um peso por ativo (" + assets.size() + " ativos, " + weights.size() + " pesos)");
+        }
+        double[] assetWeights = weights == null || weights.isEmpty()
+                ? filled(assets.size(), 1.0)
+                : weights.stream().mapToDouble(Double::doubleValue).toArray();
+        if (Arrays.stream(assetWeights).anyMatch(w -> w < 0) || Arrays.stream(assetWeights).sum() <= 0) {
+            throw new IllegalArgumentException("Os pesos devem ser não negativos e somar mais que zero");
+        }
+
+        CandleInterval commonInterval = interval != null ? interval : defaultInterval(timeRange);
+        long start = System.nanoTime();
+
+        return fetchAll(assets, timeRange).thenApply(histories -> {
+            PortfolioAnalysis analysis = analyze(assets, histories, timeRange, commonInterval, assetWeights);
+            log.info("Analytics: {} ativos ({} sem histórico), range={}, interval={} em {}ms",
+                    assets.size(), analysis.missing().size(), timeRange, commonInterval,
+                    (System.nanoTime() - start) / 1_000_000);
+            return analysis;
+        });
+    }
+
+    // ========== Métodos privados ==========
+
+    /**
+     * Histórico de cada ativo, na ordem pedida (null para os que falharem). Por MarketType, os ativos são
+     * divididos em até maxConcurrentPerType filas, cada uma buscando um ativo por vez.
+     */
+    private CompletableFuture<CandleSeries[]> fetchAll(List<AssetRef> assets, TimeRange timeRange) {
+        CandleSeries[] histories = new CandleSeries[assets.size()];
+        Map<MarketType, List<Integer>> byType = new EnumMap<>(MarketType.class);
+        for (int i = 0; i < assets.size(); i++) {
+            byType.computeIfAbsent(assets.get(i).marketType(), t -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (List<Integer> indexes : byType.values()) {
+            int laneCount = Math.min(maxConcurrentPerType, indexes.size());
+            for (int lane = 0; lane < laneCount; lane++) {
+                CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+                for (int k = lane; k < indexes.size(); k += laneCount) {
+                    int index = indexes.get(k);
+                    AssetRef asset = assets.get(index);
+                    chain = chain.thenCompose(ignored ->
+                            marketDataService.getHistoryAsync(asset.marketType(), asset.symbol(), timeRange)
+                                    .handle((series, error) -> {
+                                        if (error != null) {
+                                            log.warn("Analytics: sem histórico para {}: {}", asset, error.getMessage());
+                                        } else {
+                                            histories[index] = series;
+                                        }
+                                        return null;
+                                    }));
+                }
+                lanes.add(chain);
+            }
+        }
+
+        // allOf estabelece happens-before entre as escritas de cada fila e a leitura do array
+        return CompletableFuture.allOf(lanes.toArray(CompletableFuture[]::new)).thenApply(ignored -> histories);
+    }
+
+    private PortfolioAnalysis analyze(List<AssetRef> assets, CandleSeries[] histories, TimeRange timeRange,
+                                      CandleInterval interval, double[] weights) {
+        List<String> included = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        List<Returns> returns = new ArrayList<>();
+        List<Double> includedWeights = new ArrayList<>();
+
+        for (int i = 0; i < assets.size(); i++) {
+            if (histories[i] == null || histories[i].size() < 2) {
+                missing.add(assets.get(i).toString());
+                continue;
+            }
+            included.add(assets.get(i).toString());
+            returns.add(PortfolioAnalytics.returns(CandleResampler.resample(histories[i], interval)));
+            includedWeights.add(weights[i]);
+        }
+
+        double[] portfolioWeights = includedWeights.stream().mapToDouble(Double::doubleValue).toArray();
+        CompletableFuture<PortfolioReturns> portfolio = CompletableFuture.supplyAsync(
+                () -> PortfolioAnalytics.portfolioReturns(returns, portfolioWeights));
+        double[][] correlation = PortfolioAnalytics.correlationMatrix(returns);
+
+        return new PortfolioAnalysis(timeRange.name(), interval.toString(), included, missing,
+                boxed(correlation), portfolio.join());
+    }
+
+    /**
+     * Interval comum por range: o mais grosso entre os que os providers devolvem para ele
+     * (ex: no 1Y a Brapi é semanal e a CoinGecko de 4 dias → semanal).
+     */
+    private static CandleInterval defaultInterval(TimeRange timeRange) {
+        return CandleInterval.fromString(switch (timeRange) {
+            case ONE_DAY -> "1h";
+            case ONE_WEEK -> "4h";
+            case ONE_MONTH -> "1d";
+            case THREE_MONTHS, SIX_MONTHS, ONE_YEAR -> "1w";
+            case FIVE_YEARS -> "1mo";
+        });
+    }
+
+    /** NaN → null na resposta JSON. */
+    private static Double[][] boxed(double[][] matrix) {
+        Double[][] result = new Double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            result[i] = new Double[matrix[i].length];
+            for (int j = 0; j < matrix[i].length; j++) {
+                result[i][j] = Double.isNaN(matrix[i][j]) ? null : matrix[i][j];
+            }
+        }
+        return result;
+    }
+
+    private static double[] filled(int length, double value) {
+        double[] array = new double[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+}
@@ -0,0 +1,79 @@
+package com.kaique.marketdata.application.service;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.enums.TimeRange;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.IndicatorSeries;
+import com.kaique.marketdata.domain.model.IndicatorSpec;
+import com.kaique.marketdata.domain.service.IndicatorCalculator;
+import com.kaique.marketdata.domain.service.IndicatorCalculator.Computation;
+import com.kaique.marketdata.infrastructure.cache.IndicatorCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Indicadores técnicos calculados sobre a mesma série que o /history devolve (cache → store → providers).
+ *
+ * Os cálculos ficam no IndicatorCache: a mesma série devolve os valores prontos, e uma série com candles
+ * novos continua o cálculo a partir do checkpoint anterior (ver IndicatorCalculator).
+ */
+@Service
+public class IndicatorService {
+
+    private final MarketDataService marketDataService;
+    private final IndicatorCache indicatorCache;
+    private final int maxIndicators;
+
+    public IndicatorService(MarketDataService marketDataService,
+                            IndicatorCache indicatorCache,
+                            @Value("${market.indicators.max-per-request:10}") int maxIndicators) {
+        this.marketDataService = marketDataService;
+        this.indicatorCache = indicatorCache;
+        this.maxIndicators = maxIndicators;
+    }
+
+    /**
+     * @throws IllegalArgumentException se a lista de indicadores estiver vazia ou passar do limite
+     */
+    public CompletableFuture<IndicatorSeries> getIndicatorsAsync(MarketType marketType, String symbol,
+                                                                 TimeRange timeRange, List<IndicatorSpec> specs) {
+        if (specs.isEmpty() || specs.size() > maxIndicators) {
+            throw new IllegalArgumentException(
+                    "Informe entre 1 e " + maxIndicators + " indicadores (recebidos: " + specs.size() + ")");
+        }
+
+        return marketDataService.getHistoryAsync(marketType, symbol, timeRange)
+                .thenApply(series -> calculate(marketType, symbol, timeRange, series, specs));
+    }
+
+    // ========== Métodos privados ==========
+
+    private IndicatorSeries calculate(MarketType marketType, String symbol, TimeRange timeRange,
+                                      CandleSeries series, List<IndicatorSpec> specs) {
+        long[] timestamps = new long[series.size()];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = series.timestampAt(i);
+        }
+
+        Map<String, double[]> lines = new LinkedHashMap<>();
+        for (IndicatorSpec spec : specs) {
+            Computation previous = indicatorCache.get(marketType, symbol, timeRange, spec).orElse(null);
+            Computation computation = IndicatorCalculator.compute(series, spec, previous);
+            if (computation != previous) {
+                indicatorCache.put(marketType, symbol, timeRange, spec, computation);
+            }
+
+            List<String> names = spec.lineNames();
+            for (int k = 0; k < names.size(); k++) {
+                lines.put(names.get(k), computation.lines()[k]);
+            }
+        }
+
+        return new IndicatorSeries(timestamps, lines);
+    }
+}
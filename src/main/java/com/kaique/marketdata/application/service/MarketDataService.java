@@ -3,19 +3,75 @@ package com.kaique.marketdata.application.service;
 import com.kaique.marketdata.domain.enums.MarketType;
 import com.kaique.marketdata.domain.enums.TimeRange;
 import com.kaique.marketdata.domain.exception.ProviderException;
-import com.kaique.marketdata.domain.model.Candle;
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
+import com.kaique.marketdata.domain.model.CandleSeries;
 import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.cache.HistoryCache;
+import com.kaique.marketdata.infrastructure.cache.HotSymbolTracker;
+import com.kaique.marketdata.infrastructure.cache.QuoteCache;
+import com.kaique.marketdata.infrastructure.concurrency.CallCancellation;
+import com.kaique.marketdata.infrastructure.concurrency.HedgedExecutor;
+import com.kaique.marketdata.infrastructure.concurrency.HedgedExecutor.HedgedCall;
+import com.kaique.marketdata.infrastructure.concurrency.RequestCoalescer;
 import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore.SeriesKey;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore.SeriesState;
+import com.kaique.marketdata.infrastructure.provider.AsyncMarketDataProvider;
 import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
+import com.kaique.marketdata.infrastructure.resilience.ProviderCircuitBreakers;
+import com.kaique.marketdata.infrastructure.resilience.ProviderQuotas;
+import com.kaique.marketdata.infrastructure.routing.ProviderRanking;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Orquestrador de dados de mercado.
  * Implementa Strategy Pattern (MarketDataProvider) com Fallback e Métricas.
+ * Cotações atuais passam antes pelo QuoteCache (TTL por MarketType).
+ * Chamadas concorrentes idênticas são deduplicadas pelo RequestCoalescer (single-flight): cotações por
+ * (tipo, símbolo), históricos pela chamada ao provider (provider, símbolo, range buscado).
+ *
+ * Com market.hedging.enabled=true o fallback deixa de ser estritamente sequencial: se o provider
+ * atual não responder dentro do delay (fixo ou p95 observado), o próximo é disparado em paralelo.
+ *
+ * Providers com circuit breaker aberto ou sem saldo na cota (ProviderQuotas) são pulados sem nenhuma chamada HTTP.
+ * Com market.routing.mode=adaptive, a ordem de fallback segue o ProviderRanking (EWMA de latência e sucesso).
+ *
+ * As variantes *Async não bloqueiam nenhuma thread enquanto o provider responde: usam
+ * AsyncMarketDataProvider quando o provider implementa, e o fallback é encadeado no future.
+ * Com spring.threads.virtual.enabled=true, elas rodam o fluxo síncrono (loop de fallback) em uma
+ * virtual thread do providerExecutor, como alternativa às chamadas não bloqueantes.
+ *
+ * Históricos ficam no HistoryStore por (símbolo, provider, interval): uma série atualizada é servida
+ * sem chamar o provider e, quando ficou velha, só os candles a partir do último armazenado são buscados.
+ * Nas variantes *Async, só as leituras e gravações do store (JDBC bloqueante) rodam no historyStoreExecutor,
+ * de tamanho fixo; a chamada ao provider continua não bloqueante.
+ * Na frente dele, o HistoryCache guarda a série do maior range de cada interval: ranges menores com o
+ * mesmo interval (ex: 1M, 3M e 6M diários) são cortados dela, sem nova chamada.
+ *
+ * Os acessos alimentam o HotSymbolTracker; o RefreshAheadScheduler usa refreshQuote/refreshHistory
+ * para renovar as entradas mais acessadas antes de expirarem.
  */
 @Service
 public class MarketDataService {
@@ -24,21 +80,320 @@ public class MarketDataService {
 
     private final List<MarketDataProvider> providers;
     private final ProviderMetrics metrics;
+    private final QuoteCache quoteCache;
+    private final HistoryCache historyCache;
+    private final HotSymbolTracker hotSymbols;
+    private final RequestCoalescer coalescer;
+    private final HedgedExecutor hedgedExecutor;
+    private final ProviderCircuitBreakers circuitBreakers;
+    private final ProviderQuotas quotas;
+    private final ProviderRanking ranking;
+    private final ExecutorService providerExecutor;
+    private final ExecutorService historyStoreExecutor;
+    private final int maxBatchSymbols;
+    private final boolean hedgingEnabled;
+    private final Duration hedgingDelay;
+    private final boolean hedgingUseP95;
+    private final boolean virtualThreads;
+    private final HistoryStore historyStore;
+    private final boolean historyStoreEnabled;
+    private final Duration historyMaxStaleness;
+    private final boolean historyWidenRange;
 
-    public MarketDataService(List<MarketDataProvider> providers, ProviderMetrics metrics) {
+    public MarketDataService(List<MarketDataProvider> providers, ProviderMetrics metrics,
+                             QuoteCache quoteCache, HistoryCache historyCache, HotSymbolTracker hotSymbols,
+                             RequestCoalescer coalescer,
+                             HedgedExecutor hedgedExecutor,
+                             ProviderCircuitBreakers circuitBreakers,
+                             ProviderQuotas quotas,
+                             ProviderRanking ranking,
+                             @Qualifier("providerExecutor") ExecutorService providerExecutor,
+                             @Qualifier("historyStoreExecutor") ExecutorService historyStoreExecutor,
+                             @Value("${market.batch.max-symbols:100}") int maxBatchSymbols,
+                             @Value("${market.hedging.enabled:false}") boolean hedgingEnabled,
+                             @Value("${market.hedging.delay-ms:1000}") long hedgingDelayMs,
+                             @Value("${market.hedging.use-p95:true}") boolean hedgingUseP95,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                             Optional<HistoryStore> historyStore,
+                             @Value("${market.history.store.enabled:true}") boolean historyStoreEnabled,
+                             @Value("${market.history.store.max-staleness-ms:300000}") long historyMaxStalenessMs,
+                             @Value("${cache.history.widen-range:true}") boolean historyWidenRange) {
         this.providers = providers;
         this.metrics = metrics;
-        log.info("MarketDataService inicializado com {} provider(s): {}",
+        this.quoteCache = quoteCache;
+        this.historyCache = historyCache;
+        this.hotSymbols = hotSymbols;
+        this.coalescer = coalescer;
+        this.hedgedExecutor = hedgedExecutor;
+        this.circuitBreakers = circuitBreakers;
+        this.quotas = quotas;
+        this.ranking = ranking;
+        this.providerExecutor = providerExecutor;
+        this.historyStoreExecutor = historyStoreExecutor;
+        this.maxBatchSymbols = maxBatchSymbols;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgingDelay = Duration.ofMillis(hedgingDelayMs);
+        this.hedgingUseP95 = hedgingUseP95;
+        this.virtualThreads = virtualThreads;
+        // Sem store (ex: type=jpa sem spring.datasource.url), o histórico vem sempre do provider
+        this.historyStore = historyStore.orElse(null);
+        this.historyStoreEnabled = historyStoreEnabled && historyStore.isPresent();
+        this.historyMaxStaleness = Duration.ofMillis(historyMaxStalenessMs);
+        this.historyWidenRange = historyWidenRange;
+        log.info("MarketDataService inicializado com {} provider(s): {} (virtual threads: {}, HistoryStore: {})",
                 providers.size(),
                 providers.stream()
                         .map(p -> p.getClass().getSimpleName())
-                        .toList());
+                        .toList(),
+                virtualThreads,
+                this.historyStoreEnabled ? ClassUtils.getUserClass(this.historyStore).getSimpleName() : "desabilitado");
     }
 
     public MarketData getCurrentPrice(MarketType marketType, String symbol) {
         log.info("Requisição recebida: type={}, symbol={}", marketType, symbol);
+        hotSymbols.recordQuote(marketType, symbol);
 
+        MarketData cached = quoteCache.get(marketType, symbol).orElse(null);
+        if (cached != null) {
+            log.debug("Cache hit: type={}, symbol={}", marketType, symbol);
+            return cached;
+        }
+
+        return coalescer.execute("quote", new QuoteRequest(marketType, normalize(symbol)),
+                () -> fetchCurrentPriceWithFallback(marketType, symbol));
+    }
+
+    /**
+     * Versão não bloqueante de {@link #getCurrentPrice}. Falhas completam o future com a mesma
+     * exceção da versão síncrona (ex: ProviderException).
+     * Com hedging ou virtual threads habilitados, delega para o fluxo síncrono no providerExecutor.
+     */
+    public CompletableFuture<MarketData> getCurrentPriceAsync(MarketType marketType, String symbol) {
+        log.info("Requisição recebida (async): type={}, symbol={}", marketType, symbol);
+        hotSymbols.recordQuote(marketType, symbol);
+
+        MarketData cached = quoteCache.get(marketType, symbol).orElse(null);
+        if (cached != null) {
+            log.debug("Cache hit: type={}, symbol={}", marketType, symbol);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        if (hedgingEnabled || virtualThreads) {
+            return CompletableFuture.supplyAsync(() -> coalescer.execute("quote",
+                    new QuoteRequest(marketType, normalize(symbol)),
+                    () -> fetchCurrentPriceWithFallback(marketType, symbol)), providerExecutor);
+        }
+
+        return coalescer.executeAsync("quote", new QuoteRequest(marketType, normalize(symbol)),
+                () -> fetchWithFallbackAsync(marketType, symbol, getSupportedProviders(marketType), 0, null,
+                                provider -> invokeProviderAsync(marketType, provider.getClass().getSimpleName(),
+                                        symbol, () -> fetchCurrentPriceAsync(provider, symbol)))
+                        .thenApply(result -> {
+                            quoteCache.put(marketType, symbol, result);
+                            return result;
+                        }));
+    }
+
+    /**
+     * Cotações de vários símbolos em uma única requisição.
+     * Símbolos em cache não vão ao provider; o restante é buscado em lote no primeiro provider
+     * e os que faltarem seguem para o próximo (fallback por símbolo).
+     *
+     * @return cotações encontradas, na ordem solicitada (símbolos sem cotação ficam de fora)
+     */
+    public List<MarketData> getCurrentPrices(MarketType marketType, List<String> symbols) {
+        Map<String, MarketData> results = getCurrentPricesBySymbol(marketType, symbols);
+
+        return symbols.stream()
+                .distinct()
+                .map(results::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Como {@link #getCurrentPrices}, indexado pelo símbolo como foi pedido (o símbolo devolvido pelo
+     * provider pode vir em outro formato). Símbolos sem cotação ficam de fora do mapa.
+     */
+    public Map<String, MarketData> getCurrentPricesBySymbol(MarketType marketType, List<String> symbols) {
+        log.info("Requisição em lote: type={}, symbols={}", marketType, symbols.size());
+
+        if (symbols.isEmpty() || symbols.size() > maxBatchSymbols) {
+            throw new IllegalArgumentException(
+                    "Informe entre 1 e " + maxBatchSymbols + " símbolos (recebidos: " + symbols.size() + ")");
+        }
+
+        Map<String, MarketData> results = new HashMap<>();
+        List<String> pending = new ArrayList<>();
+
+        for (String symbol : symbols.stream().distinct().toList()) {
+            hotSymbols.recordQuote(marketType, symbol);
+            quoteCache.get(marketType, symbol)
+                    .ifPresentOrElse(data -> results.put(symbol, data), () -> pending.add(symbol));
+        }
+
+        List<MarketDataProvider> supportedProviders = getSupportedProviders(marketType);
+        ProviderException lastException = null;
+
+        for (MarketDataProvider provider : supportedProviders) {
+            if (pending.isEmpty()) {
+                break;
+            }
+            String providerName = provider.getClass().getSimpleName();
+
+            try {
+                log.info("Tentando lote via provider: {} ({} símbolo(s))", providerName, pending.size());
+
+                List<String> request = List.copyOf(pending);
+                Map<String, MarketData> found = invokeProvider(marketType, providerName, "batch",
+                        provider.requestCount(request.size()),
+                        () -> provider.fetchCurrentPrices(request, extra -> quotas.tryAcquire(providerName, extra)));
+
+                found.forEach((symbol, data) -> {
+                    results.put(symbol, data);
+                    quoteCache.put(marketType, symbol, data);
+                });
+                pending.removeAll(found.keySet());
+
+            } catch (ProviderException e) {
+                log.warn("Provider {} falhou no lote: {}. Tentando fallback...", providerName, e.getMessage());
+                lastException = e;
+            }
+        }
+
+        if (results.isEmpty() && lastException != null) {
+            log.error("Todos os {} provider(s) falharam para o lote type={}", supportedProviders.size(), marketType);
+            throw lastException;
+        }
+        if (!pending.isEmpty()) {
+            log.warn("Sem cotação para {} símbolo(s) do lote: {}", pending.size(), pending);
+        }
+        return results;
+    }
+
+    public CandleSeries getHistory(MarketType marketType, String symbol, TimeRange timeRange) {
+        log.info("Requisição de histórico: type={}, symbol={}, range={}", marketType, symbol, timeRange);
+        hotSymbols.recordHistory(marketType, symbol, timeRange);
+
+        CandleSeries cached = findCachedHistory(marketType, symbol, timeRange);
+        if (cached != null) {
+            return cached;
+        }
+
+        return fetchHistoryWithFallback(marketType, symbol, timeRange);
+    }
+
+    /**
+     * Versão não bloqueante de {@link #getHistory}.
+     * Com hedging ou virtual threads habilitados, delega para o fluxo síncrono no providerExecutor. Senão,
+     * só os acessos ao HistoryStore saem da thread do chamador, no historyStoreExecutor.
+     */
+    public CompletableFuture<CandleSeries> getHistoryAsync(MarketType marketType, String symbol, TimeRange timeRange) {
+        log.info("Requisição de histórico (async): type={}, symbol={}, range={}", marketType, symbol, timeRange);
+        hotSymbols.recordHistory(marketType, symbol, timeRange);
+
+        CandleSeries cached = findCachedHistory(marketType, symbol, timeRange);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        if (hedgingEnabled || virtualThreads) {
+            return CompletableFuture.supplyAsync(() -> fetchHistoryWithFallback(marketType, symbol, timeRange),
+                    providerExecutor);
+        }
+
+        try {
+            List<MarketDataProvider> supportedProviders = getSupportedProviders(marketType);
+            return findFreshHistoryAsync(supportedProviders, symbol, timeRange)
+                    .thenCompose(stored -> stored != null
+                            ? CompletableFuture.completedFuture(stored)
+                            : fetchWithFallbackAsync(marketType, symbol, supportedProviders, 0, null,
+                                    provider -> fetchHistoryForRangeAsync(marketType, provider, symbol, timeRange)));
+        } catch (RuntimeException e) {
+            // Sem provider disponível: falha no future, como nas demais falhas
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Refresh-ahead: busca a cotação no provider mesmo com ela em cache e atualiza o QuoteCache.
+     * Passa pelo RequestCoalescer, então uma requisição concorrente aproveita a mesma chamada.
+     */
+    public void refreshQuote(MarketType marketType, String symbol) {
+        coalescer.execute("quote", new QuoteRequest(marketType, normalize(symbol)),
+                () -> fetchCurrentPriceWithFallback(marketType, symbol));
+    }
+
+    /**
+     * Refresh-ahead do histórico: atualiza o HistoryCache (e o HistoryStore) sem consultar o cache.
+     * Uma requisição concorrente do mesmo símbolo aproveita a chamada ao provider (ver fetchHistoryForRange).
+     */
+    public void refreshHistory(MarketType marketType, String symbol, TimeRange timeRange) {
+        fetchHistoryWithFallback(marketType, symbol, timeRange);
+    }
+
+    /**
+     * Tempo até a cotação sair do QuoteCache. Vazio se ela não estiver em cache: o refresh-ahead
+     * só renova entradas existentes, e a próxima requisição do cliente busca as que já expiraram.
+     */
+    public Optional<Duration> quoteExpiresIn(MarketType marketType, String symbol) {
+        return quoteCache.expiresIn(marketType, symbol);
+    }
+
+    /** Como {@link #quoteExpiresIn}, para a série do HistoryCache que responde o range. */
+    public Optional<Duration> historyExpiresIn(MarketType marketType, String symbol, TimeRange timeRange) {
+        for (MarketDataProvider provider : providers) {
+            if (!provider.supports(marketType)) {
+                continue;
+            }
+            String interval = provider.historyInterval(timeRange);
+            Optional<Duration> expiresIn = historyCache.expiresIn(symbol, provider.getClass().getSimpleName(),
+                    interval, rangeStart(interval, timeRange));
+            if (expiresIn.isPresent()) {
+                return expiresIn;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Indica se uma chamada em segundo plano para o tipo pode gastar cota: todo provider que ela pode alcançar
+     * (qualquer um com o circuito fechado — fallback, hedging e exploração podem chamar qualquer um deles)
+     * precisa ter mais que {@code reserve} (fração) da cota disponível. Só consulta o ranking, sem alterá-lo.
+     */
+    public boolean hasRefreshBudget(MarketType marketType, double reserve) {
+        List<MarketDataProvider> available = providers.stream()
+                .filter(p -> p.supports(marketType))
+                .filter(p -> circuitBreakers.isCallPermitted(p.getClass().getSimpleName()))
+                .toList();
+
+        if (available.isEmpty()) {
+            return false;
+        }
+
+        for (MarketDataProvider provider : ranking.currentOrder(marketType, available)) {
+            String providerName = provider.getClass().getSimpleName();
+            if (quotas.remainingFraction(providerName) <= reserve) {
+                log.debug("Refresh de {} adiado: {} está na reserva de cota", marketType, providerName);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private MarketData fetchCurrentPriceWithFallback(MarketType marketType, String symbol) {
         List<MarketDataProvider> supportedProviders = getSupportedProviders(marketType);
+
+        if (hedgingEnabled && supportedProviders.size() > 1) {
+            MarketData result = hedgedExecutor.invoke(supportedProviders.stream()
+                    .map(provider -> hedgedCall(marketType, provider, () -> provider.fetchCurrentPrice(symbol), symbol))
+                    .toList());
+
+            log.info("Sucesso via hedging: {} (symbol={})", result.providerType(), symbol);
+            quoteCache.put(marketType, symbol, result);
+            return result;
+        }
+
         ProviderException lastException = null;
 
         for (MarketDataProvider provider : supportedProviders) {
@@ -47,10 +402,11 @@ public class MarketDataService {
             try {
                 log.info("Tentando provider: {}", providerName);
 
-                MarketData result = metrics.recordLatency(providerName, symbol,
+                MarketData result = invokeProvider(marketType, providerName, symbol,
                         () -> provider.fetchCurrentPrice(symbol));
 
                 log.info("Sucesso com provider: {} (symbol={})", providerName, symbol);
+                quoteCache.put(marketType, symbol, result);
                 return result;
 
             } catch (ProviderException e) {
@@ -65,10 +421,24 @@ public class MarketDataService {
         throw lastException;
     }
 
-    public List<Candle> getHistory(MarketType marketType, String symbol, TimeRange timeRange) {
-        log.info("Requisição de histórico: type={}, symbol={}, range={}", marketType, symbol, timeRange);
-
+    private CandleSeries fetchHistoryWithFallback(MarketType marketType, String symbol, TimeRange timeRange) {
         List<MarketDataProvider> supportedProviders = getSupportedProviders(marketType);
+
+        CandleSeries stored = findFreshHistory(supportedProviders, symbol, timeRange);
+        if (stored != null) {
+            return stored;
+        }
+
+        if (hedgingEnabled && supportedProviders.size() > 1) {
+            CandleSeries candles = hedgedExecutor.invoke(supportedProviders.stream()
+                    .map(provider -> hedgedCall(provider,
+                            () -> fetchHistoryForRange(marketType, provider, symbol, timeRange)))
+                    .toList());
+
+            log.info("Sucesso via hedging: {} candles para {} (range={})", candles.size(), symbol, timeRange);
+            return candles;
+        }
+
         ProviderException lastException = null;
 
         for (MarketDataProvider provider : supportedProviders) {
@@ -77,8 +447,7 @@ public class MarketDataService {
             try {
                 log.info("Tentando histórico via provider: {} (range={})", providerName, timeRange);
 
-                List<Candle> candles = metrics.recordLatency(providerName, symbol,
-                        () -> provider.fetchHistory(symbol, timeRange));
+                CandleSeries candles = fetchHistoryForRange(marketType, provider, symbol, timeRange);
 
                 log.info("Sucesso: {} retornou {} candles para {} (range={})",
                         providerName, candles.size(), symbol, timeRange);
@@ -96,6 +465,341 @@ public class MarketDataService {
         throw lastException;
     }
 
+    /**
+     * Série já armazenada e ainda atualizada de algum provider (na ordem de fallback), sem chamada HTTP.
+     * Atualizada = cobre o range inteiro e foi buscada há menos que min(interval, max-staleness).
+     */
+    private CandleSeries findFreshHistory(List<MarketDataProvider> supportedProviders, String symbol,
+                                          TimeRange timeRange) {
+        if (!historyStoreEnabled) {
+            return null;
+        }
+
+        Instant now = Instant.now();
+
+        for (MarketDataProvider provider : supportedProviders) {
+            SeriesKey key = seriesKey(provider, symbol, timeRange);
+            long from = rangeStart(key.interval(), timeRange);
+            try {
+                SeriesState state = historyStore.state(key).orElse(null);
+                if (state == null || state.coveredFrom() > from) {
+                    continue;
+                }
+
+                Duration maxAge = intervalDuration(key.interval());
+                if (maxAge.compareTo(historyMaxStaleness) > 0) {
+                    maxAge = historyMaxStaleness;
+                }
+                if (state.fetchedAt().plus(maxAge).isAfter(now)) {
+                    // Carrega tudo o que o range mais largo do interval precisa, para o HistoryCache
+                    long loadFrom = Math.max(state.coveredFrom(),
+                            rangeStart(key.interval(), widestRange(provider, timeRange)));
+                    CandleSeries stored = historyStore.load(key, loadFrom);
+                    historyCache.put(key.symbol(), key.provider(), key.interval(), loadFrom, stored);
+
+                    CandleSeries candles = stored.since(from);
+                    metrics.recordHistoryStore(key.provider(), "hit");
+                    log.info("Histórico servido do HistoryStore: {} candles de {} para {} (range={})",
+                            candles.size(), key.provider(), symbol, timeRange);
+                    return candles;
+                }
+            } catch (DataAccessException e) {
+                log.warn("HistoryStore indisponível ao ler {}: {}", key, e.getMessage());
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** {@link #findFreshHistory} no historyStoreExecutor. Sem HistoryStore, completa com null na hora. */
+    private CompletableFuture<CandleSeries> findFreshHistoryAsync(List<MarketDataProvider> supportedProviders,
+                                                                  String symbol, TimeRange timeRange) {
+        if (!historyStoreEnabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> findFreshHistory(supportedProviders, symbol, timeRange),
+                historyStoreExecutor);
+    }
+
+    /**
+     * Busca o histórico no provider passando pelo HistoryStore: se a série já cobre o range, pede só os
+     * candles a partir do último armazenado (ele é rebuscado, pois pode estar em formação) e devolve a
+     * série mesclada; senão busca o range inteiro e grava. Falhas do banco não derrubam a requisição.
+     */
+    private CandleSeries fetchHistoryIncremental(MarketDataProvider provider, String symbol, TimeRange timeRange) {
+        if (!historyStoreEnabled) {
+            return provider.fetchHistory(symbol, timeRange);
+        }
+
+        SeriesKey key = seriesKey(provider, symbol, timeRange);
+        long from = rangeStart(key.interval(), timeRange);
+
+        SeriesState state;
+        try {
+            state = historyStore.state(key).orElse(null);
+        } catch (DataAccessException e) {
+            log.warn("HistoryStore indisponível ao ler {}: {}", key, e.getMessage());
+            return provider.fetchHistory(symbol, timeRange);
+        }
+
+        if (state == null || state.coveredFrom() > from) {
+            CandleSeries candles = provider.fetchHistory(symbol, timeRange);
+            metrics.recordHistoryStore(key.provider(), "full");
+            return saveFullHistory(key, candles, from);
+        }
+
+        CandleSeries delta = provider.fetchHistorySince(symbol, timeRange, state.lastTimestamp());
+        metrics.recordHistoryStore(key.provider(), "delta");
+        try {
+            return mergeHistoryDelta(key, state, delta, from);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao mesclar {} no HistoryStore: {}. Buscando o range completo", key, e.getMessage());
+            return provider.fetchHistory(symbol, timeRange);
+        }
+    }
+
+    /**
+     * Versão assíncrona de {@link #fetchHistoryIncremental}: as chamadas ao provider são as assíncronas, e
+     * cada acesso ao HistoryStore é uma tarefa curta no historyStoreExecutor.
+     */
+    private CompletableFuture<CandleSeries> fetchHistoryIncrementalAsync(MarketDataProvider provider, String symbol,
+                                                                        TimeRange timeRange) {
+        if (!historyStoreEnabled) {
+            return fetchHistoryAsync(provider, symbol, timeRange);
+        }
+
+        SeriesKey key = seriesKey(provider, symbol, timeRange);
+        long from = rangeStart(key.interval(), timeRange);
+
+        return CompletableFuture.supplyAsync(() -> historyStore.state(key), historyStoreExecutor)
+                .handle((stored, error) -> {
+                    if (error != null) {
+                        if (!(unwrap(error) instanceof DataAccessException e)) {
+                            return CompletableFuture.<CandleSeries>failedFuture(unwrap(error));
+                        }
+                        log.warn("HistoryStore indisponível ao ler {}: {}", key, e.getMessage());
+                        return fetchHistoryAsync(provider, symbol, timeRange);
+                    }
+
+                    SeriesState state = stored.orElse(null);
+                    if (state == null || state.coveredFrom() > from) {
+                        return fetchHistoryAsync(provider, symbol, timeRange).thenComposeAsync(candles -> {
+                            metrics.recordHistoryStore(key.provider(), "full");
+                            return CompletableFuture.completedFuture(saveFullHistory(key, candles, from));
+                        }, historyStoreExecutor);
+                    }
+
+                    return fetchHistorySinceAsync(provider, symbol, timeRange, state.lastTimestamp())
+                            .thenApplyAsync(delta -> {
+                                metrics.recordHistoryStore(key.provider(), "delta");
+                                return mergeHistoryDelta(key, state, delta, from);
+                            }, historyStoreExecutor)
+                            .exceptionallyCompose(mergeError -> {
+                                if (!(unwrap(mergeError) instanceof DataAccessException e)) {
+                                    return CompletableFuture.failedFuture(unwrap(mergeError));
+                                }
+                                log.warn("Falha ao mesclar {} no HistoryStore: {}. Buscando o range completo",
+                                        key, e.getMessage());
+                                return fetchHistoryAsync(provider, symbol, timeRange);
+                            });
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /** Grava a série completa; falha do banco só é logada (a requisição usa a série buscada). */
+    private CandleSeries saveFullHistory(SeriesKey key, CandleSeries candles, long from) {
+        try {
+            historyStore.save(key, candles, from, Instant.now());
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar {} no HistoryStore: {}", key, e.getMessage());
+        }
+        return candles;
+    }
+
+    /** Grava os candles novos e relê a série mesclada a partir de {@code from}. */
+    private CandleSeries mergeHistoryDelta(SeriesKey key, SeriesState state, CandleSeries delta, long from) {
+        historyStore.save(key, delta, state.coveredFrom(), Instant.now());
+        CandleSeries candles = historyStore.load(key, from);
+        log.info("Histórico incremental: {} candle(s) buscados de {} para {}, {} no total",
+                delta.size(), key.provider(), key.symbol(), candles.size());
+        return candles;
+    }
+
+    /** Série do HistoryCache que cobre o range, do primeiro provider (na ordem de @Order) que tiver uma. */
+    private CandleSeries findCachedHistory(MarketType marketType, String symbol, TimeRange timeRange) {
+        for (MarketDataProvider provider : providers) {
+            if (!provider.supports(marketType)) {
+                continue;
+            }
+
+            String interval = provider.historyInterval(timeRange);
+            CandleSeries cached = historyCache.get(symbol, provider.getClass().getSimpleName(), interval,
+                    rangeStart(interval, timeRange)).orElse(null);
+            if (cached != null) {
+                log.debug("Cache hit de histórico: {} (range={}, interval={})", symbol, timeRange, interval);
+                return cached;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Busca o range mais largo com o mesmo interval, guarda no HistoryCache e devolve só o range pedido:
+     * trocar de 1M para 3M ou 6M no gráfico não gera nova chamada ao provider.
+     *
+     * A chamada é coalescida pelo que de fato vai ao provider — (provider, símbolo, range buscado) —, então
+     * requisições simultâneas de 1M e 6M dividem a mesma busca. A cota e o circuit breaker ficam dentro da
+     * chamada coalescida: quem só esperou o resultado não consome cota nem conta no breaker.
+     */
+    private CandleSeries fetchHistoryForRange(MarketType marketType, MarketDataProvider provider, String symbol,
+                                              TimeRange timeRange) {
+        String providerName = provider.getClass().getSimpleName();
+        TimeRange fetchRange = widestRange(provider, timeRange);
+
+        CandleSeries candles = coalescer.execute("history",
+                new HistoryRequest(marketType, providerName, normalize(symbol), fetchRange),
+                () -> cacheHistory(provider, symbol, fetchRange, invokeProvider(marketType, providerName, symbol,
+                        () -> fetchHistoryIncremental(provider, symbol, fetchRange))));
+        return candles.since(rangeStart(provider, timeRange));
+    }
+
+    /** Versão assíncrona de {@link #fetchHistoryForRange}. */
+    private CompletableFuture<CandleSeries> fetchHistoryForRangeAsync(MarketType marketType,
+                                                                     MarketDataProvider provider, String symbol,
+                                                                     TimeRange timeRange) {
+        String providerName = provider.getClass().getSimpleName();
+        TimeRange fetchRange = widestRange(provider, timeRange);
+
+        return coalescer.executeAsync("history",
+                        new HistoryRequest(marketType, providerName, normalize(symbol), fetchRange),
+                        () -> invokeProviderAsync(marketType, providerName, symbol,
+                                () -> fetchHistoryIncrementalAsync(provider, symbol, fetchRange))
+                                .thenApply(candles -> cacheHistory(provider, symbol, fetchRange, candles)))
+                .thenApply(candles -> candles.since(rangeStart(provider, timeRange)));
+    }
+
+    private CandleSeries cacheHistory(MarketDataProvider provider, String symbol, TimeRange fetchRange,
+                                      CandleSeries candles) {
+        String interval = provider.historyInterval(fetchRange);
+        historyCache.put(symbol, provider.getClass().getSimpleName(), interval,
+                rangeStart(interval, fetchRange), candles);
+        return candles;
+    }
+
+    /** Maior TimeRange com o mesmo interval do range pedido, neste provider (com cache.history.widen-range). */
+    private TimeRange widestRange(MarketDataProvider provider, TimeRange timeRange) {
+        if (!historyWidenRange) {
+            return timeRange;
+        }
+
+        String interval = provider.historyInterval(timeRange);
+        TimeRange widest = timeRange;
+        for (TimeRange candidate : TimeRange.values()) {
+            if (candidate.getSpan().compareTo(widest.getSpan()) > 0
+                    && interval.equals(provider.historyInterval(candidate))) {
+                widest = candidate;
+            }
+        }
+        return widest;
+    }
+
+    private long rangeStart(MarketDataProvider provider, TimeRange timeRange) {
+        return rangeStart(provider.historyInterval(timeRange), timeRange);
+    }
+
+    /**
+     * Início do range em epoch seconds, alinhado ao início do candle (ex: 00:00 UTC para "1d"):
+     * o candle que contém o início do range entra, como nas respostas dos providers.
+     */
+    private static long rangeStart(String interval, TimeRange timeRange) {
+        long start = Instant.now().getEpochSecond() - timeRange.getSpan().toSeconds();
+        long step = Math.min(intervalDuration(interval).toSeconds(), Duration.ofDays(1).toSeconds());
+        return Math.floorDiv(start, step) * step;
+    }
+
+    private SeriesKey seriesKey(MarketDataProvider provider, String symbol, TimeRange timeRange) {
+        return new SeriesKey(normalize(symbol), provider.getClass().getSimpleName(),
+                provider.historyInterval(timeRange));
+    }
+
+    /** "5m", "4h", "1d", "1wk", "1mo" → Duration. Formato desconhecido conta como 1 dia. */
+    private static Duration intervalDuration(String interval) {
+        int unitStart = 0;
+        while (unitStart < interval.length() && Character.isDigit(interval.charAt(unitStart))) {
+            unitStart++;
+        }
+        long amount = unitStart > 0 ? Long.parseLong(interval.substring(0, unitStart)) : 1;
+
+        return switch (interval.substring(unitStart)) {
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "wk" -> Duration.ofDays(7 * amount);
+            case "mo" -> Duration.ofDays(30 * amount);
+            default -> Duration.ofDays(amount);
+        };
+    }
+
+    /**
+     * Fallback encadeado: tenta o provider {@code index}; se falhar com ProviderException,
+     * tenta o próximo quando o future completar. Sem nenhuma thread esperando entre as tentativas.
+     * {@code call} já passa por {@link #invokeProviderAsync} (cota, circuit breaker, métricas).
+     */
+    private <T> CompletableFuture<T> fetchWithFallbackAsync(MarketType marketType, String symbol,
+                                                            List<MarketDataProvider> candidates, int index,
+                                                            ProviderException lastException,
+                                                            Function<MarketDataProvider, CompletableFuture<T>> call) {
+        if (index >= candidates.size()) {
+            log.error("Todos os {} provider(s) falharam para type={}, symbol={}",
+                    candidates.size(), marketType, symbol);
+            return CompletableFuture.failedFuture(lastException);
+        }
+
+        MarketDataProvider provider = candidates.get(index);
+        String providerName = provider.getClass().getSimpleName();
+        log.info("Tentando provider (async): {}", providerName);
+
+        return call.apply(provider)
+                .whenComplete((result, error) -> {
+                    if (error == null) {
+                        log.info("Sucesso com provider: {} (symbol={})", providerName, symbol);
+                    }
+                })
+                .exceptionallyCompose(error -> {
+                    if (!(unwrap(error) instanceof ProviderException e)) {
+                        return CompletableFuture.failedFuture(unwrap(error));
+                    }
+                    log.warn("Provider {} falhou para {}: {}. Tentando fallback...",
+                            providerName, symbol, e.getMessage());
+                    return fetchWithFallbackAsync(marketType, symbol, candidates, index + 1, e, call);
+                });
+    }
+
+    /** Providers sem variante assíncrona rodam no providerExecutor para não bloquear o chamador. */
+    private CompletableFuture<MarketData> fetchCurrentPriceAsync(MarketDataProvider provider, String symbol) {
+        if (provider instanceof AsyncMarketDataProvider asyncProvider) {
+            return asyncProvider.fetchCurrentPriceAsync(symbol);
+        }
+        return CompletableFuture.supplyAsync(() -> provider.fetchCurrentPrice(symbol), providerExecutor);
+    }
+
+    private CompletableFuture<CandleSeries> fetchHistoryAsync(MarketDataProvider provider, String symbol,
+                                                             TimeRange timeRange) {
+        if (provider instanceof AsyncMarketDataProvider asyncProvider) {
+            return asyncProvider.fetchHistoryAsync(symbol, timeRange);
+        }
+        return CompletableFuture.supplyAsync(() -> provider.fetchHistory(symbol, timeRange), providerExecutor);
+    }
+
+    private CompletableFuture<CandleSeries> fetchHistorySinceAsync(MarketDataProvider provider, String symbol,
+                                                                  TimeRange timeRange, long sinceEpochSeconds) {
+        if (provider instanceof AsyncMarketDataProvider asyncProvider) {
+            return asyncProvider.fetchHistorySinceAsync(symbol, timeRange, sinceEpochSeconds);
+        }
+        return CompletableFuture.supplyAsync(
+                () -> provider.fetchHistorySince(symbol, timeRange, sinceEpochSeconds), providerExecutor);
+    }
+
     private List<MarketDataProvider> getSupportedProviders(MarketType marketType) {
         List<MarketDataProvider> supported = providers.stream()
                 .filter(p -> p.supports(marketType))
@@ -107,6 +811,117 @@ public class MarketDataService {
                     "Nenhum provider disponível para o tipo de mercado: " + marketType);
         }
 
-        return supported;
+        List<MarketDataProvider> available = supported.stream()
+                .filter(p -> circuitBreakers.isCallPermitted(p.getClass().getSimpleName()))
+                .toList();
+
+        if (available.isEmpty()) {
+            log.error("Todos os providers de {} estão com o circuito aberto", marketType);
+            throw new ProviderException("CircuitBreaker",
+                    "Todos os providers de " + marketType + " estão temporariamente indisponíveis (circuito aberto)");
+        }
+
+        List<MarketDataProvider> withQuota = available.stream()
+                .filter(p -> quotas.hasRemaining(p.getClass().getSimpleName()))
+                .toList();
+
+        if (withQuota.isEmpty()) {
+            Duration retryAfter = available.stream()
+                    .map(p -> quotas.timeUntilAvailable(p.getClass().getSimpleName()))
+                    .min(Duration::compareTo)
+                    .orElse(Duration.ZERO);
+            log.error("Todos os providers de {} estão sem cota (próxima chamada em {})", marketType, retryAfter);
+            throw new QuotaExceededException("ProviderQuotas",
+                    "Cota de requisições esgotada para todos os providers de " + marketType, retryAfter);
+        }
+
+        return ranking.order(marketType, withQuota);
+    }
+
+    /** Chamada ao provider (com métricas) e o delay antes de disparar o próximo em paralelo. */
+    private <T> HedgedCall<T> hedgedCall(MarketType marketType, MarketDataProvider provider,
+                                         Supplier<T> call, String symbol) {
+        String providerName = provider.getClass().getSimpleName();
+        return hedgedCall(provider, () -> invokeProvider(marketType, providerName, symbol, call));
+    }
+
+    /** Como acima, para uma chamada que já passa por {@link #invokeProvider}. */
+    private <T> HedgedCall<T> hedgedCall(MarketDataProvider provider, Supplier<T> invocation) {
+        String providerName = provider.getClass().getSimpleName();
+
+        Duration delay = hedgingUseP95
+                ? metrics.getLatencyP95(providerName).orElse(hedgingDelay)
+                : hedgingDelay;
+
+        return new HedgedCall<>(providerName, delay, invocation);
+    }
+
+    private <T> T invokeProvider(MarketType marketType, String providerName, String symbol, Supplier<T> call) {
+        return invokeProvider(marketType, providerName, symbol, 1, call);
+    }
+
+    /**
+     * Toda chamada a provider consome a cota ({@code requests} chamadas HTTP), passa pelo circuit breaker,
+     * pelas métricas de latência e alimenta o ProviderRanking. Sem cota, lança QuotaExceededException
+     * sem chamar o provider (o fallback segue para o próximo). A cota só é consumida depois da permissão
+     * do circuit breaker: uma chamada rejeitada pelo circuito não gasta cota.
+     */
+    private <T> T invokeProvider(MarketType marketType, String providerName, String symbol, int requests,
+                                 Supplier<T> call) {
+        return circuitBreakers.execute(providerName, () -> {
+            quotas.acquire(providerName, requests);
+
+            long start = System.nanoTime();
+            try {
+                T result = metrics.recordLatency(providerName, symbol, call);
+                ranking.record(marketType, providerName, System.nanoTime() - start, true);
+                return result;
+            } catch (QuotaExceededException e) {
+                // Limite informado pelo provider: não é lentidão nem falha para o ranking
+                quotas.exhaust(providerName, e.getMessage());
+                throw e;
+            } catch (ProviderException e) {
+                // Abortada pelo HedgedExecutor (outro provider venceu): não pesa contra este no ranking
+                if (!CallCancellation.isCurrentCancelled()) {
+                    ranking.record(marketType, providerName, System.nanoTime() - start, false);
+                }
+                throw e;
+            }
+        });
+    }
+
+    /** Versão assíncrona de {@link #invokeProvider}. */
+    private <T> CompletableFuture<T> invokeProviderAsync(MarketType marketType, String providerName, String symbol,
+                                                         Supplier<CompletableFuture<T>> call) {
+        return circuitBreakers.executeAsync(providerName, () -> {
+            quotas.acquire(providerName, 1);
+
+            long start = System.nanoTime();
+            return metrics.recordLatencyAsync(providerName, symbol, call)
+                    .whenComplete((result, error) -> {
+                        Throwable cause = error == null ? null : unwrap(error);
+                        if (cause instanceof QuotaExceededException) {
+                            quotas.exhaust(providerName, cause.getMessage());
+                        } else if (cause == null || cause instanceof ProviderException) {
+                            ranking.record(marketType, providerName, System.nanoTime() - start, error == null);
+                        }
+                    });
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String normalize(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /** Chaves de deduplicação (single-flight) das chamadas aos providers. */
+    private record QuoteRequest(MarketType marketType, String symbol) {
+    }
+
+    /** {@code fetchRange} é o range realmente buscado (ver widestRange), não o pedido pelo cliente. */
+    private record HistoryRequest(MarketType marketType, String provider, String symbol, TimeRange fetchRange) {
     }
 }
@@ -0,0 +1,380 @@
+package com.kaique.marketdata.application.service;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distribui cotações em tempo real para assinantes (SSE, WebSocket).
+ *
+ * Um feed por (MarketType, símbolo), não importa quantos assinantes, e um poller por MarketType: a cada
+ * market.stream.poll-interval-ms ele consulta em lote (MarketDataService.getCurrentPricesBySymbol: cache →
+ * providers) todos os símbolos assinados daquele tipo e publica só quando o preço muda. O streamPollerScheduler
+ * só marca o tempo; a consulta, bloqueante, roda no providerExecutor. O feed nasce com o primeiro assinante
+ * e sai do lote quando o último sai. Em caso de falha, o intervalo do símbolo dobra a cada tentativa até
+ * market.stream.max-backoff-ms.
+ *
+ * A entrega roda no streamDispatchExecutor, uma tarefa por assinante no máximo: se um assinante ainda não
+ * recebeu a cotação anterior, ela é substituída pela nova (conflation) em vez de enfileirar. Um cliente lento
+ * recebe menos eventos, mas nunca uma fila crescente.
+ */
+@Component
+public class QuoteStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteStreamHub.class);
+
+    /** Destino das cotações de um assinante. Uma exceção encerra a assinatura. */
+    @FunctionalInterface
+    public interface QuoteListener {
+        void onQuote(MarketData data) throws Exception;
+    }
+
+    /** Assinatura ativa; {@link #cancel()} pode ser chamado mais de uma vez. */
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final MarketDataService marketDataService;
+    private final ProviderMetrics metrics;
+    private final ScheduledExecutorService pollerScheduler;
+    private final ExecutorService providerExecutor;
+    private final ExecutorService dispatchExecutor;
+    private final Duration pollInterval;
+    private final Duration maxBackoff;
+    private final int maxBatchSymbols;
+    private final Map<FeedKey, Feed> feeds = new ConcurrentHashMap<>();
+    private final Map<MarketType, TypePoller> pollers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> subscriberCounts = new ConcurrentHashMap<>();
+
+    public QuoteStreamHub(MarketDataService marketDataService,
+                          ProviderMetrics metrics,
+                          @Qualifier("streamPollerScheduler") ScheduledExecutorService pollerScheduler,
+                          @Qualifier("providerExecutor") ExecutorService providerExecutor,
+                          @Qualifier("streamDispatchExecutor") ExecutorService dispatchExecutor,
+                          @Value("${market.stream.poll-interval-ms:1000}") long pollIntervalMs,
+                          @Value("${market.stream.max-backoff-ms:30000}") long maxBackoffMs,
+                          @Value("${market.batch.max-symbols:100}") int maxBatchSymbols) {
+        this.marketDataService = marketDataService;
+        this.metrics = metrics;
+        this.pollerScheduler = pollerScheduler;
+        this.providerExecutor = providerExecutor;
+        this.dispatchExecutor = dispatchExecutor;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.maxBatchSymbols = maxBatchSymbols;
+
+        metrics.registerStreamGauge("feeds", null, "Símbolos assinados no streaming de cotações",
+                feeds, Map::size);
+    }
+
+    /**
+     * Assina as cotações do símbolo. Se o feed já tiver uma cotação, ela é entregue em seguida;
+     * senão, a primeira chega na próxima consulta do poller do tipo (antecipada para agora, se ele estiver ocioso).
+     *
+     * @param channel canal do assinante, usado como tag das métricas (ex: "sse", "websocket")
+     */
+    public Subscription subscribe(MarketType marketType, String symbol, String channel, QuoteListener listener) {
+        FeedKey key = new FeedKey(marketType, symbol.trim().toUpperCase(Locale.ROOT));
+        Subscriber subscriber = new Subscriber(channel, listener);
+        subscriberCount(channel).incrementAndGet();
+
+        // compute garante que o feed não seja removido pelo último unsubscribe entre o get e o add
+        Feed feed = feeds.compute(key, (k, existing) -> {
+            Feed target = existing != null ? existing : new Feed(k, symbol);
+            target.subscribers.add(subscriber);
+            subscriber.feed = target;
+            return target;
+        });
+
+        if (feed.started.compareAndSet(false, true)) {
+            log.info("Stream: feed iniciado para {} {}", key.marketType(), key.symbol());
+            pollers.computeIfAbsent(key.marketType(), TypePoller::new).wakeUp();
+        } else {
+            MarketData last = feed.last.get();
+            if (last != null) {
+                subscriber.offer(last, System.nanoTime());
+            }
+        }
+
+        return subscriber::cancel;
+    }
+
+    // ========== Métodos privados ==========
+
+    private void unsubscribe(Subscriber subscriber) {
+        Feed feed = subscriber.feed;
+        subscriberCount(subscriber.channel).decrementAndGet();
+
+        feeds.computeIfPresent(feed.key, (k, existing) -> {
+            existing.subscribers.remove(subscriber);
+            if (!existing.subscribers.isEmpty()) {
+                return existing;
+            }
+            existing.stopped = true;
+            log.info("Stream: feed encerrado para {} {} (sem assinantes)", k.marketType(), k.symbol());
+            return null;
+        });
+    }
+
+    private AtomicInteger subscriberCount(String channel) {
+        return subscriberCounts.computeIfAbsent(channel, c -> {
+            AtomicInteger count = new AtomicInteger();
+            metrics.registerStreamGauge("subscribers", c, "Assinantes ativos de streaming de cotações",
+                    count, AtomicInteger::get);
+            return count;
+        });
+    }
+
+    private static boolean priceChanged(MarketData previous, MarketData current) {
+        if (previous == null || previous.currentPrice() == null || current.currentPrice() == null) {
+            return true;
+        }
+        return previous.currentPrice().compareTo(current.currentPrice()) != 0;
+    }
+
+    private record FeedKey(MarketType marketType, String symbol) {
+    }
+
+    /**
+     * Poller de um MarketType. Nunca há duas consultas ao mesmo tempo: o próximo tick só é agendado quando a
+     * consulta anterior termina. Sem nenhum feed do tipo, para de agendar até o próximo {@link #wakeUp}.
+     */
+    private final class TypePoller {
+
+        private final MarketType marketType;
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean running;
+        private boolean fetching;
+        private ScheduledFuture<?> next;
+
+        private TypePoller(MarketType marketType) {
+            this.marketType = marketType;
+        }
+
+        /** Chamado quando um feed do tipo nasce: religa o poller ou antecipa o próximo tick. */
+        private void wakeUp() {
+            lock.lock();
+            try {
+                if (!running) {
+                    running = true;
+                    scheduleTick(Duration.ZERO);
+                } else if (!fetching && next != null && next.cancel(false)) {
+                    scheduleTick(Duration.ZERO);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Com o lock. */
+        private void scheduleTick(Duration delay) {
+            try {
+                next = pollerScheduler.schedule(this::tick, delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                running = false;
+                next = null;
+            }
+        }
+
+        /** Na thread do agendador: só escolhe os símbolos vencidos e dispara a consulta no providerExecutor. */
+        private void tick() {
+            long now = System.nanoTime();
+            List<Feed> due;
+
+            lock.lock();
+            try {
+                next = null;
+                List<Feed> ofType = feeds.values().stream()
+                        .filter(feed -> feed.key.marketType() == marketType)
+                        .toList();
+                if (ofType.isEmpty()) {
+                    running = false;
+                    return;
+                }
+                due = ofType.stream().filter(feed -> feed.isDue(now)).toList();
+                if (due.isEmpty()) {
+                    // Todos em backoff
+                    scheduleTick(pollInterval);
+                    return;
+                }
+                fetching = true;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                providerExecutor.execute(() -> fetch(due));
+            } catch (RejectedExecutionException e) {
+                lock.lock();
+                try {
+                    fetching = false;
+                    running = false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void fetch(List<Feed> due) {
+            try {
+                for (int from = 0; from < due.size(); from += maxBatchSymbols) {
+                    fetchBatch(due.subList(from, Math.min(from + maxBatchSymbols, due.size())));
+                }
+            } finally {
+                lock.lock();
+                try {
+                    fetching = false;
+                    scheduleTick(pollInterval);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void fetchBatch(List<Feed> batch) {
+            Map<String, MarketData> found;
+            try {
+                found = marketDataService.getCurrentPricesBySymbol(marketType,
+                        batch.stream().map(feed -> feed.symbol).toList());
+            } catch (RuntimeException e) {
+                batch.forEach(feed -> feed.failed(e.getMessage()));
+                return;
+            }
+
+            long publishedAt = System.nanoTime();
+            for (Feed feed : batch) {
+                MarketData data = found.get(feed.symbol);
+                if (data != null) {
+                    feed.publish(data, publishedAt);
+                } else {
+                    feed.failed("sem cotação no lote");
+                }
+            }
+        }
+    }
+
+    /** Símbolo assinado: última cotação, backoff e assinantes. Consultado só pelo poller do tipo. */
+    private final class Feed {
+
+        private final FeedKey key;
+        private final String symbol;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<MarketData> last = new AtomicReference<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile boolean stopped;
+        private volatile long nextPollAt = System.nanoTime();
+        private Duration backoff = Duration.ZERO;
+
+        private Feed(FeedKey key, String symbol) {
+            this.key = key;
+            this.symbol = symbol;
+        }
+
+        private boolean isDue(long now) {
+            return !stopped && now - nextPollAt >= 0;
+        }
+
+        private void publish(MarketData data, long publishedAt) {
+            backoff = Duration.ZERO;
+            if (!stopped && priceChanged(last.getAndSet(data), data)) {
+                subscribers.forEach(subscriber -> subscriber.offer(data, publishedAt));
+            }
+        }
+
+        private void failed(String reason) {
+            backoff = backoff.isZero() ? pollInterval.multipliedBy(2) : backoff.multipliedBy(2);
+            if (backoff.compareTo(maxBackoff) > 0) {
+                backoff = maxBackoff;
+            }
+            nextPollAt = System.nanoTime() + backoff.toNanos();
+            log.warn("Stream: falha ao consultar {} {}: {} (nova tentativa em {})",
+                    key.marketType(), key.symbol(), reason, backoff);
+        }
+    }
+
+    /** Assinante com no máximo uma cotação pendente e uma entrega em andamento. */
+    private final class Subscriber {
+
+        private final String channel;
+        private final QuoteListener listener;
+        private final AtomicReference<Pending> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Feed feed;
+
+        private Subscriber(String channel, QuoteListener listener) {
+            this.channel = channel;
+            this.listener = listener;
+        }
+
+        private void offer(MarketData data, long publishedAt) {
+            if (cancelled.get()) {
+                return;
+            }
+            if (pending.getAndSet(new Pending(data, publishedAt)) != null) {
+                metrics.recordStreamDropped(channel, "conflated");
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatchExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (!cancelled.get()) {
+                Pending next = pending.getAndSet(null);
+                if (next == null) {
+                    draining.set(false);
+                    // Uma cotação pode ter chegado entre o getAndSet e o set(false)
+                    if (pending.get() == null || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                try {
+                    listener.onQuote(next.data());
+                    metrics.recordStreamFanout(channel, System.nanoTime() - next.publishedAt());
+                } catch (Exception e) {
+                    log.debug("Stream: entrega falhou para assinante {} ({}), encerrando", channel, e.getMessage());
+                    metrics.recordStreamDropped(channel, "error");
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+        private void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                unsubscribe(this);
+            }
+        }
+    }
+
+    private record Pending(MarketData data, long publishedAt) {
+    }
+}
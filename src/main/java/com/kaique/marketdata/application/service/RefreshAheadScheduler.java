@@ -0,0 +1,110 @@
+package com.kaique.marketdata.application.service;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.infrastructure.cache.HotSymbolTracker;
+import com.kaique.marketdata.infrastructure.cache.HotSymbolTracker.HistoryAccess;
+import com.kaique.marketdata.infrastructure.cache.HotSymbolTracker.QuoteAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Refresh-ahead: renova em segundo plano as cotações e históricos mais acessados pouco antes de saírem
+ * do cache, para que a requisição do cliente nunca espere pelo provider.
+ *
+ * A cada tick (market.refresh-ahead.interval-ms) olha os top-N do HotSymbolTracker, separa os que estão em cache
+ * e expiram dentro de market.refresh-ahead.lead-ms e renova no máximo max-per-tick deles, os que expiram antes
+ * primeiro. Se a renovação falhar, a entrada atual continua valendo e o próximo tick tenta de novo.
+ * As renovações rodam em sequência na thread do agendador, então as chamadas aos providers ficam espalhadas
+ * no tempo em vez de chegarem juntas no fim de cada TTL.
+ *
+ * Só gasta cota enquanto o primeiro provider do tipo tiver mais que market.refresh-ahead.quota-reserve
+ * (fração) da cota disponível: o restante fica para as requisições dos clientes.
+ */
+@Component
+@ConditionalOnProperty(name = "market.refresh-ahead.enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshAheadScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshAheadScheduler.class);
+
+    private final MarketDataService marketDataService;
+    private final HotSymbolTracker hotSymbols;
+    private final int topQuotes;
+    private final int topHistories;
+    private final Duration lead;
+    private final int maxPerTick;
+    private final double quotaReserve;
+
+    public RefreshAheadScheduler(MarketDataService marketDataService,
+                                 HotSymbolTracker hotSymbols,
+                                 @Value("${market.refresh-ahead.top-quotes:20}") int topQuotes,
+                                 @Value("${market.refresh-ahead.top-histories:10}") int topHistories,
+                                 @Value("${market.refresh-ahead.lead-ms:5000}") long leadMs,
+                                 @Value("${market.refresh-ahead.max-per-tick:2}") int maxPerTick,
+                                 @Value("${market.refresh-ahead.quota-reserve:0.5}") double quotaReserve) {
+        this.marketDataService = marketDataService;
+        this.hotSymbols = hotSymbols;
+        this.topQuotes = topQuotes;
+        this.topHistories = topHistories;
+        this.lead = Duration.ofMillis(leadMs);
+        this.maxPerTick = maxPerTick;
+        this.quotaReserve = quotaReserve;
+        log.info("RefreshAheadScheduler inicializado: top {} cotações / {} históricos, lead={}, maxPerTick={}",
+                topQuotes, topHistories, lead, maxPerTick);
+    }
+
+    @Scheduled(fixedDelayString = "${market.refresh-ahead.interval-ms:1000}")
+    public void refreshExpiring() {
+        List<Refresh> due = new ArrayList<>();
+
+        for (QuoteAccess quote : hotSymbols.topQuotes(topQuotes)) {
+            marketDataService.quoteExpiresIn(quote.marketType(), quote.symbol())
+                    .filter(expiresIn -> expiresIn.compareTo(lead) <= 0)
+                    .ifPresent(expiresIn -> due.add(new Refresh(quote.marketType(), expiresIn,
+                            "cotação " + quote.symbol(),
+                            () -> marketDataService.refreshQuote(quote.marketType(), quote.symbol()))));
+        }
+        for (HistoryAccess history : hotSymbols.topHistories(topHistories)) {
+            marketDataService.historyExpiresIn(history.marketType(), history.symbol(), history.timeRange())
+                    .filter(expiresIn -> expiresIn.compareTo(lead) <= 0)
+                    .ifPresent(expiresIn -> due.add(new Refresh(history.marketType(), expiresIn,
+                            "histórico " + history.symbol() + " (" + history.timeRange() + ")",
+                            () -> marketDataService.refreshHistory(
+                                    history.marketType(), history.symbol(), history.timeRange()))));
+        }
+
+        due.stream()
+                .sorted(Comparator.comparing(Refresh::expiresIn))
+                .filter(refresh -> marketDataService.hasRefreshBudget(refresh.marketType(), quotaReserve))
+                .limit(maxPerTick)
+                .forEach(this::run);
+    }
+
+    /** Reduz as contagens de acesso pela metade, para o ranking acompanhar o que está quente agora. */
+    @Scheduled(fixedDelayString = "${market.refresh-ahead.decay-interval-ms:60000}")
+    public void decayAccessCounts() {
+        hotSymbols.decay();
+    }
+
+    // ========== Métodos privados ==========
+
+    private void run(Refresh refresh) {
+        try {
+            refresh.action().run();
+            log.debug("Refresh-ahead: {} renovado (expirava em {})", refresh.description(), refresh.expiresIn());
+        } catch (RuntimeException e) {
+            log.warn("Refresh-ahead de {} falhou: {}", refresh.description(), e.getMessage());
+        }
+    }
+
+    private record Refresh(MarketType marketType, Duration expiresIn, String description, Runnable action) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.kaique.marketdata.domain.enums;
+
+/**
+ * Estratégia de redução do histórico quando o cliente pede maxPoints.
+ *
+ * - OHLC: funde candles vizinhos em um candle (open do primeiro, high máximo, low mínimo, close do último,
+ *   volume somado). Próprio para gráfico de candles: nenhum máximo ou mínimo se perde.
+ * - LTTB: escolhe candles originais pelo Largest-Triangle-Three-Buckets sobre o close. Próprio para
+ *   gráfico de linha: preserva picos e vales do fechamento.
+ */
+public enum DownsampleMethod {
+
+    OHLC,
+    LTTB;
+
+    /**
+     * Converte "ohlc" / "lttb" (case-insensitive) para o enum.
+     *
+     * @throws IllegalArgumentException se o valor não for reconhecido
+     */
+    public static DownsampleMethod fromString(String value) {
+        return switch (value.toUpperCase().trim()) {
+            case "OHLC" -> OHLC;
+            case "LTTB" -> LTTB;
+            default -> throw new IllegalArgumentException(
+                    "Downsample inválido: '" + value + "'. Valores aceitos: ohlc, lttb");
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.kaique.marketdata.domain.enums;
+
+import java.util.List;
+
+/**
+ * Indicadores técnicos calculados no servidor (GET /market/{type}/{symbol}/indicators).
+ *
+ * Cada tipo é pedido como prefixo + período (ex: sma20, rsi14) e produz uma ou mais linhas
+ * alinhadas aos candles da série.
+ */
+public enum IndicatorType {
+
+    /** Média móvel simples dos fechamentos. */
+    SMA("sma", List.of("")),
+    /** Média móvel exponencial (semente: SMA dos primeiros períodos). */
+    EMA("ema", List.of("")),
+    /** Índice de força relativa com a suavização de Wilder. */
+    RSI("rsi", List.of("")),
+    /** Bandas de Bollinger: média ± 2 desvios-padrão populacionais. */
+    BB("bb", List.of(".middle", ".upper", ".lower")),
+    /** VWAP móvel: preço típico (H+L+C)/3 ponderado pelo volume dos últimos N candles. */
+    VWAP("vwap", List.of(""));
+
+    private final String prefix;
+    private final List<String> lineSuffixes;
+
+    IndicatorType(String prefix, List<String> lineSuffixes) {
+        this.prefix = prefix;
+        this.lineSuffixes = lineSuffixes;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /** Sufixos das linhas produzidas (vazio para indicadores de uma linha só). */
+    public List<String> getLineSuffixes() {
+        return lineSuffixes;
+    }
+}
@@ -1,5 +1,7 @@
 package com.kaique.marketdata.domain.enums;
 
+import java.time.Duration;
+
 /**
  * Enum que define os ranges de tempo disponíveis para consulta de histórico.
  *
@@ -18,22 +20,24 @@ package com.kaique.marketdata.domain.enums;
  */
 public enum TimeRange {
 
-    ONE_DAY("1d", "5m", "1"),
-    ONE_WEEK("5d", "15m", "7"),
-    ONE_MONTH("1mo", "1d", "30"),
-    THREE_MONTHS("3mo", "1d", "90"),
-    SIX_MONTHS("6mo", "1d", "180"),
-    ONE_YEAR("1y", "1wk", "365"),
-    FIVE_YEARS("5y", "1mo", "max");
+    ONE_DAY("1d", "5m", "1", 1),
+    ONE_WEEK("5d", "15m", "7", 7),
+    ONE_MONTH("1mo", "1d", "30", 30),
+    THREE_MONTHS("3mo", "1d", "90", 90),
+    SIX_MONTHS("6mo", "1d", "180", 180),
+    ONE_YEAR("1y", "1wk", "365", 365),
+    FIVE_YEARS("5y", "1mo", "max", 5 * 365);
 
     private final String brapiRange;
     private final String brapiInterval;
     private final String coinGeckoDays;
+    private final Duration span;
 
-    TimeRange(String brapiRange, String brapiInterval, String coinGeckoDays) {
+    TimeRange(String brapiRange, String brapiInterval, String coinGeckoDays, int spanDays) {
         this.brapiRange = brapiRange;
         this.brapiInterval = brapiInterval;
         this.coinGeckoDays = coinGeckoDays;
+        this.span = Duration.ofDays(spanDays);
     }
 
     public String getBrapiRange() {
@@ -48,6 +52,11 @@ public enum TimeRange {
         return coinGeckoDays;
     }
 
+    /** Período coberto pelo range, contado a partir de agora (ex: 1Y → 365 dias). */
+    public Duration getSpan() {
+        return span;
+    }
+
     /**
      * Converte strings amigáveis (1d, 1w, 1m, 3m, 6m, 1y, 5y) para o enum.
      * Case-insensitive.
@@ -0,0 +1,26 @@
+package com.kaique.marketdata.domain.exception;
+
+import java.time.Duration;
+
+/**
+ * Exceção lançada quando a cota de requisições de um provedor está esgotada
+ * (pela contagem local ou porque o próprio provedor avisou que o limite foi atingido).
+ */
+public class QuotaExceededException extends ProviderException {
+
+    private final Duration retryAfter;
+
+    public QuotaExceededException(String providerName, String message) {
+        this(providerName, message, null);
+    }
+
+    public QuotaExceededException(String providerName, String message, Duration retryAfter) {
+        super(providerName, message);
+        this.retryAfter = retryAfter;
+    }
+
+    /** Tempo estimado até a cota liberar uma nova chamada; {@code null} se desconhecido. */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,30 @@
+package com.kaique.marketdata.domain.model;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+
+import java.util.Locale;
+
+/**
+ * Ativo em uma lista multi-mercado, no formato "TIPO:SÍMBOLO" (ex: STOCK:PETR4, CRYPTO:bitcoin).
+ */
+public record AssetRef(MarketType marketType, String symbol) {
+
+    /**
+     * @throws IllegalArgumentException se o valor não estiver no formato TIPO:SÍMBOLO
+     */
+    public static AssetRef fromString(String value) {
+        int separator = value.indexOf(':');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException(
+                    "Ativo inválido: '" + value + "'. Formato esperado: TIPO:SÍMBOLO (ex: STOCK:PETR4)");
+        }
+
+        MarketType marketType = MarketType.valueOf(value.substring(0, separator).trim().toUpperCase(Locale.ROOT));
+        return new AssetRef(marketType, value.substring(separator + 1).trim());
+    }
+
+    @Override
+    public String toString() {
+        return marketType + ":" + symbol;
+    }
+}
@@ -0,0 +1,100 @@
+package com.kaique.marketdata.domain.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Granularidade de candle pedida pelo cliente (parâmetro interval do /history): quantidade + unidade.
+ *
+ * Formatos aceitos (case-insensitive): {@code 15m}, {@code 1h}, {@code 4h}, {@code 1d}, {@code 1w} (ou {@code 1wk}),
+ * {@code 1mo}. Os intervalos são alinhados em UTC: minutos, horas e dias a partir da época Unix, semanas a partir
+ * de segunda-feira e meses a partir do dia 1.
+ */
+public record CandleInterval(int amount, Unit unit) {
+
+    private static final Pattern FORMAT = Pattern.compile("(\\d{1,4})(mo|wk|m|h|d|w)");
+    /** 1970-01-01 foi uma quinta-feira: as semanas começam 4 dias depois da época. */
+    private static final long MONDAY_OFFSET_SECONDS = 4 * 86_400L;
+
+    public enum Unit {
+        MINUTE("m", 60),
+        HOUR("h", 3_600),
+        DAY("d", 86_400),
+        WEEK("w", 7 * 86_400),
+        MONTH("mo", 0);
+
+        private final String suffix;
+        private final long seconds;
+
+        Unit(String suffix, long seconds) {
+            this.suffix = suffix;
+            this.seconds = seconds;
+        }
+    }
+
+    public CandleInterval {
+        if (amount < 1) {
+            throw new IllegalArgumentException("Interval deve ser positivo (recebido: " + amount + ")");
+        }
+    }
+
+    /**
+     * Converte strings como "4h", "1d", "1w", "1mo".
+     *
+     * @throws IllegalArgumentException se o valor não for reconhecido
+     */
+    public static CandleInterval fromString(String value) {
+        Matcher matcher = FORMAT.matcher(value.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(
+                    "Interval inválido: '" + value + "'. Exemplos aceitos: 15m, 1h, 4h, 1d, 1w, 1mo");
+        }
+
+        int amount = Integer.parseInt(matcher.group(1));
+        Unit unit = switch (matcher.group(2)) {
+            case "m" -> Unit.MINUTE;
+            case "h" -> Unit.HOUR;
+            case "d" -> Unit.DAY;
+            case "w", "wk" -> Unit.WEEK;
+            default -> Unit.MONTH;
+        };
+        return new CandleInterval(amount, unit);
+    }
+
+    /** Duração aproximada em segundos (meses contam 30 dias). Serve só para estimativas. */
+    public long approximateSeconds() {
+        return unit == Unit.MONTH ? amount * 30 * 86_400L : amount * unit.seconds;
+    }
+
+    /** Início (epoch seconds) do intervalo que contém {@code epochSeconds}. */
+    public long bucketStart(long epochSeconds) {
+        if (unit == Unit.MONTH) {
+            LocalDate date = Instant.ofEpochSecond(epochSeconds).atZone(ZoneOffset.UTC).toLocalDate();
+            int months = Math.floorDiv(date.getYear() * 12 + date.getMonthValue() - 1, amount) * amount;
+            return LocalDate.of(Math.floorDiv(months, 12), Math.floorMod(months, 12) + 1, 1)
+                    .atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        }
+
+        long length = amount * unit.seconds;
+        long offset = unit == Unit.WEEK ? MONDAY_OFFSET_SECONDS : 0;
+        return Math.floorDiv(epochSeconds - offset, length) * length + offset;
+    }
+
+    /** Início do intervalo seguinte ao que começa em {@code bucketStart}. */
+    public long nextBucketStart(long bucketStart) {
+        if (unit == Unit.MONTH) {
+            return Instant.ofEpochSecond(bucketStart).atZone(ZoneOffset.UTC)
+                    .plusMonths(amount).toEpochSecond();
+        }
+        return bucketStart + amount * unit.seconds;
+    }
+
+    @Override
+    public String toString() {
+        return amount + unit.suffix;
+    }
+}
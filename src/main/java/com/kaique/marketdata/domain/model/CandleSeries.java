@@ -0,0 +1,416 @@
+package com.kaique.marketdata.domain.model;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Série histórica OHLCV em formato colunar.
+ *
+ * Em vez de um objeto Candle (com cinco BigDecimal) por ponto, a série guarda arrays paralelos:
+ * timestamps em epoch SEGUNDOS e preços em ponto fixo ({@code valor = bruto / 10^scale}).
+ * Uma série inteira ocupa alguns poucos arrays, independente do número de candles.
+ *
+ * O volume é guardado como inteiro (unidades negociadas); frações são arredondadas.
+ * A série é imutável e sempre ordenada por timestamp (mais antigo primeiro).
+ *
+ * {@link #toCandles()} oferece a visão List&lt;Candle&gt; para quem ainda precisa dela.
+ *
+ * Uma série também pode ser uma visão sobre registros de tamanho fixo em um ByteBuffer
+ * ({@link #wrap}), ex: um arquivo memory-mapped — nesse caso nada é copiado para o heap.
+ */
+public final class CandleSeries {
+
+    /** Casas decimais padrão dos preços (suficiente para cripto de baixo valor). */
+    public static final int DEFAULT_SCALE = 8;
+
+    /** Registro de {@link #wrap}: timestamp, open, high, low, close, volume — 6 longs. */
+    public static final int RECORD_BYTES = 6 * Long.BYTES;
+
+    private static final long HASH_SEED = 0xCBF29CE484222325L;
+
+    private static final CandleSeries EMPTY = new CandleSeries(
+            new long[0], new long[0], new long[0], new long[0], new long[0], new long[0], 0, DEFAULT_SCALE);
+
+    private final long[] timestamps;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] volume;
+    /** Quando não nulo, os dados vêm daqui (registros de RECORD_BYTES) e os arrays ficam nulos. */
+    private final ByteBuffer records;
+    private final int size;
+    private final int scale;
+    private final double factor;
+
+    private CandleSeries(long[] timestamps, long[] open, long[] high, long[] low, long[] close,
+                         long[] volume, int size, int scale) {
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.records = null;
+        this.size = size;
+        this.scale = scale;
+        this.factor = Math.pow(10, scale);
+    }
+
+    private CandleSeries(ByteBuffer records, int scale) {
+        this.timestamps = null;
+        this.open = null;
+        this.high = null;
+        this.low = null;
+        this.close = null;
+        this.volume = null;
+        this.records = records;
+        this.size = records.capacity() / RECORD_BYTES;
+        this.scale = scale;
+        this.factor = Math.pow(10, scale);
+    }
+
+    public static CandleSeries empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder(64, DEFAULT_SCALE);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize, DEFAULT_SCALE);
+    }
+
+    /** Builder com escala própria (ex: para derivar uma série de outra sem mudar a escala). */
+    public static Builder builder(int expectedSize, int scale) {
+        return new Builder(expectedSize, scale);
+    }
+
+    /**
+     * Visão sobre registros de RECORD_BYTES (timestamp, open, high, low, close, volume; preços em ponto fixo
+     * na escala informada), a partir da posição atual do buffer. Os registros devem estar ordenados por
+     * timestamp. Nada é copiado: o buffer não pode ser alterado enquanto a série estiver em uso.
+     */
+    public static CandleSeries wrap(ByteBuffer buffer, int scale) {
+        int length = buffer.remaining() - buffer.remaining() % RECORD_BYTES;
+        return length == 0 ? EMPTY : new CandleSeries(buffer.slice(buffer.position(), length), scale);
+    }
+
+    /** Converte uma lista de Candle (ex: dados de fontes antigas) para a forma colunar. */
+    public static CandleSeries fromCandles(List<Candle> candles) {
+        Builder builder = builder(candles.size());
+        for (Candle candle : candles) {
+            builder.add(candle.timestamp(),
+                    toDouble(candle.open()), toDouble(candle.high()), toDouble(candle.low()),
+                    toDouble(candle.close()), candle.volume() != null ? candle.volume().longValue() : 0L);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public long timestampAt(int index) {
+        return records != null ? field(index, 0) : timestamps[index];
+    }
+
+    public double openAt(int index) {
+        return rawOpenAt(index) / factor;
+    }
+
+    public double highAt(int index) {
+        return rawHighAt(index) / factor;
+    }
+
+    public double lowAt(int index) {
+        return rawLowAt(index) / factor;
+    }
+
+    public double closeAt(int index) {
+        return rawCloseAt(index) / factor;
+    }
+
+    public long volumeAt(int index) {
+        return records != null ? field(index, 5) : volume[index];
+    }
+
+    /** Timestamp do último (mais recente) candle; a série não pode estar vazia. */
+    public long lastTimestamp() {
+        if (size == 0) {
+            throw new IllegalStateException("Série vazia");
+        }
+        return timestampAt(size - 1);
+    }
+
+    /**
+     * Candles com timestamp &gt;= {@code fromEpochSeconds}. Busca binária; devolve a própria série
+     * se nada for cortado.
+     */
+    public CandleSeries since(long fromEpochSeconds) {
+        int start = indexOf(fromEpochSeconds);
+
+        if (start == 0) {
+            return this;
+        }
+        if (start == size) {
+            return EMPTY;
+        }
+        if (records != null) {
+            return new CandleSeries(records.slice(start * RECORD_BYTES, (size - start) * RECORD_BYTES), scale);
+        }
+        return new CandleSeries(
+                Arrays.copyOfRange(timestamps, start, size),
+                Arrays.copyOfRange(open, start, size),
+                Arrays.copyOfRange(high, start, size),
+                Arrays.copyOfRange(low, start, size),
+                Arrays.copyOfRange(close, start, size),
+                Arrays.copyOfRange(volume, start, size),
+                size - start, scale);
+    }
+
+    /** Primeiro índice com timestamp &gt;= {@code epochSeconds} (size se não houver). Busca binária. */
+    public int indexOf(long epochSeconds) {
+        int left = 0;
+        int right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (timestampAt(mid) < epochSeconds) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /** Valores brutos em ponto fixo (dividir por 10^scale). Úteis para cálculos sem perda. */
+    public long rawOpenAt(int index) {
+        return records != null ? field(index, 1) : open[index];
+    }
+
+    public long rawHighAt(int index) {
+        return records != null ? field(index, 2) : high[index];
+    }
+
+    public long rawLowAt(int index) {
+        return records != null ? field(index, 3) : low[index];
+    }
+
+    public long rawCloseAt(int index) {
+        return records != null ? field(index, 4) : close[index];
+    }
+
+    /**
+     * Visão de compatibilidade como List&lt;Candle&gt;. Os Candle são criados sob demanda,
+     * a cada get — use apenas fora do caminho quente.
+     */
+    public List<Candle> toCandles() {
+        return new AbstractList<>() {
+            @Override
+            public Candle get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Índice " + index + " fora da série de tamanho " + size);
+                }
+                return new Candle(
+                        timestampAt(index),
+                        toDecimal(rawOpenAt(index)),
+                        toDecimal(rawHighAt(index)),
+                        toDecimal(rawLowAt(index)),
+                        toDecimal(rawCloseAt(index)),
+                        BigDecimal.valueOf(volumeAt(index)));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Hash de 64 bits do conteúdo (escala e todos os valores brutos), estável entre execuções.
+     * Séries com o mesmo hash produzem o mesmo JSON — usado como ETag do histórico.
+     */
+    public long contentHash() {
+        long hash = mix(HASH_SEED, scale);
+        for (int i = 0; i < size; i++) {
+            hash = mix(hash, timestampAt(i));
+            hash = mix(hash, rawOpenAt(i));
+            hash = mix(hash, rawHighAt(i));
+            hash = mix(hash, rawLowAt(i));
+            hash = mix(hash, rawCloseAt(i));
+            hash = mix(hash, volumeAt(i));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CandleSeries[size=" + size + ", scale=" + scale + "]";
+    }
+
+    // ========== Métodos privados ==========
+
+    private long field(int index, int field) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora da série de tamanho " + size);
+        }
+        return records.getLong(index * RECORD_BYTES + field * Long.BYTES);
+    }
+
+    private static long mix(long hash, long value) {
+        return (Long.rotateLeft(hash, 27) ^ value) * 0x9E3779B97F4A7C15L;
+    }
+
+    private BigDecimal toDecimal(long raw) {
+        BigDecimal value = BigDecimal.valueOf(raw, scale).stripTrailingZeros();
+        return value.scale() < 0 ? value.setScale(0) : value;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
+
+    /**
+     * Preenche os arrays diretamente a partir do parser do provider.
+     * Aceita pontos em ordem crescente (caso comum), decrescente (ex: Alpha Vantage) ou fora de ordem.
+     */
+    public static final class Builder {
+
+        private final int scale;
+        private final double factor;
+        private long[] timestamps;
+        private long[] open;
+        private long[] high;
+        private long[] low;
+        private long[] close;
+        private long[] volume;
+        private int size;
+        private boolean ascending = true;
+        private boolean descending = true;
+
+        private Builder(int expectedSize, int scale) {
+            int capacity = Math.max(expectedSize, 8);
+            this.scale = scale;
+            this.factor = Math.pow(10, scale);
+            this.timestamps = new long[capacity];
+            this.open = new long[capacity];
+            this.high = new long[capacity];
+            this.low = new long[capacity];
+            this.close = new long[capacity];
+            this.volume = new long[capacity];
+        }
+
+        public Builder add(long timestamp, double openPrice, double highPrice, double lowPrice,
+                           double closePrice, long tradedVolume) {
+            return addRaw(timestamp, toFixed(openPrice), toFixed(highPrice), toFixed(lowPrice),
+                    toFixed(closePrice), tradedVolume);
+        }
+
+        /** Valores já em ponto fixo na escala do builder. */
+        public Builder addRaw(long timestamp, long rawOpen, long rawHigh, long rawLow, long rawClose,
+                              long tradedVolume) {
+            if (size == timestamps.length) {
+                grow();
+            }
+            if (size > 0) {
+                long previous = timestamps[size - 1];
+                ascending &= timestamp >= previous;
+                descending &= timestamp <= previous;
+            }
+
+            timestamps[size] = timestamp;
+            open[size] = rawOpen;
+            high[size] = rawHigh;
+            low[size] = rawLow;
+            close[size] = rawClose;
+            volume[size] = tradedVolume;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int scale() {
+            return scale;
+        }
+
+        public CandleSeries build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (!ascending) {
+                if (descending) {
+                    reverse();
+                } else {
+                    sortByTimestamp();
+                }
+            }
+            return new CandleSeries(
+                    trim(timestamps), trim(open), trim(high), trim(low), trim(close), trim(volume), size, scale);
+        }
+
+        private long toFixed(double value) {
+            return Double.isFinite(value) ? Math.round(value * factor) : 0L;
+        }
+
+        private void grow() {
+            int capacity = timestamps.length * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+        }
+
+        private long[] trim(long[] values) {
+            return values.length == size ? values : Arrays.copyOf(values, size);
+        }
+
+        private void reverse() {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                swap(i, j);
+            }
+        }
+
+        /** Insertion sort: os dados dos providers já vêm quase ordenados. */
+        private void sortByTimestamp() {
+            for (int i = 1; i < size; i++) {
+                for (int j = i; j > 0 && timestamps[j - 1] > timestamps[j]; j--) {
+                    swap(j - 1, j);
+                }
+            }
+        }
+
+        private void swap(int i, int j) {
+            swap(timestamps, i, j);
+            swap(open, i, j);
+            swap(high, i, j);
+            swap(low, i, j);
+            swap(close, i, j);
+            swap(volume, i, j);
+        }
+
+        private static void swap(long[] values, int i, int j) {
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.kaique.marketdata.domain.model;
+
+import java.util.Map;
+
+/**
+ * Resultado do endpoint de indicadores: uma linha de valores por nome, alinhada aos timestamps (epoch seconds)
+ * dos candles da série. Enquanto um indicador não tem candles suficientes (aquecimento), o valor é NaN —
+ * serializado como null.
+ *
+ * Os arrays são compartilhados com o cache de indicadores e não devem ser alterados.
+ */
+public record IndicatorSeries(long[] timestamps, Map<String, double[]> lines) {
+
+    /** Hash de 64 bits dos timestamps e de todas as linhas, estável entre execuções. Usado como ETag. */
+    public long contentHash() {
+        long hash = 0xCBF29CE484222325L;
+        for (long timestamp : timestamps) {
+            hash = mix(hash, timestamp);
+        }
+        for (Map.Entry<String, double[]> line : lines.entrySet()) {
+            hash = mix(hash, line.getKey().hashCode());
+            for (double value : line.getValue()) {
+                hash = mix(hash, Double.doubleToLongBits(value));
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return (Long.rotateLeft(hash, 27) ^ value) * 0x9E3779B97F4A7C15L;
+    }
+}
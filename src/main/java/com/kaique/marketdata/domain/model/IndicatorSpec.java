@@ -0,0 +1,55 @@
+package com.kaique.marketdata.domain.model;
+
+import com.kaique.marketdata.domain.enums.IndicatorType;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Indicador pedido pelo cliente: tipo + período (ex: "sma20" → SMA de 20 candles).
+ */
+public record IndicatorSpec(IndicatorType type, int period) {
+
+    public static final int MAX_PERIOD = 1000;
+
+    private static final Pattern FORMAT = Pattern.compile("([a-z]+)(\\d{1,4})");
+
+    public IndicatorSpec {
+        if (period < 1 || period > MAX_PERIOD) {
+            throw new IllegalArgumentException(
+                    "Período do indicador deve estar entre 1 e " + MAX_PERIOD + " (recebido: " + period + ")");
+        }
+    }
+
+    /**
+     * Converte strings como "sma20", "ema50", "rsi14", "bb20", "vwap20" (case-insensitive).
+     *
+     * @throws IllegalArgumentException se o valor não for reconhecido
+     */
+    public static IndicatorSpec fromString(String value) {
+        Matcher matcher = FORMAT.matcher(value.trim().toLowerCase(Locale.ROOT));
+        if (matcher.matches()) {
+            for (IndicatorType type : IndicatorType.values()) {
+                if (type.getPrefix().equals(matcher.group(1))) {
+                    return new IndicatorSpec(type, Integer.parseInt(matcher.group(2)));
+                }
+            }
+        }
+        throw new IllegalArgumentException(
+                "Indicador inválido: '" + value + "'. Exemplos aceitos: sma20, ema50, rsi14, bb20, vwap20");
+    }
+
+    /** Nomes das linhas na resposta (ex: "sma20"; "bb20.middle", "bb20.upper", "bb20.lower"). */
+    public List<String> lineNames() {
+        return type.getLineSuffixes().stream()
+                .map(suffix -> this + suffix)
+                .toList();
+    }
+
+    @Override
+    public String toString() {
+        return type.getPrefix() + period;
+    }
+}
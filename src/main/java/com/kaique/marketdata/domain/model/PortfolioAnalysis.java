@@ -0,0 +1,30 @@
+package com.kaique.marketdata.domain.model;
+
+import java.util.List;
+
+/**
+ * Resultado da análise de uma carteira multi-mercado.
+ *
+ * @param assets      ativos analisados, na ordem das linhas/colunas da matriz
+ * @param missing     ativos pedidos sem histórico disponível (ficam fora da análise)
+ * @param correlation correlação de Pearson dos retornos por período entre cada par; null quando o par tem
+ *                    menos de 3 períodos em comum ou um dos ativos não variou
+ * @param portfolio   retorno da carteira nos períodos em que todos os ativos têm retorno
+ */
+public record PortfolioAnalysis(
+        String range,
+        String interval,
+        List<String> assets,
+        List<String> missing,
+        Double[][] correlation,
+        PortfolioReturns portfolio
+) {
+
+    /**
+     * @param timestamps início de cada período (epoch seconds)
+     * @param returns    retorno ponderado da carteira no período (0.01 = 1%)
+     * @param cumulative retorno acumulado desde o primeiro período
+     */
+    public record PortfolioReturns(long[] timestamps, double[] returns, double[] cumulative) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.enums.DownsampleMethod;
+import com.kaique.marketdata.domain.model.CandleSeries;
+
+/**
+ * Reduz uma série a no máximo {@code maxPoints} candles para exibição em gráfico.
+ *
+ * As duas estratégias são O(n), uma passada sobre os valores em ponto fixo da série (sem Candle nem
+ * BigDecimal), e mantêm a escala original. Séries que já cabem em maxPoints são devolvidas sem cópia.
+ */
+public final class CandleDownsampler {
+
+    private CandleDownsampler() {
+    }
+
+    /**
+     * @param maxPoints número máximo de candles no resultado (mínimo 2)
+     * @throws IllegalArgumentException se maxPoints for menor que 2
+     */
+    public static CandleSeries downsample(CandleSeries series, int maxPoints, DownsampleMethod method) {
+        if (maxPoints < 2) {
+            throw new IllegalArgumentException("maxPoints deve ser pelo menos 2 (recebido: " + maxPoints + ")");
+        }
+        if (series.size() <= maxPoints) {
+            return series;
+        }
+
+        return switch (method) {
+            case OHLC -> mergeBuckets(series, maxPoints);
+            case LTTB -> largestTriangleThreeBuckets(series, maxPoints);
+        };
+    }
+
+    // ========== Métodos privados ==========
+
+    /**
+     * Divide a série em maxPoints baldes consecutivos (tamanhos diferindo em no máximo 1) e funde cada um:
+     * timestamp e open do primeiro candle, high máximo, low mínimo, close do último, volume somado.
+     */
+    private static CandleSeries mergeBuckets(CandleSeries series, int maxPoints) {
+        int size = series.size();
+        CandleSeries.Builder builder = CandleSeries.builder(maxPoints, series.scale());
+
+        for (int bucket = 0; bucket < maxPoints; bucket++) {
+            int start = (int) ((long) bucket * size / maxPoints);
+            int end = (int) ((long) (bucket + 1) * size / maxPoints);
+
+            long high = Long.MIN_VALUE;
+            long low = Long.MAX_VALUE;
+            long volume = 0;
+            for (int i = start; i < end; i++) {
+                high = Math.max(high, series.rawHighAt(i));
+                low = Math.min(low, series.rawLowAt(i));
+                volume += series.volumeAt(i);
+            }
+
+            builder.addRaw(series.timestampAt(start), series.rawOpenAt(start), high, low,
+                    series.rawCloseAt(end - 1), volume);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets (Steinarsson, 2013) com x = timestamp e y = close.
+     *
+     * O primeiro e o último candle ficam; os demais são divididos em maxPoints - 2 baldes. Em cada balde fica
+     * o candle que forma o maior triângulo com o último escolhido e com a média do balde seguinte. Como cada
+     * candle entra uma vez como candidato e uma vez na média, o custo é linear.
+     */
+    private static CandleSeries largestTriangleThreeBuckets(CandleSeries series, int maxPoints) {
+        int size = series.size();
+        CandleSeries.Builder builder = CandleSeries.builder(maxPoints, series.scale());
+        double bucketSize = (double) (size - 2) / (maxPoints - 2);
+
+        int selected = 0;
+        addCandle(builder, series, selected);
+
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+
+            // Média do próximo balde (no último balde, só o último candle)
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = end; i < nextEnd; i++) {
+                averageX += series.timestampAt(i);
+                averageY += series.rawCloseAt(i);
+            }
+            averageX /= nextEnd - end;
+            averageY /= nextEnd - end;
+
+            double selectedX = series.timestampAt(selected);
+            double selectedY = series.rawCloseAt(selected);
+            double maxArea = -1;
+            int next = start;
+            for (int i = start; i < end; i++) {
+                // Área em dobro: a constante não muda qual é a maior
+                double area = Math.abs((selectedX - averageX) * (series.rawCloseAt(i) - selectedY)
+                        - (selectedX - series.timestampAt(i)) * (averageY - selectedY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+
+            selected = next;
+            addCandle(builder, series, selected);
+        }
+
+        addCandle(builder, series, size - 1);
+        return builder.build();
+    }
+
+    private static void addCandle(CandleSeries.Builder builder, CandleSeries series, int index) {
+        builder.addRaw(series.timestampAt(index), series.rawOpenAt(index), series.rawHighAt(index),
+                series.rawLowAt(index), series.rawCloseAt(index), series.volumeAt(index));
+    }
+}
@@ -0,0 +1,62 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.model.CandleInterval;
+import com.kaique.marketdata.domain.model.CandleSeries;
+
+/**
+ * Reagrupa uma série em candles de outro interval (ex: 15m → 1h, 1d → 1w).
+ *
+ * Cada candle de saída cobre um intervalo alinhado (ver {@link CandleInterval#bucketStart}) e junta os candles
+ * da série que caem nele: open do primeiro, high máximo, low mínimo, close do último, volume somado; o timestamp
+ * é o início do intervalo. Uma passada sobre os valores em ponto fixo, na escala original — os limites de
+ * intervalo só são recalculados quando um candle sai do intervalo atual.
+ *
+ * Não existe informação para criar candles mais finos que os da série: com um interval menor, cada candle
+ * de origem vira um candle de saída.
+ */
+public final class CandleResampler {
+
+    private CandleResampler() {
+    }
+
+    public static CandleSeries resample(CandleSeries series, CandleInterval interval) {
+        int size = series.size();
+        if (size == 0) {
+            return series;
+        }
+
+        long span = series.lastTimestamp() - series.timestampAt(0);
+        int expectedSize = (int) Math.min(size, span / interval.approximateSeconds() + 2);
+        CandleSeries.Builder builder = CandleSeries.builder(expectedSize, series.scale());
+
+        long bucketStart = interval.bucketStart(series.timestampAt(0));
+        long bucketEnd = interval.nextBucketStart(bucketStart);
+        long open = series.rawOpenAt(0);
+        long high = series.rawHighAt(0);
+        long low = series.rawLowAt(0);
+        long close = series.rawCloseAt(0);
+        long volume = series.volumeAt(0);
+
+        for (int i = 1; i < size; i++) {
+            long timestamp = series.timestampAt(i);
+
+            if (timestamp >= bucketEnd) {
+                builder.addRaw(bucketStart, open, high, low, close, volume);
+                bucketStart = interval.bucketStart(timestamp);
+                bucketEnd = interval.nextBucketStart(bucketStart);
+                open = series.rawOpenAt(i);
+                high = series.rawHighAt(i);
+                low = series.rawLowAt(i);
+                volume = 0;
+            } else {
+                high = Math.max(high, series.rawHighAt(i));
+                low = Math.min(low, series.rawLowAt(i));
+            }
+            close = series.rawCloseAt(i);
+            volume += series.volumeAt(i);
+        }
+
+        builder.addRaw(bucketStart, open, high, low, close, volume);
+        return builder.build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.IndicatorSpec;
+
+/**
+ * Calcula um indicador sobre uma série em uma passada, podendo continuar um cálculo anterior.
+ *
+ * Cada {@link Computation} guarda os valores e um checkpoint: o estado do indicador logo após o penúltimo
+ * candle (o último ainda pode mudar — candle do dia em andamento). Quando a série volta com candles novos,
+ * o cálculo é retomado do checkpoint: os valores até ele são copiados e só os candles seguintes passam pelo
+ * indicador. Se a série começar em outro candle (a janela do range avançou), o cálculo é refeito do zero:
+ * EMA e RSI carregam todo o histórico visto, e retomar faria o resultado depender de candles que já saíram
+ * da série — o mesmo request daria valores diferentes conforme o que estivesse no cache.
+ */
+public final class IndicatorCalculator {
+
+    private IndicatorCalculator() {
+    }
+
+    /**
+     * Valores do indicador alinhados à série de origem, com o estado para continuar.
+     *
+     * {@code checkpointIndex} é o índice (na série de origem) do último candle incluído em {@code checkpoint},
+     * ou -1 se não houver checkpoint (série com menos de 2 candles). {@code lastCandle} e {@code checkpointCandle}
+     * guardam o candle inteiro (timestamp, open, high, low, close e volume brutos): o VWAP usa high, low e volume,
+     * então um candle só é considerado o mesmo se todos os campos baterem.
+     */
+    public record Computation(IndicatorSpec spec, double[][] lines, int size, long firstTimestamp,
+                              long[] lastCandle, int checkpointIndex, long[] checkpointCandle,
+                              RollingIndicator checkpoint) {
+
+        /** Número de valores guardados, para limitar o cache. */
+        public int weight() {
+            return lines.length * size;
+        }
+    }
+
+    /**
+     * @param previous cálculo anterior para a mesma série (mesmo símbolo, provider e interval), ou null
+     */
+    public static Computation compute(CandleSeries series, IndicatorSpec spec, Computation previous) {
+        int size = series.size();
+
+        if (previous != null && isSameSeries(series, previous)) {
+            return previous;
+        }
+
+        int lineCount = spec.type().getLineSuffixes().size();
+        double[][] lines = new double[lineCount][size];
+        RollingIndicator indicator = null;
+        int start = 0;
+
+        int resumeAt = previous != null ? resumeIndex(series, previous) : -1;
+        if (resumeAt >= 0) {
+            for (int k = 0; k < lineCount; k++) {
+                System.arraycopy(previous.lines()[k], 0, lines[k], 0, resumeAt + 1);
+            }
+            indicator = previous.checkpoint().copy();
+            start = resumeAt + 1;
+        }
+        if (indicator == null) {
+            indicator = RollingIndicator.create(spec, series.scale());
+        }
+
+        // Checkpoint no penúltimo candle (ou no de retomada, se a série não avançou além dele)
+        int checkpointIndex = Math.max(size - 2, start - 1);
+        RollingIndicator checkpoint = checkpointIndex >= 0 && checkpointIndex == start - 1 ? indicator.copy() : null;
+
+        for (int i = start; i < size; i++) {
+            indicator.update(series, i, lines);
+            if (i == checkpointIndex) {
+                checkpoint = indicator.copy();
+            }
+        }
+
+        if (checkpointIndex < 0) {
+            return new Computation(spec, lines, size, 0, null, -1, null, null);
+        }
+        return new Computation(spec, lines, size, series.timestampAt(0), candleAt(series, size - 1),
+                checkpointIndex, candleAt(series, checkpointIndex), checkpoint);
+    }
+
+    // ========== Métodos privados ==========
+
+    /** Mesma série do cálculo anterior (nada novo, último candle idêntico): os valores podem ser reaproveitados. */
+    private static boolean isSameSeries(CandleSeries series, Computation previous) {
+        int size = series.size();
+        return size > 0
+                && previous.checkpoint() != null
+                && size == previous.size()
+                && series.scale() == previous.checkpoint().scale()
+                && series.timestampAt(0) == previous.firstTimestamp()
+                && isSameCandle(series, size - 1, previous.lastCandle());
+    }
+
+    /**
+     * Índice do candle do checkpoint na nova série, ou -1 se o cálculo não puder ser retomado.
+     * Exige o mesmo primeiro candle e o checkpoint na mesma posição (nenhum candle entrou antes dele).
+     */
+    private static int resumeIndex(CandleSeries series, Computation previous) {
+        if (previous.checkpoint() == null || previous.checkpoint().scale() != series.scale()
+                || series.isEmpty() || series.timestampAt(0) != previous.firstTimestamp()) {
+            return -1;
+        }
+
+        int index = previous.checkpointIndex();
+        boolean found = index < series.size() && isSameCandle(series, index, previous.checkpointCandle());
+        return found ? index : -1;
+    }
+
+    private static long[] candleAt(CandleSeries series, int index) {
+        return new long[]{series.timestampAt(index), series.rawOpenAt(index), series.rawHighAt(index),
+                series.rawLowAt(index), series.rawCloseAt(index), series.volumeAt(index)};
+    }
+
+    private static boolean isSameCandle(CandleSeries series, int index, long[] candle) {
+        return candle[0] == series.timestampAt(index)
+                && candle[1] == series.rawOpenAt(index)
+                && candle[2] == series.rawHighAt(index)
+                && candle[3] == series.rawLowAt(index)
+                && candle[4] == series.rawCloseAt(index)
+                && candle[5] == series.volumeAt(index);
+    }
+}
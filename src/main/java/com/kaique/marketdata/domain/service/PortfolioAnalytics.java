@@ -0,0 +1,171 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.PortfolioAnalysis.PortfolioReturns;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Cálculos de carteira sobre séries já alinhadas no mesmo interval (ver CandleResampler).
+ *
+ * Retornos por período são guardados em arrays primitivos (timestamps + valores) por ativo. A correlação
+ * de cada par é uma passada de merge sobre os dois arrays ordenados; as linhas da matriz são divididas entre
+ * as threads do ForkJoinPool comum (parallel stream), e o work-stealing equilibra as primeiras linhas, que têm
+ * mais pares, com as últimas. Memória: O(ativos × períodos) para os retornos mais O(ativos²) para a matriz.
+ */
+public final class PortfolioAnalytics {
+
+    private static final int MIN_OBSERVATIONS = 3;
+
+    private PortfolioAnalytics() {
+    }
+
+    /** Retornos simples de um ativo: {@code values[k]} = close[k+1] / close[k] - 1, no timestamp k+1. */
+    public record Returns(long[] timestamps, double[] values) {
+    }
+
+    public static Returns returns(CandleSeries series) {
+        int count = Math.max(0, series.size() - 1);
+        long[] timestamps = new long[count];
+        double[] values = new double[count];
+
+        int size = 0;
+        for (int i = 1; i < series.size(); i++) {
+            long previous = series.rawCloseAt(i - 1);
+            if (previous == 0) {
+                continue;
+            }
+            timestamps[size] = series.timestampAt(i);
+            values[size] = (double) series.rawCloseAt(i) / previous - 1;
+            size++;
+        }
+
+        return new Returns(Arrays.copyOf(timestamps, size), Arrays.copyOf(values, size));
+    }
+
+    /**
+     * Matriz de correlação de Pearson entre os retornos, par a par, sobre os períodos que os dois têm em
+     * comum. Diagonal 1; NaN quando o par não tem observações suficientes ou um dos lados não variou.
+     */
+    public static double[][] correlationMatrix(List<Returns> returns) {
+        int n = returns.size();
+        double[][] matrix = new double[n][n];
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            matrix[i][i] = 1;
+            for (int j = i + 1; j < n; j++) {
+                double correlation = correlation(returns.get(i), returns.get(j));
+                matrix[i][j] = correlation;
+                matrix[j][i] = correlation;
+            }
+        });
+        return matrix;
+    }
+
+    /**
+     * Retorno da carteira em cada período em que todos os ativos têm retorno: soma dos retornos ponderados
+     * (pesos normalizados para somar 1), mais o acumulado composto.
+     */
+    public static PortfolioReturns portfolioReturns(List<Returns> returns, double[] weights) {
+        int n = returns.size();
+        double totalWeight = Arrays.stream(weights).sum();
+
+        long[] grid = n == 0 ? new long[0] : returns.get(0).timestamps();
+        for (int a = 1; a < n; a++) {
+            grid = intersect(grid, returns.get(a).timestamps());
+        }
+
+        double[] portfolio = new double[grid.length];
+        int[] cursors = new int[n];
+        for (int t = 0; t < grid.length; t++) {
+            double sum = 0;
+            for (int a = 0; a < n; a++) {
+                Returns asset = returns.get(a);
+                // Avança o cursor do ativo até o timestamp da grade (existe: a grade é a interseção)
+                while (asset.timestamps()[cursors[a]] < grid[t]) {
+                    cursors[a]++;
+                }
+                sum += weights[a] / totalWeight * asset.values()[cursors[a]];
+            }
+            portfolio[t] = sum;
+        }
+
+        double[] cumulative = new double[grid.length];
+        double growth = 1;
+        for (int t = 0; t < grid.length; t++) {
+            growth *= 1 + portfolio[t];
+            cumulative[t] = growth - 1;
+        }
+
+        return new PortfolioReturns(grid, portfolio, cumulative);
+    }
+
+    // ========== Métodos privados ==========
+
+    /** Pearson em uma passada de merge sobre os timestamps ordenados dos dois ativos. */
+    private static double correlation(Returns x, Returns y) {
+        long[] xTimestamps = x.timestamps();
+        long[] yTimestamps = y.timestamps();
+        double[] xValues = x.values();
+        double[] yValues = y.values();
+
+        int count = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumYY = 0;
+        double sumXY = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < xTimestamps.length && j < yTimestamps.length) {
+            if (xTimestamps[i] < yTimestamps[j]) {
+                i++;
+            } else if (xTimestamps[i] > yTimestamps[j]) {
+                j++;
+            } else {
+                double a = xValues[i++];
+                double b = yValues[j++];
+                count++;
+                sumX += a;
+                sumY += b;
+                sumXX += a * a;
+                sumYY += b * b;
+                sumXY += a * b;
+            }
+        }
+
+        if (count < MIN_OBSERVATIONS) {
+            return Double.NaN;
+        }
+
+        double covariance = sumXY - sumX * sumY / count;
+        double varianceX = sumXX - sumX * sumX / count;
+        double varianceY = sumYY - sumY * sumY / count;
+        if (varianceX <= 0 || varianceY <= 0) {
+            return Double.NaN;
+        }
+        return Math.max(-1, Math.min(1, covariance / Math.sqrt(varianceX * varianceY)));
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
@@ -0,0 +1,306 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.IndicatorSpec;
+
+/**
+ * Estado de um indicador calculado candle a candle: cada {@link #update} consome um candle em O(1)
+ * e escreve o valor de cada linha naquele índice.
+ *
+ * Somas de janelas móveis de preços ficam em long, nos valores brutos em ponto fixo da série — sem erro de
+ * arredondamento acumulado ao somar e subtrair. {@link #copy()} tira um retrato do estado para o cálculo
+ * poder continuar depois, a partir do mesmo ponto (ver IndicatorCalculator).
+ */
+public abstract class RollingIndicator {
+
+    /** 10^scale da série: converte valores brutos em preço. */
+    protected final double factor;
+    private final int scale;
+
+    protected RollingIndicator(int scale) {
+        this.scale = scale;
+        this.factor = Math.pow(10, scale);
+    }
+
+    public static RollingIndicator create(IndicatorSpec spec, int scale) {
+        return switch (spec.type()) {
+            case SMA -> new Sma(spec.period(), scale);
+            case EMA -> new Ema(spec.period(), scale);
+            case RSI -> new Rsi(spec.period(), scale);
+            case BB -> new Bollinger(spec.period(), scale);
+            case VWAP -> new Vwap(spec.period(), scale);
+        };
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Consome o candle {@code index} da série e grava em {@code lines[k][index]} o valor da linha k
+     * (NaN durante o aquecimento). Os candles devem chegar em ordem, um de cada vez.
+     */
+    public abstract void update(CandleSeries series, int index, double[][] lines);
+
+    /** Cópia independente do estado atual. */
+    public abstract RollingIndicator copy();
+
+    // ========== Implementações ==========
+
+    /** Média simples: soma exata (long) dos últimos N fechamentos em um buffer circular. */
+    private static final class Sma extends RollingIndicator {
+
+        private final long[] window;
+        private long sum;
+        private int count;
+
+        private Sma(int period, int scale) {
+            super(scale);
+            this.window = new long[period];
+        }
+
+        private Sma(Sma other) {
+            super(other.scale());
+            this.window = other.window.clone();
+            this.sum = other.sum;
+            this.count = other.count;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] lines) {
+            long close = series.rawCloseAt(index);
+            int slot = count % window.length;
+            sum += close - window[slot];
+            window[slot] = close;
+            count++;
+            lines[0][index] = count >= window.length ? sum / (double) window.length / factor : Double.NaN;
+        }
+
+        @Override
+        public RollingIndicator copy() {
+            return new Sma(this);
+        }
+    }
+
+    /** Média exponencial com alpha = 2 / (N + 1), começando da SMA dos N primeiros fechamentos. */
+    private static final class Ema extends RollingIndicator {
+
+        private final int period;
+        private final double alpha;
+        private long seedSum;
+        private int count;
+        private double ema;
+
+        private Ema(int period, int scale) {
+            super(scale);
+            this.period = period;
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        private Ema(Ema other) {
+            super(other.scale());
+            this.period = other.period;
+            this.alpha = other.alpha;
+            this.seedSum = other.seedSum;
+            this.count = other.count;
+            this.ema = other.ema;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] lines) {
+            long close = series.rawCloseAt(index);
+            count++;
+            if (count < period) {
+                seedSum += close;
+                lines[0][index] = Double.NaN;
+                return;
+            }
+            if (count == period) {
+                ema = (seedSum + close) / (double) period / factor;
+            } else {
+                ema += alpha * (close / factor - ema);
+            }
+            lines[0][index] = ema;
+        }
+
+        @Override
+        public RollingIndicator copy() {
+            return new Ema(this);
+        }
+    }
+
+    /** RSI de Wilder: médias simples das N primeiras variações, depois avg = (avg * (N - 1) + atual) / N. */
+    private static final class Rsi extends RollingIndicator {
+
+        private final int period;
+        private long previousClose;
+        private int changes = -1;
+        private double averageGain;
+        private double averageLoss;
+
+        private Rsi(int period, int scale) {
+            super(scale);
+            this.period = period;
+        }
+
+        private Rsi(Rsi other) {
+            super(other.scale());
+            this.period = other.period;
+            this.previousClose = other.previousClose;
+            this.changes = other.changes;
+            this.averageGain = other.averageGain;
+            this.averageLoss = other.averageLoss;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] lines) {
+            long close = series.rawCloseAt(index);
+            double change = (close - previousClose) / factor;
+            previousClose = close;
+            changes++;
+
+            if (changes == 0) {
+                lines[0][index] = Double.NaN;
+                return;
+            }
+
+            double gain = Math.max(change, 0);
+            double loss = Math.max(-change, 0);
+            if (changes <= period) {
+                averageGain += gain / period;
+                averageLoss += loss / period;
+            } else {
+                averageGain = (averageGain * (period - 1) + gain) / period;
+                averageLoss = (averageLoss * (period - 1) + loss) / period;
+            }
+
+            if (changes < period) {
+                lines[0][index] = Double.NaN;
+            } else if (averageLoss == 0) {
+                lines[0][index] = averageGain == 0 ? 50 : 100;
+            } else {
+                lines[0][index] = 100 - 100 / (1 + averageGain / averageLoss);
+            }
+        }
+
+        @Override
+        public RollingIndicator copy() {
+            return new Rsi(this);
+        }
+    }
+
+    /**
+     * Bandas de Bollinger (N, 2σ). A média sai da soma exata em long; a variância, da soma dos quadrados
+     * dos fechamentos deslocados pelo primeiro fechamento visto, para não perder precisão subtraindo
+     * números grandes e próximos.
+     */
+    private static final class Bollinger extends RollingIndicator {
+
+        private static final double WIDTH = 2.0;
+
+        private final long[] window;
+        private long sum;
+        private double sumOfSquares;
+        private long anchor;
+        private int count;
+
+        private Bollinger(int period, int scale) {
+            super(scale);
+            this.window = new long[period];
+        }
+
+        private Bollinger(Bollinger other) {
+            super(other.scale());
+            this.window = other.window.clone();
+            this.sum = other.sum;
+            this.sumOfSquares = other.sumOfSquares;
+            this.anchor = other.anchor;
+            this.count = other.count;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] lines) {
+            long close = series.rawCloseAt(index);
+            if (count == 0) {
+                anchor = close;
+            }
+
+            int slot = count % window.length;
+            if (count >= window.length) {
+                double removed = (window[slot] - anchor) / factor;
+                sumOfSquares -= removed * removed;
+            }
+            double added = (close - anchor) / factor;
+            sumOfSquares += added * added;
+            sum += close - window[slot];
+            window[slot] = close;
+            count++;
+
+            if (count < window.length) {
+                lines[0][index] = Double.NaN;
+                lines[1][index] = Double.NaN;
+                lines[2][index] = Double.NaN;
+                return;
+            }
+
+            int n = window.length;
+            double shiftedMean = (sum - (double) anchor * n) / n / factor;
+            double deviation = Math.sqrt(Math.max(0, sumOfSquares / n - shiftedMean * shiftedMean));
+            double middle = sum / (double) n / factor;
+            lines[0][index] = middle;
+            lines[1][index] = middle + WIDTH * deviation;
+            lines[2][index] = middle - WIDTH * deviation;
+        }
+
+        @Override
+        public RollingIndicator copy() {
+            return new Bollinger(this);
+        }
+    }
+
+    /** VWAP dos últimos N candles: soma(preço típico × volume) / soma(volume). */
+    private static final class Vwap extends RollingIndicator {
+
+        private final double[] priceVolume;
+        private final long[] volume;
+        private double sumPriceVolume;
+        private long sumVolume;
+        private int count;
+
+        private Vwap(int period, int scale) {
+            super(scale);
+            this.priceVolume = new double[period];
+            this.volume = new long[period];
+        }
+
+        private Vwap(Vwap other) {
+            super(other.scale());
+            this.priceVolume = other.priceVolume.clone();
+            this.volume = other.volume.clone();
+            this.sumPriceVolume = other.sumPriceVolume;
+            this.sumVolume = other.sumVolume;
+            this.count = other.count;
+        }
+
+        @Override
+        public void update(CandleSeries series, int index, double[][] lines) {
+            double typicalPrice = (series.rawHighAt(index) + series.rawLowAt(index)
+                    + (double) series.rawCloseAt(index)) / 3 / factor;
+            long tradedVolume = series.volumeAt(index);
+
+            int slot = count % volume.length;
+            sumPriceVolume += typicalPrice * tradedVolume - priceVolume[slot];
+            sumVolume += tradedVolume - volume[slot];
+            priceVolume[slot] = typicalPrice * tradedVolume;
+            volume[slot] = tradedVolume;
+            count++;
+
+            lines[0][index] = count >= volume.length && sumVolume > 0 ? sumPriceVolume / sumVolume : Double.NaN;
+        }
+
+        @Override
+        public RollingIndicator copy() {
+            return new Vwap(this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.kaique.marketdata.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Cache em memória dos históricos, na frente do HistoryStore e dos providers.
+ *
+ * Chave: (símbolo normalizado, provider, interval) — sem o TimeRange. Cada entrada guarda até onde a
+ * série cobre; um range menor com o mesmo interval é respondido cortando a série de um range maior
+ * (ex: 1M e 3M a partir de um 6M diário da Brapi).
+ *
+ * Limitado pelo total de candles (cache.history.max-candles) e com TTL fixo (cache.history.ttl-ms).
+ * Um TTL igual a zero desativa o cache.
+ */
+@Component
+public class HistoryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryCache.class);
+    private static final String CACHE_NAME = "history";
+    /** Quanto o início de uma janela pode avançar de uma busca para outra só pelo alinhamento ao candle. */
+    private static final long MAX_ALIGNMENT_SECONDS = 86_400;
+
+    private final Cache<HistoryKey, CachedSeries> cache;
+    private final ProviderMetrics metrics;
+    private final Duration ttl;
+
+    public HistoryCache(ProviderMetrics metrics,
+                        @Value("${cache.history.max-candles:500000}") long maxCandles,
+                        @Value("${cache.history.ttl-ms:60000}") long ttlMs) {
+        this.metrics = metrics;
+        this.ttl = Duration.ofMillis(ttlMs);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxCandles)
+                .weigher((HistoryKey key, CachedSeries value) -> value.series().size() + 1)
+                .expireAfterWrite(ttl)
+                .evictionListener((HistoryKey key, CachedSeries value, RemovalCause cause) ->
+                        metrics.recordCacheEviction(CACHE_NAME, cause.name().toLowerCase(Locale.ROOT)))
+                .build();
+
+        metrics.registerCacheSize(CACHE_NAME, cache, Cache::estimatedSize);
+        log.info("HistoryCache inicializado: maxCandles={}, ttl={}", maxCandles, ttl);
+    }
+
+    /**
+     * Série a partir de {@code fromEpochSeconds}, se houver uma entrada que cubra esse início.
+     * O corte é feito com busca binária sobre a série cacheada (sem copiar quando nada é cortado).
+     */
+    public Optional<CandleSeries> get(String symbol, String provider, String interval, long fromEpochSeconds) {
+        CachedSeries cached = cache.getIfPresent(HistoryKey.of(symbol, provider, interval));
+
+        if (cached == null || cached.coveredFrom() > fromEpochSeconds) {
+            metrics.recordCacheMiss(CACHE_NAME);
+            return Optional.empty();
+        }
+
+        metrics.recordCacheHit(CACHE_NAME);
+        return Optional.of(cached.series().since(fromEpochSeconds));
+    }
+
+    /**
+     * Guarda a série. Uma entrada que cobre um período maior não é trocada por uma menor:
+     * ela continua servindo os dois ranges até expirar. A mesma janela buscada de novo (refresh-ahead)
+     * substitui a entrada: o início pode ter avançado o tempo decorrido mais um candle (no máximo 1 dia).
+     *
+     * @param coveredFrom início do período pedido ao provider (epoch seconds)
+     */
+    public void put(String symbol, String provider, String interval, long coveredFrom, CandleSeries series) {
+        if (ttl.isZero()) {
+            return;
+        }
+
+        HistoryKey key = HistoryKey.of(symbol, provider, interval);
+        long now = Instant.now().getEpochSecond();
+        CachedSeries existing = cache.getIfPresent(key);
+        if (existing == null
+                || coveredFrom - existing.coveredFrom() <= now - existing.cachedAt() + MAX_ALIGNMENT_SECONDS) {
+            cache.put(key, new CachedSeries(series, coveredFrom, now));
+        }
+    }
+
+    /** Tempo até a entrada que cobre {@code fromEpochSeconds} expirar (vazio se não houver uma). */
+    public Optional<Duration> expiresIn(String symbol, String provider, String interval, long fromEpochSeconds) {
+        HistoryKey key = HistoryKey.of(symbol, provider, interval);
+        CachedSeries cached = cache.policy().getIfPresentQuietly(key);
+        if (cached == null || cached.coveredFrom() > fromEpochSeconds) {
+            return Optional.empty();
+        }
+        return cache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .map(ttl::minus);
+    }
+
+    /** Chave do cache: o símbolo é normalizado (trim + maiúsculas) para evitar duplicatas. */
+    record HistoryKey(String symbol, String provider, String interval) {
+
+        static HistoryKey of(String symbol, String provider, String interval) {
+            return new HistoryKey(symbol.trim().toUpperCase(Locale.ROOT), provider, interval);
+        }
+    }
+
+    private record CachedSeries(CandleSeries series, long coveredFrom, long cachedAt) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.kaique.marketdata.infrastructure.cache;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.enums.TimeRange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frequência de acesso por cotação e por histórico, usada pelo refresh-ahead para escolher os símbolos quentes.
+ *
+ * As contagens caem pela metade a cada {@link #decay()}, então o ranking acompanha o acesso recente.
+ * O número de chaves acompanhadas é limitado (market.refresh-ahead.max-tracked): chaves novas só entram
+ * quando o decay libera espaço, o que evita crescer sem limite com símbolos acessados uma única vez.
+ */
+@Component
+public class HotSymbolTracker {
+
+    public record QuoteAccess(MarketType marketType, String symbol) {
+    }
+
+    public record HistoryAccess(MarketType marketType, String symbol, TimeRange timeRange) {
+    }
+
+    private final Map<QuoteAccess, LongAdder> quotes = new ConcurrentHashMap<>();
+    private final Map<HistoryAccess, LongAdder> histories = new ConcurrentHashMap<>();
+    private final int maxTracked;
+
+    public HotSymbolTracker(@Value("${market.refresh-ahead.max-tracked:1000}") int maxTracked) {
+        this.maxTracked = maxTracked;
+    }
+
+    public void recordQuote(MarketType marketType, String symbol) {
+        increment(quotes, new QuoteAccess(marketType, normalize(symbol)));
+    }
+
+    public void recordHistory(MarketType marketType, String symbol, TimeRange timeRange) {
+        increment(histories, new HistoryAccess(marketType, normalize(symbol), timeRange));
+    }
+
+    /** As {@code limit} cotações mais acessadas, da mais para a menos acessada. */
+    public List<QuoteAccess> topQuotes(int limit) {
+        return top(quotes, limit);
+    }
+
+    /** Os {@code limit} históricos (símbolo + range) mais acessados. */
+    public List<HistoryAccess> topHistories(int limit) {
+        return top(histories, limit);
+    }
+
+    /** Divide todas as contagens por 2 e descarta as que zeraram. */
+    public void decay() {
+        decay(quotes);
+        decay(histories);
+    }
+
+    // ========== Métodos privados ==========
+
+    private <K> void increment(Map<K, LongAdder> counts, K key) {
+        LongAdder count = counts.get(key);
+        if (count == null) {
+            if (counts.size() >= maxTracked) {
+                return;
+            }
+            count = counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private static <K> List<K> top(Map<K, LongAdder> counts, int limit) {
+        return counts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static <K> void decay(Map<K, LongAdder> counts) {
+        counts.forEach((key, count) -> {
+            long halved = count.sumThenReset() / 2;
+            if (halved == 0) {
+                counts.remove(key, count);
+            } else {
+                count.add(halved);
+            }
+        });
+    }
+
+    private static String normalize(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.kaique.marketdata.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.enums.TimeRange;
+import com.kaique.marketdata.domain.model.IndicatorSpec;
+import com.kaique.marketdata.domain.service.IndicatorCalculator.Computation;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Cache dos indicadores calculados, ao lado do HistoryCache.
+ *
+ * Chave: (MarketType, símbolo normalizado, TimeRange, indicador). Cada entrada guarda os valores e o
+ * checkpoint para continuar o cálculo quando a série ganhar candles novos — por isso vive mais que a série
+ * (expira por falta de acesso, cache.indicator.ttl-ms). Limitado pelo total de valores guardados
+ * (cache.indicator.max-values). Um TTL igual a zero desativa o cache.
+ */
+@Component
+public class IndicatorCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IndicatorCache.class);
+    private static final String CACHE_NAME = "indicator";
+
+    private final Cache<IndicatorKey, Computation> cache;
+    private final ProviderMetrics metrics;
+    private final Duration ttl;
+
+    public IndicatorCache(ProviderMetrics metrics,
+                          @Value("${cache.indicator.max-values:2000000}") long maxValues,
+                          @Value("${cache.indicator.ttl-ms:3600000}") long ttlMs) {
+        this.metrics = metrics;
+        this.ttl = Duration.ofMillis(ttlMs);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxValues)
+                .weigher((IndicatorKey key, Computation value) -> value.weight() + 1)
+                .expireAfterAccess(ttl)
+                .evictionListener((IndicatorKey key, Computation value, RemovalCause cause) ->
+                        metrics.recordCacheEviction(CACHE_NAME, cause.name().toLowerCase(Locale.ROOT)))
+                .build();
+
+        metrics.registerCacheSize(CACHE_NAME, cache, Cache::estimatedSize);
+        log.info("IndicatorCache inicializado: maxValues={}, ttl={}", maxValues, ttl);
+    }
+
+    public Optional<Computation> get(MarketType marketType, String symbol, TimeRange timeRange, IndicatorSpec spec) {
+        Computation cached = cache.getIfPresent(IndicatorKey.of(marketType, symbol, timeRange, spec));
+
+        if (cached == null) {
+            metrics.recordCacheMiss(CACHE_NAME);
+            return Optional.empty();
+        }
+
+        metrics.recordCacheHit(CACHE_NAME);
+        return Optional.of(cached);
+    }
+
+    public void put(MarketType marketType, String symbol, TimeRange timeRange, IndicatorSpec spec,
+                    Computation computation) {
+        if (ttl.isZero()) {
+            return;
+        }
+        cache.put(IndicatorKey.of(marketType, symbol, timeRange, spec), computation);
+    }
+
+    /** Chave do cache: o símbolo é normalizado (trim + maiúsculas) para evitar duplicatas. */
+    record IndicatorKey(MarketType marketType, String symbol, TimeRange timeRange, IndicatorSpec spec) {
+
+        static IndicatorKey of(MarketType marketType, String symbol, TimeRange timeRange, IndicatorSpec spec) {
+            return new IndicatorKey(marketType, symbol.trim().toUpperCase(Locale.ROOT), timeRange, spec);
+        }
+    }
+}
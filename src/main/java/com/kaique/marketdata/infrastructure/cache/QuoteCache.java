@@ -0,0 +1,117 @@
+package com.kaique.marketdata.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache em memória das cotações atuais, na frente do loop de providers.
+ *
+ * Chave: (MarketType, símbolo normalizado). Limitado por tamanho e com TTL por MarketType,
+ * configuráveis via application.properties:
+ * - cache.quote.max-size (default: 1000)
+ * - cache.quote.ttl-ms.crypto / .stock / .fii
+ *
+ * Um TTL igual a zero desativa o cache para o tipo de mercado.
+ */
+@Component
+public class QuoteCache {
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteCache.class);
+    private static final String CACHE_NAME = "quote";
+
+    private final Map<MarketType, Duration> ttls = new EnumMap<>(MarketType.class);
+    private final Cache<QuoteKey, MarketData> cache;
+    private final ProviderMetrics metrics;
+
+    public QuoteCache(ProviderMetrics metrics,
+                      @Value("${cache.quote.max-size:1000}") long maxSize,
+                      @Value("${cache.quote.ttl-ms.crypto:15000}") long cryptoTtlMs,
+                      @Value("${cache.quote.ttl-ms.stock:30000}") long stockTtlMs,
+                      @Value("${cache.quote.ttl-ms.fii:60000}") long fiiTtlMs) {
+        this.metrics = metrics;
+        ttls.put(MarketType.CRYPTO, Duration.ofMillis(cryptoTtlMs));
+        ttls.put(MarketType.STOCK, Duration.ofMillis(stockTtlMs));
+        ttls.put(MarketType.FII, Duration.ofMillis(fiiTtlMs));
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new QuoteExpiry())
+                .evictionListener((QuoteKey key, MarketData value, RemovalCause cause) ->
+                        metrics.recordCacheEviction(CACHE_NAME, cause.name().toLowerCase(Locale.ROOT)))
+                .build();
+
+        metrics.registerCacheSize(CACHE_NAME, cache, Cache::estimatedSize);
+        log.info("QuoteCache inicializado: maxSize={}, ttls={}", maxSize, ttls);
+    }
+
+    public Optional<MarketData> get(MarketType marketType, String symbol) {
+        MarketData cached = cache.getIfPresent(QuoteKey.of(marketType, symbol));
+
+        if (cached == null) {
+            metrics.recordCacheMiss(CACHE_NAME);
+            return Optional.empty();
+        }
+
+        metrics.recordCacheHit(CACHE_NAME);
+        return Optional.of(cached);
+    }
+
+    public void put(MarketType marketType, String symbol, MarketData data) {
+        if (getTtl(marketType).isZero()) {
+            return;
+        }
+        cache.put(QuoteKey.of(marketType, symbol), data);
+    }
+
+    /** Tempo até a entrada expirar, sem contar como acesso (vazio se não estiver em cache). */
+    public Optional<Duration> expiresIn(MarketType marketType, String symbol) {
+        return cache.policy().expireVariably()
+                .flatMap(expiration -> expiration.getExpiresAfter(QuoteKey.of(marketType, symbol)));
+    }
+
+    public Duration getTtl(MarketType marketType) {
+        return ttls.getOrDefault(marketType, Duration.ZERO);
+    }
+
+    /** Chave do cache: o símbolo é normalizado (trim + maiúsculas) para evitar duplicatas. */
+    record QuoteKey(MarketType marketType, String symbol) {
+
+        static QuoteKey of(MarketType marketType, String symbol) {
+            return new QuoteKey(marketType, symbol.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /** TTL variável por entrada, de acordo com o MarketType da chave. */
+    private class QuoteExpiry implements Expiry<QuoteKey, MarketData> {
+
+        @Override
+        public long expireAfterCreate(QuoteKey key, MarketData value, long currentTime) {
+            return getTtl(key.marketType()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(QuoteKey key, MarketData value, long currentTime, long currentDuration) {
+            return getTtl(key.marketType()).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(QuoteKey key, MarketData value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.kaique.marketdata.infrastructure.concurrency;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cancelamento de uma chamada a provider em andamento (o perdedor de um hedge).
+ *
+ * Interromper a thread não desbloqueia uma leitura de socket do HttpClient clássico: a chamada continuaria
+ * até o read-timeout, segurando a conexão e a thread. Por isso a chamada roda dentro de um escopo
+ * ({@link #run}) e a requisição HTTP em andamento se registra nele ({@link #register}, ver RestTemplateConfig);
+ * {@link #cancel} aborta essa requisição e a leitura bloqueada falha na hora.
+ *
+ * Circuit breaker, ranking e métricas consultam {@link #isCurrentCancelled} para não contar o aborto
+ * como falha do provider.
+ */
+public final class CallCancellation {
+
+    private static final ThreadLocal<CallCancellation> CURRENT = new ThreadLocal<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Runnable abort;
+    private boolean cancelled;
+    private boolean finished;
+
+    /** Executa a chamada na thread atual com este escopo ativo. */
+    public <T> T run(Supplier<T> call) {
+        CallCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.set(previous);
+            lock.lock();
+            try {
+                finished = true;
+                abort = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Marca a chamada como cancelada e aborta a requisição em andamento, se houver. Sem efeito depois do fim. */
+    public void cancel() {
+        Runnable toAbort;
+        lock.lock();
+        try {
+            if (finished || cancelled) {
+                return;
+            }
+            cancelled = true;
+            toAbort = abort;
+            abort = null;
+        } finally {
+            lock.unlock();
+        }
+
+        if (toAbort != null) {
+            toAbort.run();
+        }
+    }
+
+    /**
+     * Registra como abortar a requisição HTTP que a thread atual vai executar (substitui a anterior,
+     * já concluída). Se a chamada já foi cancelada, aborta na hora. Sem escopo ativo, não faz nada.
+     */
+    public static void register(Runnable abortRequest) {
+        CallCancellation scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+
+        scope.lock.lock();
+        try {
+            if (!scope.cancelled) {
+                scope.abort = abortRequest;
+                return;
+            }
+        } finally {
+            scope.lock.unlock();
+        }
+        abortRequest.run();
+    }
+
+    /** Se a chamada da thread atual foi cancelada (o erro que ela lançar vem do aborto, não do provider). */
+    public static boolean isCurrentCancelled() {
+        CallCancellation scope = CURRENT.get();
+        if (scope == null) {
+            return false;
+        }
+
+        scope.lock.lock();
+        try {
+            return scope.cancelled;
+        } finally {
+            scope.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.kaique.marketdata.infrastructure.concurrency;
+
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executa chamadas a providers com hedging em vez de fallback estritamente sequencial.
+ *
+ * Fluxo:
+ *   1. Dispara o primeiro provider.
+ *   2. Se ele não responder dentro do seu hedgeDelay, dispara o próximo em paralelo.
+ *   3. Se um provider falhar, o próximo é disparado imediatamente (como no fallback).
+ *   4. O primeiro sucesso vence; as chamadas restantes são canceladas.
+ *
+ * Cancelar o Future só interrompe a thread, o que não desbloqueia a leitura do HttpClient. Cada chamada roda
+ * em um {@link CallCancellation}, e o cancelamento aborta a requisição HTTP em andamento; o erro do aborto
+ * não conta como falha no circuit breaker nem no ranking.
+ *
+ * Só lança exceção quando todos os providers falharem (a última ProviderException).
+ */
+@Component
+public class HedgedExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedExecutor.class);
+
+    private final ExecutorService executor;
+    private final ProviderMetrics metrics;
+
+    public HedgedExecutor(@Qualifier("providerExecutor") ExecutorService executor, ProviderMetrics metrics) {
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Uma chamada candidata.
+     *
+     * @param providerName nome do provider (logs e métricas)
+     * @param hedgeDelay   quanto esperar por esta chamada antes de disparar a próxima
+     * @param call         a chamada ao provider
+     */
+    public record HedgedCall<T>(String providerName, Duration hedgeDelay, Supplier<T> call) {
+    }
+
+    public <T> T invoke(List<HedgedCall<T>> calls) {
+        CompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(calls.size());
+        List<CallCancellation> cancellations = new ArrayList<>(calls.size());
+        ProviderException lastException = null;
+
+        futures.add(submit(completionService, calls.get(0), cancellations));
+        int launched = 1;
+        int running = 1;
+
+        try {
+            while (running > 0) {
+                Future<T> done;
+
+                if (launched < calls.size()) {
+                    Duration delay = calls.get(launched - 1).hedgeDelay();
+                    done = completionService.poll(delay.toMillis(), TimeUnit.MILLISECONDS);
+
+                    if (done == null) {
+                        HedgedCall<T> hedge = calls.get(launched);
+                        log.info("{} sem resposta em {} ms, disparando hedge com {}",
+                                calls.get(launched - 1).providerName(), delay.toMillis(), hedge.providerName());
+                        metrics.recordHedge(hedge.providerName());
+
+                        futures.add(submit(completionService, hedge, cancellations));
+                        launched++;
+                        running++;
+                        continue;
+                    }
+                } else {
+                    done = completionService.take();
+                }
+
+                running--;
+
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof ProviderException providerException)) {
+                        throw unwrap(e);
+                    }
+                    lastException = providerException;
+
+                    // Falha explícita: não espera o delay, dispara o próximo provider imediatamente
+                    if (launched < calls.size()) {
+                        futures.add(submit(completionService, calls.get(launched), cancellations));
+                        launched++;
+                        running++;
+                    }
+                }
+            }
+
+            throw lastException;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Hedging", "Chamada interrompida", e);
+        } finally {
+            // Aborta os perdedores (e qualquer chamada ainda em andamento); o vencedor já terminou
+            cancellations.forEach(CallCancellation::cancel);
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // ========== Métodos privados ==========
+
+    private <T> Future<T> submit(CompletionService<T> completionService, HedgedCall<T> call,
+                                 List<CallCancellation> cancellations) {
+        CallCancellation cancellation = new CallCancellation();
+        cancellations.add(cancellation);
+        return completionService.submit(() -> cancellation.run(call.call()));
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+}
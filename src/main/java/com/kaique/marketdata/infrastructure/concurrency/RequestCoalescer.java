@@ -0,0 +1,120 @@
+package com.kaique.marketdata.infrastructure.concurrency;
+
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: deduplica chamadas concorrentes idênticas.
+ *
+ * A primeira thread que chega para uma chave executa a operação; as demais que chegarem
+ * enquanto ela ainda está em andamento aguardam e recebem o mesmo resultado
+ * (ou a mesma exceção, ex: ProviderException).
+ *
+ * Se a chamada original for cancelada (perdedora de um hedge, ver CallCancellation), quem estava
+ * aguardando não herda o aborto: executa a operação por conta própria.
+ *
+ * Nada é guardado após a conclusão — isso é papel do cache. Cada chamada coalescida
+ * incrementa market.requests.coalesced (tag operation).
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ProviderMetrics metrics;
+
+    public RequestCoalescer(ProviderMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param operation nome da operação, usado como tag da métrica (ex: "quote", "history")
+     * @param key       chave que identifica chamadas idênticas (deve implementar equals/hashCode)
+     * @param supplier  a chamada real aos providers
+     * @return resultado compartilhado entre todas as chamadas concorrentes da mesma chave
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> supplier) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null) {
+            metrics.recordCoalesced(operation);
+            try {
+                return (T) await(existing);
+            } catch (CancellationException e) {
+                // O líder foi abortado: tira a chamada dele (se ainda estiver lá) e tenta de novo
+                inFlight.remove(key, existing);
+                return execute(operation, key, supplier);
+            }
+        }
+
+        try {
+            T result = supplier.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(CallCancellation.isCurrentCancelled()
+                    ? new CancellationException("Chamada original cancelada")
+                    : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Versão assíncrona de {@link #execute}: chamadas concorrentes da mesma chave recebem
+     * futures que completam junto com a chamada original.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String operation, Object key,
+                                                 Supplier<CompletableFuture<T>> supplier) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null) {
+            metrics.recordCoalesced(operation);
+            return existing.thenApply(value -> (T) value);
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = supplier.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.whenComplete((value, error) -> {
+            inFlight.remove(key, call);
+            if (error != null) {
+                call.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            } else {
+                call.complete(value);
+            }
+        });
+    }
+
+    private Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Relança a exceção original (ex: ProviderException) para o handler global tratar igual
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Representações das respostas REST, escolhidas pelo header Accept:
+ * - application/json (padrão, inclusive para Accept: *&#47;*)
+ * - application/cbor: o mesmo modelo em binário — números sem conversão para texto (nem na geração, nem
+ *   na leitura) e um corpo menor que o JSON
+ *
+ * O conversor CBOR usa o builder do Spring Boot, então recebe os mesmos módulos e serializers do JSON
+ * (ex: CandleSeriesSerializer). JSON e CBOR acima de server.compression.min-response-size saem com gzip
+ * quando o cliente envia Accept-Encoding: gzip.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
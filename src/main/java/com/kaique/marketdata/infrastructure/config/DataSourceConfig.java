@@ -0,0 +1,29 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * DataSource do HistoryStore JPA, criado só quando spring.datasource.url está configurada.
+ *
+ * O DataSourceAutoConfiguration fica excluído (MarketDataApiApplication): sem banco configurado, a aplicação
+ * sobe sem DataSource nem JPA, e o histórico vem direto dos providers (ou do store "file").
+ * Com a URL, o pool é o mesmo Hikari que o Spring Boot criaria (spring.datasource.hikari.*), e o
+ * HibernateJpaAutoConfiguration sobe normalmente em cima dele.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.datasource.url")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor usado para chamadas paralelas aos providers (ex: hedging), e os executores do streaming de cotações.
+ *
+ * As threads são daemon e nomeadas "provider-N" para facilitar a leitura de logs e thread dumps.
+ * Com spring.threads.virtual.enabled=true, cada tarefa roda em uma virtual thread: chamadas
+ * bloqueantes (RestTemplate) deixam de ser limitadas pelo número de threads de plataforma.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService providerExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("provider-", 1).factory());
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "provider-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * Marca o tempo dos pollers de streaming (um por MarketType) e dos flushes do WebSocket. Só tarefas curtas:
+     * as consultas aos providers rodam no providerExecutor.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService streamPollerScheduler(
+            @Value("${market.stream.poller-threads:2}") int pollerThreads) {
+        return Executors.newScheduledThreadPool(pollerThreads, daemonThreads("stream-poller-"));
+    }
+
+    /**
+     * Entrega dos eventos de streaming aos assinantes. A escrita em uma conexão lenta bloqueia só a
+     * entrega daquele assinante (no máximo uma tarefa por assinante em andamento).
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService streamDispatchExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stream-dispatch-", 1).factory());
+        }
+        return Executors.newCachedThreadPool(daemonThreads("stream-dispatch-"));
+    }
+
+    /**
+     * Leituras e gravações do HistoryStore (JDBC bloqueante) nas requisições assíncronas de histórico.
+     * Tamanho fixo: as tarefas são curtas (a espera pelo provider não ocupa essas threads), e o número de
+     * acessos simultâneos ao banco fica limitado.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService historyStoreExecutor(@Value("${market.history.store.threads:4}") int storeThreads) {
+        return Executors.newFixedThreadPool(storeThreads, daemonThreads("history-store-"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
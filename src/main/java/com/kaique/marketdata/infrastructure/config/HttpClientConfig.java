@@ -0,0 +1,56 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente HTTP não bloqueante usado pelas chamadas assíncronas aos providers.
+ *
+ * O java.net.http.HttpClient mantém um pool de conexões keep-alive por host e negocia HTTP/2
+ * quando o servidor suporta (várias requisições multiplexadas na mesma conexão).
+ * Nenhuma thread fica parada esperando o provider: as poucas threads "http-async-N"
+ * só processam respostas que já chegaram.
+ *
+ * Configuração via application.properties:
+ * - provider.timeout.connect-ms (mesmo timeout de conexão do RestTemplate)
+ * - provider.async.threads (default: 4)
+ *
+ * Limite de requisições por provider, timeout por requisição e gzip ficam no AsyncJsonClient, com as mesmas
+ * propriedades provider.http.* do RestTemplate.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService asyncHttpExecutor(@Value("${provider.async.threads:4}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "http-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, threads), threadFactory);
+    }
+
+    @Bean
+    public HttpClient asyncHttpClient(
+            @Qualifier("asyncHttpExecutor") ExecutorService asyncHttpExecutor,
+            @Value("${provider.timeout.connect-ms:2000}") int connectTimeoutMs) {
+
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(asyncHttpExecutor)
+                .build();
+    }
+}
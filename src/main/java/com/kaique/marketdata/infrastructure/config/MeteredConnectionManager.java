@@ -0,0 +1,63 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de conexões HTTP que mede cada entrega de conexão.
+ *
+ * Para cada lease registra o tempo de espera e se a conexão foi reaproveitada (já conectada,
+ * keep-alive) ou precisou de um novo handshake TCP+TLS. Continua sendo um
+ * PoolingHttpClientConnectionManager, então a evicção de conexões ociosas do HttpClient funciona.
+ */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final ProviderMetrics metrics;
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder created = new LongAdder();
+
+    public MeteredConnectionManager(ProviderMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        long start = System.nanoTime();
+        LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                ConnectionEndpoint endpoint = delegate.get(timeout);
+
+                boolean reusedConnection = endpoint.isConnected();
+                (reusedConnection ? reused : created).increment();
+                metrics.recordConnectionLease(route.getTargetHost().getHostName(),
+                        System.nanoTime() - start, reusedConnection);
+
+                return endpoint;
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+
+    /** Fração das conexões entregues que já estavam abertas (0 a 1). */
+    public double getReuseRatio() {
+        long reusedCount = reused.sum();
+        long total = reusedCount + created.sum();
+        return total == 0 ? 0.0 : (double) reusedCount / total;
+    }
+}
@@ -0,0 +1,49 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.springframework.core.env.Environment;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limites e timeouts HTTP de um provider (provider.http.{chave}.*), compartilhados pelos dois caminhos de
+ * chamada: o RestTemplate (pool do Apache HttpClient 5) e o AsyncJsonClient (java.net.http).
+ */
+public record ProviderHttpSettings(URI baseUrl, int maxConnections, int connectTimeoutMs, int readTimeoutMs) {
+
+    /** Chave das propriedades provider.http.{chave}.* → URL base do provider. */
+    private static final Map<String, String> PROVIDER_HOSTS = Map.of(
+            "coingecko", "https://api.coingecko.com",
+            "brapi", "https://brapi.dev",
+            "alphavantage", "https://www.alphavantage.co");
+
+    /** Sem valor específico, cada provider fica com os defaults recebidos. */
+    public static List<ProviderHttpSettings> load(Environment environment, int defaultMaxConnections,
+                                                  int connectTimeoutMs, int readTimeoutMs) {
+        return PROVIDER_HOSTS.entrySet().stream()
+                .map(entry -> {
+                    String prefix = "provider.http." + entry.getKey() + ".";
+                    return new ProviderHttpSettings(
+                            URI.create(entry.getValue()),
+                            environment.getProperty(prefix + "max-connections", Integer.class, defaultMaxConnections),
+                            environment.getProperty(prefix + "connect-timeout-ms", Integer.class, connectTimeoutMs),
+                            environment.getProperty(prefix + "read-timeout-ms", Integer.class, readTimeoutMs));
+                })
+                .toList();
+    }
+
+    public String host() {
+        return baseUrl.getHost();
+    }
+
+    /** Mesma rota que o HttpClient monta para o host (porta explícita, secure para https). */
+    public HttpRoute route() {
+        boolean secure = "https".equalsIgnoreCase(baseUrl.getScheme());
+        int port = baseUrl.getPort() != -1 ? baseUrl.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(baseUrl.getScheme(), baseUrl.getHost(), port), (InetAddress) null, secure);
+    }
+}
@@ -1,12 +1,26 @@
 package com.kaique.marketdata.infrastructure.config;
 
+import com.kaique.marketdata.infrastructure.concurrency.CallCancellation;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Configuração do RestTemplate com timeouts estritos.
@@ -18,19 +32,135 @@ import java.time.Duration;
  * Os valores são configuráveis via application.properties:
  * - provider.timeout.connect-ms (default: 2000ms)
  * - provider.timeout.read-ms (default: 2000ms)
+ *
+ * Transporte: Apache HttpClient 5 com pool de conexões (keep-alive, evicção de ociosas) e
+ * compressão transparente (Accept-Encoding: gzip, deflate — habilitada por padrão no HttpClient).
+ * Cada provider pode ter limite de conexões e timeouts próprios:
+ * - provider.http.{coingecko|brapi|alphavantage}.max-connections
+ * - provider.http.{coingecko|brapi|alphavantage}.connect-timeout-ms / read-timeout-ms
+ * Sem valor específico, valem http.pool.default-max-per-route e os timeouts globais acima.
+ * Os mesmos limites e timeouts valem para as chamadas assíncronas (AsyncJsonClient).
+ *
+ * Cada requisição síncrona se registra no CallCancellation da chamada: o HedgedExecutor
+ * aborta a leitura do perdedor em vez de esperar o read-timeout.
  */
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public MeteredConnectionManager providerConnectionManager(
+            ProviderMetrics metrics,
+            Environment environment,
+            @Value("${http.pool.max-total:100}") int maxTotal,
+            @Value("${http.pool.default-max-per-route:20}") int defaultMaxPerRoute,
+            @Value("${http.pool.time-to-live-ms:300000}") long timeToLiveMs,
+            @Value("${http.pool.validate-after-inactivity-ms:2000}") long validateAfterInactivityMs,
+            @Value("${provider.timeout.connect-ms:2000}") int connectTimeoutMs,
+            @Value("${provider.timeout.read-ms:2000}") int readTimeoutMs) {
+
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(metrics);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+
+        ConnectionConfig defaultConnectionConfig = connectionConfig(
+                connectTimeoutMs, readTimeoutMs, timeToLiveMs, validateAfterInactivityMs);
+        Map<String, ConnectionConfig> connectionConfigByHost = new HashMap<>();
+
+        for (ProviderHttpSettings provider : ProviderHttpSettings.load(environment, defaultMaxPerRoute,
+                connectTimeoutMs, readTimeoutMs)) {
+            connectionManager.setMaxPerRoute(provider.route(), provider.maxConnections());
+            connectionConfigByHost.put(provider.host(), connectionConfig(
+                    provider.connectTimeoutMs(), provider.readTimeoutMs(), timeToLiveMs, validateAfterInactivityMs));
+        }
+
+        connectionManager.setConnectionConfigResolver(route -> connectionConfigByHost.getOrDefault(
+                route.getTargetHost().getHostName(), defaultConnectionConfig));
+
+        metrics.registerHttpPoolGauge("leased", "Conexões do pool HTTP em uso",
+                connectionManager, pool -> pool.getTotalStats().getLeased());
+        metrics.registerHttpPoolGauge("pending", "Requisições aguardando uma conexão do pool HTTP",
+                connectionManager, pool -> pool.getTotalStats().getPending());
+        metrics.registerHttpPoolGauge("available", "Conexões ociosas disponíveis no pool HTTP",
+                connectionManager, pool -> pool.getTotalStats().getAvailable());
+        metrics.registerHttpPoolGauge("reuse.ratio", "Fração das conexões entregues que foram reaproveitadas",
+                connectionManager, MeteredConnectionManager::getReuseRatio);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient providerHttpClient(
+            MeteredConnectionManager providerConnectionManager,
+            @Value("${http.pool.idle-eviction-ms:30000}") long idleEvictionMs) {
+
+        // Compressão (gzip/deflate) fica habilitada: não chamar disableContentCompression()
+        return HttpClients.custom()
+                .setConnectionManager(providerConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+    }
+
     @Bean
     public RestTemplate restTemplate(
             RestTemplateBuilder builder,
+            CloseableHttpClient providerHttpClient,
+            Environment environment,
+            @Value("${http.pool.default-max-per-route:20}") int defaultMaxPerRoute,
+            @Value("${http.pool.lease-timeout-ms:1000}") long leaseTimeoutMs,
+            @Value("${http.pool.keep-alive-ms:60000}") long keepAliveMs,
             @Value("${provider.timeout.connect-ms:2000}") int connectTimeoutMs,
             @Value("${provider.timeout.read-ms:2000}") int readTimeoutMs) {
 
+        RequestConfig defaultRequestConfig = requestConfig(readTimeoutMs, leaseTimeoutMs, keepAliveMs);
+        Map<String, RequestConfig> requestConfigByHost = new HashMap<>();
+
+        for (ProviderHttpSettings provider : ProviderHttpSettings.load(environment, defaultMaxPerRoute,
+                connectTimeoutMs, readTimeoutMs)) {
+            requestConfigByHost.put(provider.host(),
+                    requestConfig(provider.readTimeoutMs(), leaseTimeoutMs, keepAliveMs));
+        }
+
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(providerHttpClient) {
+                    @Override
+                    protected void postProcessHttpRequest(ClassicHttpRequest request) {
+                        // Interromper a thread não desbloqueia o socket: o hedge aborta a requisição
+                        if (request instanceof Cancellable cancellable) {
+                            CallCancellation.register(cancellable::cancel);
+                        }
+                    }
+                };
+
+        // Timeout de resposta por provider: o RequestConfig vai no contexto de cada requisição
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfigByHost.getOrDefault(uri.getHost(), defaultRequestConfig));
+            return context;
+        });
+
         return builder
-                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
-                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    // ========== Métodos privados ==========
+
+    private static ConnectionConfig connectionConfig(int connectTimeoutMs, int socketTimeoutMs,
+                                                     long timeToLiveMs, long validateAfterInactivityMs) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(socketTimeoutMs))
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                .build();
+    }
+
+    private static RequestConfig requestConfig(int readTimeoutMs, long leaseTimeoutMs, long keepAliveMs) {
+        return RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(leaseTimeoutMs))
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
                 .build();
     }
 }
@@ -0,0 +1,12 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas @Scheduled (ex: compactação do MappedFileHistoryStore, RefreshAheadScheduler).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
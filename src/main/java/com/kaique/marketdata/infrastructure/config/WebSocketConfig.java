@@ -0,0 +1,32 @@
+package com.kaique.marketdata.infrastructure.config;
+
+import com.kaique.marketdata.presentation.websocket.QuoteWebSocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Registra o gateway WebSocket de cotações em /ws/market.
+ * Origens permitidas via market.ws.allowed-origins (padrões separados por vírgula).
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final QuoteWebSocketHandler quoteWebSocketHandler;
+    private final String[] allowedOrigins;
+
+    public WebSocketConfig(QuoteWebSocketHandler quoteWebSocketHandler,
+                           @Value("${market.ws.allowed-origins:*}") String[] allowedOrigins) {
+        this.quoteWebSocketHandler = quoteWebSocketHandler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(quoteWebSocketHandler, "/ws/market")
+                .setAllowedOriginPatterns(allowedOrigins);
+    }
+}
@@ -1,11 +1,19 @@
 package com.kaique.marketdata.infrastructure.metrics;
 
+import com.kaique.marketdata.infrastructure.concurrency.CallCancellation;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Componente responsável por registrar métricas de latência e erros dos providers.
@@ -13,6 +21,25 @@ import java.util.function.Supplier;
  * Métricas registradas:
  *   - market.provider.latency (Timer): tempo de resposta por provider e símbolo
  *   - market.provider.errors (Counter): contagem de erros por provider
+ *   - market.provider.response (Timer): latência de sucesso por provider, com p95 (usado no hedging)
+ *   - market.provider.hedges (Counter): chamadas extras disparadas pelo hedging
+ *   - market.provider.circuit.state (Gauge): estado do circuit breaker (0=CLOSED, 1=OPEN, 2=HALF_OPEN)
+ *   - market.provider.circuit.transitions (Counter): transições de estado do circuit breaker
+ *   - market.provider.quota.remaining (Gauge): chamadas restantes na cota do provider (tag window=minute|day)
+ *   - market.provider.quota.rejected (Counter): chamadas puladas por cota esgotada
+ *   - market.cache.requests (Counter): hits e misses por cache
+ *   - market.cache.evictions (Counter): remoções por tamanho ou expiração
+ *   - market.cache.size (Gauge): quantidade estimada de entradas por cache
+ *   - market.requests.coalesced (Counter): chamadas que reaproveitaram uma requisição em andamento
+ *   - market.threads.virtual.pinned (Timer): tempo em que uma virtual thread ficou presa à carrier thread
+ *   - market.http.pool.lease (Timer): espera por uma conexão do pool HTTP, por host
+ *   - market.http.pool.connections (Counter): conexões entregues pelo pool (tag reuse=reused|new)
+ *   - market.http.pool.leased / pending / available / reuse.ratio (Gauge): estado do pool HTTP
+ *   - market.history.store.requests (Counter): históricos servidos do banco (tag result=hit|delta|full)
+ *   - market.stream.subscribers (Gauge): assinantes ativos de streaming, por canal (sse, websocket)
+ *   - market.stream.feeds (Gauge): pollers ativos (um por símbolo assinado)
+ *   - market.stream.fanout (Timer): tempo entre a nova cotação e a entrega ao assinante
+ *   - market.stream.dropped (Counter): eventos não entregues (tag reason=conflated|error)
  *
  * Consulta via Actuator:
  *   GET /actuator/metrics/market.provider.latency
@@ -25,6 +52,9 @@ import java.util.function.Supplier;
 @Component
 public class ProviderMetrics {
 
+    /** Amostras mínimas antes de confiar no p95 observado. */
+    private static final long MIN_SAMPLES_FOR_PERCENTILE = 20;
+
     private final MeterRegistry registry;
 
     public ProviderMetrics(MeterRegistry registry) {
@@ -46,32 +76,292 @@ public class ProviderMetrics {
 
         try {
             T result = operation.get();
-
-            sample.stop(Timer.builder("market.provider.latency")
-                    .tag("provider", providerName)
-                    .tag("symbol", symbol)
-                    .tag("status", "success")
-                    .description("Latência das chamadas aos providers de dados de mercado")
-                    .register(registry));
-
+            recordSuccess(providerName, symbol, sample);
             return result;
 
         } catch (Exception e) {
-            sample.stop(Timer.builder("market.provider.latency")
-                    .tag("provider", providerName)
-                    .tag("symbol", symbol)
-                    .tag("status", "error")
-                    .description("Latência das chamadas aos providers de dados de mercado")
-                    .register(registry));
-
-            Counter.builder("market.provider.errors")
-                    .tag("provider", providerName)
-                    .tag("symbol", symbol)
-                    .description("Contagem de erros por provider")
-                    .register(registry)
-                    .increment();
+            // Perdedor de um hedge abortado: nem erro do provider nem latência real
+            if (!CallCancellation.isCurrentCancelled()) {
+                recordError(providerName, symbol, sample);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Versão assíncrona de {@link #recordLatency}: o tempo é medido até a conclusão do future.
+     *
+     * @param operation a operação assíncrona (ex: fetchCurrentPriceAsync)
+     * @return o mesmo future, com as métricas registradas na conclusão
+     */
+    public <T> CompletableFuture<T> recordLatencyAsync(String providerName, String symbol,
+                                                       Supplier<CompletableFuture<T>> operation) {
+        Timer.Sample sample = Timer.start(registry);
 
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (Exception e) {
+            recordError(providerName, symbol, sample);
             throw e;
         }
+
+        return future.whenComplete((result, error) -> {
+            if (error == null) {
+                recordSuccess(providerName, symbol, sample);
+            } else {
+                recordError(providerName, symbol, sample);
+            }
+        });
+    }
+
+    /**
+     * p95 observado das respostas com sucesso do provider (janela móvel do Micrometer).
+     *
+     * @return vazio enquanto não houver amostras suficientes
+     */
+    public Optional<Duration> getLatencyP95(String providerName) {
+        Timer timer = responseTimer(providerName);
+        if (timer.count() < MIN_SAMPLES_FOR_PERCENTILE) {
+            return Optional.empty();
+        }
+
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                return Optional.of(Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Incrementa o counter de hedges disparados para o provider. */
+    public void recordHedge(String providerName) {
+        Counter.builder("market.provider.hedges")
+                .tag("provider", providerName)
+                .description("Chamadas paralelas disparadas pelo hedging")
+                .register(registry)
+                .increment();
+    }
+
+    /** Registra o gauge com o estado atual do circuit breaker do provider. */
+    public <T> void registerCircuitState(String providerName, T breaker, ToDoubleFunction<T> stateFunction) {
+        Gauge.builder("market.provider.circuit.state", breaker, stateFunction)
+                .tag("provider", providerName)
+                .description("Estado do circuit breaker (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(registry);
+    }
+
+    /** Incrementa o counter de transições de estado do circuit breaker. */
+    public void recordCircuitTransition(String providerName, String from, String to) {
+        Counter.builder("market.provider.circuit.transitions")
+                .tag("provider", providerName)
+                .tag("from", from)
+                .tag("to", to)
+                .description("Transições de estado do circuit breaker por provider")
+                .register(registry)
+                .increment();
+    }
+
+    /** Registra o gauge com o saldo da cota do provider na janela informada. */
+    public <T> void registerQuotaRemaining(String providerName, String window, T quota, ToDoubleFunction<T> remainingFunction) {
+        Gauge.builder("market.provider.quota.remaining", quota, remainingFunction)
+                .tag("provider", providerName)
+                .tag("window", window)
+                .description("Chamadas restantes na cota do provider")
+                .register(registry);
+    }
+
+    /** Incrementa o counter de chamadas puladas por cota esgotada. */
+    public void recordQuotaRejected(String providerName) {
+        Counter.builder("market.provider.quota.rejected")
+                .tag("provider", providerName)
+                .description("Chamadas não realizadas por cota de requisições esgotada")
+                .register(registry)
+                .increment();
+    }
+
+    /** Incrementa o counter de hit do cache informado. */
+    public void recordCacheHit(String cacheName) {
+        cacheRequestCounter(cacheName, "hit").increment();
+    }
+
+    /** Incrementa o counter de miss do cache informado. */
+    public void recordCacheMiss(String cacheName) {
+        cacheRequestCounter(cacheName, "miss").increment();
+    }
+
+    /**
+     * Registra a remoção automática de uma entrada do cache.
+     *
+     * @param cacheName nome do cache (ex: "quote")
+     * @param cause     motivo da remoção (ex: "size", "expired")
+     */
+    public void recordCacheEviction(String cacheName, String cause) {
+        Counter.builder("market.cache.evictions")
+                .tag("cache", cacheName)
+                .tag("cause", cause)
+                .description("Entradas removidas do cache por tamanho ou expiração")
+                .register(registry)
+                .increment();
+    }
+
+    /** Registra um gauge com o tamanho estimado do cache. */
+    public <T> void registerCacheSize(String cacheName, T cache, ToDoubleFunction<T> sizeFunction) {
+        Gauge.builder("market.cache.size", cache, sizeFunction)
+                .tag("cache", cacheName)
+                .description("Quantidade estimada de entradas no cache")
+                .register(registry);
+    }
+
+    /** Incrementa o counter de chamadas coalescidas (single-flight). */
+    public void recordCoalesced(String operation) {
+        Counter.builder("market.requests.coalesced")
+                .tag("operation", operation)
+                .description("Chamadas que aguardaram uma requisição idêntica já em andamento")
+                .register(registry)
+                .increment();
+    }
+
+    /** Registra um evento jdk.VirtualThreadPinned (bloqueio dentro de synchronized ou código nativo). */
+    public void recordVirtualThreadPinned(Duration duration) {
+        Timer.builder("market.threads.virtual.pinned")
+                .description("Tempo em que virtual threads ficaram presas à carrier thread (pinning)")
+                .register(registry)
+                .record(duration);
+    }
+
+    /**
+     * Registra a entrega de uma conexão pelo pool HTTP.
+     *
+     * @param reused true se a conexão já estava aberta (keep-alive), false se precisou de TCP+TLS
+     */
+    public void recordConnectionLease(String host, long waitNanos, boolean reused) {
+        Timer.builder("market.http.pool.lease")
+                .tag("host", host)
+                .description("Tempo de espera por uma conexão do pool HTTP")
+                .register(registry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+
+        Counter.builder("market.http.pool.connections")
+                .tag("host", host)
+                .tag("reuse", reused ? "reused" : "new")
+                .description("Conexões entregues pelo pool HTTP (reaproveitadas ou novas)")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Registra como um histórico foi resolvido pelo HistoryStore.
+     *
+     * @param result "hit" (sem chamada ao provider), "delta" (só candles novos) ou "full" (range inteiro)
+     */
+    public void recordHistoryStore(String provider, String result) {
+        Counter.builder("market.history.store.requests")
+                .tag("provider", provider)
+                .tag("result", result)
+                .description("Históricos servidos pelo HistoryStore, por tipo de busca ao provider")
+                .register(registry)
+                .increment();
+    }
+
+    /** Registra um gauge do streaming de cotações (ex: "subscribers", "feeds"). */
+    public <T> void registerStreamGauge(String name, String channel, String description,
+                                        T source, ToDoubleFunction<T> valueFunction) {
+        Gauge.Builder<T> builder = Gauge.builder("market.stream." + name, source, valueFunction)
+                .description(description);
+        if (channel != null) {
+            builder.tag("channel", channel);
+        }
+        builder.register(registry);
+    }
+
+    /** Registra o tempo entre a publicação de uma cotação e a entrega ao assinante. */
+    public void recordStreamFanout(String channel, long nanos) {
+        Timer.builder("market.stream.fanout")
+                .tag("channel", channel)
+                .description("Tempo entre a nova cotação do poller e a entrega ao assinante")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Incrementa o counter de eventos de streaming não entregues.
+     *
+     * @param reason "conflated" (substituído por um mais novo antes de sair) ou "error" (falha na escrita)
+     */
+    public void recordStreamDropped(String channel, String reason) {
+        Counter.builder("market.stream.dropped")
+                .tag("channel", channel)
+                .tag("reason", reason)
+                .description("Eventos de streaming descartados antes da entrega")
+                .register(registry)
+                .increment();
+    }
+
+    /** Espera por uma vaga de requisição no cliente assíncrono (java.net.http), por host. */
+    public void recordAsyncRequestSlot(String host, long waitNanos) {
+        Timer.builder("market.http.async.slot")
+                .tag("host", host)
+                .description("Tempo de espera por uma vaga de requisição assíncrona ao host")
+                .register(registry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Requisições assíncronas em andamento por host. */
+    public <T> void registerAsyncInFlightGauge(String host, T slots, ToDoubleFunction<T> inFlightFunction) {
+        Gauge.builder("market.http.async.in-flight", slots, inFlightFunction)
+                .tag("host", host)
+                .description("Requisições assíncronas em andamento por host")
+                .register(registry);
+    }
+
+    /** Registra um gauge do pool HTTP (ex: "leased", "pending"). */
+    public <T> void registerHttpPoolGauge(String name, String description, T pool, ToDoubleFunction<T> valueFunction) {
+        Gauge.builder("market.http.pool." + name, pool, valueFunction)
+                .description(description)
+                .register(registry);
+    }
+
+    private void recordSuccess(String providerName, String symbol, Timer.Sample sample) {
+        long elapsedNanos = sample.stop(Timer.builder("market.provider.latency")
+                .tag("provider", providerName)
+                .tag("symbol", symbol)
+                .tag("status", "success")
+                .description("Latência das chamadas aos providers de dados de mercado")
+                .register(registry));
+
+        responseTimer(providerName).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordError(String providerName, String symbol, Timer.Sample sample) {
+        sample.stop(Timer.builder("market.provider.latency")
+                .tag("provider", providerName)
+                .tag("symbol", symbol)
+                .tag("status", "error")
+                .description("Latência das chamadas aos providers de dados de mercado")
+                .register(registry));
+
+        Counter.builder("market.provider.errors")
+                .tag("provider", providerName)
+                .tag("symbol", symbol)
+                .description("Contagem de erros por provider")
+                .register(registry)
+                .increment();
+    }
+
+    private Timer responseTimer(String providerName) {
+        return Timer.builder("market.provider.response")
+                .tag("provider", providerName)
+                .publishPercentiles(0.95)
+                .description("Latência das respostas com sucesso por provider")
+                .register(registry);
+    }
+
+    private Counter cacheRequestCounter(String cacheName, String result) {
+        return Counter.builder("market.cache.requests")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .description("Consultas ao cache (hit/miss)")
+                .register(registry);
     }
 }
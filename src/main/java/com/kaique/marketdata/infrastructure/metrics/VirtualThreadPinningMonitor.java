@@ -0,0 +1,68 @@
+package com.kaique.marketdata.infrastructure.metrics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Mede o pinning de virtual threads (modo spring.threads.virtual.enabled=true).
+ *
+ * Escuta o evento JFR jdk.VirtualThreadPinned — emitido quando uma virtual thread bloqueia sem
+ * conseguir liberar a carrier thread (ex: I/O dentro de synchronized) — e registra a duração em
+ * market.threads.virtual.pinned. Só eventos acima de market.threads.pinning-threshold-ms são gravados.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ProviderMetrics metrics,
+                                       @Value("${market.threads.pinning-threshold-ms:20}") long thresholdMs) {
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+
+        stream.onEvent(PINNED_EVENT, event -> {
+            metrics.recordVirtualThreadPinned(event.getDuration());
+            log.debug("Virtual thread presa à carrier por {} ms em {}",
+                    event.getDuration().toMillis(), topFrame(event));
+        });
+
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads iniciado (threshold={} ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    // ========== Métodos privados ==========
+
+    private String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "?";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        if (frames.isEmpty()) {
+            return "?";
+        }
+        RecordedFrame frame = frames.get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
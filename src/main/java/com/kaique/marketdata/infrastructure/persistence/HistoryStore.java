@@ -0,0 +1,43 @@
+package com.kaique.marketdata.infrastructure.persistence;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Armazenamento persistente de candles por (símbolo, provider, interval).
+ *
+ * O MarketDataService serve o histórico a partir daqui e só pede ao provider os candles
+ * a partir do último armazenado (busca incremental).
+ * Falhas de acesso ao banco são lançadas como DataAccessException.
+ */
+public interface HistoryStore {
+
+    /** Estado da série; vazio se ela nunca foi buscada. */
+    Optional<SeriesState> state(SeriesKey key);
+
+    /** Candles com timestamp &gt;= {@code fromEpochSeconds}, ordenados (mais antigo primeiro). */
+    CandleSeries load(SeriesKey key, long fromEpochSeconds);
+
+    /**
+     * Grava os candles, substituindo os já armazenados no mesmo intervalo de timestamps
+     * (o último candle costuma ser rebuscado enquanto ainda está em formação).
+     *
+     * @param coveredFrom início do período buscado no provider (epoch seconds)
+     * @param fetchedAt   momento da busca, usado para decidir se a série ainda está atualizada
+     */
+    void save(SeriesKey key, CandleSeries candles, long coveredFrom, Instant fetchedAt);
+
+    /** Uma série armazenada: candles de um símbolo, vindos de um provider, numa granularidade. */
+    record SeriesKey(String symbol, String provider, String interval) {
+    }
+
+    /**
+     * @param coveredFrom   início do período já buscado (epoch seconds)
+     * @param lastTimestamp timestamp do último candle armazenado (coveredFrom se não houver nenhum)
+     * @param fetchedAt     última vez em que a série foi atualizada pelo provider
+     */
+    record SeriesState(long coveredFrom, long lastTimestamp, Instant fetchedAt) {
+    }
+}
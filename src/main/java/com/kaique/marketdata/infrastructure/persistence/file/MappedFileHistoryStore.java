@@ -0,0 +1,447 @@
+package com.kaique.marketdata.infrastructure.persistence.file;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * HistoryStore em arquivos locais memory-mapped, sem banco de dados.
+ *
+ * Um arquivo por série ({dir}/{provider}/{símbolo}_{interval}.candles): cabeçalho de 64 bytes seguido de
+ * registros de tamanho fixo (CandleSeries.RECORD_BYTES), ordenados por timestamp e sem repetição.
+ *
+ * <ul>
+ *   <li>Leitura: o arquivo é mapeado (READ_ONLY) uma vez e o mapeamento fica em cache até a próxima escrita
+ *       no arquivo; o início do range é achado por busca binária nos timestamps e a série devolvida é uma
+ *       visão sobre o mapeamento — nenhum candle vai para o heap e um load em cache não faz syscall.</li>
+ *   <li>Escrita: candles mais novos que o último são anexados ao fim do arquivo. Se houver sobreposição
+ *       (ex: o candle em formação rebuscado), o arquivo é regravado em um .tmp e trocado com move atômico;
+ *       mapeamentos abertos continuam apontando para a versão anterior, então leitores nunca veem um
+ *       arquivo pela metade.</li>
+ *   <li>Compactação periódica: descarta candles mais antigos que a retenção e, se o total passar de
+ *       market.history.file.max-bytes, apaga as séries acessadas há mais tempo.</li>
+ * </ul>
+ *
+ * Ativo com market.history.store.type=file.
+ */
+@Component
+@ConditionalOnProperty(name = "market.history.store.type", havingValue = "file")
+public class MappedFileHistoryStore implements HistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileHistoryStore.class);
+
+    private static final int MAGIC = 0x43414E44; // "CAND"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = CandleSeries.RECORD_BYTES;
+    private static final String EXTENSION = ".candles";
+    /** Registros por escrita no FileChannel. */
+    private static final int WRITE_CHUNK_RECORDS = 1024;
+
+    private final Path baseDir;
+    private final long maxBytes;
+    private final Duration retention;
+    private final ConcurrentHashMap<Path, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Path, Long> lastAccess = new ConcurrentHashMap<>();
+    /** Série inteira de cada arquivo já mapeado; removida (sob o lock do arquivo) sempre que ele muda. */
+    private final ConcurrentHashMap<Path, CandleSeries> mappings = new ConcurrentHashMap<>();
+
+    public MappedFileHistoryStore(@Value("${market.history.file.dir:./data/candles}") String dir,
+                                  @Value("${market.history.file.max-bytes:268435456}") long maxBytes,
+                                  @Value("${market.history.file.retention-days:1900}") int retentionDays) {
+        this.baseDir = Path.of(dir).toAbsolutePath();
+        this.maxBytes = maxBytes;
+        this.retention = Duration.ofDays(retentionDays);
+
+        try {
+            Files.createDirectories(baseDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de histórico: " + baseDir, e);
+        }
+
+        log.info("MappedFileHistoryStore em {} (limite: {} MB, retenção: {} dias)",
+                baseDir, maxBytes / (1024 * 1024), retentionDays);
+    }
+
+    @Override
+    public Optional<SeriesState> state(SeriesKey key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return Optional.ofNullable(readHeader(channel))
+                    .map(header -> new SeriesState(header.coveredFrom(), header.lastTimestamp(),
+                            Instant.ofEpochMilli(header.fetchedAtMillis())));
+        } catch (IOException e) {
+            throw failure("ler", key, e);
+        }
+    }
+
+    @Override
+    public CandleSeries load(SeriesKey key, long fromEpochSeconds) {
+        Path file = fileFor(key);
+        CandleSeries series = mappings.get(file);
+        if (series == null && !Files.exists(file)) {
+            return CandleSeries.empty();
+        }
+
+        try {
+            if (series == null) {
+                series = mapping(file);
+            }
+            lastAccess.put(file, System.currentTimeMillis());
+            return series.since(fromEpochSeconds);
+        } catch (IOException e) {
+            throw failure("ler", key, e);
+        }
+    }
+
+    @Override
+    public void save(SeriesKey key, CandleSeries candles, long coveredFrom, Instant fetchedAt) {
+        Path file = fileFor(key);
+        ReentrantLock lock = lockFor(file);
+
+        lock.lock();
+        try {
+            Files.createDirectories(file.getParent());
+
+            Header current = null;
+            if (Files.exists(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    current = readHeader(channel);
+                }
+            }
+
+            long first = candles.isEmpty() ? Long.MAX_VALUE : candles.timestampAt(0);
+            long covered = Math.min(coveredFrom, first);
+            long last = candles.isEmpty() ? covered : candles.lastTimestamp();
+            if (current != null) {
+                covered = Math.min(covered, current.coveredFrom());
+                last = Math.max(last, current.lastTimestamp());
+            }
+            if (current != null && current.scale() != candles.scale() && !candles.isEmpty()) {
+                throw new IllegalStateException("Escala diferente da série armazenada em " + file);
+            }
+            int scale = current != null ? current.scale() : candles.scale();
+            Header header = new Header(scale, covered, last, fetchedAt.toEpochMilli());
+
+            CandleSeries existing = current != null ? mapping(file) : CandleSeries.empty();
+
+            if (current != null && (candles.isEmpty() || existing.isEmpty()
+                    || first > existing.lastTimestamp())) {
+                append(file, header, existing.size(), candles);
+            } else {
+                // Sobreposição ou arquivo novo: antigos antes do primeiro + novos + antigos depois do último
+                int prefixEnd = existing.indexOf(first);
+                int suffixStart = candles.isEmpty() ? prefixEnd : existing.indexOf(candles.lastTimestamp() + 1);
+                rewrite(file, header, existing, prefixEnd, candles, suffixStart);
+            }
+
+            lastAccess.put(file, System.currentTimeMillis());
+        } catch (IOException e) {
+            throw failure("gravar", key, e);
+        } finally {
+            // Também em caso de falha: o arquivo pode ter sido alterado antes dela
+            mappings.remove(file);
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compactação: corta candles fora da retenção (e registros incompletos de uma escrita interrompida)
+     * e aplica o limite de tamanho apagando as séries menos acessadas.
+     */
+    @Scheduled(fixedDelayString = "${market.history.file.compaction-interval-ms:3600000}",
+            initialDelayString = "${market.history.file.compaction-interval-ms:3600000}")
+    public void compact() {
+        long cutoff = Instant.now().minus(retention).getEpochSecond();
+        List<Path> files = listFiles();
+        int compacted = 0;
+
+        for (Path file : files) {
+            ReentrantLock lock = lockFor(file);
+            lock.lock();
+            try {
+                if (compactFile(file, cutoff)) {
+                    compacted++;
+                }
+            } catch (IOException e) {
+                log.warn("Falha ao compactar {}: {}", file, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int evicted = enforceSizeBudget(listFiles());
+        log.info("Compactação do histórico: {} arquivo(s), {} compactado(s), {} removido(s) pelo limite de tamanho",
+                files.size(), compacted, evicted);
+    }
+
+    // ========== Métodos privados ==========
+
+    private Path fileFor(SeriesKey key) {
+        return baseDir.resolve(sanitize(key.provider()))
+                .resolve(sanitize(key.symbol()) + "_" + sanitize(key.interval()) + EXTENSION);
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9.-]", "_");
+    }
+
+    private ReentrantLock lockFor(Path file) {
+        return locks.computeIfAbsent(file, path -> new ReentrantLock());
+    }
+
+    /**
+     * Mapeamento em cache do arquivo. Criado sob o lock do arquivo: um load concorrente com um save
+     * não guarda o mapeamento da versão que o save acabou de substituir.
+     */
+    private CandleSeries mapping(Path file) throws IOException {
+        ReentrantLock lock = lockFor(file);
+        lock.lock();
+        try {
+            CandleSeries series = mappings.get(file);
+            if (series == null) {
+                series = map(file);
+                mappings.put(file, series);
+            }
+            return series;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Mapeia os registros completos do arquivo. O mapeamento continua válido depois de fechar o canal. */
+    private CandleSeries map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            long count = recordCount(channel);
+            if (header == null || count == 0) {
+                return CandleSeries.empty();
+            }
+
+            ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, count * RECORD_BYTES);
+            return CandleSeries.wrap(records, header.scale());
+        }
+    }
+
+    private long recordCount(FileChannel channel) throws IOException {
+        long count = Math.max(0, channel.size() - HEADER_BYTES) / RECORD_BYTES;
+        return Math.min(count, Integer.MAX_VALUE / RECORD_BYTES);
+    }
+
+    private void append(Path file, Header header, int existingCount, CandleSeries candles) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long end = HEADER_BYTES + (long) existingCount * RECORD_BYTES;
+            // Descarta um registro incompleto de uma escrita interrompida (nunca foi mapeado)
+            if (channel.size() > end) {
+                channel.truncate(end);
+            }
+            channel.position(end);
+            writeRecords(channel, candles, 0, candles.size());
+            writeHeader(channel, header);
+        }
+    }
+
+    private void rewrite(Path file, Header header, CandleSeries existing, int prefixEnd,
+                         CandleSeries candles, int suffixStart) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(channel, header);
+            channel.position(HEADER_BYTES);
+            writeRecords(channel, existing, 0, prefixEnd);
+            writeRecords(channel, candles, 0, candles.size());
+            writeRecords(channel, existing, suffixStart, existing.size());
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeRecords(FileChannel channel, CandleSeries series, int from, int to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.min(Math.max(to - from, 1), WRITE_CHUNK_RECORDS) * RECORD_BYTES);
+
+        for (int i = from; i < to; i++) {
+            buffer.putLong(series.timestampAt(i))
+                    .putLong(series.rawOpenAt(i))
+                    .putLong(series.rawHighAt(i))
+                    .putLong(series.rawLowAt(i))
+                    .putLong(series.rawCloseAt(i))
+                    .putLong(series.volumeAt(i));
+
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+        }
+        flush(channel, buffer);
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return null;
+            }
+        }
+
+        buffer.flip();
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return null;
+        }
+        int scale = buffer.getInt();
+        buffer.getInt(); // reservado
+        return new Header(scale, buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    private void writeHeader(FileChannel channel, Header header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(header.scale())
+                .putInt(0)
+                .putLong(header.coveredFrom())
+                .putLong(header.lastTimestamp())
+                .putLong(header.fetchedAtMillis());
+        buffer.position(HEADER_BYTES).flip();
+
+        long position = 0;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /** @return true se o arquivo foi regravado */
+    private boolean compactFile(Path file, long cutoff) throws IOException {
+        Header header;
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            header = readHeader(channel);
+            size = channel.size();
+        }
+
+        if (header == null) {
+            log.warn("Arquivo de histórico inválido removido: {}", file);
+            Files.deleteIfExists(file);
+            mappings.remove(file);
+            return false;
+        }
+
+        CandleSeries existing = mapping(file);
+        int start = existing.indexOf(cutoff);
+        boolean partialRecord = size != HEADER_BYTES + (long) existing.size() * RECORD_BYTES;
+
+        if (start == 0 && !partialRecord) {
+            return false;
+        }
+
+        Header compacted = new Header(header.scale(), Math.max(header.coveredFrom(), cutoff),
+                header.lastTimestamp(), header.fetchedAtMillis());
+        rewrite(file, compacted, existing, 0, existing.since(cutoff), existing.size());
+        mappings.remove(file);
+        return true;
+    }
+
+    /** Apaga as séries acessadas há mais tempo até o total caber em maxBytes. */
+    private int enforceSizeBudget(List<Path> files) {
+        long total = 0;
+        List<Path> candidates = new ArrayList<>(files.size());
+        for (Path file : files) {
+            try {
+                total += Files.size(file);
+                candidates.add(file);
+            } catch (IOException e) {
+                log.debug("Arquivo de histórico sumiu durante a compactação: {}", file);
+            }
+        }
+        if (total <= maxBytes) {
+            return 0;
+        }
+
+        candidates.sort(Comparator.comparingLong(this::lastUsed));
+        int evicted = 0;
+        for (Path file : candidates) {
+            if (total <= maxBytes) {
+                break;
+            }
+            ReentrantLock lock = lockFor(file);
+            lock.lock();
+            try {
+                long fileSize = Files.size(file);
+                Files.deleteIfExists(file);
+                mappings.remove(file);
+                lastAccess.remove(file);
+                total -= fileSize;
+                evicted++;
+            } catch (IOException e) {
+                log.warn("Falha ao remover {}: {}", file, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    private long lastUsed(Path file) {
+        Long accessed = lastAccess.get(file);
+        if (accessed != null) {
+            return accessed;
+        }
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private List<Path> listFiles() {
+        try (Stream<Path> paths = Files.walk(baseDir, 2)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(EXTENSION)).toList();
+        } catch (IOException e) {
+            log.warn("Falha ao listar {}: {}", baseDir, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private DataAccessResourceFailureException failure(String operation, SeriesKey key, IOException e) {
+        log.error("Falha ao {} histórico de {}: {}", operation, key, e.getMessage());
+        return new DataAccessResourceFailureException("Falha ao " + operation + " histórico de " + key, e);
+    }
+
+    private record Header(int scale, long coveredFrom, long lastTimestamp, long fetchedAtMillis) {
+    }
+}
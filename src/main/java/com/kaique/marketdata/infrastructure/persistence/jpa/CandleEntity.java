@@ -0,0 +1,90 @@
+package com.kaique.marketdata.infrastructure.persistence.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Um candle armazenado. Preços em ponto fixo na escala do CandleSeries (sem BigDecimal).
+ *
+ * Implementa Persistable para que o save() faça persist direto (a chave é atribuída, não gerada):
+ * o JpaHistoryStore apaga o intervalo antes de regravar, então não há merge/select por linha.
+ */
+@Entity
+@Table(name = "candle")
+public class CandleEntity implements Persistable<CandleId> {
+
+    @EmbeddedId
+    private CandleId id;
+
+    @Column(name = "open_raw", nullable = false)
+    private long open;
+
+    @Column(name = "high_raw", nullable = false)
+    private long high;
+
+    @Column(name = "low_raw", nullable = false)
+    private long low;
+
+    @Column(name = "close_raw", nullable = false)
+    private long close;
+
+    @Column(nullable = false)
+    private long volume;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected CandleEntity() {
+    }
+
+    public CandleEntity(CandleId id, long open, long high, long low, long close, long volume) {
+        this.id = id;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    @Override
+    public CandleId getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getClose() {
+        return close;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+}
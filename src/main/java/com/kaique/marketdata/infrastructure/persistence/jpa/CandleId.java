@@ -0,0 +1,46 @@
+package com.kaique.marketdata.infrastructure.persistence.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/** Chave de um candle: série + timestamp (epoch seconds). */
+@Embeddable
+public class CandleId implements Serializable {
+
+    @Column(name = "series_id", nullable = false)
+    private long seriesId;
+
+    @Column(name = "ts", nullable = false)
+    private long timestamp;
+
+    protected CandleId() {
+    }
+
+    public CandleId(long seriesId, long timestamp) {
+        this.seriesId = seriesId;
+        this.timestamp = timestamp;
+    }
+
+    public long getSeriesId() {
+        return seriesId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CandleId other)) return false;
+        return seriesId == other.seriesId && timestamp == other.timestamp;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(seriesId, timestamp);
+    }
+}
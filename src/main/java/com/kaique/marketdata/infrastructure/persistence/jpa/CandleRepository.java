@@ -0,0 +1,20 @@
+package com.kaique.marketdata.infrastructure.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CandleRepository extends JpaRepository<CandleEntity, CandleId> {
+
+    @Query("select c from CandleEntity c where c.id.seriesId = :seriesId and c.id.timestamp >= :from"
+            + " order by c.id.timestamp")
+    List<CandleEntity> findSeries(@Param("seriesId") long seriesId, @Param("from") long fromEpochSeconds);
+
+    @Modifying
+    @Query("delete from CandleEntity c where c.id.seriesId = :seriesId and c.id.timestamp between :from and :to")
+    int deleteRange(@Param("seriesId") long seriesId, @Param("from") long fromEpochSeconds,
+                    @Param("to") long toEpochSeconds);
+}
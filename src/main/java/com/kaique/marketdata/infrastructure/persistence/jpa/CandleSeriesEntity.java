@@ -0,0 +1,95 @@
+package com.kaique.marketdata.infrastructure.persistence.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+
+/**
+ * Cabeçalho de uma série armazenada: identifica (símbolo, provider, interval)
+ * e guarda até onde ela foi buscada.
+ */
+@Entity
+@Table(name = "candle_series",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"symbol", "provider", "candle_interval"}))
+public class CandleSeriesEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String symbol;
+
+    @Column(nullable = false, length = 64)
+    private String provider;
+
+    @Column(name = "candle_interval", nullable = false, length = 8)
+    private String interval;
+
+    @Column(name = "covered_from", nullable = false)
+    private long coveredFrom;
+
+    @Column(name = "last_timestamp", nullable = false)
+    private long lastTimestamp;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    protected CandleSeriesEntity() {
+    }
+
+    public CandleSeriesEntity(String symbol, String provider, String interval, long coveredFrom, Instant fetchedAt) {
+        this.symbol = symbol;
+        this.provider = provider;
+        this.interval = interval;
+        this.coveredFrom = coveredFrom;
+        this.lastTimestamp = coveredFrom;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public long getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    public void setCoveredFrom(long coveredFrom) {
+        this.coveredFrom = coveredFrom;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public void setLastTimestamp(long lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
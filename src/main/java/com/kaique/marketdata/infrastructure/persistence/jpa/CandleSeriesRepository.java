@@ -0,0 +1,39 @@
+package com.kaique.marketdata.infrastructure.persistence.jpa;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface CandleSeriesRepository extends JpaRepository<CandleSeriesEntity, Long> {
+
+    Optional<CandleSeriesEntity> findBySymbolAndProviderAndInterval(String symbol, String provider, String interval);
+
+    /** Mesmo que findBySymbolAndProviderAndInterval, travando o cabeçalho até o fim da transação. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CandleSeriesEntity s"
+            + " where s.symbol = :symbol and s.provider = :provider and s.interval = :interval")
+    Optional<CandleSeriesEntity> findForUpdate(@Param("symbol") String symbol, @Param("provider") String provider,
+                                               @Param("interval") String interval);
+
+    /**
+     * Cria o cabeçalho se ele ainda não existir (INSERT ... ON CONFLICT DO NOTHING, do PostgreSQL).
+     * Quem perde a corrida espera o commit do vencedor e segue sem erro de chave única.
+     * SQL nativo: o "on conflict" do HQL é emulado em alguns dialetos capturando a violação, que fica no log.
+     *
+     * @return 1 se criou, 0 se já existia
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into candle_series"
+            + " (symbol, provider, candle_interval, covered_from, last_timestamp, fetched_at)"
+            + " values (:symbol, :provider, :interval, :coveredFrom, :coveredFrom, :fetchedAt)"
+            + " on conflict do nothing")
+    int insertIfAbsent(@Param("symbol") String symbol, @Param("provider") String provider,
+                       @Param("interval") String interval, @Param("coveredFrom") long coveredFrom,
+                       @Param("fetchedAt") Instant fetchedAt);
+}
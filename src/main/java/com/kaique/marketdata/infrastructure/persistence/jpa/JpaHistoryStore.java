@@ -0,0 +1,111 @@
+package com.kaique.marketdata.infrastructure.persistence.jpa;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * HistoryStore sobre JPA (PostgreSQL via spring.datasource.*; o cabeçalho é criado com INSERT ... ON CONFLICT).
+ *
+ * Cada save apaga os candles no intervalo [primeiro, último] recebido e grava os novos em lote
+ * (hibernate.jdbc.batch_size), o que cobre tanto a carga inicial quanto a atualização do candle em formação.
+ *
+ * Saves concorrentes da mesma série (outra instância, ou refresh e request ao mesmo tempo) são serializados
+ * pelo lock no cabeçalho (select ... for update). Na primeira gravação, o cabeçalho é criado antes com um
+ * insert-if-absent: todos os concorrentes passam por ele sem erro e depois disputam o mesmo lock.
+ *
+ * Ativo com market.history.store.type=jpa (padrão) e um banco configurado (spring.datasource.url).
+ */
+@Component
+@ConditionalOnProperty(name = "market.history.store.type", havingValue = "jpa", matchIfMissing = true)
+@ConditionalOnProperty(name = "spring.datasource.url")
+public class JpaHistoryStore implements HistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaHistoryStore.class);
+
+    private final CandleSeriesRepository seriesRepository;
+    private final CandleRepository candleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaHistoryStore(CandleSeriesRepository seriesRepository, CandleRepository candleRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.seriesRepository = seriesRepository;
+        this.candleRepository = candleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SeriesState> state(SeriesKey key) {
+        return findSeries(key)
+                .map(series -> new SeriesState(series.getCoveredFrom(), series.getLastTimestamp(), series.getFetchedAt()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CandleSeries load(SeriesKey key, long fromEpochSeconds) {
+        CandleSeriesEntity series = findSeries(key).orElse(null);
+        if (series == null) {
+            return CandleSeries.empty();
+        }
+
+        List<CandleEntity> candles = candleRepository.findSeries(series.getId(), fromEpochSeconds);
+        CandleSeries.Builder builder = CandleSeries.builder(candles.size());
+        for (CandleEntity candle : candles) {
+            builder.addRaw(candle.getId().getTimestamp(), candle.getOpen(), candle.getHigh(),
+                    candle.getLow(), candle.getClose(), candle.getVolume());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void save(SeriesKey key, CandleSeries candles, long coveredFrom, Instant fetchedAt) {
+        transactionTemplate.executeWithoutResult(status -> saveInTransaction(key, candles, coveredFrom, fetchedAt));
+    }
+
+    // ========== Métodos privados ==========
+
+    private void saveInTransaction(SeriesKey key, CandleSeries candles, long coveredFrom, Instant fetchedAt) {
+        seriesRepository.insertIfAbsent(key.symbol(), key.provider(), key.interval(), coveredFrom, fetchedAt);
+        CandleSeriesEntity series = seriesRepository.findForUpdate(key.symbol(), key.provider(), key.interval())
+                .orElseThrow();
+
+        if (!candles.isEmpty()) {
+            int removed = candleRepository.deleteRange(series.getId(), candles.timestampAt(0), candles.lastTimestamp());
+
+            List<CandleEntity> entities = new ArrayList<>(candles.size());
+            for (int i = 0; i < candles.size(); i++) {
+                entities.add(new CandleEntity(new CandleId(series.getId(), candles.timestampAt(i)),
+                        candles.rawOpenAt(i), candles.rawHighAt(i), candles.rawLowAt(i),
+                        candles.rawCloseAt(i), candles.volumeAt(i)));
+            }
+            candleRepository.saveAll(entities);
+
+            series.setLastTimestamp(Math.max(series.getLastTimestamp(), candles.lastTimestamp()));
+            log.debug("HistoryStore: {} candle(s) gravados para {} ({} substituídos)",
+                    candles.size(), key, removed);
+        }
+
+        series.setCoveredFrom(Math.min(series.getCoveredFrom(), Math.min(coveredFrom, firstTimestamp(candles))));
+        series.setFetchedAt(fetchedAt);
+    }
+
+    private Optional<CandleSeriesEntity> findSeries(SeriesKey key) {
+        return seriesRepository.findBySymbolAndProviderAndInterval(key.symbol(), key.provider(), key.interval());
+    }
+
+    private long firstTimestamp(CandleSeries candles) {
+        return candles.isEmpty() ? Long.MAX_VALUE : candles.timestampAt(0);
+    }
+}
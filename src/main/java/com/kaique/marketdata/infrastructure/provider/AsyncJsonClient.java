@@ -0,0 +1,293 @@
+package com.kaique.marketdata.infrastructure.provider;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.infrastructure.config.ProviderHttpSettings;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * GET assíncrono com resposta JSON, compartilhado pelos providers.
+ *
+ * Os erros seguem o mesmo formato das chamadas via RestTemplate: ProviderException com
+ * mensagem "Erro do cliente/servidor ao buscar ..." e, como causa, a mesma
+ * HttpClientErrorException/HttpServerErrorException que o RestTemplate lançaria
+ * (o circuit breaker e o fallback em lote dependem de reconhecer o 404).
+ *
+ * Mesmos limites por provider do RestTemplate (provider.http.{chave}.*):
+ * - max-connections: requisições simultâneas por host; as demais esperam na fila até
+ *   http.pool.lease-timeout-ms (o java.net.http não limita conexões, e com HTTP/2 várias requisições
+ *   dividem a mesma conexão)
+ * - read-timeout-ms: tempo máximo da requisição inteira (sem valor: provider.timeout.read-ms)
+ * O timeout de conexão é o do HttpClient (provider.timeout.connect-ms, ver HttpClientConfig).
+ * Respostas com Content-Encoding: gzip são descomprimidas aqui (o java.net.http não faz isso sozinho).
+ */
+@Component
+public class AsyncJsonClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncJsonClient.class);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ProviderMetrics metrics;
+    private final int defaultMaxPerHost;
+    private final Duration defaultRequestTimeout;
+    private final Duration leaseTimeout;
+    private final Map<String, HostSlots> slotsByHost = new ConcurrentHashMap<>();
+
+    public AsyncJsonClient(@Qualifier("asyncHttpClient") HttpClient httpClient,
+                           ObjectMapper objectMapper,
+                           ProviderMetrics metrics,
+                           Environment environment,
+                           @Value("${http.pool.default-max-per-route:20}") int defaultMaxPerHost,
+                           @Value("${http.pool.lease-timeout-ms:1000}") long leaseTimeoutMs,
+                           @Value("${provider.timeout.connect-ms:2000}") int connectTimeoutMs,
+                           @Value("${provider.timeout.read-ms:2000}") int readTimeoutMs) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.defaultMaxPerHost = defaultMaxPerHost;
+        this.defaultRequestTimeout = Duration.ofMillis(readTimeoutMs);
+        this.leaseTimeout = Duration.ofMillis(leaseTimeoutMs);
+
+        for (ProviderHttpSettings provider : ProviderHttpSettings.load(environment, defaultMaxPerHost,
+                connectTimeoutMs, readTimeoutMs)) {
+            slotsByHost.put(provider.host(), newSlots(provider.host(), provider.maxConnections(),
+                    Duration.ofMillis(provider.readTimeoutMs())));
+        }
+    }
+
+    /**
+     * @param providerName nome do provider (mensagens de erro)
+     * @param target       o que está sendo buscado, ex: "PETR4" ou "histórico de bitcoin"
+     */
+    public <T> CompletableFuture<T> get(URI uri, Class<T> type, String providerName, String target) {
+        return getBytes(uri, providerName, target)
+                .thenApply(body -> read(body, type, null, providerName, target));
+    }
+
+    public <T> CompletableFuture<T> get(URI uri, TypeReference<T> type, String providerName, String target) {
+        return getBytes(uri, providerName, target)
+                .thenApply(body -> read(body, null, type, providerName, target));
+    }
+
+    /** Resposta lida por um parser próprio (ex: streaming com JsonParser), sem data binding. */
+    public <T> CompletableFuture<T> get(URI uri, BodyParser<T> parser, String providerName, String target) {
+        return getBytes(uri, providerName, target)
+                .thenApply(body -> {
+                    try {
+                        return parser.parse(new ByteArrayInputStream(body != null ? body : new byte[0]));
+                    } catch (IOException e) {
+                        log.error("[{}] Resposta inválida ao buscar {}: {}", providerName, target, e.getMessage());
+                        throw new ProviderException(providerName, "Resposta inválida ao buscar " + target, e);
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    public interface BodyParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+
+    // ========== Métodos privados ==========
+
+    private CompletableFuture<byte[]> getBytes(URI uri, String providerName, String target) {
+        HostSlots slots = slotsByHost.computeIfAbsent(uri.getHost(),
+                host -> newSlots(host, defaultMaxPerHost, defaultRequestTimeout));
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(slots.requestTimeout)
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        return slots.acquire(leaseTimeout)
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        log.error("[{}] Sem vaga para requisição a {} em {}ms ao buscar {}",
+                                providerName, uri.getHost(), leaseTimeout.toMillis(), target);
+                        throw new ProviderException(providerName,
+                                "Limite de requisições simultâneas ao buscar " + target, unwrap(error));
+                    }
+                    metrics.recordAsyncRequestSlot(uri.getHost(), System.nanoTime() - start);
+                    return request;
+                })
+                .thenCompose(acquired -> send(acquired, slots))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrap(error);
+                        if (cause instanceof ProviderException providerException) {
+                            throw providerException;
+                        }
+                        log.error("[{}] Erro de conexão ao buscar {}: {}", providerName, target, cause.toString());
+                        throw new ProviderException(providerName, "Falha na conexão ao buscar " + target, cause);
+                    }
+                    return checkStatus(response, decode(response, providerName, target), providerName, target);
+                });
+    }
+
+    private byte[] checkStatus(HttpResponse<byte[]> response, byte[] body, String providerName, String target) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+
+        if (status.is4xxClientError()) {
+            HttpClientErrorException e = HttpClientErrorException.create(
+                    status, "", new HttpHeaders(), body, StandardCharsets.UTF_8);
+            log.error("[{}] Erro 4xx ao buscar {}: {} - {}", providerName, target, status, e.getMessage());
+            throw new ProviderException(providerName, "Erro do cliente ao buscar " + target + ": " + status, e);
+        }
+        if (status.is5xxServerError()) {
+            HttpServerErrorException e = HttpServerErrorException.create(
+                    status, "", new HttpHeaders(), body, StandardCharsets.UTF_8);
+            log.error("[{}] Erro 5xx ao buscar {}: {} - {}", providerName, target, status, e.getMessage());
+            throw new ProviderException(providerName, "Erro do servidor ao buscar " + target + ": " + status, e);
+        }
+        return body;
+    }
+
+    /** A vaga é devolvida quando a resposta chega (ou falha), inclusive se o envio falhar na hora. */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, HostSlots slots) {
+        try {
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> slots.release());
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /** Corpo descomprimido quando o provider respondeu com Content-Encoding: gzip. */
+    private byte[] decode(HttpResponse<byte[]> response, String providerName, String target) {
+        byte[] body = response.body();
+        boolean gzip = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                .filter("gzip"::equalsIgnoreCase)
+                .isPresent();
+        if (!gzip || body == null || body.length == 0) {
+            return body;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            log.error("[{}] Resposta gzip inválida ao buscar {}: {}", providerName, target, e.getMessage());
+            throw new ProviderException(providerName, "Resposta inválida ao buscar " + target, e);
+        }
+    }
+
+    private HostSlots newSlots(String host, int maxConcurrent, Duration requestTimeout) {
+        HostSlots slots = new HostSlots(Math.max(1, maxConcurrent), requestTimeout);
+        metrics.registerAsyncInFlightGauge(host, slots, HostSlots::inUse);
+        return slots;
+    }
+
+    private <T> T read(byte[] body, Class<T> type, TypeReference<T> typeReference,
+                       String providerName, String target) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return type != null
+                    ? objectMapper.readValue(body, type)
+                    : objectMapper.readValue(body, typeReference);
+        } catch (IOException e) {
+            log.error("[{}] Resposta inválida ao buscar {}: {}", providerName, target, e.getMessage());
+            throw new ProviderException(providerName, "Resposta inválida ao buscar " + target, e);
+        }
+    }
+
+    private Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Vagas de requisição de um host: até maxConcurrent em andamento; as demais esperam em fila (FIFO) sem
+     * ocupar thread. Uma espera que estoura o tempo fica na fila até ser descartada pelo próximo release.
+     */
+    private static final class HostSlots {
+
+        private final int maxConcurrent;
+        private final Duration requestTimeout;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int inUse;
+
+        private HostSlots(int maxConcurrent, Duration requestTimeout) {
+            this.maxConcurrent = maxConcurrent;
+            this.requestTimeout = requestTimeout;
+        }
+
+        private CompletableFuture<Void> acquire(Duration timeout) {
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            lock.lock();
+            try {
+                if (inUse < maxConcurrent) {
+                    inUse++;
+                    slot.complete(null);
+                    return slot;
+                }
+                waiting.add(slot);
+            } finally {
+                lock.unlock();
+            }
+            return slot.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        /** Passa a vaga para o próximo da fila que ainda espera; sem ninguém, ela fica livre. */
+        private void release() {
+            while (true) {
+                CompletableFuture<Void> next;
+                lock.lock();
+                try {
+                    next = waiting.poll();
+                    if (next == null) {
+                        inUse--;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                // Fora do lock: complete executa a continuação (o envio) nesta thread
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+
+        private double inUse() {
+            lock.lock();
+            try {
+                return inUse;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.kaique.marketdata.infrastructure.provider;
+
+import com.kaique.marketdata.domain.enums.TimeRange;
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.MarketData;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante não bloqueante de {@link MarketDataProvider}.
+ *
+ * Implementada pelos providers que também implementam MarketDataProvider; as chamadas usam o
+ * {@link AsyncJsonClient} e nenhuma thread fica presa esperando o provider externo.
+ * Falhas completam o future com {@link ProviderException}, como na versão síncrona.
+ */
+public interface AsyncMarketDataProvider {
+
+    /** Versão assíncrona de {@link MarketDataProvider#fetchCurrentPrice}. */
+    CompletableFuture<MarketData> fetchCurrentPriceAsync(String symbol);
+
+    /** Versão assíncrona de {@link MarketDataProvider#fetchHistory}. */
+    CompletableFuture<CandleSeries> fetchHistoryAsync(String symbol, TimeRange timeRange);
+
+    /**
+     * Versão assíncrona de {@link MarketDataProvider#fetchHistorySince}.
+     * Padrão: busca o range inteiro e corta. Providers que aceitam um período menor sobrescrevem.
+     */
+    default CompletableFuture<CandleSeries> fetchHistorySinceAsync(String symbol, TimeRange timeRange,
+                                                                   long sinceEpochSeconds) {
+        return fetchHistoryAsync(symbol, timeRange).thenApply(series -> series.since(sinceEpochSeconds));
+    }
+}
@@ -2,10 +2,14 @@ package com.kaique.marketdata.infrastructure.provider;
 
 import com.kaique.marketdata.domain.enums.MarketType;
 import com.kaique.marketdata.domain.enums.TimeRange;
-import com.kaique.marketdata.domain.model.Candle;
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.model.CandleSeries;
 import com.kaique.marketdata.domain.model.MarketData;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
 
 /**
  * Interface Strategy para provedores de dados de mercado.
@@ -15,11 +19,69 @@ public interface MarketDataProvider {
     /** Busca preço atual (CRYPTO, STOCK, FII). */
     MarketData fetchCurrentPrice(String symbol);
 
+    /**
+     * Busca preço atual de vários símbolos.
+     * Padrão: uma chamada por símbolo. Providers com endpoint multi-símbolo sobrescrevem.
+     * @return Map símbolo solicitado → MarketData; símbolos não encontrados ficam de fora
+     *         (o service tenta o próximo provider para eles).
+     * @throws ProviderException se nenhum símbolo puder ser obtido
+     */
+    default Map<String, MarketData> fetchCurrentPrices(List<String> symbols) {
+        Map<String, MarketData> results = new LinkedHashMap<>();
+        ProviderException lastException = null;
+
+        for (String symbol : symbols) {
+            try {
+                results.put(symbol, fetchCurrentPrice(symbol));
+            } catch (ProviderException e) {
+                // Símbolo fica de fora do resultado e segue para o fallback
+                lastException = e;
+            }
+        }
+
+        if (results.isEmpty() && lastException != null) {
+            throw lastException;
+        }
+        return results;
+    }
+
+    /**
+     * Como {@link #fetchCurrentPrices(List)}, para providers que podem precisar de requisições além das
+     * contadas em {@link #requestCount} (ex: refazer individualmente um lote que falhou). Cada requisição
+     * extra é consumida antes com {@code acquireExtra}; se ele devolver false (sem cota), o provider não a faz
+     * e os símbolos restantes ficam de fora do resultado. Padrão: ignora {@code acquireExtra}.
+     */
+    default Map<String, MarketData> fetchCurrentPrices(List<String> symbols, IntPredicate acquireExtra) {
+        return fetchCurrentPrices(symbols);
+    }
+
+    /**
+     * Quantidade de requisições HTTP que {@link #fetchCurrentPrices} faz para {@code symbols} símbolos
+     * (consumida da cota do provider antes da chamada). Padrão: uma por símbolo.
+     */
+    default int requestCount(int symbols) {
+        return symbols;
+    }
+
     /**
      * Busca histórico OHLCV normalizado.
-     * @return List<Candle> com timestamp em epoch seconds (ordenado).
+     * @return CandleSeries com timestamp em epoch seconds (ordenado, mais antigo primeiro).
+     */
+    CandleSeries fetchHistory(String symbol, TimeRange timeRange);
+
+    /**
+     * Granularidade dos candles devolvidos para o range (ex: "5m", "1d", "1wk").
+     * Faz parte da chave do histórico persistido: séries de intervalos diferentes não se misturam.
+     */
+    String historyInterval(TimeRange timeRange);
+
+    /**
+     * Busca só os candles com timestamp &gt;= {@code sinceEpochSeconds} (busca incremental).
+     * Padrão: busca o range inteiro e corta. Providers que aceitam um período menor sobrescrevem.
      */
-    List<Candle> fetchHistory(String symbol, TimeRange timeRange);
+    default CandleSeries fetchHistorySince(String symbol, TimeRange timeRange, long sinceEpochSeconds) {
+        return fetchHistory(symbol, timeRange).since(sinceEpochSeconds);
+    }
 
     boolean supports(MarketType marketType);
 }
@@ -4,13 +4,17 @@ import com.kaique.marketdata.domain.enums.MarketType;
 import com.kaique.marketdata.domain.enums.ProviderType;
 import com.kaique.marketdata.domain.enums.TimeRange;
 import com.kaique.marketdata.domain.exception.ProviderException;
-import com.kaique.marketdata.domain.model.Candle;
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
+import com.kaique.marketdata.domain.model.CandleSeries;
 import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.provider.AsyncJsonClient;
+import com.kaique.marketdata.infrastructure.provider.AsyncMarketDataProvider;
 import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
@@ -21,60 +25,46 @@ import java.math.BigDecimal;
 import java.net.URI;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provider para Alpha Vantage (Ações Globais).
  * Endpoints: GLOBAL_QUOTE e TIME_SERIES_DAILY.
+ * O histórico é lido em streaming pelo AlphaVantageTimeSeriesParser, que para na data de corte.
  * @Order(2) — secundário à Brapi.
  */
 @Component
 @Order(2)
-public class AlphaVantageProvider implements MarketDataProvider {
+public class AlphaVantageProvider implements MarketDataProvider, AsyncMarketDataProvider {
 
     private static final Logger log = LoggerFactory.getLogger(AlphaVantageProvider.class);
     private static final String BASE_URL = "https://www.alphavantage.co/query";
     private static final String PROVIDER_NAME = "AlphaVantage";
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /** outputsize=compact devolve os últimos 100 pregões (~140 dias corridos); margem de segurança. */
+    private static final int COMPACT_DAYS = 100;
 
     private final RestTemplate restTemplate;
+    private final AsyncJsonClient asyncClient;
+    private final AlphaVantageTimeSeriesParser timeSeriesParser = new AlphaVantageTimeSeriesParser();
     private final String apiKey;
 
     public AlphaVantageProvider(RestTemplate restTemplate,
+                                AsyncJsonClient asyncClient,
                                 @Value("${alphavantage.apikey}") String apiKey) {
         this.restTemplate = restTemplate;
+        this.asyncClient = asyncClient;
         this.apiKey = apiKey.trim();
     }
 
     @Override
     public MarketData fetchCurrentPrice(String symbol) {
         String avSymbol = convertSymbol(symbol);
-        String url = BASE_URL + "?function=GLOBAL_QUOTE&symbol=" + avSymbol + "&apikey=" + apiKey;
-
         log.info("[{}] Buscando preço para símbolo: {} (AV: {})", PROVIDER_NAME, symbol, avSymbol);
 
         try {
             AlphaVantageResponse response = restTemplate.getForObject(
-                    URI.create(url), AlphaVantageResponse.class);
-
-            if (response == null || response.globalQuote() == null) {
-                throw new ProviderException(PROVIDER_NAME,
-                        "Resposta nula para o símbolo: " + avSymbol);
-            }
-
-            AlphaVantageResponse.GlobalQuote quote = response.globalQuote();
-
-            if (quote.symbol() == null || quote.price() == null) {
-                throw new ProviderException(PROVIDER_NAME,
-                        "Símbolo não encontrado ou sem dados: " + avSymbol);
-            }
-
-            return mapToMarketData(quote, symbol);
+                    URI.create(quoteUrl(avSymbol)), AlphaVantageResponse.class);
+            return toMarketData(response, symbol, avSymbol);
 
         } catch (ProviderException e) {
             throw e;
@@ -94,61 +84,91 @@ public class AlphaVantageProvider implements MarketDataProvider {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public List<Candle> fetchHistory(String symbol, TimeRange timeRange) {
+    public CompletableFuture<MarketData> fetchCurrentPriceAsync(String symbol) {
         String avSymbol = convertSymbol(symbol);
 
-        // Para ranges curtos (1D, 1W) usa compact (últimos 100 pontos),
-        // para maiores usa full (20+ anos)
-        String outputSize = (timeRange == TimeRange.ONE_DAY || timeRange == TimeRange.ONE_WEEK
-                || timeRange == TimeRange.ONE_MONTH) ? "compact" : "full";
+        log.info("[{}] Buscando preço (async) para símbolo: {} (AV: {})", PROVIDER_NAME, symbol, avSymbol);
 
-        String url = BASE_URL + "?function=TIME_SERIES_DAILY&symbol=" + avSymbol
-                + "&outputsize=" + outputSize + "&apikey=" + apiKey;
+        return asyncClient.get(URI.create(quoteUrl(avSymbol)), AlphaVantageResponse.class, PROVIDER_NAME, avSymbol)
+                .thenApply(response -> toMarketData(response, symbol, avSymbol));
+    }
+
+    @Override
+    public CandleSeries fetchHistory(String symbol, TimeRange timeRange) {
+        return fetchHistory(convertSymbol(symbol), outputSize(timeRange), calculateCutoffDate(timeRange));
+    }
+
+    /** Busca incremental: corta na data do último candle e usa compact quando ela cabe nos últimos 100 pontos. */
+    @Override
+    public CandleSeries fetchHistorySince(String symbol, TimeRange timeRange, long sinceEpochSeconds) {
+        LocalDate cutoffDate = incrementalCutoff(timeRange, sinceEpochSeconds);
+        return fetchHistory(convertSymbol(symbol), incrementalOutputSize(timeRange, cutoffDate), cutoffDate)
+                .since(sinceEpochSeconds);
+    }
+
+    @Override
+    public CompletableFuture<CandleSeries> fetchHistoryAsync(String symbol, TimeRange timeRange) {
+        return fetchHistoryAsync(convertSymbol(symbol), outputSize(timeRange), calculateCutoffDate(timeRange));
+    }
+
+    @Override
+    public CompletableFuture<CandleSeries> fetchHistorySinceAsync(String symbol, TimeRange timeRange,
+                                                                  long sinceEpochSeconds) {
+        LocalDate cutoffDate = incrementalCutoff(timeRange, sinceEpochSeconds);
+        return fetchHistoryAsync(convertSymbol(symbol), incrementalOutputSize(timeRange, cutoffDate), cutoffDate)
+                .thenApply(series -> series.since(sinceEpochSeconds));
+    }
+
+    /** TIME_SERIES_DAILY: sempre um candle por pregão. */
+    @Override
+    public String historyInterval(TimeRange timeRange) {
+        return "1d";
+    }
+
+    @Override
+    public boolean supports(MarketType marketType) {
+        return marketType == MarketType.STOCK;
+    }
+
+    // ========== Métodos privados ==========
+
+    private String convertSymbol(String symbol) {
+        String upper = symbol.toUpperCase();
+        if (upper.endsWith(".SA")) {
+            return upper.replace(".SA", ".SAO");
+        }
+        return upper;
+    }
+
+    private CompletableFuture<CandleSeries> fetchHistoryAsync(String avSymbol, String outputSize,
+                                                              LocalDate cutoffDate) {
+        log.info("[{}] Buscando histórico (async) para {} (outputsize={})", PROVIDER_NAME, avSymbol, outputSize);
+
+        return asyncClient.get(URI.create(historyUrl(avSymbol, outputSize)),
+                        body -> timeSeriesParser.parse(body, cutoffDate), PROVIDER_NAME, "histórico de " + avSymbol)
+                .thenApply(series -> logSeries(series, avSymbol, cutoffDate));
+    }
+
+    /** Corte da busca incremental: a data do último candle, sem passar do início do range. */
+    private LocalDate incrementalCutoff(TimeRange timeRange, long sinceEpochSeconds) {
+        LocalDate sinceDate = LocalDate.ofEpochDay(Math.floorDiv(sinceEpochSeconds, 86_400L));
+        LocalDate rangeCutoff = calculateCutoffDate(timeRange);
+        return sinceDate.isAfter(rangeCutoff) ? sinceDate : rangeCutoff;
+    }
+
+    private String incrementalOutputSize(TimeRange timeRange, LocalDate cutoffDate) {
+        return cutoffDate.isAfter(LocalDate.now().minusDays(COMPACT_DAYS)) ? "compact" : outputSize(timeRange);
+    }
 
+    private CandleSeries fetchHistory(String avSymbol, String outputSize, LocalDate cutoffDate) {
         log.info("[{}] Buscando histórico para {} (outputsize={})", PROVIDER_NAME, avSymbol, outputSize);
 
         try {
-            // Alpha Vantage retorna JSON dinâmico com chaves de data, precisa de Map genérico
-            Map<String, Object> rawResponse = restTemplate.getForObject(URI.create(url), Map.class);
-
-            if (rawResponse == null) {
-                throw new ProviderException(PROVIDER_NAME,
-                        "Resposta nula ao buscar histórico de " + avSymbol);
-            }
-
-            // Checa se Alpha Vantage retornou mensagem de erro/info
-            if (rawResponse.containsKey("Information") || rawResponse.containsKey("Error Message")) {
-                String msg = rawResponse.getOrDefault("Information",
-                        rawResponse.get("Error Message")).toString();
-                throw new ProviderException(PROVIDER_NAME,
-                        "Alpha Vantage retornou: " + msg);
-            }
-
-            Map<String, Map<String, String>> timeSeries =
-                    (Map<String, Map<String, String>>) rawResponse.get("Time Series (Daily)");
-
-            if (timeSeries == null || timeSeries.isEmpty()) {
-                log.warn("[{}] Nenhum dado histórico retornado para {}", PROVIDER_NAME, avSymbol);
-                return Collections.emptyList();
-            }
-
-            // Calcular a data de corte baseada no TimeRange
-            LocalDate cutoffDate = calculateCutoffDate(timeRange);
-
-            List<Candle> candles = timeSeries.entrySet().stream()
-                    .filter(entry -> {
-                        LocalDate date = LocalDate.parse(entry.getKey(), DATE_FORMAT);
-                        return !date.isBefore(cutoffDate);
-                    })
-                    .map(entry -> mapTimeSeriesEntryToCandle(entry.getKey(), entry.getValue()))
-                    .sorted(Comparator.comparingLong(Candle::timestamp))
-                    .toList();
-
-            log.info("[{}] Retornados {} candles para {} (cutoff={})",
-                    PROVIDER_NAME, candles.size(), avSymbol, cutoffDate);
-
-            return candles;
+            // Alpha Vantage retorna JSON dinâmico com chaves de data: lido em streaming até o corte
+            CandleSeries series = restTemplate.execute(
+                    URI.create(historyUrl(avSymbol, outputSize)), HttpMethod.GET, null,
+                    response -> timeSeriesParser.parse(response.getBody(), cutoffDate));
+            return logSeries(series, avSymbol, cutoffDate);
 
         } catch (ProviderException e) {
             throw e;
@@ -167,19 +187,49 @@ public class AlphaVantageProvider implements MarketDataProvider {
         }
     }
 
-    @Override
-    public boolean supports(MarketType marketType) {
-        return marketType == MarketType.STOCK;
+    private String quoteUrl(String avSymbol) {
+        return BASE_URL + "?function=GLOBAL_QUOTE&symbol=" + avSymbol + "&apikey=" + apiKey;
     }
 
-    // ========== Métodos privados ==========
+    private String historyUrl(String avSymbol, String outputSize) {
+        return BASE_URL + "?function=TIME_SERIES_DAILY&symbol=" + avSymbol
+                + "&outputsize=" + outputSize + "&apikey=" + apiKey;
+    }
 
-    private String convertSymbol(String symbol) {
-        String upper = symbol.toUpperCase();
-        if (upper.endsWith(".SA")) {
-            return upper.replace(".SA", ".SAO");
+    /** Para ranges curtos (1D, 1W, 1M) usa compact (últimos 100 pontos), para maiores usa full (20+ anos). */
+    private String outputSize(TimeRange timeRange) {
+        return (timeRange == TimeRange.ONE_DAY || timeRange == TimeRange.ONE_WEEK
+                || timeRange == TimeRange.ONE_MONTH) ? "compact" : "full";
+    }
+
+    private MarketData toMarketData(AlphaVantageResponse response, String symbol, String avSymbol) {
+        if (response != null && response.rateLimitMessage() != null) {
+            throw new QuotaExceededException(PROVIDER_NAME, "Alpha Vantage retornou: " + response.rateLimitMessage());
         }
-        return upper;
+        if (response == null || response.globalQuote() == null) {
+            throw new ProviderException(PROVIDER_NAME,
+                    "Resposta nula para o símbolo: " + avSymbol);
+        }
+
+        AlphaVantageResponse.GlobalQuote quote = response.globalQuote();
+
+        if (quote.symbol() == null || quote.price() == null) {
+            throw new ProviderException(PROVIDER_NAME,
+                    "Símbolo não encontrado ou sem dados: " + avSymbol);
+        }
+
+        return mapToMarketData(quote, symbol);
+    }
+
+    private CandleSeries logSeries(CandleSeries series, String avSymbol, LocalDate cutoffDate) {
+        if (series == null || series.isEmpty()) {
+            log.warn("[{}] Nenhum dado histórico retornado para {}", PROVIDER_NAME, avSymbol);
+            return CandleSeries.empty();
+        }
+
+        log.info("[{}] Retornados {} candles para {} (cutoff={})",
+                PROVIDER_NAME, series.size(), avSymbol, cutoffDate);
+        return series;
     }
 
     /** Calcula data de corte para filtrar response full da Alpha Vantage. */
@@ -196,30 +246,6 @@ public class AlphaVantageProvider implements MarketDataProvider {
         };
     }
 
-    /** Converte entry "yyyy-MM-dd" → Candle (epoch seconds). */
-    private Candle mapTimeSeriesEntryToCandle(String dateStr, Map<String, String> values) {
-        LocalDate date = LocalDate.parse(dateStr, DATE_FORMAT);
-        long epochSeconds = date.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
-
-        return new Candle(
-                epochSeconds,
-                parseBigDecimal(values.get("1. open")),
-                parseBigDecimal(values.get("2. high")),
-                parseBigDecimal(values.get("3. low")),
-                parseBigDecimal(values.get("4. close")),
-                parseBigDecimal(values.get("5. volume"))
-        );
-    }
-
-    private BigDecimal parseBigDecimal(String value) {
-        if (value == null || value.isBlank()) return BigDecimal.ZERO;
-        try {
-            return new BigDecimal(value.trim());
-        } catch (NumberFormatException e) {
-            return BigDecimal.ZERO;
-        }
-    }
-
     private MarketData mapToMarketData(AlphaVantageResponse.GlobalQuote quote, String originalSymbol) {
         BigDecimal changePercent = parseChangePercent(quote.changePercent());
         String currency = originalSymbol.toUpperCase().contains(".SA") ? "BRL" : "USD";
@@ -23,12 +23,21 @@ import java.math.BigDecimal;
  *     "10. change percent": "0.9601%"
  *   }
  * }
+ *
+ * Com a cota da API key esgotada, vem só { "Information": "..." } (ou "Note").
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record AlphaVantageResponse(
-        @JsonProperty("Global Quote") GlobalQuote globalQuote
+        @JsonProperty("Global Quote") GlobalQuote globalQuote,
+        @JsonProperty("Information") String information,
+        @JsonProperty("Note") String note
 ) {
 
+    /** Mensagem de limite de requisições ("Information" ou "Note"), se a resposta for uma. */
+    public String rateLimitMessage() {
+        return information != null ? information : note;
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record GlobalQuote(
             @JsonProperty("01. symbol") String symbol,
@@ -0,0 +1,126 @@
+package com.kaique.marketdata.infrastructure.provider.alphavantage;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
+import com.kaique.marketdata.domain.model.CandleSeries;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * Parser em streaming da resposta TIME_SERIES_DAILY da Alpha Vantage.
+ *
+ * Lê os tokens direto no CandleSeries.Builder, sem montar Map intermediário, e para de ler
+ * assim que passa da data de corte: a série vem da data mais recente para a mais antiga, então com outputsize=full
+ * (20+ anos) só os dias do range pedido são processados.
+ *
+ * As datas ("yyyy-MM-dd") são comparadas como texto com o corte e convertidas com LocalDate.of,
+ * sem DateTimeFormatter.
+ */
+public class AlphaVantageTimeSeriesParser {
+
+    private static final String PROVIDER_NAME = "AlphaVantage";
+    private static final String TIME_SERIES_FIELD = "Time Series (Daily)";
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * @param body   corpo da resposta (fechado ao final, mesmo parando antes do fim)
+     * @param cutoff primeira data incluída
+     * @return série ordenada por timestamp (mais antigo primeiro); vazia se não houver série
+     * @throws QuotaExceededException se a Alpha Vantage devolver "Information" ou "Note" (limite de requisições)
+     * @throws ProviderException se a Alpha Vantage devolver "Error Message"
+     */
+    public CandleSeries parse(InputStream body, LocalDate cutoff) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return CandleSeries.empty();
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case TIME_SERIES_FIELD -> {
+                        return readSeries(parser, cutoff.toString());
+                    }
+                    case "Information", "Note" -> throw new QuotaExceededException(PROVIDER_NAME,
+                            "Alpha Vantage retornou: " + parser.getValueAsString());
+                    case "Error Message" -> throw new ProviderException(PROVIDER_NAME,
+                            "Alpha Vantage retornou: " + parser.getValueAsString());
+                    default -> parser.skipChildren();
+                }
+            }
+            return CandleSeries.empty();
+        }
+    }
+
+    // ========== Métodos privados ==========
+
+    private CandleSeries readSeries(JsonParser parser, String cutoffKey) throws IOException {
+        CandleSeries.Builder builder = CandleSeries.builder(256);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String date = parser.currentName();
+
+            if (date.compareTo(cutoffKey) < 0) {
+                // Série em ordem decrescente: daqui para frente tudo é anterior ao corte
+                break;
+            }
+
+            parser.nextToken();
+            readCandle(parser, toEpochSeconds(date), builder);
+        }
+
+        // Pontos chegaram do mais recente para o mais antigo: o builder inverte
+        return builder.build();
+    }
+
+    private void readCandle(JsonParser parser, long epochSeconds, CandleSeries.Builder builder) throws IOException {
+        double open = 0;
+        double high = 0;
+        double low = 0;
+        double close = 0;
+        double volume = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "1. open" -> open = parseNumber(parser.getText());
+                case "2. high" -> high = parseNumber(parser.getText());
+                case "3. low" -> low = parseNumber(parser.getText());
+                case "4. close" -> close = parseNumber(parser.getText());
+                case "5. volume" -> volume = parseNumber(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+
+        builder.add(epochSeconds, open, high, low, close, Math.round(volume));
+    }
+
+    /** "yyyy-MM-dd" → epoch seconds (UTC, início do dia). */
+    private long toEpochSeconds(String date) {
+        LocalDate localDate = LocalDate.of(
+                Integer.parseInt(date, 0, 4, 10),
+                Integer.parseInt(date, 5, 7, 10),
+                Integer.parseInt(date, 8, 10, 10));
+        return localDate.toEpochDay() * SECONDS_PER_DAY;
+    }
+
+    private double parseNumber(String value) {
+        if (value == null || value.isBlank()) return 0;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.kaique.marketdata.domain.enums.MarketType;
 import com.kaique.marketdata.domain.enums.ProviderType;
 import com.kaique.marketdata.domain.enums.TimeRange;
 import com.kaique.marketdata.domain.exception.ProviderException;
-import com.kaique.marketdata.domain.model.Candle;
+import com.kaique.marketdata.domain.model.CandleSeries;
 import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.provider.AsyncJsonClient;
+import com.kaique.marketdata.infrastructure.provider.AsyncMarketDataProvider;
 import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,30 +22,46 @@ import org.springframework.web.client.RestTemplate;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntPredicate;
 
 /**
  * Provider para a API Brapi (https://brapi.dev).
  * Endpoint: https://brapi.dev/api/quote/{symbol}
+ * Cotações em lote: https://brapi.dev/api/quote/{s1},{s2},... (brapi.batch-size símbolos por chamada)
  *
  * @Order(1) garante prioridade sobre Alpha Vantage.
  */
 @Component
 @Order(1)
-public class BrapiProvider implements MarketDataProvider {
+public class BrapiProvider implements MarketDataProvider, AsyncMarketDataProvider {
 
     private static final Logger log = LoggerFactory.getLogger(BrapiProvider.class);
     private static final String BASE_URL = "https://brapi.dev/api/quote/";
     private static final String PROVIDER_NAME = "Brapi";
 
+    /** Ranges aceitos pela Brapi e quantos dias cada um cobre (do menor para o maior). */
+    private static final List<Map.Entry<String, Integer>> RANGE_DAYS = List.of(
+            Map.entry("1d", 1), Map.entry("5d", 5), Map.entry("1mo", 30), Map.entry("3mo", 90),
+            Map.entry("6mo", 180), Map.entry("1y", 365), Map.entry("2y", 730), Map.entry("5y", 5 * 365));
+
     private final RestTemplate restTemplate;
+    private final AsyncJsonClient asyncClient;
     private final String token;
+    private final int batchSize;
 
     public BrapiProvider(RestTemplate restTemplate,
-                         @Value("${brapi.token}") String token) {
+                         AsyncJsonClient asyncClient,
+                         @Value("${brapi.token}") String token,
+                         @Value("${brapi.batch-size:20}") int batchSize) {
         this.restTemplate = restTemplate;
+        this.asyncClient = asyncClient;
         this.token = token.trim();
+        this.batchSize = Math.max(1, batchSize);
     }
 
     @Override
@@ -55,10 +73,7 @@ public class BrapiProvider implements MarketDataProvider {
 
         try {
             BrapiResponse response = restTemplate.getForObject(URI.create(url), BrapiResponse.class);
-            validateResponse(response, cleanSymbol);
-
-            BrapiResponse.BrapiQuote quote = response.results().get(0);
-            return mapToMarketData(quote, cleanSymbol);
+            return toMarketData(response, cleanSymbol);
 
         } catch (ProviderException e) {
             throw e;
@@ -78,36 +93,152 @@ public class BrapiProvider implements MarketDataProvider {
     }
 
     @Override
-    public List<Candle> fetchHistory(String symbol, TimeRange timeRange) {
+    public CompletableFuture<MarketData> fetchCurrentPriceAsync(String symbol) {
         String cleanSymbol = cleanSymbol(symbol);
-        String url = BASE_URL + cleanSymbol
-                + "?range=" + timeRange.getBrapiRange()
-                + "&interval=" + timeRange.getBrapiInterval()
-                + "&token=" + token;
+        String url = BASE_URL + cleanSymbol + "?token=" + token;
 
-        log.info("[{}] Buscando histórico para {} (range={}, interval={})",
-                PROVIDER_NAME, cleanSymbol, timeRange.getBrapiRange(), timeRange.getBrapiInterval());
+        log.info("[{}] Buscando preço (async) para símbolo: {}", PROVIDER_NAME, cleanSymbol);
 
-        try {
-            BrapiResponse response = restTemplate.getForObject(URI.create(url), BrapiResponse.class);
-            validateResponse(response, cleanSymbol);
+        return asyncClient.get(URI.create(url), BrapiResponse.class, PROVIDER_NAME, cleanSymbol)
+                .thenApply(response -> toMarketData(response, cleanSymbol));
+    }
+
+    /** Uma chamada a cada brapi.batch-size símbolos (o fallback individual de um lote com 404 é cobrado à parte). */
+    @Override
+    public int requestCount(int symbols) {
+        return (symbols + batchSize - 1) / batchSize;
+    }
 
-            BrapiResponse.BrapiQuote quote = response.results().get(0);
+    @Override
+    public Map<String, MarketData> fetchCurrentPrices(List<String> symbols) {
+        return fetchCurrentPrices(symbols, requests -> true);
+    }
 
-            if (quote.historicalDataPrice() == null || quote.historicalDataPrice().isEmpty()) {
-                log.warn("[{}] Nenhum dado histórico retornado para {}", PROVIDER_NAME, cleanSymbol);
-                return Collections.emptyList();
+    /** Cada busca individual depois de um lote com 404 consome uma requisição de {@code acquireExtra}. */
+    @Override
+    public Map<String, MarketData> fetchCurrentPrices(List<String> symbols, IntPredicate acquireExtra) {
+        // ticker limpo (sem .SA) → símbolo como foi solicitado
+        Map<String, String> requestedByClean = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            requestedByClean.putIfAbsent(cleanSymbol(symbol), symbol);
+        }
+        List<String> cleanSymbols = new ArrayList<>(requestedByClean.keySet());
+
+        Map<String, MarketData> results = new LinkedHashMap<>();
+        ProviderException lastException = null;
+
+        for (int from = 0; from < cleanSymbols.size(); from += batchSize) {
+            List<String> chunk = cleanSymbols.subList(from, Math.min(from + batchSize, cleanSymbols.size()));
+
+            try {
+                for (BrapiResponse.BrapiQuote quote : fetchQuotes(chunk)) {
+                    String requested = quote.symbol() != null
+                            ? requestedByClean.get(quote.symbol().toUpperCase())
+                            : null;
+                    if (requested != null) {
+                        results.put(requested, mapToMarketData(quote, cleanSymbol(requested)));
+                    }
+                }
+            } catch (ProviderException e) {
+                lastException = e;
+                if (chunk.size() > 1 && e.getCause() instanceof HttpClientErrorException.NotFound) {
+                    // Um ticker inválido derruba o lote inteiro: refaz os símbolos do lote individualmente
+                    log.warn("[{}] Lote com ticker inválido, buscando individualmente: {}", PROVIDER_NAME, chunk);
+                    for (String cleanSymbol : chunk) {
+                        if (!acquireExtra.test(1)) {
+                            // Sem cota: o restante do lote segue para o próximo provider
+                            log.warn("[{}] Cota esgotada no fallback individual, restam: {}", PROVIDER_NAME,
+                                    chunk.subList(chunk.indexOf(cleanSymbol), chunk.size()));
+                            break;
+                        }
+                        try {
+                            results.put(requestedByClean.get(cleanSymbol), fetchCurrentPrice(cleanSymbol));
+                        } catch (ProviderException individual) {
+                            lastException = individual;
+                        }
+                    }
+                }
             }
+        }
 
-            List<Candle> candles = quote.historicalDataPrice().stream()
-                    .map(this::mapToCandle)
-                    .sorted((a, b) -> Long.compare(a.timestamp(), b.timestamp()))
-                    .toList();
+        if (results.isEmpty() && lastException != null) {
+            throw lastException;
+        }
+        return results;
+    }
 
-            log.info("[{}] Retornados {} candles para {} (range={})",
-                    PROVIDER_NAME, candles.size(), cleanSymbol, timeRange.getBrapiRange());
+    @Override
+    public CandleSeries fetchHistory(String symbol, TimeRange timeRange) {
+        return fetchHistory(cleanSymbol(symbol), timeRange.getBrapiRange(), timeRange.getBrapiInterval());
+    }
 
-            return candles;
+    /**
+     * Busca incremental: mesmo interval do range, mas com o menor range da Brapi que cobre
+     * o período desde o último candle (ex: 5Y mensal atualizado com range=1mo).
+     */
+    @Override
+    public CandleSeries fetchHistorySince(String symbol, TimeRange timeRange, long sinceEpochSeconds) {
+        return fetchHistory(cleanSymbol(symbol), incrementalRange(timeRange, sinceEpochSeconds),
+                timeRange.getBrapiInterval()).since(sinceEpochSeconds);
+    }
+
+    @Override
+    public CompletableFuture<CandleSeries> fetchHistoryAsync(String symbol, TimeRange timeRange) {
+        return fetchHistoryAsync(cleanSymbol(symbol), timeRange.getBrapiRange(), timeRange.getBrapiInterval());
+    }
+
+    @Override
+    public CompletableFuture<CandleSeries> fetchHistorySinceAsync(String symbol, TimeRange timeRange,
+                                                                  long sinceEpochSeconds) {
+        return fetchHistoryAsync(cleanSymbol(symbol), incrementalRange(timeRange, sinceEpochSeconds),
+                timeRange.getBrapiInterval()).thenApply(series -> series.since(sinceEpochSeconds));
+    }
+
+    @Override
+    public String historyInterval(TimeRange timeRange) {
+        return timeRange.getBrapiInterval();
+    }
+
+    @Override
+    public boolean supports(MarketType marketType) {
+        return marketType == MarketType.STOCK || marketType == MarketType.FII;
+    }
+
+    // ========== Métodos privados ==========
+
+    private String cleanSymbol(String symbol) {
+        return symbol.toUpperCase().replace(".SA", "");
+    }
+
+    /** Menor range da Brapi que cobre o período desde o último candle (sem passar do range pedido). */
+    private String incrementalRange(TimeRange timeRange, long sinceEpochSeconds) {
+        long gapDays = Math.max(0, Instant.now().getEpochSecond() - sinceEpochSeconds) / 86_400 + 1;
+        long rangeDays = timeRange.getSpan().toDays();
+
+        for (Map.Entry<String, Integer> candidate : RANGE_DAYS) {
+            if (candidate.getValue() >= gapDays && candidate.getValue() < rangeDays) {
+                return candidate.getKey();
+            }
+        }
+        return timeRange.getBrapiRange();
+    }
+
+    private CompletableFuture<CandleSeries> fetchHistoryAsync(String cleanSymbol, String range, String interval) {
+        log.info("[{}] Buscando histórico (async) para {} (range={}, interval={})",
+                PROVIDER_NAME, cleanSymbol, range, interval);
+
+        return asyncClient.get(URI.create(historyUrl(cleanSymbol, range, interval)), BrapiResponse.class,
+                        PROVIDER_NAME, "histórico de " + cleanSymbol)
+                .thenApply(response -> toSeries(response, cleanSymbol, range));
+    }
+
+    private CandleSeries fetchHistory(String cleanSymbol, String range, String interval) {
+        log.info("[{}] Buscando histórico para {} (range={}, interval={})", PROVIDER_NAME, cleanSymbol, range, interval);
+
+        try {
+            BrapiResponse response = restTemplate.getForObject(
+                    URI.create(historyUrl(cleanSymbol, range, interval)), BrapiResponse.class);
+            return toSeries(response, cleanSymbol, range);
 
         } catch (ProviderException e) {
             throw e;
@@ -126,36 +257,76 @@ public class BrapiProvider implements MarketDataProvider {
         }
     }
 
-    @Override
-    public boolean supports(MarketType marketType) {
-        return marketType == MarketType.STOCK || marketType == MarketType.FII;
+    private String historyUrl(String cleanSymbol, String range, String interval) {
+        return BASE_URL + cleanSymbol
+                + "?range=" + range
+                + "&interval=" + interval
+                + "&token=" + token;
     }
 
-    // ========== Métodos privados ==========
+    /** Uma única chamada HTTP para vários tickers separados por vírgula. */
+    private List<BrapiResponse.BrapiQuote> fetchQuotes(List<String> cleanSymbols) {
+        String joined = String.join(",", cleanSymbols);
+        String url = BASE_URL + joined + "?token=" + token;
 
-    private String cleanSymbol(String symbol) {
-        return symbol.toUpperCase().replace(".SA", "");
+        log.info("[{}] Buscando cotações em lote: {}", PROVIDER_NAME, joined);
+
+        try {
+            BrapiResponse response = restTemplate.getForObject(URI.create(url), BrapiResponse.class);
+            validateResponse(response, joined);
+            return response.results();
+
+        } catch (ProviderException e) {
+            throw e;
+        } catch (HttpClientErrorException e) {
+            log.error("[{}] Erro 4xx ao buscar lote {}: {} - {}", PROVIDER_NAME, joined, e.getStatusCode(), e.getMessage());
+            throw new ProviderException(PROVIDER_NAME,
+                    "Erro do cliente ao buscar lote " + joined + ": " + e.getStatusCode(), e);
+        } catch (HttpServerErrorException e) {
+            log.error("[{}] Erro 5xx ao buscar lote {}: {} - {}", PROVIDER_NAME, joined, e.getStatusCode(), e.getMessage());
+            throw new ProviderException(PROVIDER_NAME,
+                    "Erro do servidor ao buscar lote " + joined + ": " + e.getStatusCode(), e);
+        } catch (RestClientException e) {
+            log.error("[{}] Erro de conexão ao buscar lote {}: {}", PROVIDER_NAME, joined, e.getMessage());
+            throw new ProviderException(PROVIDER_NAME,
+                    "Falha na conexão ao buscar lote " + joined, e);
+        }
     }
 
-    private void validateResponse(BrapiResponse response, String symbol) {
+    private static void validateResponse(BrapiResponse response, String symbol) {
         if (response == null || response.results() == null || response.results().isEmpty()) {
             throw new ProviderException(PROVIDER_NAME,
                     "Resposta nula ou sem resultados para o símbolo: " + symbol);
         }
     }
 
-    /**
-     * Converte historico Brapi (date=epoch seconds) para Candle.
-     */
-    private Candle mapToCandle(BrapiResponse.HistoricalDataPrice data) {
-        return new Candle(
-                data.date(),
-                data.open() != null ? data.open() : BigDecimal.ZERO,
-                data.high() != null ? data.high() : BigDecimal.ZERO,
-                data.low() != null ? data.low() : BigDecimal.ZERO,
-                data.close() != null ? data.close() : BigDecimal.ZERO,
-                data.volume() != null ? data.volume() : BigDecimal.ZERO
-        );
+    private MarketData toMarketData(BrapiResponse response, String cleanSymbol) {
+        validateResponse(response, cleanSymbol);
+        return mapToMarketData(response.results().get(0), cleanSymbol);
+    }
+
+    /** Converte o histórico da resposta em CandleSeries. Público para o ProviderParsingBenchmark (perfil benchmark). */
+    public static CandleSeries toSeries(BrapiResponse response, String cleanSymbol, String range) {
+        validateResponse(response, cleanSymbol);
+
+        List<BrapiResponse.HistoricalDataPrice> history = response.results().get(0).historicalDataPrice();
+
+        if (history == null || history.isEmpty()) {
+            log.warn("[{}] Nenhum dado histórico retornado para {}", PROVIDER_NAME, cleanSymbol);
+            return CandleSeries.empty();
+        }
+
+        // date=epoch seconds; o builder ordena se a Brapi não devolver em ordem crescente
+        CandleSeries.Builder builder = CandleSeries.builder(history.size());
+        for (BrapiResponse.HistoricalDataPrice data : history) {
+            builder.add(data.date(), data.open(), data.high(), data.low(), data.close(), Math.round(data.volume()));
+        }
+        CandleSeries series = builder.build();
+
+        log.info("[{}] Retornados {} candles para {} (range={})",
+                PROVIDER_NAME, series.size(), cleanSymbol, range);
+
+        return series;
     }
 
     private MarketData mapToMarketData(BrapiResponse.BrapiQuote quote, String originalSymbol) {
@@ -51,16 +51,17 @@ public record BrapiResponse(
     /**
      * Representa um ponto de dados histórico da Brapi.
      * O campo "date" vem como Unix Epoch EM SEGUNDOS (não milissegundos).
+     * Tipos primitivos (null vira 0): os valores vão direto para o CandleSeries, sem BigDecimal por ponto.
      */
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record HistoricalDataPrice(
             long date,
-            BigDecimal open,
-            BigDecimal high,
-            BigDecimal low,
-            BigDecimal close,
-            BigDecimal volume,
-            BigDecimal adjustedClose
+            double open,
+            double high,
+            double low,
+            double close,
+            double volume,
+            double adjustedClose
     ) {
     }
 }
@@ -0,0 +1,35 @@
+package com.kaique.marketdata.infrastructure.provider.coingecko;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+/**
+ * Record que mapeia cada item da resposta do endpoint /coins/markets da CoinGecko
+ * (cotação de várias moedas em uma única chamada).
+ *
+ * Exemplo de resposta:
+ * [
+ *   {
+ *     "id": "bitcoin",
+ *     "symbol": "btc",
+ *     "name": "Bitcoin",
+ *     "current_price": 67000.0,
+ *     "market_cap": 1300000000000,
+ *     "total_volume": 35000000000,
+ *     "price_change_percentage_24h": 2.5
+ *   }
+ * ]
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CoinGeckoMarketDTO(
+        String id,
+        String symbol,
+        String name,
+        @JsonProperty("current_price") BigDecimal currentPrice,
+        @JsonProperty("market_cap") BigDecimal marketCap,
+        @JsonProperty("total_volume") BigDecimal totalVolume,
+        @JsonProperty("price_change_percentage_24h") BigDecimal priceChangePercentage24h
+) {
+}
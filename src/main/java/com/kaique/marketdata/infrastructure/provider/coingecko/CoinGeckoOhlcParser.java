@@ -0,0 +1,65 @@
+package com.kaique.marketdata.infrastructure.provider.coingecko;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.model.CandleSeries;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parser em streaming da resposta /coins/{id}/ohlc da CoinGecko.
+ *
+ * Formato: [[ts_ms, open, high, low, close], ...]. Os valores vão direto para o
+ * CandleSeries.Builder, sem a List&lt;List&lt;Number&gt;&gt; intermediária.
+ * Timestamp convertido para segundos; volume = 0 (o /ohlc não inclui volume).
+ */
+public class CoinGeckoOhlcParser {
+
+    private static final String PROVIDER_NAME = "CoinGecko";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** Pontos com menos de 5 valores são ignorados. */
+    public CandleSeries parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == null) {
+                return CandleSeries.empty();
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new ProviderException(PROVIDER_NAME, "Resposta inesperada do /ohlc (esperado um array)");
+            }
+
+            CandleSeries.Builder builder = CandleSeries.builder(256);
+            double[] point = new double[5];
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                long timestampMs = 0;
+                int count = 0;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (count == 0 && token.isNumeric()) {
+                        timestampMs = parser.getLongValue();
+                    } else if (count < point.length) {
+                        point[count] = token.isNumeric() ? parser.getDoubleValue() : 0.0;
+                    }
+                    parser.skipChildren();
+                    count++;
+                }
+
+                if (count >= 5) {
+                    builder.add(timestampMs / 1000, point[1], point[2], point[3], point[4], 0L);
+                }
+            }
+
+            return builder.build();
+        }
+    }
+}
@@ -4,11 +4,14 @@ import com.kaique.marketdata.domain.enums.MarketType;
 import com.kaique.marketdata.domain.enums.ProviderType;
 import com.kaique.marketdata.domain.enums.TimeRange;
 import com.kaique.marketdata.domain.exception.ProviderException;
-import com.kaique.marketdata.domain.model.Candle;
+import com.kaique.marketdata.domain.model.CandleSeries;
 import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.provider.AsyncJsonClient;
+import com.kaique.marketdata.infrastructure.provider.AsyncMarketDataProvider;
 import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -19,44 +22,53 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provider para a API CoinGecko.
  * Endpoint: /coins/{id}
+ * Cotações em lote: /coins/markets?ids={id1},{id2},... (coingecko.batch-size ids por chamada)
+ * Histórico: /coins/{id}/ohlc, lido em streaming pelo CoinGeckoOhlcParser
  */
 @Component
-public class CoinGeckoProvider implements MarketDataProvider {
+public class CoinGeckoProvider implements MarketDataProvider, AsyncMarketDataProvider {
 
     private static final Logger log = LoggerFactory.getLogger(CoinGeckoProvider.class);
     private static final String BASE_URL = "https://api.coingecko.com/api/v3";
     private static final String PROVIDER_NAME = "CoinGecko";
 
     private final RestTemplate restTemplate;
+    private final AsyncJsonClient asyncClient;
+    private final CoinGeckoOhlcParser ohlcParser = new CoinGeckoOhlcParser();
+    private final int batchSize;
 
-    public CoinGeckoProvider(RestTemplate restTemplate) {
+    public CoinGeckoProvider(RestTemplate restTemplate,
+                             AsyncJsonClient asyncClient,
+                             @Value("${coingecko.batch-size:100}") int batchSize) {
         this.restTemplate = restTemplate;
+        this.asyncClient = asyncClient;
+        this.batchSize = Math.max(1, batchSize);
     }
 
     @Override
     public MarketData fetchCurrentPrice(String symbol) {
-        String url = BASE_URL + "/coins/" + symbol.toLowerCase()
-                + "?localization=false&tickers=false&community_data=false&developer_data=false&sparkline=false";
+        String url = currentPriceUrl(symbol);
 
         log.info("[{}] Buscando preço para símbolo: {}", PROVIDER_NAME, symbol);
 
         try {
             CoinGeckoDTO response = restTemplate.getForObject(url, CoinGeckoDTO.class);
+            return toMarketData(response, symbol);
 
-            if (response == null || response.getMarketData() == null) {
-                throw new ProviderException(PROVIDER_NAME,
-                        "Resposta nula ou sem market_data para o símbolo: " + symbol);
-            }
-
-            return mapToMarketData(response);
-
+        } catch (ProviderException e) {
+            throw e;
         } catch (HttpClientErrorException e) {
             log.error("[{}] Erro 4xx ao buscar {}: {} - {}", PROVIDER_NAME, symbol, e.getStatusCode(), e.getMessage());
             throw new ProviderException(PROVIDER_NAME,
@@ -73,43 +85,67 @@ public class CoinGeckoProvider implements MarketDataProvider {
     }
 
     @Override
-    public List<Candle> fetchHistory(String symbol, TimeRange timeRange) {
-        String coinId = symbol.toLowerCase();
-        String url = BASE_URL + "/coins/" + coinId
-                + "/ohlc?vs_currency=usd&days=" + timeRange.getCoinGeckoDays();
+    public CompletableFuture<MarketData> fetchCurrentPriceAsync(String symbol) {
+        log.info("[{}] Buscando preço (async) para símbolo: {}", PROVIDER_NAME, symbol);
 
-        log.info("[{}] Buscando histórico OHLC para {} (days={})",
-                PROVIDER_NAME, coinId, timeRange.getCoinGeckoDays());
+        return asyncClient.get(URI.create(currentPriceUrl(symbol)), CoinGeckoDTO.class, PROVIDER_NAME, symbol)
+                .thenApply(response -> toMarketData(response, symbol));
+    }
 
-        try {
-            // CoinGecko /ohlc retorna List<List<Number>>: [[ts_ms, open, high, low, close], ...]
-            ResponseEntity<List<List<Number>>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<>() {}
-            );
+    /** Uma chamada /coins/markets a cada coingecko.batch-size ids. */
+    @Override
+    public int requestCount(int symbols) {
+        return (symbols + batchSize - 1) / batchSize;
+    }
+
+    @Override
+    public Map<String, MarketData> fetchCurrentPrices(List<String> symbols) {
+        // id da CoinGecko (minúsculo) → símbolo como foi solicitado
+        Map<String, String> requestedById = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            requestedById.putIfAbsent(symbol.toLowerCase(), symbol);
+        }
+        List<String> coinIds = new ArrayList<>(requestedById.keySet());
 
-            List<List<Number>> rawData = response.getBody();
+        Map<String, MarketData> results = new LinkedHashMap<>();
+        ProviderException lastException = null;
 
-            if (rawData == null || rawData.isEmpty()) {
-                log.warn("[{}] Nenhum dado OHLC retornado para {}", PROVIDER_NAME, coinId);
-                return Collections.emptyList();
+        for (int from = 0; from < coinIds.size(); from += batchSize) {
+            List<String> chunk = coinIds.subList(from, Math.min(from + batchSize, coinIds.size()));
+
+            try {
+                for (CoinGeckoMarketDTO market : fetchMarkets(chunk)) {
+                    String requested = market.id() != null ? requestedById.get(market.id()) : null;
+                    if (requested != null) {
+                        results.put(requested, mapToMarketData(market));
+                    }
+                }
+            } catch (ProviderException e) {
+                lastException = e;
             }
+        }
 
-            List<Candle> candles = rawData.stream()
-                    .filter(point -> point != null && point.size() >= 5)
-                    .map(this::mapOhlcToCandle)
-                    .sorted((a, b) -> Long.compare(a.timestamp(), b.timestamp()))
-                    .toList();
+        if (results.isEmpty() && lastException != null) {
+            throw lastException;
+        }
+        return results;
+    }
 
-            log.info("[{}] Retornados {} candles para {} (days={})",
-                    PROVIDER_NAME, candles.size(), coinId, timeRange.getCoinGeckoDays());
+    @Override
+    public CandleSeries fetchHistory(String symbol, TimeRange timeRange) {
+        String coinId = symbol.toLowerCase();
+        String url = historyUrl(coinId, timeRange);
 
-            return candles;
+        log.info("[{}] Buscando histórico OHLC para {} (days={})",
+                PROVIDER_NAME, coinId, timeRange.getCoinGeckoDays());
+
+        try {
+            // CoinGecko /ohlc retorna [[ts_ms, open, high, low, close], ...]: lido direto para a série
+            CandleSeries series = restTemplate.execute(URI.create(url), HttpMethod.GET, null,
+                    response -> ohlcParser.parse(response.getBody()));
+
+            return logSeries(series, coinId, timeRange);
 
-        } catch (ProviderException e) {
-            throw e;
         } catch (HttpClientErrorException e) {
             log.error("[{}] Erro 4xx ao buscar histórico de {}: {}", PROVIDER_NAME, coinId, e.getMessage());
             throw new ProviderException(PROVIDER_NAME,
@@ -125,33 +161,96 @@ public class CoinGeckoProvider implements MarketDataProvider {
         }
     }
 
+    @Override
+    public CompletableFuture<CandleSeries> fetchHistoryAsync(String symbol, TimeRange timeRange) {
+        String coinId = symbol.toLowerCase();
+
+        log.info("[{}] Buscando histórico OHLC (async) para {} (days={})",
+                PROVIDER_NAME, coinId, timeRange.getCoinGeckoDays());
+
+        return asyncClient.get(URI.create(historyUrl(coinId, timeRange)),
+                        ohlcParser::parse, PROVIDER_NAME, "histórico de " + coinId)
+                .thenApply(series -> logSeries(series, coinId, timeRange));
+    }
+
+    /** Granularidade automática do /ohlc: 1-2 dias → 30m, 3-30 dias → 4h, acima de 30 dias → 4d. */
+    @Override
+    public String historyInterval(TimeRange timeRange) {
+        return switch (timeRange) {
+            case ONE_DAY -> "30m";
+            case ONE_WEEK, ONE_MONTH -> "4h";
+            default -> "4d";
+        };
+    }
+
     @Override
     public boolean supports(MarketType marketType) {
         return marketType == MarketType.CRYPTO;
     }
 
+    private String currentPriceUrl(String symbol) {
+        return BASE_URL + "/coins/" + symbol.toLowerCase()
+                + "?localization=false&tickers=false&community_data=false&developer_data=false&sparkline=false";
+    }
+
+    private String historyUrl(String coinId, TimeRange timeRange) {
+        return BASE_URL + "/coins/" + coinId + "/ohlc?vs_currency=usd&days=" + timeRange.getCoinGeckoDays();
+    }
+
+    /** Uma única chamada HTTP ao /coins/markets para vários ids. */
+    private List<CoinGeckoMarketDTO> fetchMarkets(List<String> coinIds) {
+        String joined = String.join(",", coinIds);
+        String url = BASE_URL + "/coins/markets?vs_currency=usd&ids=" + joined
+                + "&per_page=" + coinIds.size() + "&page=1&sparkline=false";
+
+        log.info("[{}] Buscando cotações em lote: {}", PROVIDER_NAME, joined);
+
+        try {
+            ResponseEntity<List<CoinGeckoMarketDTO>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<>() {}
+            );
+
+            List<CoinGeckoMarketDTO> markets = response.getBody();
+            return markets != null ? markets : Collections.emptyList();
+
+        } catch (HttpClientErrorException e) {
+            log.error("[{}] Erro 4xx ao buscar lote {}: {} - {}", PROVIDER_NAME, joined, e.getStatusCode(), e.getMessage());
+            throw new ProviderException(PROVIDER_NAME,
+                    "Erro do cliente ao buscar lote " + joined + ": " + e.getStatusCode(), e);
+        } catch (HttpServerErrorException e) {
+            log.error("[{}] Erro 5xx ao buscar lote {}: {} - {}", PROVIDER_NAME, joined, e.getStatusCode(), e.getMessage());
+            throw new ProviderException(PROVIDER_NAME,
+                    "Erro do servidor ao buscar lote " + joined + ": " + e.getStatusCode(), e);
+        } catch (RestClientException e) {
+            log.error("[{}] Erro de conexão ao buscar lote {}: {}", PROVIDER_NAME, joined, e.getMessage());
+            throw new ProviderException(PROVIDER_NAME,
+                    "Falha na conexão ao buscar lote " + joined, e);
+        }
+    }
+
     // ========== Métodos de mapeamento ==========
 
-    /**
-     * Converte [timestamp_ms, open, high, low, close] para Candle (seconds, volume=0).
-     */
-    private Candle mapOhlcToCandle(List<Number> point) {
-        // point[0] = timestamp em milissegundos → converter para segundos
-        long timestampSeconds = point.get(0).longValue() / 1000;
-
-        return new Candle(
-                timestampSeconds,
-                toBigDecimal(point.get(1)),
-                toBigDecimal(point.get(2)),
-                toBigDecimal(point.get(3)),
-                toBigDecimal(point.get(4)),
-                BigDecimal.ZERO // CoinGecko /ohlc não inclui volume
-        );
+    private MarketData toMarketData(CoinGeckoDTO response, String symbol) {
+        if (response == null || response.getMarketData() == null) {
+            throw new ProviderException(PROVIDER_NAME,
+                    "Resposta nula ou sem market_data para o símbolo: " + symbol);
+        }
+        return mapToMarketData(response);
     }
 
-    private BigDecimal toBigDecimal(Number value) {
-        if (value == null) return BigDecimal.ZERO;
-        return new BigDecimal(value.toString());
+    private CandleSeries logSeries(CandleSeries series, String coinId, TimeRange timeRange) {
+        if (series == null || series.isEmpty()) {
+            log.warn("[{}] Nenhum dado OHLC retornado para {}", PROVIDER_NAME, coinId);
+            return CandleSeries.empty();
+        }
+
+        log.info("[{}] Retornados {} candles para {} (days={})",
+                PROVIDER_NAME, series.size(), coinId, timeRange.getCoinGeckoDays());
+
+        return series;
     }
 
     private MarketData mapToMarketData(CoinGeckoDTO dto) {
@@ -170,4 +269,19 @@ public class CoinGeckoProvider implements MarketDataProvider {
                 Instant.now()
         );
     }
+
+    private MarketData mapToMarketData(CoinGeckoMarketDTO market) {
+        return new MarketData(
+                market.symbol() != null ? market.symbol().toUpperCase() : market.id().toUpperCase(),
+                market.name(),
+                market.currentPrice() != null ? market.currentPrice() : BigDecimal.ZERO,
+                "USD",
+                market.priceChangePercentage24h() != null ? market.priceChangePercentage24h() : BigDecimal.ZERO,
+                market.marketCap() != null ? market.marketCap() : BigDecimal.ZERO,
+                market.totalVolume() != null ? market.totalVolume() : BigDecimal.ZERO,
+                MarketType.CRYPTO,
+                ProviderType.COINGECKO,
+                Instant.now()
+        );
+    }
 }
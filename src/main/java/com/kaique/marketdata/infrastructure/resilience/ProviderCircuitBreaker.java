@@ -0,0 +1,226 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker de um provider (CLOSED → OPEN → HALF_OPEN → CLOSED).
+ *
+ * Janela deslizante por contagem: guarda o resultado das últimas {@code windowSize} chamadas
+ * (falha e/ou lenta). Quando há pelo menos {@code minimumCalls} registradas e a taxa de falhas
+ * ou de chamadas lentas atinge o limite, o circuito abre. Aberto, nenhuma chamada é permitida
+ * até {@code openDuration} passar; depois disso entra em HALF_OPEN e libera
+ * {@code halfOpenCalls} chamadas de teste, que decidem se fecha ou reabre.
+ *
+ * Usa ReentrantLock em vez de synchronized: o listener de transição loga e registra métricas
+ * dentro da seção crítica, e com virtual threads um bloqueio dentro de synchronized prende a carrier thread.
+ */
+public class ProviderCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /** Parâmetros do circuit breaker (iguais para todos os providers). */
+    public record Settings(
+            int windowSize,
+            int minimumCalls,
+            float failureRateThreshold,
+            float slowCallRateThreshold,
+            Duration slowCallDuration,
+            Duration openDuration,
+            int halfOpenCalls
+    ) {
+    }
+
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String providerName;
+    private final Settings settings;
+    private final BiConsumer<State, State> transitionListener;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Janela deslizante (ring buffer) de resultados
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermitted;
+    private int halfOpenRecorded;
+
+    public ProviderCircuitBreaker(String providerName, Settings settings,
+                                  BiConsumer<State, State> transitionListener) {
+        this(providerName, settings, transitionListener, System::nanoTime);
+    }
+
+    /** @param nanoClock relógio monotônico em nanos (System::nanoTime; substituível nos testes) */
+    ProviderCircuitBreaker(String providerName, Settings settings,
+                           BiConsumer<State, State> transitionListener, LongSupplier nanoClock) {
+        this.providerName = providerName;
+        this.settings = settings;
+        this.transitionListener = transitionListener;
+        this.nanoClock = nanoClock;
+        this.outcomes = new byte[settings.windowSize()];
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica se o provider pode ser chamado agora, sem consumir permissão.
+     * Usado para filtrar a lista de providers antes do fallback.
+     */
+    public boolean isCallPermitted() {
+        lock.lock();
+        try {
+            moveToHalfOpenIfWaitElapsed();
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> halfOpenPermitted < settings.halfOpenCalls();
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Reserva a permissão para uma chamada. Em HALF_OPEN, só libera as chamadas de teste. */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            moveToHalfOpenIfWaitElapsed();
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (halfOpenPermitted < settings.halfOpenCalls()) {
+                        halfOpenPermitted++;
+                        yield true;
+                    }
+                    yield false;
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve a permissão de uma chamada que foi cancelada antes de terminar (perdedora de um hedge):
+     * não é sucesso nem falha, e em HALF_OPEN a chamada de teste volta a ficar disponível.
+     */
+    public void releasePermission() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermitted > halfOpenRecorded) {
+                halfOpenPermitted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        lock.lock();
+        try {
+            record(isSlow(durationNanos) ? SLOW : 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onError(long durationNanos) {
+        lock.lock();
+        try {
+            record((byte) (FAILURE | (isSlow(durationNanos) ? SLOW : 0)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========== Métodos privados ==========
+
+    private boolean isSlow(long durationNanos) {
+        return durationNanos >= settings.slowCallDuration().toNanos();
+    }
+
+    private void record(byte outcome) {
+        if (state == State.OPEN) {
+            // Chamada iniciada antes da abertura: não influencia a janela atual
+            return;
+        }
+
+        if (recorded == outcomes.length) {
+            byte evicted = outcomes[next];
+            if ((evicted & FAILURE) != 0) failures--;
+            if ((evicted & SLOW) != 0) slowCalls--;
+        } else {
+            recorded++;
+        }
+
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        if ((outcome & FAILURE) != 0) failures++;
+        if ((outcome & SLOW) != 0) slowCalls++;
+
+        if (state == State.HALF_OPEN) {
+            halfOpenRecorded++;
+            if (halfOpenRecorded >= settings.halfOpenCalls()) {
+                transitionTo(isAboveThresholds(halfOpenRecorded) ? State.OPEN : State.CLOSED);
+            }
+        } else if (recorded >= settings.minimumCalls() && isAboveThresholds(recorded)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private boolean isAboveThresholds(int calls) {
+        float failureRate = failures * 100f / calls;
+        float slowRate = slowCalls * 100f / calls;
+        return failureRate >= settings.failureRateThreshold() || slowRate >= settings.slowCallRateThreshold();
+    }
+
+    private void moveToHalfOpenIfWaitElapsed() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= settings.openDuration().toNanos()) {
+            transitionTo(State.HALF_OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        State previous = state;
+        state = newState;
+
+        // Cada estado começa com a janela limpa
+        Arrays.fill(outcomes, (byte) 0);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        halfOpenPermitted = 0;
+        halfOpenRecorded = 0;
+
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+
+        transitionListener.accept(previous, newState);
+    }
+}
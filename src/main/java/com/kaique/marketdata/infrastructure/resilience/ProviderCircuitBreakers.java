@@ -0,0 +1,171 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
+import com.kaique.marketdata.infrastructure.concurrency.CallCancellation;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registro dos circuit breakers, um por MarketDataProvider.
+ *
+ * Configuração via application.properties (provider.circuit-breaker.*):
+ * - enabled, window-size, minimum-calls
+ * - failure-rate-threshold, slow-call-rate-threshold (%), slow-call-duration-ms
+ * - open-duration-ms (tempo aberto antes de testar de novo), half-open-calls
+ *
+ * 404 (símbolo inexistente) não conta como falha: o provider respondeu corretamente.
+ * Limite de requisições (local ou informado pelo provider) não conta nem como falha nem como sucesso: quem
+ * controla o provider sem cota é o ProviderQuotas, e a permissão volta para o circuit breaker. Por isso a cota
+ * é consumida dentro da chamada permitida — uma chamada rejeitada pelo circuito não gasta cota.
+ */
+@Component
+public class ProviderCircuitBreakers {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderCircuitBreakers.class);
+
+    private final Map<String, ProviderCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ProviderMetrics metrics;
+    private final ProviderCircuitBreaker.Settings settings;
+    private final boolean enabled;
+
+    public ProviderCircuitBreakers(List<MarketDataProvider> providers,
+                                   ProviderMetrics metrics,
+                                   @Value("${provider.circuit-breaker.enabled:true}") boolean enabled,
+                                   @Value("${provider.circuit-breaker.window-size:20}") int windowSize,
+                                   @Value("${provider.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                   @Value("${provider.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                   @Value("${provider.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                                   @Value("${provider.circuit-breaker.slow-call-duration-ms:5000}") long slowCallDurationMs,
+                                   @Value("${provider.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+                                   @Value("${provider.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.settings = new ProviderCircuitBreaker.Settings(
+                windowSize,
+                minimumCalls,
+                failureRateThreshold,
+                slowCallRateThreshold,
+                Duration.ofMillis(slowCallDurationMs),
+                Duration.ofMillis(openDurationMs),
+                halfOpenCalls);
+
+        // Cria os breakers na inicialização para que os gauges existam desde o início
+        providers.forEach(provider -> get(provider.getClass().getSimpleName()));
+    }
+
+    /** Usado para filtrar providers antes do fallback: circuito aberto = pula sem chamar. */
+    public boolean isCallPermitted(String providerName) {
+        return !enabled || get(providerName).isCallPermitted();
+    }
+
+    /**
+     * Executa a chamada registrando o resultado no circuit breaker do provider.
+     *
+     * @throws ProviderException se o circuito não permitir a chamada
+     */
+    public <T> T execute(String providerName, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        ProviderCircuitBreaker breaker = get(providerName);
+        if (!breaker.tryAcquirePermission()) {
+            throw new ProviderException(providerName, "Circuito aberto, chamada não permitida");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            breaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            if (CallCancellation.isCurrentCancelled() || isQuotaLimit(e)) {
+                // Abortada pelo HedgedExecutor ou sem cota: o provider não falhou
+                breaker.releasePermission();
+            } else if (isUpstreamFailure(e)) {
+                breaker.onError(System.nanoTime() - start);
+            } else {
+                breaker.onSuccess(System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
+
+    /** Versão assíncrona de {@link #execute}: o resultado é registrado na conclusão do future. */
+    public <T> CompletableFuture<T> executeAsync(String providerName, Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        ProviderCircuitBreaker breaker = get(providerName);
+        if (!breaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(
+                    new ProviderException(providerName, "Circuito aberto, chamada não permitida"));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (error != null && isQuotaLimit(error)) {
+                breaker.releasePermission();
+            } else if (error != null && isUpstreamFailure(error)) {
+                breaker.onError(elapsed);
+            } else {
+                breaker.onSuccess(elapsed);
+            }
+        });
+    }
+
+    public ProviderCircuitBreaker.State getState(String providerName) {
+        return get(providerName).getState();
+    }
+
+    // ========== Métodos privados ==========
+
+    private ProviderCircuitBreaker get(String providerName) {
+        return breakers.computeIfAbsent(providerName, this::create);
+    }
+
+    private ProviderCircuitBreaker create(String providerName) {
+        ProviderCircuitBreaker breaker = new ProviderCircuitBreaker(providerName, settings,
+                (from, to) -> {
+                    log.warn("Circuit breaker de {}: {} → {}", providerName, from, to);
+                    metrics.recordCircuitTransition(providerName, from.name(), to.name());
+                });
+
+        metrics.registerCircuitState(providerName, breaker, b -> b.getState().ordinal());
+        return breaker;
+    }
+
+    private static boolean isQuotaLimit(Throwable error) {
+        Throwable e = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return e instanceof QuotaExceededException;
+    }
+
+    private boolean isUpstreamFailure(Throwable error) {
+        Throwable e = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return !(e instanceof QuotaExceededException)
+                && !(e.getCause() instanceof HttpClientErrorException.NotFound);
+    }
+}
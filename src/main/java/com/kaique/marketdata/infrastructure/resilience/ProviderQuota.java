@@ -0,0 +1,223 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cota de requisições de um provider: um registro deslizante por janela (minuto e dia), consumidos juntos.
+ *
+ * Cada janela guarda o instante das últimas {@code limite} chamadas (buffer circular) e só libera uma nova
+ * se a mais antiga delas já saiu da janela. Assim nenhuma janela deslizante passa do limite — inclusive na
+ * partida, que começa com a cota cheia mas sem permitir rajada acima do limite. Limite 0 = janela sem limite.
+ *
+ * Usa ReentrantLock em vez de synchronized pelo mesmo motivo do ProviderCircuitBreaker (virtual threads).
+ */
+public class ProviderQuota {
+
+    public enum Window {
+        MINUTE(Duration.ofMinutes(1)),
+        DAY(Duration.ofDays(1));
+
+        private final Duration length;
+
+        Window(Duration length) {
+            this.length = length;
+        }
+    }
+
+    private final String providerName;
+    private final CallLog minute;
+    private final CallLog day;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ProviderQuota(String providerName, int perMinute, int perDay) {
+        this(providerName, perMinute, perDay, System::nanoTime);
+    }
+
+    /** @param nanoClock relógio monotônico em nanos (System::nanoTime; substituível nos testes) */
+    ProviderQuota(String providerName, int perMinute, int perDay, LongSupplier nanoClock) {
+        this.providerName = providerName;
+        this.nanoClock = nanoClock;
+        this.minute = perMinute > 0 ? new CallLog(perMinute, Window.MINUTE) : null;
+        this.day = perDay > 0 ? new CallLog(perDay, Window.DAY) : null;
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    /** Indica se a janela tem limite configurado. */
+    public boolean isLimited(Window window) {
+        return log(window) != null;
+    }
+
+    /** Consome {@code permits} chamadas de todas as janelas, ou nenhuma se alguma não tiver o suficiente. */
+    public boolean tryAcquire(int permits) {
+        lock.lock();
+        try {
+            long now = prune();
+            if (!hasRoom(minute, permits) || !hasRoom(day, permits)) {
+                return false;
+            }
+            if (minute != null) {
+                minute.record(now, permits);
+            }
+            if (day != null) {
+                day.record(now, permits);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Indica se há ao menos uma chamada disponível, sem consumir. */
+    public boolean hasRemaining() {
+        lock.lock();
+        try {
+            prune();
+            return hasRoom(minute, 1) && hasRoom(day, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Chamadas ainda disponíveis na janela (usado pelos gauges). */
+    public double remaining(Window window) {
+        CallLog callLog = log(window);
+        if (callLog == null) {
+            return Double.NaN;
+        }
+        lock.lock();
+        try {
+            prune();
+            return callLog.remaining();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Menor fração do limite ainda disponível entre as janelas (1.0 = cota cheia). */
+    public double remainingFraction() {
+        lock.lock();
+        try {
+            prune();
+            double fraction = 1.0;
+            if (minute != null) {
+                fraction = Math.min(fraction, (double) minute.remaining() / minute.capacity());
+            }
+            if (day != null) {
+                fraction = Math.min(fraction, (double) day.remaining() / day.capacity());
+            }
+            return fraction;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Tempo até todas as janelas terem {@code permits} chamadas disponíveis. */
+    public Duration timeUntilAvailable(int permits) {
+        lock.lock();
+        try {
+            long now = prune();
+            return Duration.ofNanos(Math.max(nanosUntil(minute, permits, now), nanosUntil(day, permits, now)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Esgota a janela: o provider avisou que o limite dela foi atingido, então a contagem local estava
+     * otimista (ex: outra aplicação usando a mesma API key). As vagas livres são marcadas como usadas agora;
+     * as chamadas voltam conforme os registros saem da janela. As outras janelas não mudam.
+     */
+    public void exhaust(Window window) {
+        CallLog callLog = log(window);
+        if (callLog == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            callLog.record(prune(), callLog.remaining());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========== Métodos privados ==========
+
+    private CallLog log(Window window) {
+        return window == Window.MINUTE ? minute : day;
+    }
+
+    /** Descarta das janelas as chamadas antigas; devolve o instante atual. */
+    private long prune() {
+        long now = nanoClock.getAsLong();
+        if (minute != null) {
+            minute.prune(now);
+        }
+        if (day != null) {
+            day.prune(now);
+        }
+        return now;
+    }
+
+    private static boolean hasRoom(CallLog callLog, int permits) {
+        return callLog == null || callLog.remaining() >= permits;
+    }
+
+    private static long nanosUntil(CallLog callLog, int permits, long now) {
+        if (callLog == null || callLog.remaining() >= permits) {
+            return 0;
+        }
+        if (permits > callLog.capacity()) {
+            return Long.MAX_VALUE;
+        }
+        // A vaga que faltar por último abre quando a k-ésima chamada mais antiga sair da janela
+        return callLog.nanosUntilExpired(permits - callLog.remaining(), now);
+    }
+
+    /** Instantes das chamadas dentro de uma janela; sempre acessado com o lock da ProviderQuota. */
+    private static final class CallLog {
+
+        private final long[] calls;
+        private final long windowNanos;
+        private int start;
+        private int count;
+
+        private CallLog(int capacity, Window window) {
+            this.calls = new long[capacity];
+            this.windowNanos = window.length.toNanos();
+        }
+
+        private int capacity() {
+            return calls.length;
+        }
+
+        private int remaining() {
+            return calls.length - count;
+        }
+
+        private void prune(long now) {
+            while (count > 0 && now - calls[start] >= windowNanos) {
+                start = (start + 1) % calls.length;
+                count--;
+            }
+        }
+
+        private void record(long now, int permits) {
+            for (int i = 0; i < permits; i++) {
+                calls[(start + count) % calls.length] = now;
+                count++;
+            }
+        }
+
+        /** Tempo até as {@code oldest} chamadas mais antigas saírem da janela. */
+        private long nanosUntilExpired(int oldest, long now) {
+            long call = calls[(start + oldest - 1) % calls.length];
+            return Math.max(0, call + windowNanos - now);
+        }
+    }
+}
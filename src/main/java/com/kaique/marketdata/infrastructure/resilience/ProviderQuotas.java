@@ -0,0 +1,145 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cotas de requisição por provider (janela deslizante por minuto e por dia).
+ *
+ * Configuração via application.properties, por chave de provider (nome da classe sem o sufixo
+ * "Provider", em minúsculas):
+ * - provider.quota.{coingecko|brapi|alphavantage}.per-minute
+ * - provider.quota.{coingecko|brapi|alphavantage}.per-day
+ *
+ * Sem valor (ou 0) = sem limite naquela janela. O MarketDataService consulta a cota antes de cada
+ * chamada e pula o provider sem saldo, em vez de gastar uma requisição que voltaria com erro de limite.
+ */
+@Component
+public class ProviderQuotas {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderQuotas.class);
+    private static final String PROVIDER_SUFFIX = "Provider";
+
+    private final Map<String, ProviderQuota> quotas = new HashMap<>();
+    private final ProviderMetrics metrics;
+
+    public ProviderQuotas(List<MarketDataProvider> providers, Environment environment, ProviderMetrics metrics) {
+        this.metrics = metrics;
+
+        for (MarketDataProvider provider : providers) {
+            String providerName = provider.getClass().getSimpleName();
+            String prefix = "provider.quota." + configKey(providerName) + ".";
+            int perMinute = environment.getProperty(prefix + "per-minute", Integer.class, 0);
+            int perDay = environment.getProperty(prefix + "per-day", Integer.class, 0);
+
+            if (perMinute <= 0 && perDay <= 0) {
+                continue;
+            }
+
+            ProviderQuota quota = new ProviderQuota(providerName, perMinute, perDay);
+            quotas.put(providerName, quota);
+            for (ProviderQuota.Window window : ProviderQuota.Window.values()) {
+                if (quota.isLimited(window)) {
+                    metrics.registerQuotaRemaining(providerName, window.name().toLowerCase(Locale.ROOT),
+                            quota, q -> q.remaining(window));
+                }
+            }
+            log.info("Cota configurada para {}: {}/min, {}/dia", providerName,
+                    perMinute > 0 ? perMinute : "∞", perDay > 0 ? perDay : "∞");
+        }
+    }
+
+    /** Usado para filtrar providers antes do fallback: sem saldo = pula sem chamar. */
+    public boolean hasRemaining(String providerName) {
+        ProviderQuota quota = quotas.get(providerName);
+        return quota == null || quota.hasRemaining();
+    }
+
+    /**
+     * Consome {@code permits} chamadas da cota do provider.
+     *
+     * @throws QuotaExceededException se alguma janela não tiver saldo suficiente
+     */
+    public void acquire(String providerName, int permits) {
+        if (tryAcquire(providerName, permits)) {
+            return;
+        }
+
+        ProviderQuota quota = quotas.get(providerName);
+        throw new QuotaExceededException(providerName,
+                "Cota de requisições esgotada (" + permits + " chamada(s) necessária(s))",
+                quota.timeUntilAvailable(permits));
+    }
+
+    /**
+     * Como {@link #acquire}, mas sem exceção: devolve false se alguma janela não tiver saldo.
+     * Usado para requisições extras no meio de uma chamada (ex: o fallback individual do lote da Brapi).
+     */
+    public boolean tryAcquire(String providerName, int permits) {
+        ProviderQuota quota = quotas.get(providerName);
+        if (quota == null || quota.tryAcquire(permits)) {
+            return true;
+        }
+
+        metrics.recordQuotaRejected(providerName);
+        return false;
+    }
+
+    /**
+     * Fração da cota ainda disponível (1.0 sem cota configurada). Usada por chamadas em segundo plano
+     * (refresh-ahead) para deixar uma reserva para as requisições dos clientes.
+     */
+    public double remainingFraction(String providerName) {
+        ProviderQuota quota = quotas.get(providerName);
+        return quota == null ? 1.0 : quota.remainingFraction();
+    }
+
+    /** Tempo até o provider ter saldo para uma chamada (zero se não houver cota configurada). */
+    public Duration timeUntilAvailable(String providerName) {
+        ProviderQuota quota = quotas.get(providerName);
+        return quota == null ? Duration.ZERO : quota.timeUntilAvailable(1);
+    }
+
+    /**
+     * O provider respondeu que o limite foi atingido: zera a janela a que a mensagem se refere para parar
+     * de chamá-lo. Por padrão só a do minuto (rajada, aviso da API key demo); a do dia só quando a mensagem
+     * fala do limite diário — zerar o dia bloqueia o provider por 24h.
+     */
+    public void exhaust(String providerName, String providerMessage) {
+        ProviderQuota quota = quotas.get(providerName);
+        if (quota != null) {
+            ProviderQuota.Window window = exhaustedWindow(providerMessage);
+            log.warn("Provider {} informou limite de requisições atingido; janela {} zerada: {}",
+                    providerName, window.name().toLowerCase(Locale.ROOT), providerMessage);
+            quota.exhaust(window);
+        }
+    }
+
+    /** Janela a que o aviso de limite do provider se refere (ex: "25 requests per day" → dia). */
+    static ProviderQuota.Window exhaustedWindow(String providerMessage) {
+        String message = providerMessage == null ? "" : providerMessage.toLowerCase(Locale.ROOT);
+        boolean daily = message.contains("per day") || message.contains("daily") || message.contains("/day");
+        return daily ? ProviderQuota.Window.DAY : ProviderQuota.Window.MINUTE;
+    }
+
+    // ========== Métodos privados ==========
+
+    /** AlphaVantageProvider → alphavantage (mesmas chaves de provider.http.*). */
+    private static String configKey(String providerName) {
+        String key = providerName.endsWith(PROVIDER_SUFFIX)
+                ? providerName.substring(0, providerName.length() - PROVIDER_SUFFIX.length())
+                : providerName;
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
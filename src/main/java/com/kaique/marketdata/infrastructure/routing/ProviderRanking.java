@@ -0,0 +1,237 @@
+package com.kaique.marketdata.infrastructure.routing;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ranking adaptativo de providers por MarketType.
+ *
+ * Para cada (MarketType, provider) mantém uma EWMA da latência das respostas com sucesso e
+ * uma EWMA da taxa de sucesso. O score é o custo esperado de uma chamada:
+ *   score = latênciaEwma / taxaDeSucessoEwma   (menor é melhor)
+ *
+ * Com market.routing.mode=adaptive, a ordem de fallback segue o ranking. Para não ficar
+ * alternando (flapping), um provider só passa à frente do vizinho se o seu score for
+ * pelo menos {@code hysteresis} melhor. O modo padrão (static) mantém a ordem do @Order.
+ *
+ * Como o fallback só chama o segundo provider quando o primeiro falha, uma pequena fração das
+ * chamadas ({@code explore-ratio}) começa por outro provider para manter as estatísticas vivas.
+ */
+@Component
+public class ProviderRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderRanking.class);
+    private static final double MIN_SUCCESS_RATE = 0.01;
+
+    private final Map<StatsKey, ProviderStats> stats = new ConcurrentHashMap<>();
+    private final Map<MarketType, List<String>> rankings = new EnumMap<>(MarketType.class);
+    // Lock em vez de synchronized: updateRanking loga dentro da seção crítica (evita pinning de virtual threads)
+    private final ReentrantLock rankingsLock = new ReentrantLock();
+    private final boolean adaptive;
+    private final double alpha;
+    private final double hysteresis;
+    private final long minSamples;
+    private final double exploreRatio;
+
+    public ProviderRanking(@Value("${market.routing.mode:static}") String mode,
+                           @Value("${market.routing.ewma-alpha:0.2}") double alpha,
+                           @Value("${market.routing.hysteresis:0.2}") double hysteresis,
+                           @Value("${market.routing.min-samples:5}") long minSamples,
+                           @Value("${market.routing.explore-ratio:0.02}") double exploreRatio) {
+        this.adaptive = "adaptive".equalsIgnoreCase(mode.trim());
+        this.alpha = alpha;
+        this.hysteresis = hysteresis;
+        this.minSamples = minSamples;
+        this.exploreRatio = exploreRatio;
+        log.info("ProviderRanking inicializado: mode={}, alpha={}, hysteresis={}", mode, alpha, hysteresis);
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /** Registra o resultado de uma chamada (sempre coletado, mesmo no modo static). */
+    public void record(MarketType marketType, String providerName, long durationNanos, boolean success) {
+        stats.computeIfAbsent(new StatsKey(marketType, providerName), key -> new ProviderStats())
+                .update(durationNanos / 1_000_000.0, success, alpha);
+    }
+
+    /**
+     * Ordena os providers suportados conforme o ranking atual (modo adaptive).
+     * No modo static devolve a lista como veio (ordem do @Order).
+     */
+    public List<MarketDataProvider> order(MarketType marketType, List<MarketDataProvider> supported) {
+        if (!adaptive || supported.size() < 2) {
+            return supported;
+        }
+
+        List<String> ranking = updateRanking(marketType, supported);
+
+        List<MarketDataProvider> ordered = new ArrayList<>(supported.stream()
+                .sorted(Comparator.comparingInt(p -> ranking.indexOf(p.getClass().getSimpleName())))
+                .toList());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < exploreRatio) {
+            // Exploração: um provider que não é o primeiro vai à frente nesta chamada
+            ordered.add(0, ordered.remove(1 + random.nextInt(ordered.size() - 1)));
+        }
+        return ordered;
+    }
+
+    /**
+     * Ordem atual do ranking, só para consulta: não reavalia as trocas nem sorteia exploração.
+     * Providers que ainda não entraram no ranking ficam no fim, na ordem do @Order.
+     */
+    public List<MarketDataProvider> currentOrder(MarketType marketType, List<MarketDataProvider> supported) {
+        if (!adaptive || supported.size() < 2) {
+            return supported;
+        }
+
+        List<String> ranking;
+        rankingsLock.lock();
+        try {
+            ranking = rankings.getOrDefault(marketType, List.of());
+        } finally {
+            rankingsLock.unlock();
+        }
+
+        return supported.stream()
+                .sorted(Comparator.comparingInt(p -> {
+                    int index = ranking.indexOf(p.getClass().getSimpleName());
+                    return index < 0 ? Integer.MAX_VALUE : index;
+                }))
+                .toList();
+    }
+
+    /** Snapshot do ranking para o endpoint do Actuator. */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", adaptive ? "adaptive" : "static");
+
+        Map<String, Object> byType = new LinkedHashMap<>();
+        for (MarketType marketType : MarketType.values()) {
+            Map<String, Object> providers = new LinkedHashMap<>();
+            stats.forEach((key, value) -> {
+                if (key.marketType() == marketType) {
+                    providers.put(key.providerName(), value.toMap());
+                }
+            });
+
+            if (!providers.isEmpty()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                rankingsLock.lock();
+                try {
+                    entry.put("order", rankings.getOrDefault(marketType, List.of()));
+                } finally {
+                    rankingsLock.unlock();
+                }
+                entry.put("providers", providers);
+                byType.put(marketType.name(), entry);
+            }
+        }
+
+        result.put("marketTypes", byType);
+        return result;
+    }
+
+    // ========== Métodos privados ==========
+
+    /**
+     * Atualiza o ranking com uma passada de trocas entre vizinhos, respeitando a histerese.
+     * Providers ainda sem amostras suficientes mantêm a posição.
+     */
+    private List<String> updateRanking(MarketType marketType, List<MarketDataProvider> supported) {
+        rankingsLock.lock();
+        try {
+            List<String> ranking = new ArrayList<>(rankings.getOrDefault(marketType, List.of()));
+
+            for (MarketDataProvider provider : supported) {
+                String name = provider.getClass().getSimpleName();
+                if (!ranking.contains(name)) {
+                    ranking.add(name);
+                }
+            }
+
+            for (int i = 1; i < ranking.size(); i++) {
+                ProviderStats ahead = stats.get(new StatsKey(marketType, ranking.get(i - 1)));
+                ProviderStats challenger = stats.get(new StatsKey(marketType, ranking.get(i)));
+
+                if (ahead == null || challenger == null
+                        || ahead.samples() < minSamples || challenger.samples() < minSamples) {
+                    continue;
+                }
+
+                if (challenger.score() < ahead.score() * (1 - hysteresis)) {
+                    log.info("Ranking {}: {} passa à frente de {} (score {} < {})", marketType,
+                            ranking.get(i), ranking.get(i - 1),
+                            String.format("%.1f", challenger.score()), String.format("%.1f", ahead.score()));
+                    ranking.set(i - 1, ranking.set(i, ranking.get(i - 1)));
+                }
+            }
+
+            List<String> updated = List.copyOf(ranking);
+            rankings.put(marketType, updated);
+            return updated;
+        } finally {
+            rankingsLock.unlock();
+        }
+    }
+
+    private record StatsKey(MarketType marketType, String providerName) {
+    }
+
+    /** EWMAs de latência (ms) e taxa de sucesso de um provider para um MarketType. */
+    private static final class ProviderStats {
+
+        private double latencyEwmaMs = Double.NaN;
+        private double successEwma = 1.0;
+        private long samples;
+
+        synchronized void update(double latencyMs, boolean success, double alpha) {
+            samples++;
+            successEwma = alpha * (success ? 1.0 : 0.0) + (1 - alpha) * successEwma;
+
+            // Falhas costumam ser rápidas (ex: 429) e distorceriam a latência: só entra sucesso
+            if (success) {
+                latencyEwmaMs = Double.isNaN(latencyEwmaMs)
+                        ? latencyMs
+                        : alpha * latencyMs + (1 - alpha) * latencyEwmaMs;
+            }
+        }
+
+        synchronized long samples() {
+            return samples;
+        }
+
+        synchronized double score() {
+            if (Double.isNaN(latencyEwmaMs)) {
+                return Double.MAX_VALUE;
+            }
+            return latencyEwmaMs / Math.max(successEwma, MIN_SUCCESS_RATE);
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("latencyEwmaMs", Double.isNaN(latencyEwmaMs) ? null : Math.round(latencyEwmaMs * 10) / 10.0);
+            map.put("successRate", Math.round(successEwma * 1000) / 1000.0);
+            map.put("score", Double.isNaN(latencyEwmaMs) ? null : Math.round(score() * 10) / 10.0);
+            map.put("samples", samples);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kaique.marketdata.infrastructure.routing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint do Actuator com o ranking atual dos providers por MarketType.
+ *
+ * Consulta: GET /actuator/providerranking
+ */
+@Component
+@Endpoint(id = "providerranking")
+public class ProviderRankingEndpoint {
+
+    private final ProviderRanking ranking;
+
+    public ProviderRankingEndpoint(ProviderRanking ranking) {
+        this.ranking = ranking;
+    }
+
+    @ReadOperation
+    public Map<String, Object> ranking() {
+        return ranking.snapshot();
+    }
+}
@@ -0,0 +1,68 @@
+package com.kaique.marketdata.presentation.controller;
+
+import com.kaique.marketdata.application.service.AnalyticsService;
+import com.kaique.marketdata.domain.enums.TimeRange;
+import com.kaique.marketdata.domain.model.AssetRef;
+import com.kaique.marketdata.domain.model.CandleInterval;
+import com.kaique.marketdata.domain.model.PortfolioAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller REST para análises multi-mercado.
+ *
+ * Exemplos:
+ *   GET /analytics/portfolio?assets=STOCK:PETR4,STOCK:VALE3,CRYPTO:bitcoin&range=1y
+ *   GET /analytics/portfolio?assets=STOCK:PETR4,CRYPTO:bitcoin&range=3m&weights=0.7,0.3&interval=1d
+ */
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/portfolio")
+    public CompletableFuture<ResponseEntity<PortfolioAnalysis>> getPortfolioAnalysis(
+            @RequestParam("assets") String assets,
+            @RequestParam(value = "range", defaultValue = "1y") String range,
+            @RequestParam(value = "weights", required = false) String weights,
+            @RequestParam(value = "interval", required = false) String interval) {
+
+        log.info("GET /analytics/portfolio?assets={}&range={}", assets, range);
+
+        List<AssetRef> assetRefs = split(assets).stream()
+                .map(AssetRef::fromString)
+                .distinct()
+                .toList();
+        TimeRange timeRange = TimeRange.fromString(range);
+        CandleInterval candleInterval = interval != null ? CandleInterval.fromString(interval) : null;
+        // NumberFormatException é um IllegalArgumentException: vira 400
+        List<Double> weightList = weights != null
+                ? split(weights).stream().map(Double::valueOf).toList()
+                : null;
+
+        return analyticsService.analyze(assetRefs, timeRange, candleInterval, weightList)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    // ========== Métodos privados ==========
+
+    private List<String> split(String values) {
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
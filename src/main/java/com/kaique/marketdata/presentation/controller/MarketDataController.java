@@ -1,16 +1,40 @@
 package com.kaique.marketdata.presentation.controller;
 
+import com.kaique.marketdata.application.service.IndicatorService;
 import com.kaique.marketdata.application.service.MarketDataService;
+import com.kaique.marketdata.application.service.QuoteStreamHub;
+import com.kaique.marketdata.domain.enums.DownsampleMethod;
 import com.kaique.marketdata.domain.enums.MarketType;
 import com.kaique.marketdata.domain.enums.TimeRange;
-import com.kaique.marketdata.domain.model.Candle;
+import com.kaique.marketdata.domain.model.CandleInterval;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.IndicatorSeries;
+import com.kaique.marketdata.domain.model.IndicatorSpec;
 import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.domain.service.CandleDownsampler;
+import com.kaique.marketdata.domain.service.CandleResampler;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller REST para consultas de dados de mercado.
@@ -23,6 +47,27 @@ import java.util.List;
  *   GET /market/STOCK/PETR4.SA
  *   GET /market/STOCK/IBM
  *   GET /market/STOCK/PETR4.SA/history?range=1m
+ *   GET /market/CRYPTO/bitcoin/history?range=5y&maxPoints=500
+ *   GET /market/STOCK/PETR4.SA/history?range=1w&interval=1h
+ *   GET /market/STOCK/PETR4.SA/indicators?names=sma20,rsi14&range=1y
+ *   GET /market/STOCK?symbols=PETR4,VALE3,ITUB4
+ *   GET /market/CRYPTO/bitcoin/stream
+ *   GET /market/STOCK/stream?symbols=PETR4,VALE3
+ *
+ * Cotação e histórico são assíncronos: o handler devolve um CompletableFuture e a thread do
+ * Tomcat é liberada enquanto o provider responde (a resposta é escrita quando o future completa).
+ *
+ * Cotação, lote e histórico respondem com ETag fraco (hash do conteúdo) e Cache-Control: max-age igual ao
+ * tempo que a entrada ainda fica no cache do servidor — até lá, a resposta não muda. Com If-None-Match
+ * igual ao ETag atual, o Spring (HttpEntityMethodProcessor) responde 304 sem corpo.
+ *
+ * As respostas REST saem em JSON (padrão) ou CBOR (Accept: application/cbor) — ver ContentNegotiationConfig.
+ * Cada representação tem o próprio ETag, e as respostas levam Vary: Accept.
+ *
+ * Os endpoints /stream enviam Server-Sent Events (evento "quote" com o MarketData em JSON) a cada
+ * mudança de preço, a partir do poller compartilhado do QuoteStreamHub. Cada conexão tem um único sink
+ * (QuoteSseConnection): a cotação mais nova por símbolo e no máximo uma thread escrevendo, seja qual for o
+ * número de símbolos.
  */
 @RestController
 @RequestMapping("/market")
@@ -30,37 +75,248 @@ public class MarketDataController {
 
     private static final Logger log = LoggerFactory.getLogger(MarketDataController.class);
 
+    private static final long QUOTE_HASH_SEED = 0xCBF29CE484222325L;
+
     private final MarketDataService marketDataService;
+    private final IndicatorService indicatorService;
+    private final QuoteStreamHub quoteStreamHub;
+    private final ProviderMetrics metrics;
+    private final ExecutorService streamDispatchExecutor;
+    private final long sseTimeoutMs;
+    private final int maxStreamSymbols;
 
-    public MarketDataController(MarketDataService marketDataService) {
+    public MarketDataController(MarketDataService marketDataService,
+                                IndicatorService indicatorService,
+                                QuoteStreamHub quoteStreamHub,
+                                ProviderMetrics metrics,
+                                @Qualifier("streamDispatchExecutor") ExecutorService streamDispatchExecutor,
+                                @Value("${market.stream.sse-timeout-ms:1800000}") long sseTimeoutMs,
+                                @Value("${market.batch.max-symbols:100}") int maxStreamSymbols) {
         this.marketDataService = marketDataService;
+        this.indicatorService = indicatorService;
+        this.quoteStreamHub = quoteStreamHub;
+        this.metrics = metrics;
+        this.streamDispatchExecutor = streamDispatchExecutor;
+        this.sseTimeoutMs = sseTimeoutMs;
+        this.maxStreamSymbols = maxStreamSymbols;
     }
 
     @GetMapping("/{type}/{symbol}")
-    public ResponseEntity<MarketData> getCurrentPrice(
+    public CompletableFuture<ResponseEntity<MarketData>> getCurrentPrice(
             @PathVariable("type") String type,
-            @PathVariable("symbol") String symbol) {
+            @PathVariable("symbol") String symbol,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         log.info("GET /market/{}/{}", type, symbol);
 
         MarketType marketType = MarketType.valueOf(type.toUpperCase());
-        MarketData data = marketDataService.getCurrentPrice(marketType, symbol);
 
-        return ResponseEntity.ok(data);
+        return marketDataService.getCurrentPriceAsync(marketType, symbol)
+                .thenApply(data -> ResponseEntity.ok()
+                        .eTag(eTag(quoteHash(QUOTE_HASH_SEED, data), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(cacheControl(marketDataService.quoteExpiresIn(marketType, symbol)))
+                        .body(data));
+    }
+
+    @GetMapping("/{type}")
+    public ResponseEntity<List<MarketData>> getCurrentPrices(
+            @PathVariable("type") String type,
+            @RequestParam("symbols") String symbols,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        log.info("GET /market/{}?symbols={}", type, symbols);
+
+        MarketType marketType = MarketType.valueOf(type.toUpperCase());
+        List<String> symbolList = parseSymbols(symbols);
+        List<MarketData> data = marketDataService.getCurrentPrices(marketType, symbolList);
+
+        long hash = QUOTE_HASH_SEED;
+        for (MarketData quote : data) {
+            hash = quoteHash(hash, quote);
+        }
+
+        // O lote só é válido enquanto todas as cotações estiverem em cache
+        Optional<Duration> expiresIn = Optional.empty();
+        for (String symbol : symbolList) {
+            Optional<Duration> quoteExpiresIn = marketDataService.quoteExpiresIn(marketType, symbol);
+            if (quoteExpiresIn.isEmpty()) {
+                expiresIn = Optional.empty();
+                break;
+            }
+            if (expiresIn.isEmpty() || quoteExpiresIn.get().compareTo(expiresIn.get()) < 0) {
+                expiresIn = quoteExpiresIn;
+            }
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag(hash, accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(cacheControl(expiresIn))
+                .body(data);
+    }
+
+    @GetMapping(value = "/{type}/{symbol}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCurrentPrice(
+            @PathVariable("type") String type,
+            @PathVariable("symbol") String symbol) {
+
+        log.info("GET /market/{}/{}/stream", type, symbol);
+
+        return stream(MarketType.valueOf(type.toUpperCase()), List.of(symbol));
+    }
+
+    @GetMapping(value = "/{type}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCurrentPrices(
+            @PathVariable("type") String type,
+            @RequestParam("symbols") String symbols) {
+
+        log.info("GET /market/{}/stream?symbols={}", type, symbols);
+
+        MarketType marketType = MarketType.valueOf(type.toUpperCase());
+        List<String> symbolList = parseSymbols(symbols).stream().distinct().toList();
+
+        if (symbolList.isEmpty() || symbolList.size() > maxStreamSymbols) {
+            throw new IllegalArgumentException(
+                    "Informe entre 1 e " + maxStreamSymbols + " símbolos (recebidos: " + symbolList.size() + ")");
+        }
+
+        return stream(marketType, symbolList);
     }
 
     @GetMapping("/{type}/{symbol}/history")
-    public ResponseEntity<List<Candle>> getHistory(
+    public CompletableFuture<ResponseEntity<CandleSeries>> getHistory(
+            @PathVariable("type") String type,
+            @PathVariable("symbol") String symbol,
+            @RequestParam(value = "range", defaultValue = "1m") String range,
+            @RequestParam(value = "interval", required = false) String interval,
+            @RequestParam(value = "maxPoints", required = false) Integer maxPoints,
+            @RequestParam(value = "downsample", defaultValue = "ohlc") String downsample,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        log.info("GET /market/{}/{}/history?range={}&interval={}&maxPoints={}",
+                type, symbol, range, interval, maxPoints);
+
+        MarketType marketType = MarketType.valueOf(type.toUpperCase());
+        TimeRange timeRange = TimeRange.fromString(range);
+        CandleInterval candleInterval = interval != null ? CandleInterval.fromString(interval) : null;
+        DownsampleMethod method = DownsampleMethod.fromString(downsample);
+
+        return marketDataService.getHistoryAsync(marketType, symbol, timeRange)
+                .thenApply(series -> reshape(series, candleInterval, maxPoints, method))
+                .thenApply(series -> ResponseEntity.ok()
+                        .eTag(eTag(series.contentHash(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(cacheControl(
+                                marketDataService.historyExpiresIn(marketType, symbol, timeRange)))
+                        .body(series));
+    }
+
+    @GetMapping("/{type}/{symbol}/indicators")
+    public CompletableFuture<ResponseEntity<IndicatorSeries>> getIndicators(
             @PathVariable("type") String type,
             @PathVariable("symbol") String symbol,
-            @RequestParam(value = "range", defaultValue = "1m") String range) {
+            @RequestParam("names") String names,
+            @RequestParam(value = "range", defaultValue = "1m") String range,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        log.info("GET /market/{}/{}/history?range={}", type, symbol, range);
+        log.info("GET /market/{}/{}/indicators?names={}&range={}", type, symbol, names, range);
 
         MarketType marketType = MarketType.valueOf(type.toUpperCase());
         TimeRange timeRange = TimeRange.fromString(range);
-        List<Candle> history = marketDataService.getHistory(marketType, symbol, timeRange);
+        List<IndicatorSpec> specs = parseSymbols(names).stream()
+                .map(IndicatorSpec::fromString)
+                .distinct()
+                .toList();
+
+        return indicatorService.getIndicatorsAsync(marketType, symbol, timeRange, specs)
+                .thenApply(indicators -> ResponseEntity.ok()
+                        .eTag(eTag(indicators.contentHash(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(cacheControl(
+                                marketDataService.historyExpiresIn(marketType, symbol, timeRange)))
+                        .body(indicators));
+    }
+
+    // ========== Métodos privados ==========
+
+    /** Reagrupa no interval pedido e depois reduz a maxPoints (cada etapa só quando pedida). */
+    private static CandleSeries reshape(CandleSeries series, CandleInterval interval, Integer maxPoints,
+                                        DownsampleMethod method) {
+        CandleSeries result = interval != null ? CandleResampler.resample(series, interval) : series;
+        return maxPoints != null ? CandleDownsampler.downsample(result, maxPoints, method) : result;
+    }
+
+    private List<String> parseSymbols(String symbols) {
+        return Arrays.stream(symbols.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    /**
+     * max-age = tempo restante da entrada no cache do servidor. Fora do cache (ou expirando em menos de 1s),
+     * no-cache: o cliente pode guardar a resposta, mas revalida com If-None-Match a cada uso.
+     */
+    private static CacheControl cacheControl(Optional<Duration> expiresIn) {
+        long seconds = expiresIn.map(Duration::toSeconds).orElse(0L);
+        return seconds > 0 ? CacheControl.maxAge(seconds, TimeUnit.SECONDS).cachePublic() : CacheControl.noCache();
+    }
+
+    /**
+     * ETag fraco da representação: o mesmo conteúdo em CBOR não pode ter a tag do JSON.
+     * Segue a escolha do Spring: o primeiro tipo aceito (por especificidade e qualidade) compatível
+     * com JSON ou CBOR; *&#47;* e Accept ausente ficam com JSON.
+     *
+     * Fraco porque o Tomcat não comprime respostas com ETag forte (server.compression seria ignorado).
+     * Para GET, o If-None-Match usa comparação fraca: o 304 continua funcionando.
+     */
+    private static String eTag(long hash, String accept) {
+        return "W/\"" + Long.toHexString(hash) + representationSuffix(accept) + "\"";
+    }
+
+    private static String representationSuffix(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        try {
+            List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType mediaType : accepted) {
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return "";
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    return "-cbor";
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Accept inválido: a negociação do Spring responde o erro
+        }
+        return "";
+    }
+
+    /** Acumula no hash todos os campos serializados da cotação (pelo texto: estável entre instâncias). */
+    private static long quoteHash(long hash, MarketData data) {
+        for (Object field : new Object[]{data.symbol(), data.name(), data.currentPrice(), data.currency(),
+                data.changePercent24h(), data.marketCap(), data.volume24h(), data.marketType(),
+                data.providerType(), data.timestamp()}) {
+            hash = (Long.rotateLeft(hash, 27) ^ String.valueOf(field).hashCode()) * 0x9E3779B97F4A7C15L;
+        }
+        return hash;
+    }
+
+    /**
+     * Uma assinatura no QuoteStreamHub por símbolo, todas entregando no mesmo QuoteSseConnection
+     * e canceladas quando a conexão termina.
+     */
+    private SseEmitter stream(MarketType marketType, List<String> symbols) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        QuoteSseConnection connection = new QuoteSseConnection(emitter, metrics, streamDispatchExecutor);
+
+        symbols.forEach(symbol -> connection.subscribe(symbol,
+                listener -> quoteStreamHub.subscribe(marketType, symbol, QuoteSseConnection.CHANNEL, listener)));
 
-        return ResponseEntity.ok(history);
+        return emitter;
     }
 }
@@ -0,0 +1,129 @@
+package com.kaique.marketdata.presentation.controller;
+
+import com.kaique.marketdata.application.service.QuoteStreamHub.QuoteListener;
+import com.kaique.marketdata.application.service.QuoteStreamHub.Subscription;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Estado de uma conexão SSE de cotações (um ou vários símbolos).
+ *
+ * Os listeners registrados no QuoteStreamHub não escrevem na conexão: só guardam a cotação em um mapa por símbolo
+ * (a mais nova de cada um) e disparam um único drain no streamDispatchExecutor, que escreve os eventos "quote".
+ * Por mais símbolos que assine, a conexão ocupa no máximo uma thread de entrega, e um cliente lento recebe só a
+ * cotação mais recente de cada símbolo. Como no QuoteWebSocketSession, a memória por conexão fica limitada ao
+ * número de símbolos.
+ */
+class QuoteSseConnection {
+
+    static final String CHANNEL = "sse";
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteSseConnection.class);
+
+    private final SseEmitter emitter;
+    private final ProviderMetrics metrics;
+    private final ExecutorService dispatchExecutor;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Map<String, MarketData> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    QuoteSseConnection(SseEmitter emitter, ProviderMetrics metrics, ExecutorService dispatchExecutor) {
+        this.emitter = emitter;
+        this.metrics = metrics;
+        this.dispatchExecutor = dispatchExecutor;
+
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    /** Assina o símbolo usando {@code subscribe} para registrar o listener no hub. */
+    void subscribe(String symbol, Function<QuoteListener, Subscription> subscribe) {
+        String key = symbol.trim().toUpperCase(Locale.ROOT);
+        Subscription subscription = subscribe.apply(data -> onQuote(key, data));
+        subscriptions.add(subscription);
+
+        // A conexão pode ter terminado durante a assinatura
+        if (closed.get()) {
+            subscription.cancel();
+        }
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            subscriptions.forEach(Subscription::cancel);
+            pending.clear();
+        }
+    }
+
+    // ========== Métodos privados ==========
+
+    /** Chamado pelo hub: não bloqueia, só substitui a cotação pendente do símbolo. */
+    private void onQuote(String key, MarketData data) {
+        if (closed.get()) {
+            return;
+        }
+        if (pending.put(key, data) != null) {
+            metrics.recordStreamDropped(CHANNEL, "conflated");
+        }
+        if (draining.compareAndSet(false, true)) {
+            try {
+                dispatchExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        while (!closed.get()) {
+            if (pending.isEmpty()) {
+                draining.set(false);
+                // Uma cotação pode ter chegado entre o isEmpty e o set(false)
+                if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+
+            for (String key : List.copyOf(pending.keySet())) {
+                MarketData data = pending.remove(key);
+                if (data != null && !send(data)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean send(MarketData data) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("quote")
+                    .data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Inclui IllegalStateException: emitter já completado
+            log.debug("Stream SSE: envio falhou ({}), encerrando a conexão", e.getMessage());
+            metrics.recordStreamDropped(CHANNEL, "error");
+            close();
+            return false;
+        }
+    }
+}
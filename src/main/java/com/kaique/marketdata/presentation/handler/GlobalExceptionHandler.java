@@ -1,8 +1,10 @@
 package com.kaique.marketdata.presentation.handler;
 
 import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -34,6 +36,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(body);
     }
 
+    @ExceptionHandler(QuotaExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleQuotaExceeded(QuotaExceededException ex) {
+        log.warn("Cota esgotada no provider {}: {}", ex.getProviderName(), ex.getMessage());
+
+        Map<String, Object> body = Map.of(
+                "error", "Limite de requisições aos provedores atingido",
+                "provider", ex.getProviderName(),
+                "message", ex.getMessage(),
+                "timestamp", Instant.now().toString()
+        );
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfter() != null) {
+            // Retry-After em segundos, arredondado para cima
+            long seconds = (ex.getRetryAfter().toMillis() + 999) / 1000;
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, seconds)));
+        }
+        return response.body(body);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
         log.warn("Argumento inválido: {}", ex.getMessage());
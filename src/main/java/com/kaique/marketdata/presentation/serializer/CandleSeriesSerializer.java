@@ -0,0 +1,61 @@
+package com.kaique.marketdata.presentation.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Serializa CandleSeries direto dos arrays, sem criar um Candle por ponto.
+ *
+ * O JSON tem o mesmo formato de List&lt;Candle&gt;:
+ * <pre>
+ *   [ { "timestamp": 1769731200, "open": 37.23, "high": 37.98, "low": 37.02, "close": 37.76, "volume": 45761300 }, ... ]
+ * </pre>
+ * Registrado no ObjectMapper do Spring via @JsonComponent.
+ */
+@JsonComponent
+public class CandleSeriesSerializer extends JsonSerializer<CandleSeries> {
+
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString OPEN = new SerializedString("open");
+    private static final SerializableString HIGH = new SerializedString("high");
+    private static final SerializableString LOW = new SerializedString("low");
+    private static final SerializableString CLOSE = new SerializedString("close");
+    private static final SerializableString VOLUME = new SerializedString("volume");
+
+    @Override
+    public void serialize(CandleSeries series, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        int size = series.size();
+        gen.writeStartArray(series, size);
+
+        for (int i = 0; i < size; i++) {
+            gen.writeStartObject();
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeNumber(series.timestampAt(i));
+            gen.writeFieldName(OPEN);
+            gen.writeNumber(series.openAt(i));
+            gen.writeFieldName(HIGH);
+            gen.writeNumber(series.highAt(i));
+            gen.writeFieldName(LOW);
+            gen.writeNumber(series.lowAt(i));
+            gen.writeFieldName(CLOSE);
+            gen.writeNumber(series.closeAt(i));
+            gen.writeFieldName(VOLUME);
+            gen.writeNumber(series.volumeAt(i));
+            gen.writeEndObject();
+        }
+
+        gen.writeEndArray();
+    }
+
+    @Override
+    public Class<CandleSeries> handledType() {
+        return CandleSeries.class;
+    }
+}
@@ -0,0 +1,60 @@
+package com.kaique.marketdata.presentation.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.kaique.marketdata.domain.model.IndicatorSeries;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Serializa IndicatorSeries direto dos arrays:
+ * <pre>
+ *   { "timestamps": [1769731200, ...], "indicators": { "sma20": [null, ..., 37.51], "rsi14": [...] } }
+ * </pre>
+ * Valores NaN (indicador ainda sem candles suficientes) saem como null.
+ */
+@JsonComponent
+public class IndicatorSeriesSerializer extends JsonSerializer<IndicatorSeries> {
+
+    private static final SerializableString TIMESTAMPS = new SerializedString("timestamps");
+    private static final SerializableString INDICATORS = new SerializedString("indicators");
+
+    @Override
+    public void serialize(IndicatorSeries series, JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+        long[] timestamps = series.timestamps();
+
+        gen.writeStartObject();
+        gen.writeFieldName(TIMESTAMPS);
+        gen.writeArray(timestamps, 0, timestamps.length);
+
+        gen.writeFieldName(INDICATORS);
+        gen.writeStartObject();
+        for (Map.Entry<String, double[]> line : series.lines().entrySet()) {
+            double[] values = line.getValue();
+            gen.writeFieldName(line.getKey());
+            gen.writeStartArray(values, values.length);
+            for (double value : values) {
+                if (Double.isNaN(value)) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+    }
+
+    @Override
+    public Class<IndicatorSeries> handledType() {
+        return IndicatorSeries.class;
+    }
+}
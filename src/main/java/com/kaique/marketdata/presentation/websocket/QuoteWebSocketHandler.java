@@ -0,0 +1,161 @@
+package com.kaique.marketdata.presentation.websocket;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaique.marketdata.application.service.QuoteStreamHub;
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Gateway WebSocket de cotações (/ws/market): uma conexão, muitas assinaturas.
+ *
+ * Mensagens do cliente:
+ *   {"action": "subscribe",   "type": "STOCK", "symbols": ["PETR4", "VALE3"]}
+ *   {"action": "unsubscribe", "type": "STOCK", "symbols": ["VALE3"]}
+ *
+ * Mensagens do servidor:
+ *   {"type": "update", "quotes": [{"t": "STOCK", "s": "PETR4", "p": 38.52, "c": 1.2, ...}]}
+ *   {"type": "subscribed" | "unsubscribed", "symbols": [...]}
+ *   {"type": "error", "message": "..."}
+ *
+ * Cada cotação do update traz só os campos que mudaram desde o último envio daquele símbolo para o cliente
+ * (o primeiro envio é completo). Os símbolos usam o poller compartilhado do QuoteStreamHub (mesmo do SSE).
+ * O ritmo de envio por conexão e o controle de clientes lentos ficam no QuoteWebSocketSession.
+ */
+@Component
+public class QuoteWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteWebSocketHandler.class);
+    static final String CHANNEL = "websocket";
+
+    private final Map<String, QuoteWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final QuoteStreamHub quoteStreamHub;
+    private final ObjectMapper objectMapper;
+    private final ProviderMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatchExecutor;
+    private final Duration minFlushInterval;
+    private final int maxSubscriptions;
+    private final int sendTimeLimitMs;
+    private final int bufferSizeLimit;
+
+    public QuoteWebSocketHandler(QuoteStreamHub quoteStreamHub,
+                                 ObjectMapper objectMapper,
+                                 ProviderMetrics metrics,
+                                 @Qualifier("streamPollerScheduler") ScheduledExecutorService scheduler,
+                                 @Qualifier("streamDispatchExecutor") ExecutorService dispatchExecutor,
+                                 @Value("${market.ws.max-updates-per-second:4}") int maxUpdatesPerSecond,
+                                 @Value("${market.ws.max-subscriptions:500}") int maxSubscriptions,
+                                 @Value("${market.ws.send-time-limit-ms:10000}") int sendTimeLimitMs,
+                                 @Value("${market.ws.buffer-size-limit:524288}") int bufferSizeLimit) {
+        this.quoteStreamHub = quoteStreamHub;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.scheduler = scheduler;
+        this.dispatchExecutor = dispatchExecutor;
+        this.minFlushInterval = Duration.ofMillis(1000L / Math.max(1, maxUpdatesPerSecond));
+        this.maxSubscriptions = maxSubscriptions;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+
+        metrics.registerStreamGauge("connections", CHANNEL, "Conexões WebSocket abertas", sessions, Map::size);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // Envio thread-safe; uma escrita parada além do limite de tempo ou de buffer encerra a conexão
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs,
+                bufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+
+        sessions.put(session.getId(), new QuoteWebSocketSession(concurrent, objectMapper, metrics,
+                scheduler, dispatchExecutor, minFlushInterval));
+        log.info("WebSocket conectado: {} ({} conexão(ões))", session.getId(), sessions.size());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        QuoteWebSocketSession client = sessions.get(session.getId());
+        if (client == null) {
+            return;
+        }
+
+        ClientMessage request;
+        try {
+            request = objectMapper.readValue(message.getPayload(), ClientMessage.class);
+        } catch (JsonProcessingException e) {
+            client.sendError("Mensagem inválida: " + e.getOriginalMessage());
+            return;
+        }
+
+        try {
+            MarketType marketType = MarketType.valueOf(String.valueOf(request.type()).toUpperCase());
+            List<String> symbols = request.symbols() == null ? List.of() : request.symbols().stream()
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .distinct()
+                    .toList();
+
+            switch (String.valueOf(request.action())) {
+                case "subscribe" -> subscribe(client, marketType, symbols);
+                case "unsubscribe" -> {
+                    symbols.forEach(symbol -> client.unsubscribe(marketType, symbol));
+                    client.sendAck("unsubscribed", symbols);
+                }
+                default -> client.sendError("Ação desconhecida: " + request.action());
+            }
+        } catch (IllegalArgumentException e) {
+            client.sendError(e.getMessage());
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Erro de transporte no WebSocket {}: {}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        QuoteWebSocketSession client = sessions.remove(session.getId());
+        if (client != null) {
+            client.close();
+        }
+        log.info("WebSocket desconectado: {} ({})", session.getId(), status);
+    }
+
+    // ========== Métodos privados ==========
+
+    private void subscribe(QuoteWebSocketSession client, MarketType marketType, List<String> symbols) {
+        if (client.subscriptionCount() + symbols.size() > maxSubscriptions) {
+            throw new IllegalArgumentException("Limite de " + maxSubscriptions + " assinaturas por conexão");
+        }
+
+        for (String symbol : symbols) {
+            client.subscribe(marketType, symbol, listener -> quoteStreamHub.subscribe(marketType, symbol,
+                    CHANNEL, listener));
+        }
+        client.sendAck("subscribed", symbols);
+    }
+
+    /** Mensagem enviada pelo cliente. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ClientMessage(String action, String type, List<String> symbols) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.kaique.marketdata.presentation.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaique.marketdata.application.service.QuoteStreamHub.QuoteListener;
+import com.kaique.marketdata.application.service.QuoteStreamHub.Subscription;
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Estado de uma conexão do gateway WebSocket.
+ *
+ * As cotações recebidas do QuoteStreamHub ficam em um mapa por símbolo (só a mais nova de cada um) e saem juntas
+ * em uma única mensagem "update", no máximo a cada {@code minFlushInterval}. Enquanto a mensagem anterior ainda
+ * estiver sendo escrita (cliente lento), nada novo é enviado: as cotações continuam sendo substituídas no mapa.
+ * A memória por conexão fica limitada ao número de assinaturas, não ao volume de atualizações.
+ */
+class QuoteWebSocketSession {
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteWebSocketSession.class);
+
+    private final WebSocketSession session;
+    private final ObjectMapper objectMapper;
+    private final ProviderMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatchExecutor;
+    private final long minFlushIntervalNanos;
+
+    private final Map<QuoteKey, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final Map<QuoteKey, MarketData> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // lastSent só é usado dentro de flush(), com o lock
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Map<QuoteKey, MarketData> lastSent = new HashMap<>();
+    private volatile long lastFlushNanos;
+
+    QuoteWebSocketSession(WebSocketSession session, ObjectMapper objectMapper, ProviderMetrics metrics,
+                          ScheduledExecutorService scheduler, ExecutorService dispatchExecutor,
+                          Duration minFlushInterval) {
+        this.session = session;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.scheduler = scheduler;
+        this.dispatchExecutor = dispatchExecutor;
+        this.minFlushIntervalNanos = minFlushInterval.toNanos();
+        this.lastFlushNanos = System.nanoTime() - minFlushIntervalNanos;
+    }
+
+    int subscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Assina o símbolo (se ainda não assinado) usando {@code subscribe} para registrar o listener no hub.
+     * Depois do close não assina mais nada.
+     */
+    void subscribe(MarketType marketType, String symbol, Function<QuoteListener, Subscription> subscribe) {
+        QuoteKey key = QuoteKey.of(marketType, symbol);
+        Subscription[] created = new Subscription[1];
+        subscriptions.computeIfAbsent(key, k -> {
+            if (closed.get()) {
+                return null;
+            }
+            created[0] = subscribe.apply(data -> onQuote(k, data));
+            return created[0];
+        });
+
+        // O close pode ter rodado durante a assinatura e não ter visto a nova entrada
+        if (created[0] != null && closed.get()) {
+            subscriptions.remove(key, created[0]);
+            created[0].cancel();
+        }
+    }
+
+    void unsubscribe(MarketType marketType, String symbol) {
+        QuoteKey key = QuoteKey.of(marketType, symbol);
+        Subscription subscription = subscriptions.remove(key);
+        if (subscription != null) {
+            subscription.cancel();
+            pending.remove(key);
+        }
+    }
+
+    void sendAck(String type, List<String> symbols) {
+        send(Map.of("type", type, "symbols", symbols));
+    }
+
+    void sendError(String message) {
+        send(Map.of("type", "error", "message", message));
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            subscriptions.values().forEach(Subscription::cancel);
+            subscriptions.clear();
+            pending.clear();
+        }
+    }
+
+    // ========== Métodos privados ==========
+
+    private void onQuote(QuoteKey key, MarketData data) {
+        if (closed.get()) {
+            return;
+        }
+        if (pending.put(key, data) != null) {
+            metrics.recordStreamDropped(QuoteWebSocketHandler.CHANNEL, "conflated");
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (closed.get() || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        long delay = Math.max(0, lastFlushNanos + minFlushIntervalNanos - System.nanoTime());
+        try {
+            scheduler.schedule(this::dispatch, delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            flushScheduled.set(false);
+        }
+    }
+
+    /** A escrita pode bloquear: sai da thread do agendador. */
+    private void dispatch() {
+        try {
+            dispatchExecutor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            flushScheduled.set(false);
+        }
+    }
+
+    private void flush() {
+        flushLock.lock();
+        try {
+            if (closed.get()) {
+                return;
+            }
+
+            // Mensagem anterior ainda na fila de escrita (cliente lento): segura as cotações, que continuam
+            // sendo substituídas no mapa, e tenta de novo no próximo intervalo
+            boolean backlog = session instanceof ConcurrentWebSocketSessionDecorator decorator
+                    && decorator.getBufferSize() > 0;
+            if (!backlog) {
+                sendPending();
+            }
+            lastFlushNanos = System.nanoTime();
+        } finally {
+            flushScheduled.set(false);
+            flushLock.unlock();
+        }
+
+        // Cotações retidas ou que chegaram durante o envio (o scheduleFlush delas encontrou flushScheduled=true)
+        if (!pending.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private void sendPending() {
+        List<Map<String, Object>> quotes = new ArrayList<>();
+        for (QuoteKey key : List.copyOf(pending.keySet())) {
+            MarketData data = pending.remove(key);
+            if (data != null && subscriptions.containsKey(key)) {
+                quotes.add(delta(key, lastSent.get(key), data));
+                lastSent.put(key, data);
+            }
+        }
+        lastSent.keySet().retainAll(subscriptions.keySet());
+
+        if (!quotes.isEmpty()) {
+            send(Map.of("type", "update", "quotes", quotes));
+        }
+    }
+
+    private void send(Map<String, Object> payload) {
+        if (!session.isOpen()) {
+            close();
+            return;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+        } catch (IOException | RuntimeException e) {
+            // Inclui SessionLimitExceededException: cliente lento além do limite de tempo/buffer
+            log.debug("Falha ao enviar para o WebSocket {}: {}", session.getId(), e.getMessage());
+            metrics.recordStreamDropped(QuoteWebSocketHandler.CHANNEL, "error");
+            close();
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Falha ao fechar o WebSocket {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Campos compactos (t, s sempre; os demais só se mudaram desde o último envio):
+     * p=preço, c=variação 24h (%), v=volume 24h, m=market cap, n=nome, cur=moeda, pv=provider, ts=epoch millis.
+     */
+    private static Map<String, Object> delta(QuoteKey key, MarketData previous, MarketData current) {
+        boolean full = previous == null;
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("t", key.marketType());
+        fields.put("s", key.symbol());
+
+        if (full || changed(previous.currentPrice(), current.currentPrice())) {
+            putIfPresent(fields, "p", current.currentPrice());
+        }
+        if (full || changed(previous.changePercent24h(), current.changePercent24h())) {
+            putIfPresent(fields, "c", current.changePercent24h());
+        }
+        if (full || changed(previous.volume24h(), current.volume24h())) {
+            putIfPresent(fields, "v", current.volume24h());
+        }
+        if (full || changed(previous.marketCap(), current.marketCap())) {
+            putIfPresent(fields, "m", current.marketCap());
+        }
+        if (full || changed(previous.name(), current.name())) {
+            putIfPresent(fields, "n", current.name());
+        }
+        if (full || changed(previous.currency(), current.currency())) {
+            putIfPresent(fields, "cur", current.currency());
+        }
+        if (full || changed(previous.providerType(), current.providerType())) {
+            putIfPresent(fields, "pv", current.providerType());
+        }
+        if (current.timestamp() != null) {
+            fields.put("ts", current.timestamp().toEpochMilli());
+        }
+        return fields;
+    }
+
+    /** BigDecimal por compareTo: 38.50 e 38.5 são o mesmo preço. */
+    private static boolean changed(Object before, Object after) {
+        if (before instanceof BigDecimal previous && after instanceof BigDecimal current) {
+            return previous.compareTo(current) != 0;
+        }
+        return !Objects.equals(before, after);
+    }
+
+    private static void putIfPresent(Map<String, Object> fields, String name, Object value) {
+        if (value != null) {
+            fields.put(name, value);
+        }
+    }
+
+    private record QuoteKey(MarketType marketType, String symbol) {
+
+        static QuoteKey of(MarketType marketType, String symbol) {
+            return new QuoteKey(marketType, symbol.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
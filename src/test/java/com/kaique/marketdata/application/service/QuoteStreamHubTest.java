@@ -0,0 +1,97 @@
+package com.kaique.marketdata.application.service;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuoteStreamHubTest {
+
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "stream-poller-test"));
+    private final ExecutorService providerExecutor = Executors.newCachedThreadPool();
+    private final ExecutorService dispatchExecutor = Executors.newCachedThreadPool();
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final List<String> fetchThreads = new CopyOnWriteArrayList<>();
+    private final Map<String, MarketData> received = new ConcurrentHashMap<>();
+
+    private final QuoteStreamHub hub = new QuoteStreamHub(marketDataService,
+            new ProviderMetrics(new SimpleMeterRegistry()), scheduler, providerExecutor, dispatchExecutor,
+            50, 1_000, 100);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        providerExecutor.shutdownNow();
+        dispatchExecutor.shutdownNow();
+    }
+
+    @Test
+    void simbolosDoMesmoTipoSaoConsultadosEmLoteForaDoAgendador() throws Exception {
+        when(marketDataService.getCurrentPricesBySymbol(eq(MarketType.STOCK), anyList())).thenAnswer(invocation -> {
+            List<String> symbols = invocation.getArgument(1);
+            batches.add(List.copyOf(symbols));
+            fetchThreads.add(Thread.currentThread().getName());
+            return Map.of("PETR4", quote("PETR4", 30), "VALE3", quote("VALE3", 60));
+        });
+
+        hub.subscribe(MarketType.STOCK, "PETR4", "sse", data -> received.put(data.symbol(), data));
+        hub.subscribe(MarketType.STOCK, "VALE3", "sse", data -> received.put(data.symbol(), data));
+
+        awaitReceived(2);
+
+        assertThat(received).containsKeys("PETR4", "VALE3");
+        assertThat(batches).anySatisfy(batch -> assertThat(batch).containsExactlyInAnyOrder("PETR4", "VALE3"));
+        assertThat(fetchThreads).noneMatch(name -> name.startsWith("stream-poller"));
+    }
+
+    @Test
+    void simboloSemCotacaoNaoImpedeAEntregaDosDemais() throws Exception {
+        when(marketDataService.getCurrentPricesBySymbol(any(), anyList()))
+                .thenReturn(Map.of("PETR4", quote("PETR4", 30)));
+
+        hub.subscribe(MarketType.STOCK, "PETR4", "sse", data -> received.put(data.symbol(), data));
+        hub.subscribe(MarketType.STOCK, "XXXX3", "sse", data -> received.put(data.symbol(), data));
+
+        awaitReceived(1);
+
+        assertThat(received).containsOnlyKeys("PETR4");
+    }
+
+    // ========== Métodos privados ==========
+
+    private void awaitReceived(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(received).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private static MarketData quote(String symbol, int price) {
+        return new MarketData(symbol, symbol, BigDecimal.valueOf(price), "BRL", null, null, null,
+                MarketType.STOCK, null, Instant.EPOCH);
+    }
+}
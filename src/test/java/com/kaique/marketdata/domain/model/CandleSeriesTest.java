@@ -0,0 +1,131 @@
+package com.kaique.marketdata.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleSeriesTest {
+
+    private static final long DAY = 86_400;
+    private static final long START = 1_700_006_400;
+
+    @Test
+    void precosSobrevivemAoPontoFixoSemPerda() {
+        CandleSeries series = CandleSeries.builder()
+                .add(START, 30.12345678, 31.5, 0.00000001, 97_123.45, 1_500)
+                .build();
+
+        assertThat(series.rawOpenAt(0)).isEqualTo(3_012_345_678L);
+        assertThat(series.openAt(0)).isEqualTo(30.12345678);
+        assertThat(series.lowAt(0)).isEqualTo(0.00000001);
+        assertThat(series.closeAt(0)).isEqualTo(97_123.45);
+
+        Candle candle = series.toCandles().get(0);
+        assertThat(candle.open()).isEqualByComparingTo("30.12345678");
+        assertThat(candle.high()).isEqualByComparingTo("31.5");
+        assertThat(candle.volume()).isEqualByComparingTo("1500");
+
+        CandleSeries back = CandleSeries.fromCandles(series.toCandles());
+        assertThat(back.contentHash()).isEqualTo(series.contentHash());
+    }
+
+    @Test
+    void builderOrdenaPontosDecrescentesEForaDeOrdem() {
+        CandleSeries descending = CandleSeries.builder()
+                .add(START + 2 * DAY, 3, 3, 3, 3, 3)
+                .add(START + DAY, 2, 2, 2, 2, 2)
+                .add(START, 1, 1, 1, 1, 1)
+                .build();
+        CandleSeries shuffled = CandleSeries.builder()
+                .add(START + DAY, 2, 2, 2, 2, 2)
+                .add(START + 2 * DAY, 3, 3, 3, 3, 3)
+                .add(START, 1, 1, 1, 1, 1)
+                .build();
+
+        for (CandleSeries series : List.of(descending, shuffled)) {
+            assertThat(series.timestampAt(0)).isEqualTo(START);
+            assertThat(series.closeAt(0)).isEqualTo(1.0);
+            assertThat(series.lastTimestamp()).isEqualTo(START + 2 * DAY);
+            assertThat(series.volumeAt(2)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void sinceCortaPeloTimestamp() {
+        CandleSeries series = series(5);
+
+        assertThat(series.since(START)).isSameAs(series);
+        assertThat(series.since(START - DAY)).isSameAs(series);
+        assertThat(series.since(START + 5 * DAY).isEmpty()).isTrue();
+
+        // Timestamp entre dois candles: começa no seguinte
+        CandleSeries cut = series.since(START + 2 * DAY - 1);
+        assertThat(cut.size()).isEqualTo(3);
+        assertThat(cut.timestampAt(0)).isEqualTo(START + 2 * DAY);
+        assertThat(cut.closeAt(0)).isEqualTo(series.closeAt(2));
+    }
+
+    @Test
+    void wrapLeRegistrosSemCopiar() {
+        CandleSeries source = series(4);
+        // Cabeçalho de 16 bytes antes dos registros e meio registro sobrando no fim
+        ByteBuffer buffer = ByteBuffer.allocate(16 + 4 * CandleSeries.RECORD_BYTES + CandleSeries.RECORD_BYTES / 2);
+        buffer.position(16);
+        for (int i = 0; i < source.size(); i++) {
+            buffer.putLong(source.timestampAt(i))
+                    .putLong(source.rawOpenAt(i))
+                    .putLong(source.rawHighAt(i))
+                    .putLong(source.rawLowAt(i))
+                    .putLong(source.rawCloseAt(i))
+                    .putLong(source.volumeAt(i));
+        }
+        buffer.position(16);
+
+        CandleSeries wrapped = CandleSeries.wrap(buffer, source.scale());
+
+        assertThat(wrapped.size()).isEqualTo(4);
+        assertThat(wrapped.timestampAt(3)).isEqualTo(source.timestampAt(3));
+        assertThat(wrapped.highAt(1)).isEqualTo(source.highAt(1));
+        assertThat(wrapped.volumeAt(2)).isEqualTo(source.volumeAt(2));
+        assertThat(wrapped.contentHash()).isEqualTo(source.contentHash());
+
+        CandleSeries cut = wrapped.since(START + 2 * DAY);
+        assertThat(cut.size()).isEqualTo(2);
+        assertThat(cut.closeAt(0)).isEqualTo(source.closeAt(2));
+        assertThat(cut.contentHash()).isEqualTo(source.since(START + 2 * DAY).contentHash());
+    }
+
+    @Test
+    void contentHashMudaComQualquerValorOuEscala() {
+        CandleSeries base = series(3);
+        CandleSeries otherVolume = CandleSeries.builder()
+                .add(START, 30.0, 31.5, 29.0, 30.5, 1_000)
+                .add(START + DAY, 31.0, 32.5, 30.0, 31.5, 1_001)
+                .add(START + 2 * DAY, 32.0, 33.5, 31.0, 32.5, 1_003)
+                .build();
+        CandleSeries otherScale = CandleSeries.builder(3, 4)
+                .add(START, 30.0, 31.5, 29.0, 30.5, 1_000)
+                .add(START + DAY, 31.0, 32.5, 30.0, 31.5, 1_001)
+                .add(START + 2 * DAY, 32.0, 33.5, 31.0, 32.5, 1_002)
+                .build();
+
+        assertThat(series(3).contentHash()).isEqualTo(base.contentHash());
+        assertThat(otherVolume.contentHash()).isNotEqualTo(base.contentHash());
+        assertThat(otherScale.contentHash()).isNotEqualTo(base.contentHash());
+        assertThat(CandleSeries.empty().contentHash()).isNotEqualTo(base.contentHash());
+    }
+
+    // ========== Métodos privados ==========
+
+    private static CandleSeries series(int count) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        for (int i = 0; i < count; i++) {
+            double open = 30.0 + i;
+            builder.add(START + i * DAY, open, open + 1.5, open - 1.0, open + 0.5, 1_000L + i);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.enums.DownsampleMethod;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CandleDownsamplerTest {
+
+    private static final long START = 1_700_000_000;
+    private static final long MINUTE = 60;
+
+    @Test
+    void serieQueJaCabeEDevolvidaSemCopia() {
+        CandleSeries series = series(10);
+
+        assertThat(CandleDownsampler.downsample(series, 10, DownsampleMethod.OHLC)).isSameAs(series);
+        assertThat(CandleDownsampler.downsample(series, 50, DownsampleMethod.LTTB)).isSameAs(series);
+    }
+
+    @Test
+    void maxPointsMenorQueDoisERejeitado() {
+        assertThatThrownBy(() -> CandleDownsampler.downsample(series(10), 1, DownsampleMethod.OHLC))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maxPoints");
+    }
+
+    @Test
+    void ohlcFundeBaldesConsecutivosSemPerderMaximosNemMinimos() {
+        // 10 candles em 3 baldes: [0,3) [3,6) [6,10)
+        CandleSeries series = series(10);
+
+        CandleSeries result = CandleDownsampler.downsample(series, 3, DownsampleMethod.OHLC);
+
+        assertThat(result.size()).isEqualTo(3);
+        assertThat(result.scale()).isEqualTo(series.scale());
+
+        assertThat(result.timestampAt(0)).isEqualTo(START);
+        assertThat(result.openAt(0)).isEqualTo(series.openAt(0));
+        assertThat(result.closeAt(0)).isEqualTo(series.closeAt(2));
+        assertThat(result.highAt(0)).isEqualTo(max(series, 0, 3));
+        assertThat(result.lowAt(0)).isEqualTo(min(series, 0, 3));
+        assertThat(result.volumeAt(0)).isEqualTo(1 + 2 + 3);
+
+        assertThat(result.timestampAt(1)).isEqualTo(START + 3 * MINUTE);
+        assertThat(result.timestampAt(2)).isEqualTo(START + 6 * MINUTE);
+        assertThat(result.closeAt(2)).isEqualTo(series.closeAt(9));
+        assertThat(result.highAt(2)).isEqualTo(max(series, 6, 10));
+        assertThat(result.lowAt(2)).isEqualTo(min(series, 6, 10));
+        assertThat(result.volumeAt(2)).isEqualTo(7 + 8 + 9 + 10);
+
+        long totalVolume = 0;
+        for (int i = 0; i < result.size(); i++) {
+            totalVolume += result.volumeAt(i);
+        }
+        assertThat(totalVolume).isEqualTo(55);
+    }
+
+    @Test
+    void lttbMantemExtremosEPicoDoFechamento() {
+        // Série plana com um pico isolado no meio
+        CandleSeries.Builder builder = CandleSeries.builder(101);
+        for (int i = 0; i <= 100; i++) {
+            double close = i == 37 ? 500.0 : 100.0;
+            builder.add(START + i * MINUTE, 100.0, Math.max(close, 100.0), 99.0, close, i);
+        }
+        CandleSeries series = builder.build();
+
+        CandleSeries result = CandleDownsampler.downsample(series, 10, DownsampleMethod.LTTB);
+
+        assertThat(result.size()).isEqualTo(10);
+        assertThat(result.timestampAt(0)).isEqualTo(series.timestampAt(0));
+        assertThat(result.timestampAt(9)).isEqualTo(series.lastTimestamp());
+        assertThat(containsTimestamp(result, START + 37 * MINUTE)).isTrue();
+
+        // Os candles escolhidos são originais, em ordem
+        for (int i = 1; i < result.size(); i++) {
+            assertThat(result.timestampAt(i)).isGreaterThan(result.timestampAt(i - 1));
+            int original = series.indexOf(result.timestampAt(i));
+            assertThat(result.rawCloseAt(i)).isEqualTo(series.rawCloseAt(original));
+            assertThat(result.volumeAt(i)).isEqualTo(series.volumeAt(original));
+        }
+    }
+
+    @Test
+    void lttbComDoisPontosFicaComPrimeiroEUltimo() {
+        CandleSeries series = series(7);
+
+        CandleSeries result = CandleDownsampler.downsample(series, 2, DownsampleMethod.LTTB);
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.timestampAt(0)).isEqualTo(series.timestampAt(0));
+        assertThat(result.timestampAt(1)).isEqualTo(series.lastTimestamp());
+    }
+
+    // ========== Métodos privados ==========
+
+    /** Preços em zigue-zague para que máximos e mínimos não fiquem sempre na ponta do balde. */
+    private static CandleSeries series(int count) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        for (int i = 0; i < count; i++) {
+            double open = 100 + (i % 2 == 0 ? i : -i);
+            builder.add(START + i * MINUTE, open, open + 3 + i % 3, open - 2 - i % 4, open + 1, i + 1);
+        }
+        return builder.build();
+    }
+
+    private static double max(CandleSeries series, int from, int to) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, series.highAt(i));
+        }
+        return max;
+    }
+
+    private static double min(CandleSeries series, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, series.lowAt(i));
+        }
+        return min;
+    }
+
+    private static boolean containsTimestamp(CandleSeries series, long timestamp) {
+        for (int i = 0; i < series.size(); i++) {
+            if (series.timestampAt(i) == timestamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.model.CandleInterval;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleResamplerTest {
+
+    private static final long MINUTE = 60;
+    private static final long HOUR = 3_600;
+    private static final long DAY = 86_400;
+
+    @Test
+    void quinzeMinutosViramUmaHoraAlinhadaNaHoraCheia() {
+        // Começa às 10:30: o primeiro candle de 1h (10:00) só tem 2 de 15m
+        long start = epoch("2026-03-02T10:30:00Z");
+        CandleSeries.Builder builder = CandleSeries.builder(6);
+        for (int i = 0; i < 6; i++) {
+            double open = 50 + i;
+            builder.add(start + i * 15 * MINUTE, open, open + 2 + (i == 3 ? 10 : 0), open - 1 - (i == 4 ? 5 : 0),
+                    open + 0.5, 100L * (i + 1));
+        }
+        CandleSeries series = builder.build();
+
+        CandleSeries result = CandleResampler.resample(series, CandleInterval.fromString("1h"));
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.scale()).isEqualTo(series.scale());
+
+        assertThat(result.timestampAt(0)).isEqualTo(epoch("2026-03-02T10:00:00Z"));
+        assertThat(result.openAt(0)).isEqualTo(50.0);
+        assertThat(result.closeAt(0)).isEqualTo(51.5);
+        assertThat(result.highAt(0)).isEqualTo(53.0);
+        assertThat(result.lowAt(0)).isEqualTo(49.0);
+        assertThat(result.volumeAt(0)).isEqualTo(100 + 200);
+
+        assertThat(result.timestampAt(1)).isEqualTo(epoch("2026-03-02T11:00:00Z"));
+        assertThat(result.openAt(1)).isEqualTo(52.0);
+        assertThat(result.closeAt(1)).isEqualTo(55.5);
+        assertThat(result.highAt(1)).isEqualTo(65.0);
+        assertThat(result.lowAt(1)).isEqualTo(48.0);
+        assertThat(result.volumeAt(1)).isEqualTo(300 + 400 + 500 + 600);
+    }
+
+    @Test
+    void semanasComecamNaSegundaFeira() {
+        // Quinta 2026-03-05 a quarta 2026-03-11, um candle por dia
+        long thursday = epoch("2026-03-05T00:00:00Z");
+        CandleSeries series = daily(thursday, 7);
+
+        CandleSeries result = CandleResampler.resample(series, CandleInterval.fromString("1w"));
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.timestampAt(0)).isEqualTo(epoch("2026-03-02T00:00:00Z"));
+        assertThat(result.volumeAt(0)).isEqualTo(1 + 2 + 3 + 4);
+        assertThat(result.timestampAt(1)).isEqualTo(epoch("2026-03-09T00:00:00Z"));
+        assertThat(result.volumeAt(1)).isEqualTo(5 + 6 + 7);
+        assertThat(result.openAt(1)).isEqualTo(series.openAt(4));
+        assertThat(result.closeAt(1)).isEqualTo(series.closeAt(6));
+    }
+
+    @Test
+    void mesesSeguemOCalendario() {
+        // 2026-01-30 a 2026-03-02: janeiro, fevereiro (28 dias) e março
+        long start = epoch("2026-01-30T00:00:00Z");
+        CandleSeries series = daily(start, 32);
+
+        CandleSeries result = CandleResampler.resample(series, CandleInterval.fromString("1mo"));
+
+        assertThat(result.size()).isEqualTo(3);
+        assertThat(result.timestampAt(0)).isEqualTo(epoch("2026-01-01T00:00:00Z"));
+        assertThat(result.volumeAt(0)).isEqualTo(1 + 2);
+        assertThat(result.timestampAt(1)).isEqualTo(epoch("2026-02-01T00:00:00Z"));
+        assertThat(result.timestampAt(2)).isEqualTo(epoch("2026-03-01T00:00:00Z"));
+        assertThat(result.volumeAt(2)).isEqualTo(31 + 32);
+    }
+
+    @Test
+    void lacunasNaoGeramCandlesVazios() {
+        // Sexta e segunda: sem candles no fim de semana
+        CandleSeries series = CandleSeries.builder(2)
+                .add(epoch("2026-03-06T00:00:00Z"), 10, 11, 9, 10.5, 1)
+                .add(epoch("2026-03-09T00:00:00Z"), 12, 13, 11, 12.5, 2)
+                .build();
+
+        CandleSeries result = CandleResampler.resample(series, CandleInterval.fromString("1d"));
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.timestampAt(1)).isEqualTo(epoch("2026-03-09T00:00:00Z"));
+    }
+
+    @Test
+    void intervalMenorQueODaSerieMantemUmCandlePorCandle() {
+        CandleSeries series = daily(epoch("2026-03-02T00:00:00Z"), 3);
+
+        CandleSeries result = CandleResampler.resample(series, CandleInterval.fromString("1h"));
+
+        assertThat(result.size()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(result.timestampAt(i)).isEqualTo(series.timestampAt(i));
+            assertThat(result.rawCloseAt(i)).isEqualTo(series.rawCloseAt(i));
+        }
+    }
+
+    @Test
+    void serieVaziaFicaVazia() {
+        assertThat(CandleResampler.resample(CandleSeries.empty(), CandleInterval.fromString("4h")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void bucketStartAlinhaMultiplosDeHoraNaEpoca() {
+        CandleInterval fourHours = CandleInterval.fromString("4h");
+        long time = epoch("2026-03-02T13:45:00Z");
+
+        assertThat(fourHours.bucketStart(time)).isEqualTo(epoch("2026-03-02T12:00:00Z"));
+        assertThat(fourHours.nextBucketStart(fourHours.bucketStart(time))).isEqualTo(epoch("2026-03-02T16:00:00Z"));
+        assertThat(CandleInterval.fromString("1d").bucketStart(time)).isEqualTo(time - 13 * HOUR - 45 * MINUTE);
+    }
+
+    // ========== Métodos privados ==========
+
+    private static CandleSeries daily(long from, int days) {
+        CandleSeries.Builder builder = CandleSeries.builder(days);
+        for (int i = 0; i < days; i++) {
+            double open = 20 + i;
+            builder.add(from + i * DAY, open, open + 1, open - 1, open + 0.25, i + 1);
+        }
+        return builder.build();
+    }
+
+    private static long epoch(String instant) {
+        return Instant.parse(instant).getEpochSecond();
+    }
+}
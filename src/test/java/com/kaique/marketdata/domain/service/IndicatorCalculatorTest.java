@@ -0,0 +1,175 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.IndicatorSpec;
+import com.kaique.marketdata.domain.service.IndicatorCalculator.Computation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class IndicatorCalculatorTest {
+
+    private static final long START = 1_700_006_400;
+    private static final long DAY = 86_400;
+
+    @Test
+    void smaUsaOsUltimosNFechamentos() {
+        CandleSeries series = closes(START, 10, 11, 12, 13, 14);
+
+        Computation result = IndicatorCalculator.compute(series, IndicatorSpec.fromString("sma3"), null);
+
+        double[] sma = result.lines()[0];
+        assertThat(sma[0]).isNaN();
+        assertThat(sma[1]).isNaN();
+        assertThat(sma[2]).isEqualTo(11.0);
+        assertThat(sma[3]).isEqualTo(12.0);
+        assertThat(sma[4]).isEqualTo(13.0);
+    }
+
+    @Test
+    void emaComecaNaSmaEDepoisSuaviza() {
+        CandleSeries series = closes(START, 10, 12, 14, 20);
+
+        double[] ema = IndicatorCalculator.compute(series, IndicatorSpec.fromString("ema3"), null).lines()[0];
+
+        // alpha = 2 / (3 + 1) = 0.5
+        assertThat(ema[1]).isNaN();
+        assertThat(ema[2]).isEqualTo(12.0);
+        assertThat(ema[3]).isCloseTo(16.0, within(1e-9));
+    }
+
+    @Test
+    void rsiSoComAltasE100() {
+        CandleSeries series = closes(START, 1, 2, 3, 4, 5, 6);
+
+        double[] rsi = IndicatorCalculator.compute(series, IndicatorSpec.fromString("rsi3"), null).lines()[0];
+
+        assertThat(rsi[2]).isNaN();
+        assertThat(rsi[3]).isEqualTo(100.0);
+        assertThat(rsi[5]).isEqualTo(100.0);
+    }
+
+    @Test
+    void bollingerComPrecoConstanteTemBandasSobreAMedia() {
+        CandleSeries series = closes(START, 7, 7, 7, 7);
+
+        double[][] lines = IndicatorCalculator.compute(series, IndicatorSpec.fromString("bb3"), null).lines();
+
+        assertThat(lines).hasNumberOfRows(3);
+        assertThat(lines[0][3]).isEqualTo(7.0);
+        assertThat(lines[1][3]).isEqualTo(7.0);
+        assertThat(lines[2][3]).isEqualTo(7.0);
+    }
+
+    @Test
+    void calculoRetomadoIgualAoCalculadoDoZero() {
+        IndicatorSpec spec = IndicatorSpec.fromString("ema5");
+        Computation previous = IndicatorCalculator.compute(prices(START, 40), spec, null);
+
+        // Último candle mudou (em formação) e chegaram mais 3
+        CandleSeries.Builder builder = CandleSeries.builder(43);
+        CandleSeries base = prices(START, 40);
+        for (int i = 0; i < 39; i++) {
+            builder.addRaw(base.timestampAt(i), base.rawOpenAt(i), base.rawHighAt(i), base.rawLowAt(i),
+                    base.rawCloseAt(i), base.volumeAt(i));
+        }
+        for (int i = 39; i < 43; i++) {
+            double close = 90 + i;
+            builder.add(START + i * DAY, close, close + 1, close - 1, close, 1_000);
+        }
+        CandleSeries grown = builder.build();
+
+        Computation resumed = IndicatorCalculator.compute(grown, spec, previous);
+        Computation fresh = IndicatorCalculator.compute(grown, spec, null);
+
+        assertThat(resumed.lines()[0]).containsExactly(fresh.lines()[0]);
+        assertThat(resumed.checkpointIndex()).isEqualTo(41);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sma5", "ema5", "rsi5", "bb5", "vwap5"})
+    void janelaQueAvancouERecalculadaDoZero(String name) {
+        IndicatorSpec spec = IndicatorSpec.fromString(name);
+        Computation previous = IndicatorCalculator.compute(prices(START, 60), spec, null);
+
+        // O range andou um dia: saiu o primeiro candle e entrou um novo
+        CandleSeries shifted = prices(START + DAY, 60);
+
+        Computation resumed = IndicatorCalculator.compute(shifted, spec, previous);
+        Computation fresh = IndicatorCalculator.compute(shifted, spec, null);
+
+        for (int k = 0; k < fresh.lines().length; k++) {
+            assertThat(resumed.lines()[k]).containsExactly(fresh.lines()[k]);
+        }
+    }
+
+    @Test
+    void mesmaSerieReaproveitaOCalculoAnterior() {
+        IndicatorSpec spec = IndicatorSpec.fromString("rsi14");
+        Computation previous = IndicatorCalculator.compute(prices(START, 30), spec, null);
+
+        assertThat(IndicatorCalculator.compute(prices(START, 30), spec, previous)).isSameAs(previous);
+    }
+
+    @Test
+    void ultimoCandleComMesmoFechamentoMasOutroVolumeERecalculado() {
+        IndicatorSpec spec = IndicatorSpec.fromString("vwap5");
+        CandleSeries original = prices(START, 30);
+        Computation previous = IndicatorCalculator.compute(original, spec, null);
+
+        // Candle do dia em andamento: o fechamento voltou ao mesmo preço, mas máxima, mínima e volume mudaram
+        CandleSeries.Builder builder = CandleSeries.builder(30);
+        for (int i = 0; i < 29; i++) {
+            builder.add(original.timestampAt(i), original.openAt(i), original.highAt(i), original.lowAt(i),
+                    original.closeAt(i), original.volumeAt(i));
+        }
+        builder.add(original.timestampAt(29), original.openAt(29), original.highAt(29) + 3, original.lowAt(29) - 2,
+                original.closeAt(29), original.volumeAt(29) * 4);
+        CandleSeries updated = builder.build();
+
+        Computation resumed = IndicatorCalculator.compute(updated, spec, previous);
+
+        assertThat(resumed).isNotSameAs(previous);
+        assertThat(resumed.lines()[0]).containsExactly(IndicatorCalculator.compute(updated, spec, null).lines()[0]);
+        assertThat(resumed.lines()[0][29]).isNotEqualTo(previous.lines()[0][29]);
+    }
+
+    @Test
+    void checkpointNaoMudaQuandoOCalculoContinua() {
+        IndicatorSpec spec = IndicatorSpec.fromString("ema3");
+        Computation first = IndicatorCalculator.compute(prices(START, 10), spec, null);
+        double[] before = first.lines()[0].clone();
+
+        IndicatorCalculator.compute(prices(START, 15), spec, first);
+        IndicatorCalculator.compute(prices(START, 20), spec, first);
+
+        assertThat(first.lines()[0]).containsExactly(before);
+        assertThat(IndicatorCalculator.compute(prices(START, 15), spec, first).lines()[0])
+                .containsExactly(IndicatorCalculator.compute(prices(START, 15), spec, null).lines()[0]);
+    }
+
+    // ========== Métodos privados ==========
+
+    private static CandleSeries closes(long from, double... closes) {
+        CandleSeries.Builder builder = CandleSeries.builder(closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            builder.add(from + i * DAY, closes[i], closes[i], closes[i], closes[i], 100);
+        }
+        return builder.build();
+    }
+
+    /** Preços determinísticos por timestamp: a mesma data tem o mesmo candle em qualquer série. */
+    private static CandleSeries prices(long from, int count) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        for (int i = 0; i < count; i++) {
+            long timestamp = from + i * DAY;
+            long day = (timestamp - START) / DAY;
+            double close = 100 + 10 * Math.sin(day / 3.0) + (day % 7) * 0.37;
+            builder.add(timestamp, close - 0.5, close + 1.25, close - 1.5, close, 1_000 + day * 13);
+        }
+        return builder.build();
+    }
+}
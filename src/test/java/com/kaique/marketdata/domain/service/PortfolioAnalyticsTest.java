@@ -0,0 +1,141 @@
+package com.kaique.marketdata.domain.service;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.PortfolioAnalysis.PortfolioReturns;
+import com.kaique.marketdata.domain.service.PortfolioAnalytics.Returns;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PortfolioAnalyticsTest {
+
+    private static final long START = 1_700_006_400;
+    private static final long DAY = 86_400;
+
+    @Test
+    void retornosSimplesNoTimestampDoCandleSeguinte() {
+        Returns returns = PortfolioAnalytics.returns(closes(START, 100, 110, 99));
+
+        assertThat(returns.timestamps()).containsExactly(START + DAY, START + 2 * DAY);
+        assertThat(returns.values()[0]).isCloseTo(0.10, within(1e-12));
+        assertThat(returns.values()[1]).isCloseTo(-0.10, within(1e-12));
+    }
+
+    @Test
+    void fechamentoZeroNaoGeraRetorno() {
+        Returns returns = PortfolioAnalytics.returns(closes(START, 0, 10, 11));
+
+        assertThat(returns.timestamps()).containsExactly(START + 2 * DAY);
+        assertThat(returns.values()[0]).isCloseTo(0.10, within(1e-12));
+    }
+
+    @Test
+    void correlacaoDeAtivosProporcionaisEInversos() {
+        Returns base = returns(10, 11, 10.5, 12, 11.5, 13);
+        Returns doubled = returns(20, 22, 21, 24, 23, 26);
+        Returns opposite = new Returns(base.timestamps(), negate(base.values()));
+
+        double[][] matrix = PortfolioAnalytics.correlationMatrix(List.of(base, doubled, opposite));
+
+        assertThat(matrix[0][0]).isEqualTo(1.0);
+        assertThat(matrix[0][1]).isCloseTo(1.0, within(1e-9));
+        assertThat(matrix[0][2]).isCloseTo(-1.0, within(1e-9));
+        assertThat(matrix[2][0]).isEqualTo(matrix[0][2]);
+        assertThat(matrix[1][2]).isEqualTo(matrix[2][1]);
+    }
+
+    @Test
+    void correlacaoUsaSoOsPeriodosEmComum() {
+        // y tem um período a mais no meio (ex: cripto no fim de semana); nos comuns, y = 2x
+        Returns x = new Returns(new long[]{1, 2, 4, 5}, new double[]{0.01, -0.02, 0.03, 0.01});
+        Returns y = new Returns(new long[]{1, 2, 3, 4, 5}, new double[]{0.02, -0.04, 0.50, 0.06, 0.02});
+
+        double[][] matrix = PortfolioAnalytics.correlationMatrix(List.of(x, y));
+
+        assertThat(matrix[0][1]).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void parSemObservacoesSuficientesOuSemVariacaoENaN() {
+        Returns short1 = new Returns(new long[]{1, 2}, new double[]{0.01, 0.02});
+        Returns short2 = new Returns(new long[]{1, 2}, new double[]{0.03, 0.01});
+        Returns flat = new Returns(new long[]{1, 2, 3, 4}, new double[]{0.0, 0.0, 0.0, 0.0});
+        Returns moving = new Returns(new long[]{1, 2, 3, 4}, new double[]{0.01, -0.01, 0.02, 0.0});
+
+        assertThat(PortfolioAnalytics.correlationMatrix(List.of(short1, short2))[0][1]).isNaN();
+        assertThat(PortfolioAnalytics.correlationMatrix(List.of(flat, moving))[0][1]).isNaN();
+    }
+
+    @Test
+    void matrizParalelaIgualAoCalculoParAPar() {
+        List<Returns> assets = new ArrayList<>();
+        for (int a = 0; a < 40; a++) {
+            double[] closes = new double[200];
+            for (int t = 0; t < closes.length; t++) {
+                closes[t] = 100 + 10 * Math.sin(t / (3.0 + a)) + (t * (a + 1)) % 7;
+            }
+            assets.add(returns(closes));
+        }
+
+        double[][] matrix = PortfolioAnalytics.correlationMatrix(assets);
+
+        for (int i = 0; i < assets.size(); i++) {
+            for (int j = 0; j < assets.size(); j++) {
+                double pair = PortfolioAnalytics.correlationMatrix(List.of(assets.get(i), assets.get(j)))[0][1];
+                assertThat(matrix[i][j]).isEqualTo(i == j ? 1.0 : pair);
+            }
+        }
+    }
+
+    @Test
+    void retornoDaCarteiraPonderadoNaIntersecaoEAcumuladoComposto() {
+        Returns a = new Returns(new long[]{1, 2, 3}, new double[]{0.10, 0.00, -0.05});
+        Returns b = new Returns(new long[]{2, 3, 4}, new double[]{0.20, 0.05, 0.30});
+
+        // Pesos 3:1 normalizados para 0.75 / 0.25
+        PortfolioReturns result = PortfolioAnalytics.portfolioReturns(List.of(a, b), new double[]{3, 1});
+
+        assertThat(result.timestamps()).containsExactly(2, 3);
+        assertThat(result.returns()[0]).isCloseTo(0.75 * 0.00 + 0.25 * 0.20, within(1e-12));
+        assertThat(result.returns()[1]).isCloseTo(0.75 * -0.05 + 0.25 * 0.05, within(1e-12));
+        assertThat(result.cumulative()[0]).isCloseTo(0.05, within(1e-12));
+        assertThat(result.cumulative()[1]).isCloseTo(1.05 * (1 - 0.025) - 1, within(1e-12));
+    }
+
+    @Test
+    void carteiraSemPeriodosEmComumFicaVazia() {
+        Returns a = new Returns(new long[]{1, 2}, new double[]{0.1, 0.2});
+        Returns b = new Returns(new long[]{3, 4}, new double[]{0.1, 0.2});
+
+        PortfolioReturns result = PortfolioAnalytics.portfolioReturns(List.of(a, b), new double[]{1, 1});
+
+        assertThat(result.timestamps()).isEmpty();
+        assertThat(result.cumulative()).isEmpty();
+    }
+
+    // ========== Métodos privados ==========
+
+    private static Returns returns(double... closes) {
+        return PortfolioAnalytics.returns(closes(START, closes));
+    }
+
+    private static CandleSeries closes(long from, double... closes) {
+        CandleSeries.Builder builder = CandleSeries.builder(closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            builder.add(from + i * DAY, closes[i], closes[i], closes[i], closes[i], 1);
+        }
+        return builder.build();
+    }
+
+    private static double[] negate(double[] values) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = -values[i];
+        }
+        return result;
+    }
+}
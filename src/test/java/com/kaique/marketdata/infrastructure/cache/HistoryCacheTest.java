@@ -0,0 +1,85 @@
+package com.kaique.marketdata.infrastructure.cache;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryCacheTest {
+
+    private static final long DAY = 86_400;
+    private static final long START = Instant.now().getEpochSecond() / DAY * DAY - 180 * DAY;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final HistoryCache cache = new HistoryCache(new ProviderMetrics(registry), 500_000, 60_000);
+
+    @Test
+    void rangeMenorECortadoDaSerieDoRangeMaior() {
+        // 6M diário em cache responde 1M e 3M com o mesmo interval
+        CandleSeries sixMonths = series(START, 180);
+        cache.put("PETR4", "BrapiProvider", "1d", START, sixMonths);
+
+        CandleSeries threeMonths = cache.get("PETR4", "BrapiProvider", "1d", START + 90 * DAY).orElseThrow();
+        CandleSeries oneMonth = cache.get("PETR4", "BrapiProvider", "1d", START + 150 * DAY).orElseThrow();
+
+        assertThat(threeMonths.size()).isEqualTo(90);
+        assertThat(threeMonths.timestampAt(0)).isEqualTo(START + 90 * DAY);
+        assertThat(threeMonths.lastTimestamp()).isEqualTo(sixMonths.lastTimestamp());
+        assertThat(oneMonth.size()).isEqualTo(30);
+        assertThat(cache.get("PETR4", "BrapiProvider", "1d", START).orElseThrow()).isSameAs(sixMonths);
+        assertThat(requests("hit")).isEqualTo(3.0);
+    }
+
+    @Test
+    void rangeMaiorQueOCacheadoEMiss() {
+        cache.put("PETR4", "BrapiProvider", "1d", START + 150 * DAY, series(START + 150 * DAY, 30));
+
+        assertThat(cache.get("PETR4", "BrapiProvider", "1d", START)).isEmpty();
+        assertThat(cache.get("PETR4", "BrapiProvider", "1wk", START + 150 * DAY)).isEmpty();
+        assertThat(requests("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void serieMenorNaoSubstituiAMaior() {
+        cache.put("PETR4", "BrapiProvider", "1d", START, series(START, 180));
+        cache.put("PETR4", "BrapiProvider", "1d", START + 150 * DAY, series(START + 150 * DAY, 30));
+
+        assertThat(cache.get("PETR4", "BrapiProvider", "1d", START).orElseThrow().size()).isEqualTo(180);
+    }
+
+    @Test
+    void simboloENormalizado() {
+        cache.put(" petr4", "BrapiProvider", "1d", START, series(START, 10));
+
+        assertThat(cache.get("PETR4 ", "BrapiProvider", "1d", START)).isPresent();
+    }
+
+    @Test
+    void ttlZeroDesativaOCache() {
+        HistoryCache disabled = new HistoryCache(new ProviderMetrics(registry), 500_000, 0);
+        disabled.put("PETR4", "BrapiProvider", "1d", START, series(START, 10));
+
+        assertThat(disabled.get("PETR4", "BrapiProvider", "1d", START)).isEmpty();
+    }
+
+    // ========== Métodos privados ==========
+
+    private double requests(String result) {
+        Counter counter = registry.find("market.cache.requests").tag("cache", "history").tag("result", result).counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    private static CandleSeries series(long from, int days) {
+        CandleSeries.Builder builder = CandleSeries.builder(days);
+        for (int i = 0; i < days; i++) {
+            double open = 30.0 + i * 0.1;
+            builder.add(from + i * DAY, open, open + 1.0, open - 1.0, open + 0.5, 1_000L + i);
+        }
+        return builder.build();
+    }
+}
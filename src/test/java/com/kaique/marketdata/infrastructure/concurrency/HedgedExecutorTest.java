@@ -0,0 +1,153 @@
+package com.kaique.marketdata.infrastructure.concurrency;
+
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.infrastructure.concurrency.HedgedExecutor.HedgedCall;
+import com.kaique.marketdata.infrastructure.config.RestTemplateConfig;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import com.kaique.marketdata.infrastructure.resilience.ProviderCircuitBreaker.State;
+import com.kaique.marketdata.infrastructure.resilience.ProviderCircuitBreakers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedExecutorTest {
+
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProviderMetrics metrics = new ProviderMetrics(registry);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch slowReceived = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private ProviderCircuitBreakers breakers;
+    private HedgedExecutor hedged;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow", exchange -> {
+            // Segura a resposta bem além do tempo do teste (o read-timeout é 10s)
+            slowReceived.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        server.createContext("/error", exchange -> respond(exchange, 500));
+        server.start();
+
+        MockEnvironment environment = new MockEnvironment();
+        RestTemplateConfig config = new RestTemplateConfig();
+        httpClient = config.providerHttpClient(config.providerConnectionManager(
+                metrics, environment, 100, 20, 300_000, 2_000, 2_000, 10_000), 30_000);
+        restTemplate = config.restTemplate(new RestTemplateBuilder(), httpClient, environment,
+                20, 1_000, 60_000, 2_000, 10_000);
+
+        // Uma falha basta para abrir: se o aborto contasse como erro, o circuito abriria
+        breakers = new ProviderCircuitBreakers(List.of(), metrics, true, 10, 1, 50f, 80f, 5_000, 30_000, 3);
+        hedged = new HedgedExecutor(executor, metrics);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        server.stop(0);
+        httpClient.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void perdedorTemARequisicaoAbortadaENaoContaComoFalha() throws InterruptedException {
+        CountDownLatch slowFinished = new CountDownLatch(1);
+
+        String result = hedged.invoke(List.of(
+                new HedgedCall<>("Slow", HEDGE_DELAY, () -> {
+                    try {
+                        return call("Slow", "/slow");
+                    } finally {
+                        slowFinished.countDown();
+                    }
+                }),
+                new HedgedCall<>("Fast", HEDGE_DELAY, () -> {
+                    // Só vence quando o perdedor já está bloqueado na leitura da resposta
+                    await(slowReceived);
+                    return "fast";
+                })));
+
+        assertThat(result).isEqualTo("fast");
+
+        // Sem o aborto, a leitura só terminaria no read-timeout (10s)
+        assertThat(slowFinished.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(breakers.getState("Slow")).isEqualTo(State.CLOSED);
+        assertThat(registry.find("market.provider.errors").counter()).isNull();
+    }
+
+    @Test
+    void falhaDeVerdadeContinuaContandoNoCircuitBreaker() {
+        assertThatThrownBy(() -> hedged.invoke(List.of(
+                new HedgedCall<>("Broken", HEDGE_DELAY, () -> call("Broken", "/error")))))
+                .isInstanceOf(ProviderException.class);
+
+        assertThat(breakers.getState("Broken")).isEqualTo(State.OPEN);
+        assertThat(registry.find("market.provider.errors").counter().count()).isEqualTo(1.0);
+    }
+
+    // ========== Métodos privados ==========
+
+    /** Chamada como a de um provider: circuit breaker, métricas e erro HTTP convertido em ProviderException. */
+    private String call(String providerName, String path) {
+        return breakers.execute(providerName, () -> metrics.recordLatency(providerName, "PETR4", () -> {
+            try {
+                return restTemplate.getForObject("http://localhost:" + server.getAddress().getPort() + path,
+                        String.class);
+            } catch (RestClientException e) {
+                throw new ProviderException(providerName, "Falha na chamada", e);
+            }
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.kaique.marketdata.infrastructure.concurrency;
+
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(new ProviderMetrics(registry));
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch finishLeader = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void chamadasConcorrentesCompartilhamOResultado() throws Exception {
+        Future<String> leader = executor.submit(() -> coalescer.execute("quote", "PETR4", this::blockingCall));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> coalescer.execute("quote", "PETR4", this::blockingCall));
+
+        awaitCoalesced();
+        finishLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("resultado 1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("resultado 1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void quemAguardaNaoHerdaOAbortoDoLider() throws Exception {
+        CallCancellation cancellation = new CallCancellation();
+        Future<String> leader = executor.submit(() -> cancellation.run(
+                () -> coalescer.execute("quote", "PETR4", () -> {
+                    blockingCall();
+                    throw new ProviderException("Brapi", "Requisição abortada");
+                })));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> coalescer.execute("quote", "PETR4", () -> "resultado próprio"));
+
+        // Perdedor de um hedge: o HedgedExecutor cancela e a requisição falha
+        awaitCoalesced();
+        cancellation.cancel();
+        finishLeader.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("resultado próprio");
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ProviderException.class);
+    }
+
+    @Test
+    void falhaDoLiderSemCancelamentoEDivididaComQuemAguarda() throws Exception {
+        Future<String> leader = executor.submit(() -> coalescer.execute("quote", "PETR4", () -> {
+            blockingCall();
+            throw new ProviderException("Brapi", "Timeout");
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> coalescer.execute("quote", "PETR4", () -> "não deveria rodar"));
+
+        awaitCoalesced();
+        finishLeader.countDown();
+
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ProviderException.class);
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ProviderException.class);
+    }
+
+    // ========== Métodos privados ==========
+
+    /** Espera a segunda chamada se juntar à do líder. */
+    private void awaitCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.find("market.requests.coalesced").counter() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private String blockingCall() {
+        int call = calls.incrementAndGet();
+        leaderStarted.countDown();
+        try {
+            finishLeader.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "resultado " + call;
+    }
+}
@@ -0,0 +1,182 @@
+package com.kaique.marketdata.infrastructure.persistence.file;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore.SeriesKey;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore.SeriesState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileHistoryStoreTest {
+
+    private static final SeriesKey KEY = new SeriesKey("BTC/USD", "CoinGecko", "1h");
+    private static final long HOUR = 3_600;
+    private static final long START = 1_700_002_800;
+    private static final int HEADER_BYTES = 64;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void arquivoTemCabecalhoDe64BytesERegistrosDeTamanhoFixo() throws IOException {
+        MappedFileHistoryStore store = store();
+        CandleSeries candles = series(START, 3, 100.0);
+        Instant fetchedAt = Instant.parse("2026-01-01T10:00:00Z");
+
+        store.save(KEY, candles, START - HOUR, fetchedAt);
+
+        // Caracteres fora de [A-Za-z0-9.-] viram "_" no caminho
+        Path file = dir.resolve("CoinGecko").resolve("BTC_USD_1h.candles");
+        assertThat(file).exists();
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertThat(bytes.capacity()).isEqualTo(HEADER_BYTES + 3 * CandleSeries.RECORD_BYTES);
+
+        assertThat(bytes.getInt(0)).isEqualTo(0x43414E44);
+        assertThat(bytes.getInt(4)).isEqualTo(1);
+        assertThat(bytes.getInt(8)).isEqualTo(candles.scale());
+        assertThat(bytes.getLong(16)).isEqualTo(START - HOUR);
+        assertThat(bytes.getLong(24)).isEqualTo(START + 2 * HOUR);
+        assertThat(bytes.getLong(32)).isEqualTo(fetchedAt.toEpochMilli());
+
+        for (int i = 0; i < 3; i++) {
+            int offset = HEADER_BYTES + i * CandleSeries.RECORD_BYTES;
+            assertThat(bytes.getLong(offset)).isEqualTo(candles.timestampAt(i));
+            assertThat(bytes.getLong(offset + 8)).isEqualTo(candles.rawOpenAt(i));
+            assertThat(bytes.getLong(offset + 16)).isEqualTo(candles.rawHighAt(i));
+            assertThat(bytes.getLong(offset + 24)).isEqualTo(candles.rawLowAt(i));
+            assertThat(bytes.getLong(offset + 32)).isEqualTo(candles.rawCloseAt(i));
+            assertThat(bytes.getLong(offset + 40)).isEqualTo(candles.volumeAt(i));
+        }
+
+        SeriesState state = store.state(KEY).orElseThrow();
+        assertThat(state.coveredFrom()).isEqualTo(START - HOUR);
+        assertThat(state.lastTimestamp()).isEqualTo(START + 2 * HOUR);
+        assertThat(state.fetchedAt()).isEqualTo(fetchedAt);
+    }
+
+    @Test
+    void candlesNovosSaoAnexadosEOLoadSeguinteOsEnxerga() throws IOException {
+        MappedFileHistoryStore store = store();
+        store.save(KEY, series(START, 3, 100.0), START, Instant.parse("2026-01-01T10:00:00Z"));
+        assertThat(store.load(KEY, START).size()).isEqualTo(3);
+
+        store.save(KEY, series(START + 3 * HOUR, 2, 200.0), START, Instant.parse("2026-01-01T12:00:00Z"));
+
+        CandleSeries loaded = store.load(KEY, START);
+        assertThat(loaded.size()).isEqualTo(5);
+        assertThat(loaded.closeAt(3)).isEqualTo(200.5);
+        assertThat(Files.size(fileFor())).isEqualTo(HEADER_BYTES + 5L * CandleSeries.RECORD_BYTES);
+        assertThat(store.load(KEY, START + 4 * HOUR).size()).isEqualTo(1);
+    }
+
+    @Test
+    void sobreposicaoRegravaOArquivoSemAlterarSeriesJaDevolvidas() {
+        MappedFileHistoryStore store = store();
+        store.save(KEY, series(START, 4, 100.0), START, Instant.parse("2026-01-01T10:00:00Z"));
+        CandleSeries before = store.load(KEY, START);
+
+        // Candle em formação (o último) rebuscado com outro preço, mais um novo
+        long last = START + 3 * HOUR;
+        CandleSeries delta = CandleSeries.builder(2)
+                .add(last, 110.0, 115.0, 109.0, 114.0, 77)
+                .add(last + HOUR, 114.0, 116.0, 113.0, 115.0, 88)
+                .build();
+        store.save(KEY, delta, START, Instant.parse("2026-01-01T11:00:00Z"));
+
+        CandleSeries after = store.load(KEY, START);
+        assertThat(after.size()).isEqualTo(5);
+        assertThat(after.closeAt(3)).isEqualTo(114.0);
+        assertThat(after.volumeAt(3)).isEqualTo(77);
+        assertThat(after.closeAt(2)).isEqualTo(102.5);
+
+        // A série anterior continua sobre o mapeamento da versão antiga
+        assertThat(before.size()).isEqualTo(4);
+        assertThat(before.closeAt(3)).isEqualTo(103.5);
+    }
+
+    @Test
+    void mapeamentoEmCacheEDescartadoNaEscritaSeguinte() {
+        MappedFileHistoryStore store = store();
+        store.save(KEY, series(START, 3, 100.0), START, Instant.parse("2026-01-01T10:00:00Z"));
+
+        CandleSeries first = store.load(KEY, START);
+        CandleSeries second = store.load(KEY, START);
+        assertThat(second.closeAt(0)).isEqualTo(first.closeAt(0));
+        assertThat(store.load(KEY, START + HOUR).timestampAt(0)).isEqualTo(START + HOUR);
+
+        store.save(KEY, series(START + 2 * HOUR, 1, 300.0), START, Instant.parse("2026-01-01T11:00:00Z"));
+        assertThat(store.load(KEY, START).closeAt(2)).isEqualTo(300.5);
+    }
+
+    @Test
+    void registroIncompletoNoFimEIgnoradoEDescartadoNoAppend() throws IOException {
+        MappedFileHistoryStore store = store();
+        store.save(KEY, series(START, 2, 100.0), START, Instant.parse("2026-01-01T10:00:00Z"));
+
+        // Escrita interrompida: meio registro no fim do arquivo
+        Files.write(fileFor(), new byte[CandleSeries.RECORD_BYTES / 2], StandardOpenOption.APPEND);
+        assertThat(store.load(KEY, START).size()).isEqualTo(2);
+
+        store.save(KEY, series(START + 2 * HOUR, 1, 200.0), START, Instant.parse("2026-01-01T11:00:00Z"));
+
+        assertThat(Files.size(fileFor())).isEqualTo(HEADER_BYTES + 3L * CandleSeries.RECORD_BYTES);
+        CandleSeries loaded = store.load(KEY, START);
+        assertThat(loaded.size()).isEqualTo(3);
+        assertThat(loaded.timestampAt(2)).isEqualTo(START + 2 * HOUR);
+    }
+
+    @Test
+    void compactacaoDescartaCandlesForaDaRetencao() {
+        MappedFileHistoryStore store = new MappedFileHistoryStore(dir.toString(), Long.MAX_VALUE, 10);
+        long now = Instant.now().getEpochSecond();
+        long oldStart = now - 20 * 86_400;
+        CandleSeries.Builder builder = CandleSeries.builder(20);
+        for (int day = 0; day < 20; day++) {
+            builder.add(oldStart + day * 86_400L, 1.0, 2.0, 0.5, 1.5, day);
+        }
+        store.save(KEY, builder.build(), oldStart, Instant.now());
+        assertThat(store.load(KEY, 0).size()).isEqualTo(20);
+
+        store.compact();
+
+        CandleSeries kept = store.load(KEY, 0);
+        assertThat(kept.size()).isLessThanOrEqualTo(10).isGreaterThanOrEqualTo(9);
+        assertThat(kept.timestampAt(0)).isGreaterThanOrEqualTo(now - 10 * 86_400);
+        assertThat(store.state(KEY).orElseThrow().coveredFrom()).isGreaterThanOrEqualTo(now - 10 * 86_400 - 5);
+    }
+
+    @Test
+    void serieInexistenteNaoTemEstadoNemCandles() {
+        MappedFileHistoryStore store = store();
+
+        assertThat(store.state(KEY)).isEmpty();
+        assertThat(store.load(KEY, START).isEmpty()).isTrue();
+    }
+
+    // ========== Métodos privados ==========
+
+    private MappedFileHistoryStore store() {
+        return new MappedFileHistoryStore(dir.toString(), Long.MAX_VALUE, 100_000);
+    }
+
+    private Path fileFor() {
+        return dir.resolve("CoinGecko").resolve("BTC_USD_1h.candles");
+    }
+
+    private static CandleSeries series(long from, int count, double basePrice) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        for (int i = 0; i < count; i++) {
+            double open = basePrice + i;
+            builder.add(from + i * HOUR, open, open + 1.0, open - 1.0, open + 0.5, 10L * (i + 1));
+        }
+        return builder.build();
+    }
+}
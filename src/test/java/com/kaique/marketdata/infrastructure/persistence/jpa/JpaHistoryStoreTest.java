@@ -0,0 +1,183 @@
+package com.kaique.marketdata.infrastructure.persistence.jpa;
+
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore.SeriesKey;
+import com.kaique.marketdata.infrastructure.persistence.HistoryStore.SeriesState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cada save roda na própria transação (sem a transação de teste do @DataJpaTest),
+ * como acontece quando o MarketDataService chama o store.
+ * H2 em modo PostgreSQL: o insert-if-absent do cabeçalho usa ON CONFLICT.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaHistoryStore.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:history-store;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaHistoryStoreTest {
+
+    private static final SeriesKey KEY = new SeriesKey("PETR4", "BRAPI", "1d");
+    private static final long DAY = 86_400;
+    private static final long START = 1_700_006_400; // meia-noite UTC
+
+    @Autowired
+    private JpaHistoryStore store;
+
+    @Autowired
+    private CandleRepository candleRepository;
+
+    @Autowired
+    private CandleSeriesRepository seriesRepository;
+
+    @BeforeEach
+    void limparBanco() {
+        candleRepository.deleteAllInBatch();
+        seriesRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void saveSeguidoDeLoadDevolveOsMesmosCandles() {
+        CandleSeries candles = series(START, 5, 30.0);
+
+        store.save(KEY, candles, START, Instant.parse("2026-01-01T00:00:00Z"));
+        CandleSeries loaded = store.load(KEY, START);
+
+        assertThat(loaded.size()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(loaded.timestampAt(i)).isEqualTo(candles.timestampAt(i));
+            assertThat(loaded.rawOpenAt(i)).isEqualTo(candles.rawOpenAt(i));
+            assertThat(loaded.rawHighAt(i)).isEqualTo(candles.rawHighAt(i));
+            assertThat(loaded.rawLowAt(i)).isEqualTo(candles.rawLowAt(i));
+            assertThat(loaded.rawCloseAt(i)).isEqualTo(candles.rawCloseAt(i));
+            assertThat(loaded.volumeAt(i)).isEqualTo(candles.volumeAt(i));
+        }
+        assertThat(store.load(KEY, START + 3 * DAY).size()).isEqualTo(2);
+    }
+
+    @Test
+    void loadDeSerieInexistenteDevolveVazio() {
+        assertThat(store.load(KEY, START).isEmpty()).isTrue();
+        assertThat(store.state(KEY)).isEmpty();
+    }
+
+    @Test
+    void deltaSubstituiOCandleEmFormacao() {
+        store.save(KEY, series(START, 5, 30.0), START, Instant.parse("2026-01-01T00:00:00Z"));
+
+        // Rebusca a partir do último candle: o do dia 4 mudou e surgiu o do dia 5
+        long last = START + 4 * DAY;
+        CandleSeries delta = CandleSeries.builder(2)
+                .add(last, 40.0, 45.0, 39.0, 44.0, 9_999)
+                .add(last + DAY, 44.0, 46.0, 43.0, 45.0, 1_234)
+                .build();
+        store.save(KEY, delta, START, Instant.parse("2026-01-02T00:00:00Z"));
+
+        CandleSeries loaded = store.load(KEY, START);
+        assertThat(loaded.size()).isEqualTo(6);
+        assertThat(candleRepository.count()).isEqualTo(6);
+        assertThat(loaded.timestampAt(4)).isEqualTo(last);
+        assertThat(loaded.closeAt(4)).isEqualTo(44.0);
+        assertThat(loaded.volumeAt(4)).isEqualTo(9_999);
+        assertThat(loaded.closeAt(3)).isEqualTo(series(START, 5, 30.0).closeAt(3));
+        assertThat(loaded.lastTimestamp()).isEqualTo(last + DAY);
+    }
+
+    @Test
+    void stateAcompanhaCoveredFromELastTimestamp() {
+        Instant firstFetch = Instant.parse("2026-01-01T00:00:00Z");
+        // Período pedido começa antes do primeiro candle (fim de semana, feriado...)
+        store.save(KEY, series(START, 3, 30.0), START - 2 * DAY, firstFetch);
+
+        SeriesState state = store.state(KEY).orElseThrow();
+        assertThat(state.coveredFrom()).isEqualTo(START - 2 * DAY);
+        assertThat(state.lastTimestamp()).isEqualTo(START + 2 * DAY);
+        assertThat(state.fetchedAt()).isEqualTo(firstFetch);
+
+        // Delta sem candles novos: só fetchedAt anda
+        Instant emptyFetch = Instant.parse("2026-01-01T06:00:00Z");
+        store.save(KEY, CandleSeries.empty(), START + 2 * DAY, emptyFetch);
+        state = store.state(KEY).orElseThrow();
+        assertThat(state.coveredFrom()).isEqualTo(START - 2 * DAY);
+        assertThat(state.lastTimestamp()).isEqualTo(START + 2 * DAY);
+        assertThat(state.fetchedAt()).isEqualTo(emptyFetch);
+
+        // Período mais longo estende coveredFrom para trás sem recuar lastTimestamp
+        Instant backfill = Instant.parse("2026-01-01T12:00:00Z");
+        store.save(KEY, series(START - 10 * DAY, 4, 20.0), START - 10 * DAY, backfill);
+        state = store.state(KEY).orElseThrow();
+        assertThat(state.coveredFrom()).isEqualTo(START - 10 * DAY);
+        assertThat(state.lastTimestamp()).isEqualTo(START + 2 * DAY);
+        assertThat(state.fetchedAt()).isEqualTo(backfill);
+    }
+
+    @Test
+    void serieNovaSemCandlesTemLastTimestampIgualAoCoveredFrom() {
+        store.save(KEY, CandleSeries.empty(), START, Instant.parse("2026-01-01T00:00:00Z"));
+
+        SeriesState state = store.state(KEY).orElseThrow();
+        assertThat(state.coveredFrom()).isEqualTo(START);
+        assertThat(state.lastTimestamp()).isEqualTo(START);
+    }
+
+    @Test
+    void savesConcorrentesDaMesmaSerieNovaNaoFalham() throws Exception {
+        int writers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    store.save(KEY, series(START, 10, 30.0), START, Instant.parse("2026-01-01T00:00:00Z"));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(seriesRepository.count()).isEqualTo(1);
+        assertThat(candleRepository.count()).isEqualTo(10);
+        assertThat(store.load(KEY, START).size()).isEqualTo(10);
+        assertThat(store.state(KEY).orElseThrow().lastTimestamp()).isEqualTo(START + 9 * DAY);
+    }
+
+    // ========== Métodos privados ==========
+
+    private static CandleSeries series(long from, int count, double basePrice) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        for (int i = 0; i < count; i++) {
+            double open = basePrice + i;
+            builder.add(from + i * DAY, open, open + 1.5, open - 1.0, open + 0.5, 1_000L + i);
+        }
+        return builder.build();
+    }
+}
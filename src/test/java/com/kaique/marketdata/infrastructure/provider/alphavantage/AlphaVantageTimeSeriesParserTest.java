@@ -0,0 +1,95 @@
+package com.kaique.marketdata.infrastructure.provider.alphavantage;
+
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AlphaVantageTimeSeriesParserTest {
+
+    private final AlphaVantageTimeSeriesParser parser = new AlphaVantageTimeSeriesParser();
+
+    @Test
+    void serieDecrescenteViraCrescente() throws IOException {
+        CandleSeries series = parser.parse(json("""
+                {"Meta Data": {"2. Symbol": "PETR4.SA"},
+                 "Time Series (Daily)": {
+                   "2024-01-05": {"1. open": "30.0", "2. high": "31.5", "3. low": "29.5", "4. close": "31.0", "5. volume": "1200"},
+                   "2024-01-04": {"1. open": "29.0", "2. high": "30.5", "3. low": "28.5", "4. close": "30.0", "5. volume": "1100"},
+                   "2024-01-03": {"1. open": "28.0", "2. high": "29.5", "3. low": "27.5", "4. close": "29.0", "5. volume": "1000"}
+                 }}
+                """), LocalDate.of(2024, 1, 1));
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.timestampAt(0)).isEqualTo(epochDay(2024, 1, 3));
+        assertThat(series.timestampAt(2)).isEqualTo(epochDay(2024, 1, 5));
+        assertThat(series.openAt(0)).isEqualTo(28.0);
+        assertThat(series.highAt(1)).isEqualTo(30.5);
+        assertThat(series.lowAt(1)).isEqualTo(28.5);
+        assertThat(series.closeAt(2)).isEqualTo(31.0);
+        assertThat(series.volumeAt(2)).isEqualTo(1200);
+    }
+
+    @Test
+    void paraDeLerNaPrimeiraDataAnteriorAoCorte() throws IOException {
+        // Depois do corte o JSON é inválido: se o parser continuasse lendo, falharia
+        CandleSeries series = parser.parse(json("""
+                {"Time Series (Daily)": {
+                   "2024-01-05": {"1. open": "30.0", "2. high": "31.5", "3. low": "29.5", "4. close": "31.0", "5. volume": "1200"},
+                   "2024-01-04": {"1. open": "29.0", "2. high": "30.5", "3. low": "28.5", "4. close": "30.0", "5. volume": "1100"},
+                   "2024-01-02": {"1. open": ###
+                """), LocalDate.of(2024, 1, 4));
+
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.timestampAt(0)).isEqualTo(epochDay(2024, 1, 4));
+        assertThat(series.lastTimestamp()).isEqualTo(epochDay(2024, 1, 5));
+    }
+
+    @Test
+    void informationENoteViramQuotaExceeded() {
+        assertThatThrownBy(() -> parser.parse(json("""
+                {"Information": "Thank you for using Alpha Vantage! Our standard API rate limit is 25 requests per day."}
+                """), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(QuotaExceededException.class)
+                .hasMessageContaining("25 requests per day");
+
+        assertThatThrownBy(() -> parser.parse(json("""
+                {"Note": "Our standard API call frequency is 5 calls per minute."}
+                """), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(QuotaExceededException.class)
+                .hasMessageContaining("5 calls per minute");
+    }
+
+    @Test
+    void errorMessageViraProviderExceptionSemSerCota() {
+        assertThatThrownBy(() -> parser.parse(json("""
+                {"Error Message": "Invalid API call. Please retry or visit the documentation."}
+                """), LocalDate.of(2024, 1, 1)))
+                .isExactlyInstanceOf(ProviderException.class)
+                .hasMessageContaining("Invalid API call");
+    }
+
+    @Test
+    void respostaSemSerieDevolveVazio() throws IOException {
+        assertThat(parser.parse(json("{\"Meta Data\": {}}"), LocalDate.of(2024, 1, 1)).isEmpty()).isTrue();
+    }
+
+    // ========== Métodos privados ==========
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long epochDay(int year, int month, int day) {
+        return LocalDate.of(year, month, day).toEpochDay() * 86_400;
+    }
+}
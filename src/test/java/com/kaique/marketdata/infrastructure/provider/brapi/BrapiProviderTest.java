@@ -0,0 +1,119 @@
+package com.kaique.marketdata.infrastructure.provider.brapi;
+
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.provider.AsyncJsonClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BrapiProviderTest {
+
+    private static final Set<String> VALID = Set.of("PETR4", "VALE3", "ITUB4");
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+    private HttpStatus batchStatus = HttpStatus.NOT_FOUND;
+
+    @BeforeEach
+    void setUp() {
+        // Simula a Brapi: um ticker inválido no lote faz a chamada inteira responder com erro
+        when(restTemplate.getForObject(any(URI.class), eq(BrapiResponse.class))).thenAnswer(invocation -> {
+            URI uri = invocation.getArgument(0);
+            String path = uri.getPath().substring("/api/quote/".length());
+            requested.add(path);
+
+            List<String> symbols = List.of(path.split(","));
+            if (!VALID.containsAll(symbols)) {
+                if (symbols.size() > 1 && batchStatus.is5xxServerError()) {
+                    throw HttpServerErrorException.create(batchStatus, "erro", null, null, null);
+                }
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            }
+            return new BrapiResponse(symbols.stream().map(BrapiProviderTest::quote).toList(), null);
+        });
+    }
+
+    @Test
+    void loteValidoUsaUmaChamadaPorBatchSize() {
+        BrapiProvider provider = provider(2);
+
+        Map<String, MarketData> found = provider.fetchCurrentPrices(List.of("PETR4", "VALE3.SA", "ITUB4"));
+
+        assertThat(found).containsOnlyKeys("PETR4", "VALE3.SA", "ITUB4");
+        assertThat(requested).containsExactly("PETR4,VALE3", "ITUB4");
+        assertThat(provider.requestCount(3)).isEqualTo(2);
+    }
+
+    @Test
+    void loteCom404RefazOsSimbolosIndividualmente() {
+        BrapiProvider provider = provider(20);
+
+        Map<String, MarketData> found = provider.fetchCurrentPrices(List.of("PETR4", "XXXX3", "VALE3"));
+
+        assertThat(found).containsOnlyKeys("PETR4", "VALE3");
+        assertThat(found.get("PETR4").currentPrice()).isEqualByComparingTo("30");
+        assertThat(requested).containsExactly("PETR4,XXXX3,VALE3", "PETR4", "XXXX3", "VALE3");
+    }
+
+    @Test
+    void fallbackIndividualConsomeCotaESemSaldoParaDeChamar() {
+        BrapiProvider provider = provider(20);
+        AtomicInteger budget = new AtomicInteger(2);
+
+        Map<String, MarketData> found = provider.fetchCurrentPrices(List.of("PETR4", "XXXX3", "VALE3"),
+                requests -> budget.addAndGet(-requests) >= 0);
+
+        // Duas buscas individuais cabem na cota; VALE3 fica de fora para o próximo provider
+        assertThat(found).containsOnlyKeys("PETR4");
+        assertThat(requested).containsExactly("PETR4,XXXX3,VALE3", "PETR4", "XXXX3");
+    }
+
+    @Test
+    void erroQueNaoE404NaoDisparaBuscasIndividuais() {
+        batchStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        BrapiProvider provider = provider(20);
+
+        assertThatThrownBy(() -> provider.fetchCurrentPrices(List.of("PETR4", "XXXX3")))
+                .isInstanceOf(ProviderException.class);
+        assertThat(requested).containsExactly("PETR4,XXXX3");
+    }
+
+    @Test
+    void todosInvalidosPropagaOUltimoErro() {
+        BrapiProvider provider = provider(20);
+
+        assertThatThrownBy(() -> provider.fetchCurrentPrices(List.of("XXXX3", "YYYY3")))
+                .isInstanceOf(ProviderException.class)
+                .hasMessageContaining("YYYY3");
+    }
+
+    // ========== Métodos privados ==========
+
+    private BrapiProvider provider(int batchSize) {
+        return new BrapiProvider(restTemplate, mock(AsyncJsonClient.class), "token", batchSize);
+    }
+
+    private static BrapiResponse.BrapiQuote quote(String symbol) {
+        return new BrapiResponse.BrapiQuote(symbol, symbol, null, "BRL", BigDecimal.valueOf(30),
+                null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,187 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import com.kaique.marketdata.infrastructure.resilience.ProviderCircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(100).toNanos();
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    // janela 10, mínimo 5, 50% de falhas ou 80% lentas, lenta >= 2s, 30s aberto, 3 chamadas de teste
+    private static final ProviderCircuitBreaker.Settings SETTINGS = new ProviderCircuitBreaker.Settings(
+            10, 5, 50f, 80f, Duration.ofSeconds(2), Duration.ofSeconds(30), 3);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final List<String> transitions = new ArrayList<>();
+    private final ProviderCircuitBreaker breaker = new ProviderCircuitBreaker("Brapi", SETTINGS,
+            (from, to) -> transitions.add(from + "->" + to), clock::get);
+
+    @Test
+    void naoAbreAntesDoMinimoDeChamadas() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(FAST);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void abreQuandoATaxaDeFalhasAtingeOLimite() {
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onError(FAST);
+        breaker.onError(FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        // 5ª chamada: 3 falhas em 5 = 60%
+        breaker.onError(FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    void abreQuandoAsChamadasLentasAtingemOLimite() {
+        breaker.onSuccess(FAST);
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(SLOW);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void janelaDeslizanteDescartaResultadosAntigos() {
+        // 3 falhas antigas (30%) seguidas de 10 sucessos: as falhas saem da janela
+        for (int i = 0; i < 10; i++) {
+            if (i % 2 == 0 && i > 0 && i < 8) {
+                breaker.onError(FAST);
+            } else {
+                breaker.onSuccess(FAST);
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess(FAST);
+        }
+        // 4 falhas novas em 10 = 40% (7 se as antigas ainda contassem): continua fechado
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(FAST);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        // 5ª falha: 50%
+        breaker.onError(FAST);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void halfOpenLiberaSoAsChamadasDeTesteEFechaSeElasPassarem() {
+        open();
+
+        advance(Duration.ofSeconds(29));
+        assertThat(breaker.isCallPermitted()).isFalse();
+
+        advance(Duration.ofSeconds(1));
+        assertThat(breaker.isCallPermitted()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.isCallPermitted()).isFalse();
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        breaker.onError(FAST);
+
+        // 1 falha em 3 (33%) fica abaixo do limite
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    void halfOpenReabreSeAsChamadasDeTesteFalharem() {
+        open();
+        advance(Duration.ofSeconds(30));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+        }
+        breaker.onSuccess(FAST);
+        breaker.onError(FAST);
+        breaker.onError(FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN");
+
+        // O tempo aberto recomeça a contar na reabertura
+        advance(Duration.ofSeconds(29));
+        assertThat(breaker.isCallPermitted()).isFalse();
+        advance(Duration.ofSeconds(1));
+        assertThat(breaker.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    void chamadaCanceladaDevolveAPermissaoDeTeste() {
+        open();
+        advance(Duration.ofSeconds(30));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+        }
+        assertThat(breaker.isCallPermitted()).isFalse();
+
+        // Perdedora de um hedge abortada: nem sucesso nem falha, a vaga de teste volta
+        breaker.releasePermission();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void resultadoQueChegaComOCircuitoAbertoNaoContaNaJanela() {
+        open();
+
+        // Chamadas iniciadas antes da abertura terminando agora
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess(FAST);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+        advance(Duration.ofSeconds(30));
+        breaker.tryAcquirePermission();
+        breaker.onError(FAST);
+        breaker.onError(FAST);
+        breaker.onError(FAST);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    // ========== Métodos privados ==========
+
+    private void open() {
+        for (int i = 0; i < 5; i++) {
+            breaker.onError(FAST);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,66 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import com.kaique.marketdata.domain.exception.ProviderException;
+import com.kaique.marketdata.domain.exception.QuotaExceededException;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import com.kaique.marketdata.infrastructure.resilience.ProviderCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderCircuitBreakersTest {
+
+    private static final String PROVIDER = "AlphaVantageProvider";
+
+    private final ProviderMetrics metrics = new ProviderMetrics(new SimpleMeterRegistry());
+
+    // janela 10, mínimo 1 (uma falha abre), 30s aberto, 1 chamada de teste
+    private final ProviderCircuitBreakers breakers =
+            new ProviderCircuitBreakers(List.of(), metrics, true, 10, 1, 50f, 80f, 5_000, 30_000, 1);
+
+    @Test
+    void chamadaRejeitadaPeloCircuitoNaoGastaCota() {
+        ProviderQuota quota = new ProviderQuota(PROVIDER, 0, 25);
+        open();
+
+        // A cota é consumida dentro da chamada, como no MarketDataService.invokeProvider
+        assertThatThrownBy(() -> breakers.execute(PROVIDER, () -> quota.tryAcquire(1)))
+                .isInstanceOf(ProviderException.class)
+                .hasMessageContaining("Circuito aberto");
+        assertThat(breakers.executeAsync(PROVIDER, () -> CompletableFuture.completedFuture(quota.tryAcquire(1))))
+                .isCompletedExceptionally();
+
+        assertThat(quota.remaining(ProviderQuota.Window.DAY)).isEqualTo(25.0);
+    }
+
+    @Test
+    void limiteDeCotaNaoContaComoFalhaNemComoSucesso() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> breakers.execute(PROVIDER, () -> {
+                throw new QuotaExceededException(PROVIDER, "Cota de requisições esgotada");
+            })).isInstanceOf(QuotaExceededException.class);
+        }
+        assertThat(breakers.executeAsync(PROVIDER, () -> CompletableFuture.failedFuture(
+                new QuotaExceededException(PROVIDER, "25 requests per day")))).isCompletedExceptionally();
+
+        assertThat(breakers.getState(PROVIDER)).isEqualTo(State.CLOSED);
+
+        // Sem sucessos na janela, uma única falha real abre o circuito
+        open();
+        assertThat(breakers.getState(PROVIDER)).isEqualTo(State.OPEN);
+    }
+
+    // ========== Métodos privados ==========
+
+    private void open() {
+        assertThatThrownBy(() -> breakers.execute(PROVIDER, () -> {
+            throw new ProviderException(PROVIDER, "Timeout");
+        })).isInstanceOf(ProviderException.class);
+        assertThat(breakers.getState(PROVIDER)).isEqualTo(State.OPEN);
+    }
+}
@@ -0,0 +1,127 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderQuotaTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void janelaDeslizanteNuncaPassaDoLimiteNaViradaDaJanela() {
+        ProviderQuota quota = new ProviderQuota("AlphaVantage", 0, 25, clock::get);
+
+        assertThat(acquireWhilePossible(quota)).isEqualTo(25);
+
+        // Um token bucket já teria reposto metade da cota aqui (e ~49 chamadas caberiam em 24h)
+        advance(Duration.ofHours(12));
+        assertThat(acquireWhilePossible(quota)).isZero();
+
+        advance(Duration.ofHours(12).minusSeconds(1));
+        assertThat(acquireWhilePossible(quota)).isZero();
+
+        // Virada da janela: as 25 primeiras chamadas saem juntas
+        advance(Duration.ofSeconds(1));
+        assertThat(acquireWhilePossible(quota)).isEqualTo(25);
+    }
+
+    @Test
+    void qualquerJanelaDe24hAdmiteNoMaximoOLimite() {
+        ProviderQuota quota = new ProviderQuota("AlphaVantage", 0, 25, clock::get);
+        long[] acquiredAt = new long[200];
+        int acquired = 0;
+
+        // Tenta uma chamada a cada 10 minutos por 3 dias
+        for (int step = 0; step < 3 * 24 * 6; step++) {
+            if (quota.tryAcquire(1)) {
+                acquiredAt[acquired++] = clock.get();
+            }
+            advance(Duration.ofMinutes(10));
+        }
+
+        long day = Duration.ofDays(1).toNanos();
+        for (int i = 0; i < acquired; i++) {
+            int inWindow = 0;
+            for (int j = i; j < acquired && acquiredAt[j] - acquiredAt[i] < day; j++) {
+                inWindow++;
+            }
+            assertThat(inWindow).isLessThanOrEqualTo(25);
+        }
+    }
+
+    @Test
+    void chamadasVoltamConformeSaemDaJanela() {
+        ProviderQuota quota = new ProviderQuota("AlphaVantage", 5, 0, clock::get);
+
+        assertThat(quota.tryAcquire(3)).isTrue();
+        advance(Duration.ofSeconds(20));
+        assertThat(quota.tryAcquire(2)).isTrue();
+        assertThat(quota.hasRemaining()).isFalse();
+        assertThat(quota.timeUntilAvailable(1)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(quota.timeUntilAvailable(4)).isEqualTo(Duration.ofSeconds(60));
+
+        advance(Duration.ofSeconds(40));
+        assertThat(quota.remaining(ProviderQuota.Window.MINUTE)).isEqualTo(3.0);
+        assertThat(quota.tryAcquire(4)).isFalse();
+        assertThat(quota.tryAcquire(3)).isTrue();
+    }
+
+    @Test
+    void exhaustDoDiaBloqueiaAteAsVagasSairemDaJanela() {
+        ProviderQuota quota = new ProviderQuota("AlphaVantage", 5, 25, clock::get);
+
+        assertThat(quota.tryAcquire(1)).isTrue();
+        quota.exhaust(ProviderQuota.Window.DAY);
+        assertThat(quota.hasRemaining()).isFalse();
+        assertThat(quota.remainingFraction()).isZero();
+
+        advance(Duration.ofMinutes(1));
+        assertThat(quota.remaining(ProviderQuota.Window.MINUTE)).isEqualTo(5.0);
+        assertThat(quota.hasRemaining()).isFalse();
+
+        advance(Duration.ofDays(1));
+        assertThat(quota.hasRemaining()).isTrue();
+    }
+
+    @Test
+    void exhaustDoMinutoNaoMexeNaCotaDiaria() {
+        ProviderQuota quota = new ProviderQuota("AlphaVantage", 5, 25, clock::get);
+
+        assertThat(quota.tryAcquire(1)).isTrue();
+        quota.exhaust(ProviderQuota.Window.MINUTE);
+        assertThat(quota.hasRemaining()).isFalse();
+        assertThat(quota.remaining(ProviderQuota.Window.DAY)).isEqualTo(24.0);
+
+        // Um minuto depois o provider volta, com a cota diária intacta
+        advance(Duration.ofMinutes(1));
+        assertThat(quota.hasRemaining()).isTrue();
+        assertThat(quota.remaining(ProviderQuota.Window.DAY)).isEqualTo(24.0);
+    }
+
+    @Test
+    void semLimiteNaJanela() {
+        ProviderQuota quota = new ProviderQuota("CoinGecko", 0, 0, clock::get);
+
+        assertThat(quota.isLimited(ProviderQuota.Window.MINUTE)).isFalse();
+        assertThat(quota.tryAcquire(1_000)).isTrue();
+        assertThat(quota.remaining(ProviderQuota.Window.DAY)).isNaN();
+    }
+
+    // ========== Métodos privados ==========
+
+    private static int acquireWhilePossible(ProviderQuota quota) {
+        int acquired = 0;
+        while (quota.tryAcquire(1)) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
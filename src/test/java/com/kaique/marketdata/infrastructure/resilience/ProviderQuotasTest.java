@@ -0,0 +1,35 @@
+package com.kaique.marketdata.infrastructure.resilience;
+
+import com.kaique.marketdata.infrastructure.resilience.ProviderQuota.Window;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderQuotasTest {
+
+    @Test
+    void avisoDaApiKeyDemoSoEsgotaOMinuto() {
+        assertThat(ProviderQuotas.exhaustedWindow("Alpha Vantage retornou: The **demo** API key is for demo purposes "
+                + "only. Please claim your free API key at (https://www.alphavantage.co/support/#api-key) to explore "
+                + "our full API offerings. It takes fewer than 20 seconds.")).isEqualTo(Window.MINUTE);
+    }
+
+    @Test
+    void avisoDeRajadaSoEsgotaOMinuto() {
+        assertThat(ProviderQuotas.exhaustedWindow("Alpha Vantage retornou: Thank you for using Alpha Vantage! "
+                + "Please consider spreading out your free API requests more sparingly (1 request per second)."))
+                .isEqualTo(Window.MINUTE);
+    }
+
+    @Test
+    void avisoDoLimiteDiarioEsgotaODia() {
+        assertThat(ProviderQuotas.exhaustedWindow("Alpha Vantage retornou: We have detected your API key as DEMO "
+                + "and our standard API rate limit is 25 requests per day. Please subscribe to any of the premium "
+                + "plans to instantly remove all daily rate limits.")).isEqualTo(Window.DAY);
+    }
+
+    @Test
+    void mensagemAusenteEsgotaOMinuto() {
+        assertThat(ProviderQuotas.exhaustedWindow(null)).isEqualTo(Window.MINUTE);
+    }
+}
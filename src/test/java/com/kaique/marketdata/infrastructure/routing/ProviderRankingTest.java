@@ -0,0 +1,130 @@
+package com.kaique.marketdata.infrastructure.routing;
+
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.enums.TimeRange;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.provider.MarketDataProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderRankingTest {
+
+    private static final long MS = 1_000_000;
+
+    private final MarketDataProvider primary = new PrimaryProvider();
+    private final MarketDataProvider secondary = new SecondaryProvider();
+    private final List<MarketDataProvider> supported = List.of(primary, secondary);
+
+    // alpha 1.0: a EWMA é a última amostra, o que deixa os scores exatos no teste; sem exploração
+    private final ProviderRanking ranking = new ProviderRanking("adaptive", 1.0, 0.2, 5, 0.0);
+
+    @Test
+    void desafianteDentroDaHistereseNaoPassaAFrente() {
+        recordSamples(PrimaryProvider.class, 100);
+        recordSamples(SecondaryProvider.class, 85);
+
+        // 85 não é 20% melhor que 100: a ordem do @Order se mantém
+        assertThat(ranking.order(MarketType.STOCK, supported)).containsExactly(primary, secondary);
+    }
+
+    @Test
+    void desafianteAlemDaHisteresePassaAFrenteEFica() {
+        recordSamples(PrimaryProvider.class, 100);
+        recordSamples(SecondaryProvider.class, 70);
+
+        assertThat(ranking.order(MarketType.STOCK, supported)).containsExactly(secondary, primary);
+
+        // O antigo primeiro melhora um pouco, mas não 20%: sem flapping
+        recordSamples(PrimaryProvider.class, 60);
+        assertThat(ranking.order(MarketType.STOCK, supported)).containsExactly(secondary, primary);
+
+        recordSamples(PrimaryProvider.class, 50);
+        assertThat(ranking.order(MarketType.STOCK, supported)).containsExactly(primary, secondary);
+    }
+
+    @Test
+    void semAmostrasSuficientesMantemAOrdem() {
+        recordSamples(PrimaryProvider.class, 500);
+        ranking.record(MarketType.STOCK, "SecondaryProvider", 10 * MS, true);
+
+        assertThat(ranking.order(MarketType.STOCK, supported)).containsExactly(primary, secondary);
+    }
+
+    @Test
+    void falhasPioramOScore() {
+        recordSamples(PrimaryProvider.class, 50);
+        recordSamples(SecondaryProvider.class, 100);
+        ranking.record(MarketType.STOCK, "PrimaryProvider", 5 * MS, false);
+
+        // Taxa de sucesso zerada (alpha 1.0): score = latência / 1%
+        assertThat(ranking.order(MarketType.STOCK, supported)).containsExactly(secondary, primary);
+    }
+
+    @Test
+    void ordemAtualNaoReavaliaORanking() {
+        ProviderRanking exploring = new ProviderRanking("adaptive", 1.0, 0.2, 5, 1.0);
+        for (int i = 0; i < 5; i++) {
+            exploring.record(MarketType.STOCK, "PrimaryProvider", 100 * MS, true);
+            exploring.record(MarketType.STOCK, "SecondaryProvider", 10 * MS, true);
+        }
+
+        // Sem uma chamada a order(), a troca ainda não aconteceu; e a consulta não sorteia exploração
+        assertThat(exploring.currentOrder(MarketType.STOCK, supported)).containsExactly(primary, secondary);
+        assertThat(exploring.currentOrder(MarketType.STOCK, supported)).containsExactly(primary, secondary);
+
+        exploring.order(MarketType.STOCK, supported);
+        assertThat(exploring.currentOrder(MarketType.STOCK, supported)).containsExactly(secondary, primary);
+    }
+
+    @Test
+    void modoStaticDevolveAOrdemRecebida() {
+        ProviderRanking staticRanking = new ProviderRanking("static", 1.0, 0.2, 5, 1.0);
+        for (int i = 0; i < 5; i++) {
+            staticRanking.record(MarketType.STOCK, "SecondaryProvider", MS, true);
+        }
+
+        assertThat(staticRanking.order(MarketType.STOCK, supported)).containsExactly(primary, secondary);
+    }
+
+    // ========== Métodos privados ==========
+
+    private void recordSamples(Class<? extends MarketDataProvider> provider, long latencyMs) {
+        for (int i = 0; i < 5; i++) {
+            ranking.record(MarketType.STOCK, provider.getSimpleName(), latencyMs * MS, true);
+        }
+    }
+
+    /** O ranking identifica o provider pelo nome simples da classe. */
+    private abstract static class StubProvider implements MarketDataProvider {
+
+        @Override
+        public MarketData fetchCurrentPrice(String symbol) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CandleSeries fetchHistory(String symbol, TimeRange timeRange) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String historyInterval(TimeRange timeRange) {
+            return "1d";
+        }
+
+        @Override
+        public boolean supports(MarketType marketType) {
+            return true;
+        }
+    }
+
+    private static final class PrimaryProvider extends StubProvider {
+    }
+
+    private static final class SecondaryProvider extends StubProvider {
+    }
+}
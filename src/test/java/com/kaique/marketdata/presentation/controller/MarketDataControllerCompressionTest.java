@@ -0,0 +1,83 @@
+package com.kaique.marketdata.presentation.controller;
+
+import com.kaique.marketdata.application.service.MarketDataService;
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.enums.TimeRange;
+import com.kaique.marketdata.domain.model.CandleSeries;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compressão das respostas no Tomcat real (MockMvc não passa pelo server.compression).
+ * O java.net.http.HttpClient não descomprime: os headers chegam como o servidor enviou.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MarketDataControllerCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private MarketDataService marketDataService;
+
+    @Test
+    void historicoAcimaDe2KbSaiComGzipEEtagFraco() throws Exception {
+        when(marketDataService.getHistoryAsync(eq(MarketType.STOCK), eq("PETR4"), eq(TimeRange.ONE_YEAR)))
+                .thenReturn(CompletableFuture.completedFuture(series(250)));
+
+        HttpResponse<byte[]> response = get("/market/STOCK/PETR4/history?range=1y", "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(response.headers().firstValue("ETag")).hasValueSatisfying(tag -> assertThat(tag).startsWith("W/\""));
+    }
+
+    @Test
+    void ifNoneMatchComEtagFracoResponde304() throws Exception {
+        when(marketDataService.getHistoryAsync(eq(MarketType.STOCK), eq("PETR4"), eq(TimeRange.ONE_YEAR)))
+                .thenReturn(CompletableFuture.completedFuture(series(250)));
+
+        String eTag = get("/market/STOCK/PETR4/history?range=1y", "gzip").headers().firstValue("ETag").orElseThrow();
+        HttpResponse<byte[]> revalidated = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(uri("/market/STOCK/PETR4/history?range=1y"))
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", eTag)
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+    }
+
+    // ========== Métodos privados ==========
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws Exception {
+        return HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(uri(path)).header("Accept-Encoding", acceptEncoding).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /** ~90 bytes de JSON por candle: 250 candles passam bem dos 2KB. */
+    private static CandleSeries series(int size) {
+        CandleSeries.Builder builder = CandleSeries.builder(size);
+        for (int i = 0; i < size; i++) {
+            builder.add(1_700_000_000L + i * 86_400L, 37.23 + i, 37.98 + i, 37.02 + i, 37.76 + i, 45_761_300L);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.kaique.marketdata.presentation.controller;
+
+import com.kaique.marketdata.application.service.QuoteStreamHub.QuoteListener;
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.domain.model.MarketData;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuoteSseConnectionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProviderMetrics metrics = new ProviderMetrics(registry);
+    private final ThreadPoolExecutor dispatchExecutor =
+            new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    private final Map<String, QuoteListener> listeners = new ConcurrentHashMap<>();
+    private final Set<String> cancelled = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void tearDown() {
+        dispatchExecutor.shutdownNow();
+    }
+
+    @Test
+    void clienteLentoRecebeAUltimaCotacaoDeCadaSimboloComUmaUnicaEntrega() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(false);
+        QuoteSseConnection connection = connect(emitter, "PETR4", "VALE3", "ITUB4");
+
+        listeners.get("PETR4").onQuote(quote("PETR4", 1));
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Enquanto o primeiro evento está preso na escrita, o hub continua publicando sem bloquear
+        listeners.get("PETR4").onQuote(quote("PETR4", 2));
+        listeners.get("VALE3").onQuote(quote("VALE3", 1));
+        listeners.get("PETR4").onQuote(quote("PETR4", 3));
+        listeners.get("VALE3").onQuote(quote("VALE3", 2));
+        listeners.get("ITUB4").onQuote(quote("ITUB4", 1));
+
+        assertThat(dispatchExecutor.getTaskCount()).isEqualTo(1);
+
+        emitter.release.countDown();
+        awaitSent(emitter, 4);
+
+        assertThat(emitter.sent.get(0)).isEqualTo(quote("PETR4", 1));
+        assertThat(emitter.sent.subList(1, 4)).containsExactlyInAnyOrder(
+                quote("PETR4", 3), quote("VALE3", 2), quote("ITUB4", 1));
+        assertThat(dispatchExecutor.getTaskCount()).isEqualTo(1);
+        assertThat(registry.find("market.stream.dropped").tag("reason", "conflated").counter().count())
+                .isEqualTo(2.0);
+        connection.close();
+    }
+
+    @Test
+    void novaCotacaoDepoisDoDrainDisparaOutraEntrega() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(true);
+        connect(emitter, "PETR4");
+
+        listeners.get("PETR4").onQuote(quote("PETR4", 1));
+        awaitSent(emitter, 1);
+        awaitIdle();
+
+        listeners.get("PETR4").onQuote(quote("PETR4", 2));
+        awaitSent(emitter, 2);
+
+        assertThat(emitter.sent).containsExactly(quote("PETR4", 1), quote("PETR4", 2));
+    }
+
+    @Test
+    void falhaNoEnvioCancelaTodasAsAssinaturas() throws Exception {
+        SseEmitter emitter = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        connect(emitter, "PETR4", "VALE3");
+
+        listeners.get("VALE3").onQuote(quote("VALE3", 1));
+        awaitIdle();
+
+        assertThat(cancelled).containsExactlyInAnyOrder("PETR4", "VALE3");
+        assertThat(registry.find("market.stream.dropped").tag("reason", "error").counter().count()).isEqualTo(1.0);
+
+        // Depois de fechada, a conexão ignora novas cotações
+        listeners.get("PETR4").onQuote(quote("PETR4", 1));
+        assertThat(dispatchExecutor.getTaskCount()).isEqualTo(1);
+    }
+
+    // ========== Métodos privados ==========
+
+    private QuoteSseConnection connect(SseEmitter emitter, String... symbols) {
+        QuoteSseConnection connection = new QuoteSseConnection(emitter, metrics, dispatchExecutor);
+        for (String symbol : symbols) {
+            connection.subscribe(symbol, listener -> {
+                listeners.put(symbol, listener);
+                return () -> cancelled.add(symbol);
+            });
+        }
+        return connection;
+    }
+
+    private void awaitSent(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(emitter.sent).hasSize(count);
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatchExecutor.getCompletedTaskCount() < dispatchExecutor.getTaskCount()
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static MarketData quote(String symbol, int price) {
+        return new MarketData(symbol, symbol, BigDecimal.valueOf(price), "BRL", null, null, null,
+                MarketType.STOCK, null, Instant.EPOCH);
+    }
+
+    /** Guarda as cotações enviadas; se {@code released} for falso, a primeira escrita fica presa até o release. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<MarketData> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingEmitter(boolean released) {
+            this.release = new CountDownLatch(released ? 0 : 1);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            builder.build().stream()
+                    .map(part -> part.getData())
+                    .filter(MarketData.class::isInstance)
+                    .map(MarketData.class::cast)
+                    .forEach(sent::add);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.kaique.marketdata.presentation.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaique.marketdata.domain.enums.MarketType;
+import com.kaique.marketdata.infrastructure.metrics.ProviderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class QuoteWebSocketSessionTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService dispatchExecutor = Executors.newCachedThreadPool();
+    private final QuoteWebSocketSession session = new QuoteWebSocketSession(mock(WebSocketSession.class),
+            new ObjectMapper(), new ProviderMetrics(new SimpleMeterRegistry()), scheduler, dispatchExecutor,
+            Duration.ofMillis(50));
+
+    private final AtomicInteger registered = new AtomicInteger();
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        dispatchExecutor.shutdownNow();
+    }
+
+    @Test
+    void subscribeDepoisDoCloseNaoRegistraNoHub() {
+        session.close();
+
+        session.subscribe(MarketType.STOCK, "PETR4", listener -> {
+            registered.incrementAndGet();
+            return cancelled::incrementAndGet;
+        });
+
+        assertThat(registered).hasValue(0);
+        assertThat(session.subscriptionCount()).isZero();
+    }
+
+    @Test
+    void closeDuranteOSubscribeCancelaAAssinaturaCriada() {
+        session.subscribe(MarketType.STOCK, "PETR4", listener -> {
+            registered.incrementAndGet();
+            // A conexão cai enquanto o hub registra o listener
+            session.close();
+            return cancelled::incrementAndGet;
+        });
+
+        assertThat(registered).hasValue(1);
+        assertThat(cancelled).hasValue(1);
+        assertThat(session.subscriptionCount()).isZero();
+    }
+}